@@ -52,6 +52,12 @@ public @interface Table {
      */
     String comment() default "";
 
+    /**
+     * 是否缓存该表的查询结果，需要先通过 {@code QueryCacheManager.setStore(...)} 配置缓存。
+     * 缓存会在通过 MyBatis-Flex 写入该表时自动失效。
+     */
+    boolean queryCache() default false;
+
     /**
      * 监听 entity 的 insert 行为。
      */
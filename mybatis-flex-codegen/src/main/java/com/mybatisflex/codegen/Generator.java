@@ -17,19 +17,29 @@ package com.mybatisflex.codegen;
 
 import com.mybatisflex.codegen.config.GlobalConfig;
 import com.mybatisflex.codegen.config.StrategyConfig;
+import com.mybatisflex.codegen.config.TemplateConfig;
 import com.mybatisflex.codegen.dialect.IDialect;
 import com.mybatisflex.codegen.entity.Table;
 import com.mybatisflex.codegen.generator.GeneratorFactory;
 import com.mybatisflex.codegen.generator.IGenerator;
+import com.mybatisflex.codegen.template.ITemplate;
+import com.mybatisflex.codegen.template.impl.IncrementalTemplate;
+import com.mybatisflex.core.util.StringUtil;
 
 import javax.sql.DataSource;
+import java.io.File;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +52,7 @@ public class Generator {
     protected DataSource dataSource;
     protected GlobalConfig globalConfig;
     protected IDialect dialect = IDialect.DEFAULT;
+    protected List<IncrementalTemplate.Change> changes = Collections.emptyList();
 
     public Generator(DataSource dataSource, GlobalConfig globalConfig) {
         this.dataSource = dataSource;
@@ -66,13 +77,74 @@ public class Generator {
             System.out.printf("find tables: %s%n", tables.stream().map(Table::getName).collect(Collectors.toSet()));
         }
 
-        for (Table table : tables) {
-            Collection<IGenerator> generators = GeneratorFactory.getGenerators();
-            for (IGenerator generator : generators) {
-                generator.generate(table, globalConfig);
+        TemplateConfig templateConfig = globalConfig.getTemplateConfig();
+        ITemplate template = templateConfig.getTemplate();
+        IncrementalTemplate incrementalTemplate = null;
+        if ((globalConfig.isIncrementalEnable() || globalConfig.isDryRun()) && !(template instanceof IncrementalTemplate)) {
+            incrementalTemplate = createIncrementalTemplate(template);
+            templateConfig.setTemplate(incrementalTemplate);
+        }
+
+        try {
+            int threads = Math.min(globalConfig.getGenerateThreads(), tables.size());
+            if (threads <= 1) {
+                for (Table table : tables) {
+                    generate(table);
+                }
+            } else {
+                generateInParallel(tables, threads);
+            }
+        } finally {
+            if (incrementalTemplate != null) {
+                templateConfig.setTemplate(template);
+            }
+        }
+
+        if (incrementalTemplate != null) {
+            incrementalTemplate.finish();
+            changes = incrementalTemplate.getChanges();
+        }
+        System.out.println(globalConfig.isDryRun() ? "Dry run finished, no file is written." : "Code is generated successfully.");
+    }
+
+    protected IncrementalTemplate createIncrementalTemplate(ITemplate template) {
+        File manifestFile = null;
+        if (globalConfig.isIncrementalEnable()) {
+            String manifestPath = globalConfig.getIncrementalManifestPath();
+            manifestFile = StringUtil.hasText(manifestPath) ? new File(manifestPath)
+                : new File(System.getProperty("user.dir"), ".mybatis-flex-codegen");
+        }
+        return new IncrementalTemplate(template, manifestFile, globalConfig.isDryRun(), globalConfig);
+    }
+
+    protected void generate(Table table) {
+        Collection<IGenerator> generators = GeneratorFactory.getGenerators();
+        for (IGenerator generator : generators) {
+            generator.generate(table, globalConfig);
+        }
+    }
+
+    /**
+     * 使用多个线程并行生成各个表的代码。
+     */
+    protected void generateInParallel(List<Table> tables, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(tables.size());
+            for (Table table : tables) {
+                futures.add(executor.submit(() -> generate(table)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Code generation is interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Code generation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
-        System.out.println("Code is generated successfully.");
     }
 
 
@@ -98,6 +170,7 @@ public class Generator {
     protected List<Table> buildTables(DatabaseMetaData dbMeta, Connection conn) throws SQLException {
         StrategyConfig strategyConfig = globalConfig.getStrategyConfig();
         String schemaName = strategyConfig.getGenerateSchema();
+        boolean bulkIntrospection = strategyConfig.isBulkIntrospection();
         List<Table> tables = new ArrayList<>();
         try (ResultSet rs = getTablesResultSet(dbMeta, conn, schemaName)) {
             while (rs.next()) {
@@ -117,14 +190,20 @@ public class Generator {
                 String remarks = rs.getString("REMARKS");
                 table.setComment(remarks);
 
-
-                buildPrimaryKey(dbMeta, conn, table);
-
-                dialect.buildTableColumns(schemaName, table, globalConfig, dbMeta, conn);
+                if (!bulkIntrospection) {
+                    buildPrimaryKey(dbMeta, conn, table);
+                    dialect.buildTableColumns(schemaName, table, globalConfig, dbMeta, conn);
+                }
 
                 tables.add(table);
             }
         }
+
+        // 批量读取整个 schema 的主键与列信息，避免每张表各查询一次
+        if (bulkIntrospection && !tables.isEmpty()) {
+            dialect.buildTablesPrimaryKeys(schemaName, tables, dbMeta, conn);
+            dialect.buildTablesColumns(schemaName, tables, globalConfig, dbMeta, conn);
+        }
         return tables;
     }
 
@@ -155,6 +234,13 @@ public class Generator {
         return this;
     }
 
+    /**
+     * 获取最近一次增量生成或 dry-run 涉及的文件变更，未开启时为空。
+     */
+    public List<IncrementalTemplate.Change> getChanges() {
+        return changes;
+    }
+
     public IDialect getDialect() {
         return dialect;
     }
@@ -69,6 +69,29 @@ public class GlobalConfig implements Serializable {
     private Map<String, Object> customConfig = new HashMap<>();
     //endregion === 其他自定义配置 ===
 
+    //region === 生成过程配置 ===
+
+    /**
+     * 并行生成代码的线程数，小于等于 1 时逐表生成。
+     */
+    private int generateThreads = 1;
+
+    /**
+     * 是否增量生成，开启后只有表结构、模板或配置发生变化时才重新渲染，且只写入内容有变化的文件。
+     */
+    private boolean incrementalEnable;
+
+    /**
+     * 增量生成记录摘要的 manifest 文件位置，默认为当前工作目录下的 {@code .mybatis-flex-codegen}。
+     */
+    private String incrementalManifestPath;
+
+    /**
+     * 是否只输出变更报告而不写入任何文件。
+     */
+    private boolean dryRun;
+    //endregion === 生成过程配置 ===
+
     //region === 是否启用生成 ===
 
     private boolean entityGenerateEnable;
@@ -291,6 +314,44 @@ public class GlobalConfig implements Serializable {
     }
     //endregion === 自定义配置 ===
 
+    //region === 生成过程配置 ===
+
+    public int getGenerateThreads() {
+        return generateThreads;
+    }
+
+    /**
+     * 设置并行生成代码的线程数。自定义的 {@link com.mybatisflex.codegen.generator.IGenerator} 需要是线程安全的。
+     */
+    public void setGenerateThreads(int generateThreads) {
+        this.generateThreads = generateThreads;
+    }
+
+    public boolean isIncrementalEnable() {
+        return incrementalEnable;
+    }
+
+    public void setIncrementalEnable(boolean incrementalEnable) {
+        this.incrementalEnable = incrementalEnable;
+    }
+
+    public String getIncrementalManifestPath() {
+        return incrementalManifestPath;
+    }
+
+    public void setIncrementalManifestPath(String incrementalManifestPath) {
+        this.incrementalManifestPath = incrementalManifestPath;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    //endregion === 生成过程配置 ===
+
     //region === 分项配置 ===
 
     /**
@@ -700,6 +761,20 @@ public class GlobalConfig implements Serializable {
         getStrategyConfig().setGenerateForView(generateForView);
     }
 
+    /**
+     * @see StrategyConfig#isBulkIntrospection()
+     */
+    public boolean isBulkIntrospection() {
+        return getStrategyConfig().isBulkIntrospection();
+    }
+
+    /**
+     * @see StrategyConfig#setBulkIntrospection(boolean)
+     */
+    public void setBulkIntrospection(boolean bulkIntrospection) {
+        getStrategyConfig().setBulkIntrospection(bulkIntrospection);
+    }
+
 
     /**
      * @see StrategyConfig#getGenerateSchema()
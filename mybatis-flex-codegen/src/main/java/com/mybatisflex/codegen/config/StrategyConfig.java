@@ -58,6 +58,11 @@ public class StrategyConfig implements Serializable {
      */
     private boolean generateForView;
 
+    /**
+     * 是否批量读取表结构（主键、列信息、注释）。
+     */
+    private boolean bulkIntrospection;
+
     /**
      * 单独为某张表添加独立的配置。
      */
@@ -378,6 +383,22 @@ public class StrategyConfig implements Serializable {
         return this;
     }
 
+    /**
+     * 是否批量读取表结构。
+     */
+    public boolean isBulkIntrospection() {
+        return bulkIntrospection;
+    }
+
+    /**
+     * 设置是否批量读取表结构。开启后，整个 schema 的主键和列信息分别通过一次元数据查询读取，
+     * 适合表数量较多的场景；此时列的 Java 类型根据 {@link java.sql.Types} 推断，可能与逐表读取时驱动返回的类型略有差异。
+     */
+    public StrategyConfig setBulkIntrospection(boolean bulkIntrospection) {
+        this.bulkIntrospection = bulkIntrospection;
+        return this;
+    }
+
     /**
      * 获取表配置。
      */
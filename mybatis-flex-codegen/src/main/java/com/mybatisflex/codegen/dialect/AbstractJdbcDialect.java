@@ -18,10 +18,21 @@ package com.mybatisflex.codegen.dialect;
 import com.mybatisflex.codegen.config.GlobalConfig;
 import com.mybatisflex.codegen.entity.Column;
 import com.mybatisflex.codegen.entity.Table;
+import com.mybatisflex.core.util.StringUtil;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.*;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 默认方言抽象类。
@@ -61,6 +72,177 @@ public abstract class AbstractJdbcDialect implements IDialect {
         }
     }
 
+    /**
+     * 通过一次 {@link DatabaseMetaData#getPrimaryKeys} 查询读取模式下全部表的主键，驱动不支持时回退为逐表查询。
+     *
+     * <p>未指定模式时使用连接当前的模式，只接受 TABLE_SCHEM 与之相同的行；无法确定模式且同名的表出现在多个模式中时，
+     * 不使用批量结果，由 {@link #buildTablesColumns(String, List, GlobalConfig, DatabaseMetaData, Connection)} 逐表查询。
+     */
+    @Override
+    public void buildTablesPrimaryKeys(String schemaName, List<Table> tables, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        String schema = resolveBulkSchema(schemaName, conn);
+        BulkTableMatcher matcher = new BulkTableMatcher(tables, schema);
+        Map<Table, List<String>> tablePrimaryKeys = new HashMap<>();
+        try (ResultSet rs = forBulkPrimaryKeys(schema, dbMeta, conn)) {
+            matcher.init(rs);
+            while (rs.next()) {
+                Table table = matcher.match(rs);
+                if (table != null) {
+                    tablePrimaryKeys.computeIfAbsent(table, k -> new ArrayList<>()).add(rs.getString("COLUMN_NAME"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("无法批量获取主键，改为逐表获取：" + e.getMessage());
+            IDialect.super.buildTablesPrimaryKeys(schemaName, tables, dbMeta, conn);
+            return;
+        }
+
+        for (Table table : tables) {
+            List<String> primaryKeys = tablePrimaryKeys.get(table);
+            if (primaryKeys != null && !matcher.isAmbiguous(table)) {
+                primaryKeys.forEach(table::addPrimaryKey);
+            }
+        }
+    }
+
+    /**
+     * 通过一次 {@link DatabaseMetaData#getColumns} 查询读取模式下全部表的列及其备注，
+     * 结果中没有出现的表（例如不在当前模式中的表）回退为 {@link #buildTableColumns(String, Table, GlobalConfig, DatabaseMetaData, Connection)}，
+     * 此时如果批量查询没有得到该表的主键，也会逐表查询主键。
+     *
+     * <p>列的 Java 类型由 {@link #forBulkColumnClassName(int, String, int)} 根据 {@link Types} 推断，
+     * 与驱动 {@link ResultSetMetaData#getColumnClassName(int)} 返回的类型可能存在差异，可通过 {@link JdbcTypeMapping} 调整。
+     */
+    @Override
+    public void buildTablesColumns(String schemaName, List<Table> tables, GlobalConfig globalConfig, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        String schema = resolveBulkSchema(schemaName, conn);
+        BulkTableMatcher matcher = new BulkTableMatcher(tables, schema);
+        Map<Table, List<BulkColumn>> tableColumns = new HashMap<>();
+        try (ResultSet rs = forBulkColumns(schema, dbMeta, conn)) {
+            matcher.init(rs);
+            while (rs.next()) {
+                Table table = matcher.match(rs);
+                if (table == null) {
+                    continue;
+                }
+                Column column = new Column();
+                column.setName(rs.getString("COLUMN_NAME"));
+
+                String typeName = rs.getString("TYPE_NAME");
+                int columnSize = rs.getInt("COLUMN_SIZE");
+                column.setRawType(typeName);
+                column.setRawLength(columnSize);
+
+                column.setAutoIncrement("YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")));
+
+                column.setNullable(rs.getInt("NULLABLE"));
+                //注释
+                column.setComment(rs.getString("REMARKS"));
+
+                String jdbcType = forBulkColumnClassName(rs.getInt("DATA_TYPE"), typeName, columnSize);
+                column.setPropertyType(JdbcTypeMapping.getType(jdbcType, table, column));
+
+                tableColumns.computeIfAbsent(table, k -> new ArrayList<>())
+                    .add(new BulkColumn(rs.getInt("ORDINAL_POSITION"), column));
+            }
+        } catch (SQLException e) {
+            System.err.println("无法批量获取字段，改为逐表获取：" + e.getMessage());
+            tableColumns.clear();
+        }
+
+        for (Table table : tables) {
+            List<BulkColumn> columns = matcher.isAmbiguous(table) ? null : tableColumns.get(table);
+            if (columns == null) {
+                if (table.getPrimaryKeys() == null) {
+                    IDialect.super.buildTablesPrimaryKeys(schemaName, Collections.singletonList(table), dbMeta, conn);
+                }
+                buildTableColumns(schemaName, table, globalConfig, dbMeta, conn);
+                continue;
+            }
+            columns.sort(Comparator.comparingInt(BulkColumn::ordinal));
+            for (BulkColumn column : columns) {
+                table.addColumn(column.column());
+            }
+        }
+    }
+
+    /**
+     * 获取批量查询使用的模式，未指定时使用连接当前的模式，驱动不支持时返回 {@code null}。
+     */
+    protected String resolveBulkSchema(String schemaName, Connection conn) {
+        if (StringUtil.hasText(schemaName)) {
+            return schemaName;
+        }
+        try {
+            return conn.getSchema();
+        } catch (SQLException | AbstractMethodError e) {
+            return null;
+        }
+    }
+
+    private record BulkColumn(int ordinal, Column column) {
+    }
+
+    /**
+     * 根据 TABLE_NAME 与 TABLE_SCHEM 匹配批量结果中的行所属的表。
+     */
+    private static final class BulkTableMatcher {
+
+        private final Map<String, Table> tableMap;
+        private final String schema;
+        private final Map<Table, String> tableSchemas = new HashMap<>();
+        private final Set<Table> ambiguousTables = new HashSet<>();
+        private boolean hasSchemaColumn;
+
+        BulkTableMatcher(List<Table> tables, String schema) {
+            this.tableMap = new HashMap<>(tables.size() * 4 / 3 + 1);
+            for (Table table : tables) {
+                tableMap.put(table.getName(), table);
+            }
+            this.schema = schema;
+        }
+
+        void init(ResultSet rs) {
+            // 自定义查询（例如 MySQL、Oracle 的主键查询）已经按模式过滤，可能不包含 TABLE_SCHEM 列
+            try {
+                rs.findColumn("TABLE_SCHEM");
+                hasSchemaColumn = true;
+            } catch (SQLException e) {
+                hasSchemaColumn = false;
+            }
+        }
+
+        /**
+         * 返回该行所属的表，不属于待生成的表时返回 {@code null}。
+         */
+        Table match(ResultSet rs) throws SQLException {
+            Table table = tableMap.get(rs.getString("TABLE_NAME"));
+            if (table == null || !hasSchemaColumn) {
+                return table;
+            }
+            String rowSchema = rs.getString("TABLE_SCHEM");
+            if (rowSchema == null) {
+                return table;
+            }
+            if (schema != null) {
+                return schema.equalsIgnoreCase(rowSchema) ? table : null;
+            }
+            String previous = tableSchemas.putIfAbsent(table, rowSchema);
+            if (previous != null && !previous.equals(rowSchema)) {
+                ambiguousTables.add(table);
+            }
+            return table;
+        }
+
+        /**
+         * 无法确定模式时，同名的表出现在多个模式中。
+         */
+        boolean isAmbiguous(Table table) {
+            return ambiguousTables.contains(table);
+        }
+
+    }
+
     private Map<String, String> buildColumnRemarks(String schemaName, Table table, DatabaseMetaData dbMeta, Connection conn) {
         Map<String, String> columnRemarks = new HashMap<>();
         try (ResultSet colRs = forRemarks(schemaName, table, dbMeta, conn)) {
@@ -95,6 +277,66 @@ public abstract class AbstractJdbcDialect implements IDialect {
     }
 
 
+    /**
+     * 构建模式下全部表主键的 ResultSet，需包含 TABLE_NAME 和 COLUMN_NAME 列。
+     *
+     * @param schemaName 模式
+     * @param dbMeta     数据库元数据
+     * @param conn       连接
+     * @return 主键结果集
+     * @throws SQLException 发生 SQL 异常时抛出
+     */
+    protected ResultSet forBulkPrimaryKeys(String schemaName, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        return dbMeta.getPrimaryKeys(conn.getCatalog(), schemaName, null);
+    }
+
+
+    /**
+     * 构建模式下全部表的列的 ResultSet，列与 {@link DatabaseMetaData#getColumns} 的返回结果一致。
+     *
+     * @param schemaName 模式
+     * @param dbMeta     数据库元数据
+     * @param conn       连接
+     * @return 列结果集
+     * @throws SQLException 发生 SQL 异常时抛出
+     */
+    protected ResultSet forBulkColumns(String schemaName, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        return dbMeta.getColumns(conn.getCatalog(), schemaName, null, null);
+    }
+
+
+    /**
+     * 根据 {@link Types} 推断列对应的 Java 类名，与常见驱动的 {@link ResultSetMetaData#getColumnClassName(int)} 保持一致。
+     *
+     * @param dataType   {@link Types} 中的类型
+     * @param typeName   数据库中的类型名称
+     * @param columnSize 列长度
+     * @return Java 类名
+     */
+    protected String forBulkColumnClassName(int dataType, String typeName, int columnSize) {
+        boolean unsigned = typeName != null && typeName.toUpperCase().contains("UNSIGNED");
+        return switch (dataType) {
+            case Types.BIT -> columnSize > 1 ? "[B" : Boolean.class.getName();
+            case Types.BOOLEAN -> Boolean.class.getName();
+            case Types.TINYINT, Types.SMALLINT -> Integer.class.getName();
+            case Types.INTEGER -> unsigned ? Long.class.getName() : Integer.class.getName();
+            case Types.BIGINT -> unsigned ? BigInteger.class.getName() : Long.class.getName();
+            case Types.REAL -> Float.class.getName();
+            case Types.FLOAT, Types.DOUBLE -> Double.class.getName();
+            case Types.NUMERIC, Types.DECIMAL -> BigDecimal.class.getName();
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR,
+                 Types.CLOB, Types.NCLOB, Types.SQLXML -> String.class.getName();
+            case Types.DATE -> Date.class.getName();
+            case Types.TIME -> Time.class.getName();
+            case Types.TIMESTAMP -> Timestamp.class.getName();
+            case Types.TIME_WITH_TIMEZONE -> OffsetTime.class.getName();
+            case Types.TIMESTAMP_WITH_TIMEZONE -> OffsetDateTime.class.getName();
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> "[B";
+            default -> Object.class.getName();
+        };
+    }
+
+
     /**
      * 构建查询所有数据的 SQL 语句。
      *
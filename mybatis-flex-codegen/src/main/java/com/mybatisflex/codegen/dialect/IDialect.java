@@ -27,6 +27,7 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * 方言接口。
@@ -84,4 +85,39 @@ public interface IDialect {
      */
     ResultSet getTablesResultSet(DatabaseMetaData dbMeta, Connection conn, String schema, String[] types) throws SQLException;
 
+    /**
+     * 批量构建多个表的主键信息，默认逐表查询。
+     *
+     * @param schemaName 模式
+     * @param tables     存入的表对象
+     * @param dbMeta     数据库元数据
+     * @param conn       连接
+     * @throws SQLException 发生 SQL 异常时抛出
+     */
+    default void buildTablesPrimaryKeys(String schemaName, List<Table> tables, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        for (Table table : tables) {
+            try (ResultSet rs = dbMeta.getPrimaryKeys(conn.getCatalog(), null, table.getName())) {
+                while (rs.next()) {
+                    table.addPrimaryKey(rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+    }
+
+    /**
+     * 批量构建多个表的列信息，默认逐表调用 {@link #buildTableColumns(String, Table, GlobalConfig, DatabaseMetaData, Connection)}。
+     *
+     * @param schemaName   模式
+     * @param tables       存入的表对象，需要先构建好主键信息
+     * @param globalConfig 全局配置
+     * @param dbMeta       数据库元数据
+     * @param conn         连接
+     * @throws SQLException 发生 SQL 异常时抛出
+     */
+    default void buildTablesColumns(String schemaName, List<Table> tables, GlobalConfig globalConfig, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        for (Table table : tables) {
+            buildTableColumns(schemaName, table, globalConfig, dbMeta, conn);
+        }
+    }
+
 }
@@ -18,6 +18,14 @@ package com.mybatisflex.codegen.dialect.impl;
 import com.mybatisflex.codegen.dialect.AbstractJdbcDialect;
 import com.mybatisflex.core.util.StringUtil;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
 /**
  * @author michael
  */
@@ -26,4 +34,26 @@ public class MySqlJdbcDialect extends AbstractJdbcDialect {
     protected String forBuildColumnsSql(String schema, String tableName) {
         return "SELECT * FROM `" + (StringUtil.hasText(schema) ? schema + "`.`" : "") + tableName + "` WHERE 1 = 2";
     }
+
+    /**
+     * MySQL 驱动不支持不指定表名查询主键，通过 information_schema 查询。
+     */
+    @Override
+    protected ResultSet forBulkPrimaryKeys(String schemaName, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement("SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE"
+            + " WHERE TABLE_SCHEMA = ? AND CONSTRAINT_NAME = 'PRIMARY' ORDER BY TABLE_NAME, ORDINAL_POSITION");
+        pstmt.setString(1, StringUtil.hasText(schemaName) ? schemaName : conn.getCatalog());
+        pstmt.closeOnCompletion();
+        return pstmt.executeQuery();
+    }
+
+    @Override
+    protected String forBulkColumnClassName(int dataType, String typeName, int columnSize) {
+        // 驱动将 DATETIME 读取为 LocalDateTime，TIMESTAMP 读取为 Timestamp
+        if (dataType == Types.TIMESTAMP && "DATETIME".equalsIgnoreCase(typeName)) {
+            return LocalDateTime.class.getName();
+        }
+        return super.forBulkColumnClassName(dataType, typeName, columnSize);
+    }
+
 }
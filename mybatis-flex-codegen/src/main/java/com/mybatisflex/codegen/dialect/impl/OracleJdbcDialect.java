@@ -26,8 +26,11 @@ import oracle.jdbc.driver.OracleConnection;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 
 /**
  * @author michael
@@ -57,6 +60,38 @@ public class OracleJdbcDialect extends AbstractJdbcDialect {
         return null;
     }
 
+    @Override
+    protected ResultSet forBulkPrimaryKeys(String schema, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement("SELECT cols.TABLE_NAME, cols.COLUMN_NAME FROM ALL_CONSTRAINTS cons"
+            + " JOIN ALL_CONS_COLUMNS cols ON cons.OWNER = cols.OWNER AND cons.CONSTRAINT_NAME = cols.CONSTRAINT_NAME"
+            + " WHERE cons.CONSTRAINT_TYPE = 'P' AND cons.OWNER = ? ORDER BY cols.TABLE_NAME, cols.POSITION");
+        pstmt.setString(1, StringUtil.hasText(schema) ? schema : dbMeta.getUserName());
+        pstmt.closeOnCompletion();
+        return pstmt.executeQuery();
+    }
+
+    @Override
+    protected ResultSet forBulkColumns(String schema, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
+        if (conn instanceof OracleConnection) {
+            ((OracleConnection) conn).setRemarksReporting(true);
+            return dbMeta.getColumns(conn.getCatalog(), StringUtil.hasText(schema) ? schema : dbMeta.getUserName(), null, null);
+        } else if ("com.zaxxer.hikari.pool.HikariProxyConnection".equals(conn.getClass().getName())) {
+            return forBulkColumns(schema, dbMeta, getOriginalConn(HikariProxyConnection.class, "delegate", conn));
+        } else if ("com.alibaba.druid.pool.DruidPooledConnection".equals(conn.getClass().getName())) {
+            return forBulkColumns(schema, dbMeta, getOriginalConn(DruidPooledConnection.class, "conn", conn));
+        }
+        return super.forBulkColumns(schema, dbMeta, conn);
+    }
+
+    @Override
+    protected String forBulkColumnClassName(int dataType, String typeName, int columnSize) {
+        // 驱动将 DATE 读取为 Timestamp
+        if (dataType == Types.DATE) {
+            return Timestamp.class.getName();
+        }
+        return super.forBulkColumnClassName(dataType, typeName, columnSize);
+    }
+
     private Connection getOriginalConn(Class<?> clazz, String attr, Connection conn) {
         Field delegate = ClassUtil.getFirstField(clazz, field -> field.getName().equals(attr));
         try {
@@ -36,6 +36,11 @@ import java.util.Map;
  */
 public class PackageInfoGenerator implements IGenerator {
 
+    /**
+     * 每张表都会生成相同的 package-info.java 文件，并行生成时需要串行写入。
+     */
+    private static final Object WRITE_LOCK = new Object();
+
     private String templatePath;
 
     public PackageInfoGenerator() {
@@ -79,13 +84,15 @@ public class PackageInfoGenerator implements IGenerator {
             dataList.add(new Data(sourceDir, packageConfig.getTableDefPackage(), javadocConfig.getTableDefPackage()));
         }
 
-        dataList.forEach(data -> {
-            Map<String, Object> params = new HashMap<>(3);
-            params.put("packageName", data.packageName);
-            params.put("packageComment", data.packageComment);
-            params.put("javadocConfig", javadocConfig);
-            globalConfig.getTemplateConfig().getTemplate().generate(params, templatePath, data.filePath);
-        });
+        synchronized (WRITE_LOCK) {
+            dataList.forEach(data -> {
+                Map<String, Object> params = new HashMap<>(3);
+                params.put("packageName", data.packageName);
+                params.put("packageComment", data.packageComment);
+                params.put("javadocConfig", javadocConfig);
+                globalConfig.getTemplateConfig().getTemplate().generate(params, templatePath, data.filePath);
+            });
+        }
     }
 
     @Override
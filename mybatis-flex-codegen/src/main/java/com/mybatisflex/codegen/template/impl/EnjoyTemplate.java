@@ -58,7 +58,8 @@ public class EnjoyTemplate implements ITemplate {
 
     @Override
     public void generate(Map<String, Object> params, String templateFilePath, File generateFile) {
-        if (!generateFile.getParentFile().exists() && !generateFile.getParentFile().mkdirs()) {
+        // 并行生成时其他线程可能已经创建了目录
+        if (!generateFile.getParentFile().exists() && !generateFile.getParentFile().mkdirs() && !generateFile.getParentFile().isDirectory()) {
             throw new IllegalStateException("Can not mkdirs by dir: " + generateFile.getParentFile());
         }
         // 开始生成文件
@@ -0,0 +1,595 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.codegen.template.impl;
+
+import com.mybatisflex.codegen.config.EntityConfig;
+import com.mybatisflex.codegen.config.GlobalConfig;
+import com.mybatisflex.codegen.config.JavadocConfig;
+import com.mybatisflex.codegen.entity.Column;
+import com.mybatisflex.codegen.entity.Table;
+import com.mybatisflex.codegen.template.ITemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 增量生成的模板引擎。
+ *
+ * <p>包装实际的模板引擎，为每个生成的文件记录表结构、模板内容以及配置的摘要（manifest）。再次生成时，
+ * 如果三者都没有变化且文件未被修改，则跳过渲染；否则渲染到临时文件，只有内容确实发生变化时才写入目标文件，
+ * 从而避免无意义地修改文件的修改时间而触发全量编译。
+ *
+ * <p>配置中的格式化函数（例如注释格式化、父类工厂）无法直接比较，因此还会记录它们应用到当前表后的结果。
+ * 本次没有生成的文件会从 manifest 中移除。
+ *
+ * <p>开启 dry-run 时只比较、不写入任何文件，通过 {@link #getChanges()} 获取将要发生的变更。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class IncrementalTemplate implements ITemplate {
+
+    private static final String MANIFEST_HEADER = "# mybatis-flex codegen manifest v1";
+
+    private final ITemplate delegate;
+    private final File manifestFile;
+    private final boolean dryRun;
+    private final String globalConfigHash;
+
+    private final Map<String, Entry> manifest = new ConcurrentHashMap<>();
+    private final Set<String> generatedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> templateHashes = new ConcurrentHashMap<>();
+    private final List<Change> changes = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param delegate     实际的模板引擎
+     * @param manifestFile manifest 文件，为 {@code null} 时不记录摘要，每次都会渲染并比较内容
+     * @param dryRun       是否只比较而不写入文件
+     * @param globalConfig 全局配置，参与配置摘要的计算
+     */
+    public IncrementalTemplate(ITemplate delegate, File manifestFile, boolean dryRun, GlobalConfig globalConfig) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.manifestFile = manifestFile;
+        this.dryRun = dryRun;
+        this.globalConfigHash = Fingerprint.of(globalConfig, null);
+        if (manifestFile != null) {
+            loadManifest();
+        }
+    }
+
+    public ITemplate getDelegate() {
+        return delegate;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * 获取本次生成涉及的全部文件及其变更类型，按文件路径排序。
+     */
+    public List<Change> getChanges() {
+        List<Change> list;
+        synchronized (changes) {
+            list = new ArrayList<>(changes);
+        }
+        list.sort(Comparator.comparing(change -> change.file().getPath()));
+        return list;
+    }
+
+    @Override
+    public void generate(Map<String, Object> params, String templateFilePath, File generateFile) {
+        String key = generateFile.getAbsoluteFile().toPath().normalize().toString();
+        generatedKeys.add(key);
+
+        Table table = findTable(params);
+        String tableHash = Fingerprint.of(table, GlobalConfig.class);
+        String templateHash = templateHashes.computeIfAbsent(templateFilePath, this::hashTemplate);
+        String configHash = Fingerprint.hash(globalConfigHash + Fingerprint.of(params, Table.class) + hashAppliedFunctions(table));
+
+        Entry entry = manifest.get(key);
+        if (entry != null && entry.matches(tableHash, templateHash, configHash) && isUnmodified(entry, generateFile)) {
+            changes.add(new Change(generateFile, Action.SKIP, null));
+            return;
+        }
+
+        byte[] content = render(params, templateFilePath, generateFile);
+        String outputHash = Fingerprint.hash(content);
+
+        byte[] existing = generateFile.isFile() ? readBytes(generateFile.toPath()) : null;
+        Action action;
+        if (existing == null) {
+            action = Action.CREATE;
+        } else if (Arrays.equals(existing, content)) {
+            action = Action.UNCHANGED;
+        } else {
+            action = Action.UPDATE;
+        }
+        changes.add(new Change(generateFile, action, action == Action.CREATE ? null : describeReason(entry, tableHash, templateHash, configHash)));
+
+        if (dryRun) {
+            return;
+        }
+        if (action != Action.UNCHANGED) {
+            write(generateFile, content);
+        }
+        manifest.put(key, new Entry(tableHash, templateHash, configHash, outputHash, generateFile.length(), generateFile.lastModified()));
+    }
+
+    /**
+     * 保存 manifest 并输出变更报告，在全部代码生成完毕后调用。
+     */
+    public void finish() {
+        if (manifestFile != null && !dryRun) {
+            // 不再生成的文件（例如表被删除或者关闭了某个生成器）不再保留摘要
+            manifest.keySet().retainAll(generatedKeys);
+            saveManifest();
+        }
+        printReport();
+    }
+
+    /**
+     * 输出变更报告，dry-run 时列出将要创建和修改的文件。
+     */
+    public void printReport() {
+        List<Change> list = getChanges();
+        int[] counts = new int[Action.values().length];
+        for (Change change : list) {
+            counts[change.action().ordinal()]++;
+        }
+        System.out.printf("%sfiles: %d created, %d updated, %d unchanged, %d skipped.%n", dryRun ? "[dry-run] " : ""
+            , counts[Action.CREATE.ordinal()], counts[Action.UPDATE.ordinal()]
+            , counts[Action.UNCHANGED.ordinal()], counts[Action.SKIP.ordinal()]);
+        for (Change change : list) {
+            if (change.action() == Action.CREATE || change.action() == Action.UPDATE) {
+                System.out.println(change);
+            }
+        }
+    }
+
+
+    /**
+     * 读取模板内容，用于计算模板摘要。默认先从文件读取，找不到时再从类路径读取，与 {@link EnjoyTemplate} 保持一致。
+     *
+     * @param templateFilePath 模板文件位置
+     * @return 模板内容，读取不到时返回 {@code null}
+     */
+    protected byte[] readTemplate(String templateFilePath) {
+        File file = new File(templateFilePath);
+        if (file.isFile()) {
+            return readBytes(file.toPath());
+        }
+        String resource = templateFilePath.startsWith("/") ? templateFilePath.substring(1) : templateFilePath;
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = IncrementalTemplate.class.getClassLoader();
+        }
+        try (InputStream inputStream = classLoader.getResourceAsStream(resource)) {
+            return inputStream == null ? null : inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String hashTemplate(String templateFilePath) {
+        byte[] content = readTemplate(templateFilePath);
+        // 读取不到模板内容时只能以路径作为摘要，模板内容的修改将无法被感知
+        return content == null ? Fingerprint.hash("path:" + templateFilePath) : Fingerprint.hash(content);
+    }
+
+    private static Table findTable(Map<String, Object> params) {
+        for (Object value : params.values()) {
+            if (value instanceof Table table) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 计算配置中的函数应用到当前表后的摘要，函数的实现发生变化时能够被感知。
+     */
+    private static String hashAppliedFunctions(Table table) {
+        if (table == null) {
+            return "";
+        }
+        List<Object> values = new ArrayList<>();
+        GlobalConfig globalConfig = table.getGlobalConfig();
+        JavadocConfig javadocConfig = globalConfig == null ? null : globalConfig.getJavadocConfig();
+        if (javadocConfig != null) {
+            values.add(javadocConfig.formatTableComment(table.getComment()));
+            if (table.getColumns() != null) {
+                for (Column column : table.getColumns()) {
+                    values.add(javadocConfig.formatColumnComment(column.getComment()));
+                }
+            }
+        }
+        EntityConfig entityConfig = table.getEntityConfig();
+        if (entityConfig != null) {
+            values.add(entityConfig.getSuperClass(table));
+        }
+        return Fingerprint.of(values, null);
+    }
+
+    private static boolean isUnmodified(Entry entry, File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+        if (file.length() == entry.length() && file.lastModified() == entry.lastModified()) {
+            return true;
+        }
+        return entry.outputHash().equals(Fingerprint.hash(readBytes(file.toPath())));
+    }
+
+    private static String describeReason(Entry entry, String tableHash, String templateHash, String configHash) {
+        if (entry == null) {
+            return "no manifest entry";
+        }
+        List<String> reasons = new ArrayList<>(3);
+        if (!entry.tableHash().equals(tableHash)) {
+            reasons.add("table changed");
+        }
+        if (!entry.templateHash().equals(templateHash)) {
+            reasons.add("template changed");
+        }
+        if (!entry.configHash().equals(configHash)) {
+            reasons.add("config changed");
+        }
+        return reasons.isEmpty() ? "file modified" : String.join(", ", reasons);
+    }
+
+    private byte[] render(Map<String, Object> params, String templateFilePath, File generateFile) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("mybatis-flex-codegen-", "-" + generateFile.getName());
+            delegate.generate(params, templateFilePath, tempFile.toFile());
+            return Files.readAllBytes(tempFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static void write(File generateFile, byte[] content) {
+        try {
+            Files.createDirectories(generateFile.getAbsoluteFile().toPath().getParent());
+            Files.write(generateFile.toPath(), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadManifest() {
+        if (!manifestFile.isFile()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                if (parts.length != 7) {
+                    continue;
+                }
+                manifest.put(parts[0], new Entry(parts[1], parts[2], parts[3], parts[4], Long.parseLong(parts[5]), Long.parseLong(parts[6])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // manifest 损坏时当作首次生成处理
+            System.err.println("Can not read codegen manifest " + manifestFile + ": " + e.getMessage());
+            manifest.clear();
+        }
+    }
+
+    private void saveManifest() {
+        List<String> keys = new ArrayList<>(manifest.keySet());
+        Collections.sort(keys);
+        try {
+            File parent = manifestFile.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                Files.createDirectories(parent.toPath());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(MANIFEST_HEADER);
+                writer.newLine();
+                for (String key : keys) {
+                    Entry entry = manifest.get(key);
+                    writer.write(String.join("\t", key, entry.tableHash(), entry.templateHash(), entry.configHash()
+                        , entry.outputHash(), String.valueOf(entry.length()), String.valueOf(entry.lastModified())));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * 文件的变更类型。
+     */
+    public enum Action {
+
+        /**
+         * 新建文件。
+         */
+        CREATE,
+
+        /**
+         * 文件内容发生变化。
+         */
+        UPDATE,
+
+        /**
+         * 重新渲染，但内容没有变化，不写入文件。
+         */
+        UNCHANGED,
+
+        /**
+         * 表结构、模板以及配置均未变化，跳过渲染。
+         */
+        SKIP
+
+    }
+
+    /**
+     * 单个文件的变更。
+     *
+     * @param file   生成的文件
+     * @param action 变更类型
+     * @param reason 重新渲染的原因，新建或跳过时为 {@code null}
+     */
+    public record Change(File file, Action action, String reason) {
+
+        @Override
+        public String toString() {
+            return String.format("  %-9s %s%s", action, file, reason == null ? "" : " (" + reason + ")");
+        }
+
+    }
+
+    private record Entry(String tableHash, String templateHash, String configHash, String outputHash, long length, long lastModified) {
+
+        boolean matches(String tableHash, String templateHash, String configHash) {
+            return this.tableHash.equals(tableHash) && this.templateHash.equals(templateHash) && this.configHash.equals(configHash);
+        }
+
+    }
+
+    /**
+     * 对象摘要，递归读取对象的字段计算 SHA-256。
+     *
+     * <p>集合（Set）以及 Map 的元素按摘要排序，保证与迭代顺序无关。Lambda 读取其捕获的变量，
+     * {@link Supplier} 类型的 Lambda（例如 {@code JavadocConfig#setSince(String)}）读取其返回值。
+     */
+    static final class Fingerprint {
+
+        private final MessageDigest digest = newDigest();
+        private final Map<Object, Integer> visited;
+        private final Class<?> opaqueType;
+
+        private Fingerprint(Map<Object, Integer> visited, Class<?> opaqueType) {
+            this.visited = visited;
+            this.opaqueType = opaqueType;
+        }
+
+        /**
+         * 计算对象的摘要。
+         *
+         * @param value      对象
+         * @param opaqueType 不读取其内容的类型，为 {@code null} 时读取全部对象
+         */
+        static String of(Object value, Class<?> opaqueType) {
+            return new Fingerprint(new IdentityHashMap<>(), opaqueType).digest(value);
+        }
+
+        static String hash(String value) {
+            return hash(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static String hash(byte[] bytes) {
+            return toHex(newDigest().digest(bytes));
+        }
+
+        private String digest(Object value) {
+            walk(value);
+            return toHex(digest.digest());
+        }
+
+        private String child(Object value) {
+            return new Fingerprint(new IdentityHashMap<>(visited), opaqueType).digest(value);
+        }
+
+        private void write(String token) {
+            digest.update(token.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        private void walk(Object value) {
+            if (value == null) {
+                write("null");
+                return;
+            }
+            if (value instanceof ITemplate || (opaqueType != null && opaqueType.isInstance(value))) {
+                write(typeName(value.getClass()));
+                return;
+            }
+            if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof File) {
+                write(value.getClass().getName());
+                write(value.toString());
+                return;
+            }
+            if (value instanceof Enum<?> enumValue) {
+                write(enumValue.getDeclaringClass().getName());
+                write(enumValue.name());
+                return;
+            }
+            if (value instanceof Class<?> clazz) {
+                write("class");
+                write(typeName(clazz));
+                return;
+            }
+
+            Integer ref = visited.get(value);
+            if (ref != null) {
+                write("ref");
+                write(ref.toString());
+                return;
+            }
+            visited.put(value, visited.size());
+
+            Class<?> clazz = value.getClass();
+            if (clazz.isArray()) {
+                int length = Array.getLength(value);
+                write("array:" + length);
+                for (int i = 0; i < length; i++) {
+                    walk(Array.get(value, i));
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                List<String> entries = new ArrayList<>(map.size());
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    entries.add(child(e.getKey()) + child(e.getValue()));
+                }
+                writeSorted("map", entries);
+            } else if (value instanceof Set<?> set) {
+                List<String> elements = new ArrayList<>(set.size());
+                for (Object element : set) {
+                    elements.add(child(element));
+                }
+                writeSorted("set", elements);
+            } else if (value instanceof Collection<?> collection) {
+                write("collection:" + collection.size());
+                for (Object element : collection) {
+                    walk(element);
+                }
+            } else if (isJdkType(clazz)) {
+                write(typeName(clazz));
+            } else if (value instanceof Supplier<?> supplier && (clazz.isSynthetic() || clazz.isHidden())) {
+                write(typeName(clazz));
+                try {
+                    walk(supplier.get());
+                } catch (RuntimeException e) {
+                    write("unavailable");
+                }
+            } else {
+                write(typeName(clazz));
+                walkFields(value, clazz);
+            }
+        }
+
+        private void writeSorted(String type, List<String> hashes) {
+            Collections.sort(hashes);
+            write(type + ":" + hashes.size());
+            for (String hash : hashes) {
+                write(hash);
+            }
+        }
+
+        private void walkFields(Object value, Class<?> clazz) {
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                Field[] fields = c.getDeclaredFields();
+                Arrays.sort(fields, Comparator.comparing(Field::getName));
+                for (Field field : fields) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    write(field.getName());
+                    try {
+                        field.setAccessible(true);
+                        walk(field.get(value));
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        write("inaccessible");
+                    }
+                }
+            }
+        }
+
+        private static boolean isJdkType(Class<?> clazz) {
+            String name = clazz.getName();
+            return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.");
+        }
+
+        /**
+         * Lambda 的类名带有每次运行都不同的后缀，需要去除。
+         */
+        private static String typeName(Class<?> clazz) {
+            String name = clazz.getName();
+            int index = name.indexOf("$$Lambda");
+            return index >= 0 ? name.substring(0, index) + "$$Lambda" : name;
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static String toHex(byte[] bytes) {
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.codegen.template.impl;
+
+import com.mybatisflex.codegen.config.GlobalConfig;
+import com.mybatisflex.codegen.entity.Table;
+import com.mybatisflex.codegen.template.ITemplate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IncrementalTemplateTest {
+
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    private final ITemplate template = (params, templateFilePath, generateFile) -> {
+        renderCount.incrementAndGet();
+        try {
+            Files.write(generateFile.toPath(), ("class " + params.get("name") + " {}").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    };
+
+    @Test
+    public void testSkipUnchanged() throws IOException {
+        Path dir = Files.createTempDirectory("incremental");
+        File manifestFile = dir.resolve(".mybatis-flex-codegen").toFile();
+        File generateFile = dir.resolve("com/test/Account.java").toFile();
+        GlobalConfig globalConfig = new GlobalConfig();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Account");
+
+        IncrementalTemplate first = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        first.generate(params, "/templates/test.tpl", generateFile);
+        first.finish();
+        Assert.assertEquals(IncrementalTemplate.Action.CREATE, first.getChanges().get(0).action());
+        Assert.assertEquals(1, renderCount.get());
+        long lastModified = generateFile.lastModified();
+
+        // 输入没有变化，不需要渲染
+        IncrementalTemplate second = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        second.generate(params, "/templates/test.tpl", generateFile);
+        second.finish();
+        Assert.assertEquals(IncrementalTemplate.Action.SKIP, second.getChanges().get(0).action());
+        Assert.assertEquals(1, renderCount.get());
+
+        // 配置发生变化，但生成的内容相同，不写入文件
+        globalConfig.setAuthor("mybatis-flex");
+        IncrementalTemplate third = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        third.generate(params, "/templates/test.tpl", generateFile);
+        third.finish();
+        Assert.assertEquals(IncrementalTemplate.Action.UNCHANGED, third.getChanges().get(0).action());
+        Assert.assertEquals(2, renderCount.get());
+        Assert.assertEquals(lastModified, generateFile.lastModified());
+    }
+
+    @Test
+    public void testDryRun() throws IOException {
+        Path dir = Files.createTempDirectory("incremental");
+        File manifestFile = dir.resolve(".mybatis-flex-codegen").toFile();
+        File generateFile = dir.resolve("com/test/Account.java").toFile();
+        GlobalConfig globalConfig = new GlobalConfig();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Account");
+
+        IncrementalTemplate first = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        first.generate(params, "/templates/test.tpl", generateFile);
+        first.finish();
+
+        params.put("name", "Article");
+        IncrementalTemplate dryRun = new IncrementalTemplate(template, manifestFile, true, globalConfig);
+        dryRun.generate(params, "/templates/test.tpl", generateFile);
+        dryRun.finish();
+
+        IncrementalTemplate.Change change = dryRun.getChanges().get(0);
+        Assert.assertEquals(IncrementalTemplate.Action.UPDATE, change.action());
+        Assert.assertEquals("config changed", change.reason());
+        Assert.assertEquals("class Account {}", new String(Files.readAllBytes(generateFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLambdaConfigChanged() throws IOException {
+        Path dir = Files.createTempDirectory("incremental");
+        File manifestFile = dir.resolve(".mybatis-flex-codegen").toFile();
+        File generateFile = dir.resolve("com/test/Account.java").toFile();
+        GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.setSince("1.0.0");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Account");
+
+        IncrementalTemplate first = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        first.generate(params, "/templates/test.tpl", generateFile);
+        first.finish();
+
+        // setSince(String) 保存的是 Lambda，需要比较其返回值
+        globalConfig.setSince("2.0.0");
+        IncrementalTemplate second = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        second.generate(params, "/templates/test.tpl", generateFile);
+        second.finish();
+        Assert.assertEquals(IncrementalTemplate.Action.UNCHANGED, second.getChanges().get(0).action());
+        Assert.assertEquals(2, renderCount.get());
+    }
+
+    @Test
+    public void testCommentFormatChanged() throws IOException {
+        Path dir = Files.createTempDirectory("incremental");
+        File manifestFile = dir.resolve(".mybatis-flex-codegen").toFile();
+        File generateFile = dir.resolve("com/test/Account.java").toFile();
+        GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.setSince("1.0.0");
+        globalConfig.setTableCommentFormat(comment -> comment + "信息");
+
+        Table table = new Table();
+        table.setName("tb_account");
+        table.setComment("账户");
+        table.setGlobalConfig(globalConfig);
+        table.setEntityConfig(globalConfig.getEntityConfig());
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Account");
+        params.put("table", table);
+
+        IncrementalTemplate first = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        first.generate(params, "/templates/test.tpl", generateFile);
+        first.finish();
+
+        IncrementalTemplate second = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        second.generate(params, "/templates/test.tpl", generateFile);
+        second.finish();
+        Assert.assertEquals(IncrementalTemplate.Action.SKIP, second.getChanges().get(0).action());
+
+        // 两个 Lambda 的类型相同且没有捕获变量，通过格式化后的注释感知变化
+        globalConfig.setTableCommentFormat(comment -> comment + "表");
+        IncrementalTemplate third = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        third.generate(params, "/templates/test.tpl", generateFile);
+        third.finish();
+        IncrementalTemplate.Change change = third.getChanges().get(0);
+        Assert.assertEquals(IncrementalTemplate.Action.UNCHANGED, change.action());
+        Assert.assertEquals("config changed", change.reason());
+        Assert.assertEquals(2, renderCount.get());
+    }
+
+    @Test
+    public void testPruneManifest() throws IOException {
+        Path dir = Files.createTempDirectory("incremental");
+        File manifestFile = dir.resolve(".mybatis-flex-codegen").toFile();
+        File accountFile = dir.resolve("com/test/Account.java").toFile();
+        File articleFile = dir.resolve("com/test/Article.java").toFile();
+        GlobalConfig globalConfig = new GlobalConfig();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Account");
+
+        IncrementalTemplate first = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        first.generate(params, "/templates/test.tpl", accountFile);
+        first.generate(params, "/templates/test.tpl", articleFile);
+        first.finish();
+        Assert.assertEquals(3, Files.readAllLines(manifestFile.toPath()).size());
+
+        // 不再生成 Article，其摘要从 manifest 中移除
+        IncrementalTemplate second = new IncrementalTemplate(template, manifestFile, false, globalConfig);
+        second.generate(params, "/templates/test.tpl", accountFile);
+        second.finish();
+
+        List<String> lines = Files.readAllLines(manifestFile.toPath());
+        Assert.assertEquals(2, lines.size());
+        Assert.assertTrue(lines.get(1).startsWith(accountFile.getAbsoluteFile().toPath().normalize().toString() + "\t"));
+        Assert.assertTrue(articleFile.isFile());
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.codegen.test;
+
+import com.mybatisflex.codegen.config.GlobalConfig;
+import com.mybatisflex.codegen.dialect.impl.DefaultJdbcDialect;
+import com.mybatisflex.codegen.entity.Column;
+import com.mybatisflex.codegen.entity.Table;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 批量读取表结构测试，同名的表存在于多个模式中。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class BulkIntrospectionTest {
+
+    private final GlobalConfig globalConfig = new GlobalConfig();
+    private final List<String> fallbackTables = new ArrayList<>();
+
+    private final DefaultJdbcDialect dialect = new DefaultJdbcDialect() {
+        @Override
+        public void buildTableColumns(String schemaName, Table table, GlobalConfig globalConfig, DatabaseMetaData dbMeta, Connection conn) {
+            fallbackTables.add(table.getName());
+        }
+    };
+
+    @Test
+    public void testFilterByConfiguredSchema() throws SQLException {
+        List<Table> tables = tables("tb_account", "tb_article");
+        DatabaseMetaData dbMeta = metaData();
+        Connection conn = connection(null);
+
+        dialect.buildTablesPrimaryKeys("app", tables, dbMeta, conn);
+        dialect.buildTablesColumns("app", tables, globalConfig, dbMeta, conn);
+
+        Table account = tables.get(0);
+        Assert.assertEquals(Collections.singleton("id"), account.getPrimaryKeys());
+        Assert.assertEquals(Arrays.asList("id", "user_name"), columnNames(account));
+        Assert.assertEquals(Arrays.asList("id", "title"), columnNames(tables.get(1)));
+        Assert.assertTrue(fallbackTables.isEmpty());
+    }
+
+    @Test
+    public void testFilterByConnectionSchema() throws SQLException {
+        List<Table> tables = tables("tb_account", "tb_article");
+        DatabaseMetaData dbMeta = metaData();
+        Connection conn = connection("archive");
+
+        dialect.buildTablesPrimaryKeys(null, tables, dbMeta, conn);
+        dialect.buildTablesColumns(null, tables, globalConfig, dbMeta, conn);
+
+        // 未指定模式时使用连接当前的模式，archive 中的 tb_account 使用联合主键，并且没有 tb_article
+        Table account = tables.get(0);
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("id", "archived_at")), account.getPrimaryKeys());
+        Assert.assertEquals(Arrays.asList("id", "archived_at", "user_name"), columnNames(account));
+        Assert.assertEquals(Collections.singletonList("tb_article"), fallbackTables);
+        // 回退为逐表获取列之前，先逐表获取主键
+        Assert.assertEquals(Collections.singleton("id"), tables.get(1).getPrimaryKeys());
+    }
+
+    @Test
+    public void testAmbiguousTableFallsBack() throws SQLException {
+        List<Table> tables = tables("tb_account", "tb_article");
+        DatabaseMetaData dbMeta = metaData();
+        Connection conn = connection(null);
+
+        dialect.buildTablesPrimaryKeys(null, tables, dbMeta, conn);
+        dialect.buildTablesColumns(null, tables, globalConfig, dbMeta, conn);
+
+        // 无法确定模式时，出现在多个模式中的 tb_account 不使用批量结果，只有一个模式中存在的 tb_article 正常使用
+        Assert.assertEquals(Collections.singletonList("tb_account"), fallbackTables);
+        Assert.assertTrue(columnNames(tables.get(0)).isEmpty());
+        Assert.assertEquals(Arrays.asList("id", "title"), columnNames(tables.get(1)));
+        Assert.assertEquals(Collections.singleton("id"), tables.get(1).getPrimaryKeys());
+    }
+
+
+    private List<Table> tables(String... names) {
+        List<Table> tables = new ArrayList<>();
+        for (String name : names) {
+            Table table = new Table();
+            table.setGlobalConfig(globalConfig);
+            table.setTableConfig(globalConfig.getStrategyConfig().getTableConfig(name));
+            table.setEntityConfig(globalConfig.getEntityConfig());
+            table.setName(name);
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static List<String> columnNames(Table table) {
+        return table.getColumns().stream().map(Column::getName).collect(Collectors.toList());
+    }
+
+    private static DatabaseMetaData metaData() {
+        List<Map<String, Object>> columns = Arrays.asList(
+            column("app", "tb_account", "user_name", 2),
+            column("app", "tb_account", "id", 1),
+            column("app", "tb_article", "id", 1),
+            column("app", "tb_article", "title", 2),
+            column("archive", "tb_account", "id", 1),
+            column("archive", "tb_account", "archived_at", 2),
+            column("archive", "tb_account", "user_name", 3)
+        );
+        List<Map<String, Object>> primaryKeys = Arrays.asList(
+            primaryKey("app", "tb_account", "id"),
+            primaryKey("app", "tb_article", "id"),
+            primaryKey("archive", "tb_account", "id"),
+            primaryKey("archive", "tb_account", "archived_at")
+        );
+        return proxy(DatabaseMetaData.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getColumns" -> resultSet(filter(columns, (String) args[1], (String) args[2]));
+            case "getPrimaryKeys" -> resultSet(filter(primaryKeys, (String) args[1], (String) args[2]));
+            default -> null;
+        });
+    }
+
+    private static Connection connection(String schema) {
+        return proxy(Connection.class, (proxy, method, args) -> "getSchema".equals(method.getName()) ? schema : null);
+    }
+
+    private static List<Map<String, Object>> filter(List<Map<String, Object>> rows, String schema, String table) {
+        return rows.stream()
+            .filter(row -> schema == null || schema.equals(row.get("TABLE_SCHEM")))
+            .filter(row -> table == null || table.equals(row.get("TABLE_NAME")))
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> column(String schema, String table, String column, int ordinal) {
+        Map<String, Object> row = primaryKey(schema, table, column);
+        row.put("TYPE_NAME", "VARCHAR");
+        row.put("DATA_TYPE", Types.VARCHAR);
+        row.put("COLUMN_SIZE", 32);
+        row.put("NULLABLE", DatabaseMetaData.columnNullable);
+        row.put("IS_AUTOINCREMENT", "NO");
+        row.put("ORDINAL_POSITION", ordinal);
+        return row;
+    }
+
+    private static Map<String, Object> primaryKey(String schema, String table, String column) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("TABLE_SCHEM", schema);
+        row.put("TABLE_NAME", table);
+        row.put("COLUMN_NAME", column);
+        return row;
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        Set<String> labels = rows.isEmpty() ? Collections.emptySet() : rows.get(0).keySet();
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        Object[] current = new Object[1];
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> {
+                current[0] = iterator.hasNext() ? iterator.next() : null;
+                yield current[0] != null;
+            }
+            case "findColumn" -> {
+                if (!labels.contains((String) args[0])) {
+                    throw new SQLException("Column not found: " + args[0]);
+                }
+                yield 1;
+            }
+            case "getString" -> ((Map<?, ?>) current[0]).get(args[0]);
+            case "getInt" -> {
+                Object value = ((Map<?, ?>) current[0]).get(args[0]);
+                yield value == null ? 0 : value;
+            }
+            default -> null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BulkIntrospectionTest.class.getClassLoader(), new Class[]{type}, handler);
+    }
+
+}
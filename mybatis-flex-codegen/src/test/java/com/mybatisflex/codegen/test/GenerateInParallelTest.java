@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.codegen.test;
+
+import com.mybatisflex.codegen.Generator;
+import com.mybatisflex.codegen.config.GlobalConfig;
+import com.mybatisflex.codegen.entity.Table;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程生成代码测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class GenerateInParallelTest {
+
+    @Test
+    public void testGenerateAllTables() {
+        Set<String> generated = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch started = new CountDownLatch(2);
+
+        new ParallelGenerator() {
+            @Override
+            protected void generate(Table table) {
+                threads.add(Thread.currentThread().getName());
+                started.countDown();
+                try {
+                    // 前两张表同时在不同的线程中生成
+                    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                generated.add(table.getName());
+            }
+        }.generateInParallel(tables(10), 2);
+
+        Assert.assertEquals(10, generated.size());
+        Assert.assertEquals(2, threads.size());
+        Assert.assertFalse(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testFailure() {
+        IllegalArgumentException failure = new IllegalArgumentException("tb_3");
+        try {
+            new ParallelGenerator() {
+                @Override
+                protected void generate(Table table) {
+                    if ("tb_3".equals(table.getName())) {
+                        throw failure;
+                    }
+                }
+            }.generateInParallel(tables(10), 4);
+            Assert.fail("should fail");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+    }
+
+
+    private static List<Table> tables(int count) {
+        List<Table> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Table table = new Table();
+            table.setName("tb_" + i);
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static class ParallelGenerator extends Generator {
+
+        ParallelGenerator() {
+            super(null, new GlobalConfig());
+        }
+
+        @Override
+        public void generateInParallel(List<Table> tables, int threads) {
+            super.generateInParallel(tables, threads);
+        }
+
+    }
+
+}
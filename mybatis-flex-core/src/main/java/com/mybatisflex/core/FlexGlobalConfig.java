@@ -20,6 +20,7 @@ import com.mybatisflex.annotation.KeyType;
 import com.mybatisflex.annotation.Listener;
 import com.mybatisflex.annotation.SetListener;
 import com.mybatisflex.annotation.UpdateListener;
+import com.mybatisflex.core.batch.BatchPolicy;
 import com.mybatisflex.core.datasource.DataSourceMissingHandler;
 import com.mybatisflex.core.datasource.FlexDataSource;
 import com.mybatisflex.core.dialect.DbType;
@@ -116,6 +117,12 @@ public class FlexGlobalConfig {
      */
     private boolean ignoreSchema = false;
 
+    /**
+     * 是否使用紧凑的 {@link com.mybatisflex.core.row.CompactRow} 保存 Row 类型的查询结果，
+     * 同一结果集的所有行共享列头，适合大量数据的查询。
+     */
+    private boolean compactRow = false;
+
     /**
      * 未匹配列处理器
      */
@@ -126,6 +133,11 @@ public class FlexGlobalConfig {
      */
     private DataSourceMissingHandler dataSourceMissingHandler;
 
+    /**
+     * {@code Db.executeBatch} 的刷新策略，为 {@code null} 时按传入的 batchSize 固定条数刷新。
+     */
+    private BatchPolicy batchPolicy;
+
     public boolean isPrintBanner() {
         return printBanner;
     }
@@ -348,6 +360,14 @@ public class FlexGlobalConfig {
         this.ignoreSchema = ignoreSchema;
     }
 
+    public boolean isCompactRow() {
+        return compactRow;
+    }
+
+    public void setCompactRow(boolean compactRow) {
+        this.compactRow = compactRow;
+    }
+
     public UnMappedColumnHandler getUnMappedColumnHandler() {
         return unMappedColumnHandler;
     }
@@ -384,6 +404,18 @@ public class FlexGlobalConfig {
         this.dataSourceMissingHandler = dataSourceMissingHandler;
     }
 
+    public BatchPolicy getBatchPolicy() {
+        return batchPolicy;
+    }
+
+    /**
+     * 设置 {@code Db.executeBatch} 的刷新策略，例如 {@link com.mybatisflex.core.batch.AdaptiveBatchPolicy}。
+     * 设置后，调用时传入的 batchSize 作为每个批次条数的上限。
+     */
+    public void setBatchPolicy(BatchPolicy batchPolicy) {
+        this.batchPolicy = batchPolicy;
+    }
+
     /**
      * 对应的是 注解 {@link com.mybatisflex.annotation.Id} 的配置
      */
@@ -96,11 +96,19 @@ public class AuditManager {
         }
     }
 
-    @SuppressWarnings("rawtypes")
-    public static <T> T startAudit(AuditRunnable<T> supplier, String stmtId, Statement statement, BoundSql boundSql, Configuration configuration) throws SQLException {
+    /**
+     * 创建审计消息，并记录语句 id 以及当前的数据源。
+     *
+     * <p>消息工厂可能读取当前线程中的上下文（例如当前用户），因此需要在发起调用的线程中创建。
+     *
+     * @param stmtId 语句 id
+     * @return 审计消息，消息工厂返回 {@code null} 时不进行审计
+     * @since 1.11.9
+     */
+    public static AuditMessage createMessage(String stmtId) {
         AuditMessage auditMessage = messageFactory.create();
         if (auditMessage == null) {
-            return supplier.execute();
+            return null;
         }
         auditMessage.setStmtId(stmtId);
         String key = DataSourceKey.get();
@@ -110,6 +118,24 @@ public class AuditManager {
                 .getDefaultDataSourceKey();
         }
         auditMessage.setDsName(key);
+        return auditMessage;
+    }
+
+    public static <T> T startAudit(AuditRunnable<T> supplier, String stmtId, Statement statement, BoundSql boundSql, Configuration configuration) throws SQLException {
+        return startAudit(createMessage(stmtId), supplier, statement, boundSql, configuration);
+    }
+
+    /**
+     * 使用通过 {@link #createMessage(String)} 创建的审计消息进行审计。
+     *
+     * @param auditMessage 审计消息，为 {@code null} 时不进行审计
+     * @since 1.11.9
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> T startAudit(AuditMessage auditMessage, AuditRunnable<T> supplier, Statement statement, BoundSql boundSql, Configuration configuration) throws SQLException {
+        if (auditMessage == null) {
+            return supplier.execute();
+        }
         auditMessage.setQueryTime(clock.getTick());
         try {
             T result = supplier.execute();
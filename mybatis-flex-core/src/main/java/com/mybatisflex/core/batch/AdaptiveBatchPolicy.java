@@ -0,0 +1,264 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.batch;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * 自适应的刷新策略。
+ *
+ * <p>同时按条数与参数字节数限制每个批次的大小：
+ * <ul>
+ *     <li>累计的参数字节数（根据参数类型估算）达到 {@link #setMaxBatchBytes(long) maxBatchBytes} 时刷新，
+ *     避免宽行的批次超出数据库允许的数据包大小，例如 MySQL 的 {@code max_allowed_packet}；</li>
+ *     <li>条数上限根据每次刷新的耗时调整：耗时低于 {@link #setTargetFlushMillis(long) targetFlushMillis} 的一半时逐步增大，
+ *     超过时按比例减小，使窄行的批次不至于过小；</li>
+ *     <li>刷新时出现数据包过大的错误时，字节数上限与条数上限都减半，并以更小的批次重新执行该批次的数据；</li>
+ *     <li>减小后的字节数上限在累计 8 次接近上限的批次刷新成功后增大 1/4，直到恢复为
+ *     {@link #setMaxBatchBytes(long) maxBatchBytes}，避免一次偶发的错误使之后的批次一直偏小。</li>
+ * </ul>
+ *
+ * <p>策略会在多次批量执行之间保留调整后的大小，通过 {@link #getMetrics()} 可以获取当前的大小以及统计信息。
+ *
+ * <pre>{@code
+ * FlexGlobalConfig.getDefaultConfig().setBatchPolicy(new AdaptiveBatchPolicy());
+ * }</pre>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class AdaptiveBatchPolicy implements BatchPolicy {
+
+    private static final long MIN_BATCH_BYTES = 1024;
+    private static final int RECOVERY_FLUSHES = 8;
+
+    private int minBatchSize = 10;
+    private int maxBatchSize = 10000;
+    private int initialBatchSize = 1000;
+    private long maxBatchBytes = 4L * 1024 * 1024;
+    private long targetFlushMillis = 200;
+
+    private volatile int batchSizeLimit = initialBatchSize;
+    private volatile long batchBytesLimit = maxBatchBytes;
+
+    private long flushCount;
+    private long totalRows;
+    private long totalFlushNanos;
+    private int lastBatchSize;
+    private long lastBatchBytes;
+    private long backoffCount;
+    private int recoveryFlushes;
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    /**
+     * 设置条数上限的最小值，默认为 10。
+     */
+    public synchronized void setMinBatchSize(int minBatchSize) {
+        if (minBatchSize <= 0) {
+            throw new IllegalArgumentException("minBatchSize must be positive.");
+        }
+        this.minBatchSize = minBatchSize;
+        reset();
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * 设置条数上限的最大值，默认为 10000。
+     */
+    public synchronized void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive.");
+        }
+        this.maxBatchSize = maxBatchSize;
+        reset();
+    }
+
+    public int getInitialBatchSize() {
+        return initialBatchSize;
+    }
+
+    /**
+     * 设置初始的条数上限，默认为 1000。
+     */
+    public synchronized void setInitialBatchSize(int initialBatchSize) {
+        if (initialBatchSize <= 0) {
+            throw new IllegalArgumentException("initialBatchSize must be positive.");
+        }
+        this.initialBatchSize = initialBatchSize;
+        reset();
+    }
+
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * 设置每个批次参数字节数的上限，默认为 4MB，应小于数据库允许的数据包大小。
+     */
+    public synchronized void setMaxBatchBytes(long maxBatchBytes) {
+        if (maxBatchBytes < MIN_BATCH_BYTES) {
+            throw new IllegalArgumentException("maxBatchBytes must not be less than " + MIN_BATCH_BYTES + ".");
+        }
+        this.maxBatchBytes = maxBatchBytes;
+        reset();
+    }
+
+    public long getTargetFlushMillis() {
+        return targetFlushMillis;
+    }
+
+    /**
+     * 设置期望的单次刷新耗时（毫秒），默认为 200。
+     */
+    public synchronized void setTargetFlushMillis(long targetFlushMillis) {
+        if (targetFlushMillis <= 0) {
+            throw new IllegalArgumentException("targetFlushMillis must be positive.");
+        }
+        this.targetFlushMillis = targetFlushMillis;
+    }
+
+    /**
+     * 恢复初始的批次大小并清空统计信息。
+     */
+    public synchronized void reset() {
+        batchSizeLimit = clamp(initialBatchSize);
+        batchBytesLimit = maxBatchBytes;
+        flushCount = 0;
+        totalRows = 0;
+        totalFlushNanos = 0;
+        lastBatchSize = 0;
+        lastBatchBytes = 0;
+        backoffCount = 0;
+        recoveryFlushes = 0;
+    }
+
+    @Override
+    public boolean isEstimateBytes() {
+        return true;
+    }
+
+    @Override
+    public boolean shouldFlush(int rows, long bytes) {
+        return rows >= batchSizeLimit || bytes >= batchBytesLimit;
+    }
+
+    @Override
+    public synchronized void onFlush(int rows, long bytes, long elapsedNanos) {
+        flushCount++;
+        totalRows += rows;
+        totalFlushNanos += elapsedNanos;
+        lastBatchSize = rows;
+        lastBatchBytes = bytes;
+
+        int limit = batchSizeLimit;
+        long targetNanos = targetFlushMillis * 1_000_000L;
+        if (elapsedNanos > targetNanos) {
+            // 按比例减小，但每次最多减半，避免单次抖动导致批次过小
+            long scaled = rows * targetNanos / elapsedNanos;
+            batchSizeLimit = clamp((int) Math.max(scaled, limit / 2));
+        } else if (elapsedNanos < targetNanos / 2 && rows >= limit && bytes < batchBytesLimit) {
+            // 因条数而非字节数刷新的批次执行得足够快，逐步增大
+            batchSizeLimit = clamp(limit + Math.max(1, limit / 4));
+        }
+
+        // 只有接近字节数上限的批次才能说明当前的上限是安全的，累计成功若干次后逐步恢复
+        long bytesLimit = batchBytesLimit;
+        if (bytesLimit < maxBatchBytes && bytes >= bytesLimit / 2 && ++recoveryFlushes >= RECOVERY_FLUSHES) {
+            recoveryFlushes = 0;
+            batchBytesLimit = Math.min(maxBatchBytes, bytesLimit + Math.max(MIN_BATCH_BYTES, bytesLimit / 4));
+        }
+    }
+
+    @Override
+    public synchronized boolean onFailure(int rows, long bytes, Throwable e) {
+        if (!isPacketTooLarge(e)) {
+            return false;
+        }
+        backoffCount++;
+        recoveryFlushes = 0;
+        batchBytesLimit = Math.max(MIN_BATCH_BYTES, Math.min(batchBytesLimit, bytes) / 2);
+        batchSizeLimit = clamp(Math.min(batchSizeLimit, rows) / 2);
+        // 只有调整后的大小确实能拆分该批次时才重试，避免已经达到下限时反复重试
+        return rows > 1 && (batchSizeLimit < rows || batchBytesLimit < bytes);
+    }
+
+    /**
+     * 获取当前的批次大小以及统计信息。
+     */
+    public synchronized Metrics getMetrics() {
+        return new Metrics(batchSizeLimit, batchBytesLimit, lastBatchSize, lastBatchBytes, flushCount
+            , flushCount == 0 ? 0 : (double) totalRows / flushCount
+            , flushCount == 0 ? 0 : totalFlushNanos / 1_000_000.0 / flushCount
+            , backoffCount);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+
+    /**
+     * 是否为数据包过大的错误，例如 MySQL 的 {@code max_allowed_packet}，
+     * 或者 PostgreSQL 单条语句的参数超过 32767 个。
+     */
+    public static boolean isPacketTooLarge(Throwable e) {
+        int depth = 0;
+        while (e != null && depth++ < 16) {
+            if (e.getClass().getSimpleName().contains("PacketTooBig")) {
+                return true;
+            }
+            String message = e.getMessage();
+            if (message != null) {
+                String lower = message.toLowerCase(Locale.ROOT);
+                if (lower.contains("max_allowed_packet")
+                    || lower.contains("packet for query is too large")
+                    || lower.contains("tried to send an out-of-range integer as a 2-byte value")) {
+                    return true;
+                }
+            }
+            if (e instanceof SQLException sqlException && sqlException.getNextException() != null
+                && isPacketTooLarge(sqlException.getNextException())) {
+                return true;
+            }
+            e = e.getCause();
+        }
+        return false;
+    }
+
+
+    /**
+     * 批次大小以及统计信息。
+     *
+     * @param batchSizeLimit     当前的条数上限
+     * @param batchBytesLimit    当前的字节数上限
+     * @param lastBatchSize      最近一次刷新的条数
+     * @param lastBatchBytes     最近一次刷新的字节数（估算值）
+     * @param flushCount         刷新成功的次数
+     * @param averageBatchSize   平均每次刷新的条数
+     * @param averageFlushMillis 平均每次刷新的耗时（毫秒）
+     * @param backoffCount       因数据包过大而减小批次的次数
+     */
+    public record Metrics(int batchSizeLimit, long batchBytesLimit, int lastBatchSize, long lastBatchBytes
+        , long flushCount, double averageBatchSize, double averageFlushMillis, long backoffCount) {
+    }
+
+}
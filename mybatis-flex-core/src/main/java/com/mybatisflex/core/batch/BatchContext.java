@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.batch;
+
+import com.mybatisflex.core.FlexConsts;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 批量执行的上下文，在开启期间累计当前线程加入批次的语句参数的字节数（估算值）。
+ *
+ * <p>字节数根据参数的类型估算，例如数值按其二进制长度、字符串按 UTF-8 编码后的长度计算，
+ * 只用于决定何时刷新，与驱动实际发送的数据包大小会有一定的偏差。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class BatchContext {
+
+    /**
+     * 无法得知参数时，每条语句的估算字节数。
+     */
+    private static final int UNKNOWN_STATEMENT_BYTES = 64;
+
+    /**
+     * 每条语句在数据包中的额外开销，例如重写为多值插入时的括号与分隔符。
+     */
+    private static final int STATEMENT_OVERHEAD_BYTES = 8;
+
+    private static final ThreadLocal<long[]> BYTES = new ThreadLocal<>();
+
+    private BatchContext() {
+    }
+
+    /**
+     * 开启统计。
+     *
+     * @return 之前的统计状态，需要在 {@link #end(Object)} 时传回
+     */
+    public static Object begin() {
+        long[] previous = BYTES.get();
+        BYTES.set(new long[1]);
+        return previous;
+    }
+
+    /**
+     * 结束统计，恢复之前的统计状态。
+     *
+     * @param previous {@link #begin()} 的返回值
+     */
+    public static void end(Object previous) {
+        if (previous == null) {
+            BYTES.remove();
+        } else {
+            BYTES.set((long[]) previous);
+        }
+    }
+
+    /**
+     * 当前是否开启了统计。
+     */
+    public static boolean isActive() {
+        return BYTES.get() != null;
+    }
+
+    /**
+     * 累计一条语句的参数，未开启统计时忽略。
+     *
+     * @param parameterObject 语句的参数
+     */
+    public static void track(Object parameterObject) {
+        long[] bytes = BYTES.get();
+        if (bytes != null) {
+            bytes[0] += estimateStatement(parameterObject);
+        }
+    }
+
+    /**
+     * 获取当前批次累计的字节数。
+     */
+    public static long getBytes() {
+        long[] bytes = BYTES.get();
+        return bytes == null ? 0 : bytes[0];
+    }
+
+    /**
+     * 刷新后清空当前批次累计的字节数。
+     */
+    public static void reset() {
+        long[] bytes = BYTES.get();
+        if (bytes != null) {
+            bytes[0] = 0;
+        }
+    }
+
+    /**
+     * 估算一条语句的参数字节数。MyBatis-Flex 内置方法的参数保存在 {@link FlexConsts#SQL_ARGS} 中，
+     * 其他语句无法得知实际使用的参数，按固定值估算。
+     */
+    public static long estimateStatement(Object parameterObject) {
+        if (parameterObject instanceof Map<?, ?> params && params.containsKey(FlexConsts.SQL_ARGS)
+            && params.get(FlexConsts.SQL_ARGS) instanceof Object[] args) {
+            long bytes = STATEMENT_OVERHEAD_BYTES;
+            for (Object arg : args) {
+                bytes += estimate(arg) + 1;
+            }
+            return bytes;
+        }
+        return UNKNOWN_STATEMENT_BYTES;
+    }
+
+    /**
+     * 估算单个参数的字节数。
+     */
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence cs) {
+            return utf8Length(cs) + 2;
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 8;
+        }
+        if (value instanceof Short || value instanceof Character) {
+            return 2;
+        }
+        if (value instanceof Byte || value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.precision() + 2;
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.bitLength() / 8 + 1;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Date || value instanceof Temporal) {
+            return 12;
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name().length() + 2;
+        }
+        return 32;
+    }
+
+    private static long utf8Length(CharSequence cs) {
+        int length = cs.length();
+        long bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = cs.charAt(i);
+            if (c >= 0x80) {
+                // 代理对按每个 char 2 字节计算，合计 4 字节
+                bytes += c >= 0x800 && !Character.isSurrogate(c) ? 2 : 1;
+            }
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.batch;
+
+/**
+ * 批量执行的刷新策略，决定 {@code Db.executeBatch} 累计多少数据后执行一次 {@code flushStatements}。
+ *
+ * <p>未配置策略时，按调用时传入的 batchSize 固定条数刷新；配置策略后，传入的 batchSize 作为每个批次条数的上限。
+ * 策略对象会被多个线程的批量执行共享，实现类需要保证线程安全。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ * @see AdaptiveBatchPolicy
+ * @see com.mybatisflex.core.FlexGlobalConfig#setBatchPolicy(BatchPolicy)
+ */
+public interface BatchPolicy {
+
+    /**
+     * 是否需要估算每条语句参数的字节数，不需要时 {@link #shouldFlush(int, long)} 的 {@code bytes} 始终为 0。
+     */
+    default boolean isEstimateBytes() {
+        return false;
+    }
+
+    /**
+     * 当前批次已经累计了 {@code rows} 条数据、约 {@code bytes} 字节的参数时，是否需要刷新。
+     *
+     * @param rows  累计的数据条数
+     * @param bytes 累计的参数字节数（估算值）
+     * @return 是否需要刷新
+     */
+    boolean shouldFlush(int rows, long bytes);
+
+    /**
+     * 一次刷新执行成功。
+     *
+     * @param rows         该批次的数据条数
+     * @param bytes        该批次的参数字节数（估算值）
+     * @param elapsedNanos 刷新耗时（纳秒）
+     */
+    default void onFlush(int rows, long bytes, long elapsedNanos) {
+    }
+
+    /**
+     * 一次刷新执行失败。
+     *
+     * <p>返回 {@code true} 时，如果该批次没有任何数据写入成功，会以调整后的批次大小重新执行该批次的数据，否则直接抛出异常。
+     *
+     * @param rows  该批次的数据条数
+     * @param bytes 该批次的参数字节数（估算值）
+     * @param e     异常
+     * @return 是否可以以更小的批次重试
+     */
+    default boolean onFailure(int rows, long bytes, Throwable e) {
+        return false;
+    }
+
+}
@@ -0,0 +1,488 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.batch;
+
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.keygen.CustomKeyGenerator;
+import com.mybatisflex.core.mybatis.FlexSession;
+import com.mybatisflex.core.mybatis.executor.FlexBatchExecutor;
+import com.mybatisflex.core.transaction.TransactionContext;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 流水线批量执行。
+ *
+ * <p>普通的批量执行在当前线程中交替进行两件事：通过 Mapper 构建每条语句的参数（构建 SQL 与参数、生成主键、执行监听器等），
+ * 以及刷新批次等待数据库执行完成，两者无法同时进行。流水线批量执行把批次的执行交给一个后台线程：
+ * 后台线程在同一个连接上执行第 N 批的同时，当前线程继续构建第 N + 1 批的参数。
+ *
+ * <ul>
+ *     <li>参数仍然在当前线程中构建，因此多租户、数据源、逻辑删除等线程上下文与普通的批量执行一致；</li>
+ *     <li>{@link StatementHandler}（包括 StatementHandler、ParameterHandler 类型插件的 {@code plugin} 方法）以及审计消息也在当前线程中创建，
+ *     后台线程只负责 {@code prepare}、{@code parameterize}、{@code addBatch} 与 {@code executeBatch}，
+ *     插件拦截这些方法时运行在后台线程中，不能读取当前线程的上下文；</li>
+ *     <li>连接在当前线程中获取，通过传入的 Mapper 执行的查询以及需要访问数据库的主键生成器会等待正在执行的批次完成，
+ *     同一时刻只有一个线程访问该连接；</li>
+ *     <li>最多只有一个批次在执行、一个批次在构建，构建完成的批次需要等待上一个批次执行完成后才能交出；</li>
+ *     <li>某个批次执行失败后，之后的批次不会再执行，异常与普通的批量执行相同，之前执行成功的批次不会回滚（事务中执行时除外）。</li>
+ * </ul>
+ *
+ * <p>主键生成器需要访问数据库（例如 Sequence）、或者在构建参数时执行了查询，都需要等待正在执行的批次完成，此时无法并行。
+ * Executor 类型的插件不会作用于流水线批量执行的语句。
+ *
+ * <p>当前线程处于事务（{@code Db.tx}、Spring 事务等）或 {@code FlexSession} 中时，连接与当前线程绑定，
+ * 构建参数时通过其他 Mapper、{@code Db} 或者自定义的主键生成器执行的语句也会使用同一个连接，无法与后台线程互斥。
+ * 因此获取到的连接已被绑定（关闭了自动提交，或者存在事务、会话）时不会启用流水线，各个批次在当前线程中依次执行，
+ * 结果与普通的批量执行相同。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class PipelinedBatchWriter {
+
+    private static final Batch END = new Batch(Collections.emptyList(), 0, 0);
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BatchPolicy batchPolicy;
+
+    /**
+     * @param sqlSessionFactory SqlSessionFactory
+     * @param batchPolicy       刷新策略，为 {@code null} 时按 batchSize 固定条数刷新
+     */
+    public PipelinedBatchWriter(SqlSessionFactory sqlSessionFactory, BatchPolicy batchPolicy) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.batchPolicy = batchPolicy;
+    }
+
+    /**
+     * 执行批量操作。
+     *
+     * @param datas       数据
+     * @param totalSize   数据总量
+     * @param batchSize   每一批次的数据量
+     * @param mapperClass 通过那个 Mapper 来执行
+     * @param consumer    执行内容
+     * @return 每条语句影响的行数
+     */
+    public <M, E> int[] execute(Iterator<E> datas, int totalSize, int batchSize, Class<M> mapperClass, BiConsumer<M, E> consumer) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Environment environment = configuration.getEnvironment();
+        TransactionFactory transactionFactory = environment.getTransactionFactory() != null
+            ? environment.getTransactionFactory() : new ManagedTransactionFactory();
+        Transaction transaction = transactionFactory.newTransaction(environment.getDataSource(), null, true);
+        FlexBatchExecutor executor = new FlexBatchExecutor(configuration, transaction);
+
+        Writer writer = null;
+        Thread writerThread = null;
+        Set<String> writtenTables = QueryCacheManager.isEnabled() ? new LinkedHashSet<>() : null;
+        try {
+            // 在当前线程中获取连接，使事务管理器绑定在当前线程的连接被执行线程复用
+            Connection connection = transaction.getConnection();
+
+            // 连接已与当前线程绑定时，构建参数期间的其他语句也会使用该连接，不能在后台线程中同时执行
+            writer = new Writer(executor, new int[totalSize], !isBoundConnection(connection));
+            if (writer.pipelined) {
+                writerThread = new Thread(writer, "mybatis-flex-batch-writer");
+                writerThread.setDaemon(true);
+                writerThread.start();
+            }
+
+            boolean estimateBytes = batchPolicy != null && batchPolicy.isEstimateBytes();
+            Recorder recorder = new Recorder(executor, writer.lock, estimateBytes, writtenTables);
+            M mapper = new DefaultSqlSession(configuration, recorder, true).getMapper(mapperClass);
+
+            int rows = 0;
+            while (datas.hasNext()) {
+                consumer.accept(mapper, datas.next());
+                rows++;
+                if (rows == batchSize || (batchPolicy != null && batchPolicy.shouldFlush(rows, recorder.bytes))) {
+                    writer.submit(recorder.drain(rows));
+                    rows = 0;
+                }
+            }
+            if (rows > 0 || !recorder.statements.isEmpty()) {
+                writer.submit(recorder.drain(rows));
+            }
+            writer.finish(writerThread);
+            return writer.results;
+        } catch (SQLException e) {
+            if (writer != null) {
+                writer.abort(writerThread, e);
+            }
+            throw ExceptionFactory.wrapException("Error flushing statements.  Cause: " + e, e);
+        } catch (RuntimeException | Error e) {
+            if (writer != null) {
+                writer.abort(writerThread, e);
+            }
+            throw e;
+        } finally {
+            executor.close(false);
+            if (writtenTables != null) {
+                QueryCacheManager.afterWrite(writtenTables.contains(null) ? null : writtenTables.toArray(new String[0]));
+            }
+        }
+    }
+
+    private static boolean isBoundConnection(Connection connection) throws SQLException {
+        return TransactionContext.getXID() != null || FlexSession.current() != null || !connection.getAutoCommit();
+    }
+
+    private static boolean isThreadSafe(KeyGenerator keyGenerator) {
+        Class<?> type = keyGenerator.getClass();
+        return type == NoKeyGenerator.class || type == Jdbc3KeyGenerator.class || type == CustomKeyGenerator.class;
+    }
+
+
+    /**
+     * 一个批次中的语句。
+     */
+    private record Captured(MappedStatement ms, Object parameter, StatementHandler handler) {
+    }
+
+    private record Batch(List<Captured> statements, int rows, long bytes) {
+    }
+
+
+    /**
+     * 执行线程，在同一个连接上依次执行收到的批次；未启用流水线时，批次在构建线程中直接执行。
+     */
+    private final class Writer implements Runnable {
+
+        private final SynchronousQueue<Batch> queue = new SynchronousQueue<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final FlexBatchExecutor executor;
+        private final int[] results;
+        private final boolean pipelined;
+        private int resultsPos;
+        private volatile Throwable failure;
+
+        Writer(FlexBatchExecutor executor, int[] results, boolean pipelined) {
+            this.executor = executor;
+            this.results = results;
+            this.pipelined = pipelined;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Batch batch;
+                while ((batch = queue.take()) != END) {
+                    // 失败之后不再执行，只接收批次直到结束，避免构建线程阻塞
+                    if (failure == null) {
+                        execute(batch);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        private void execute(Batch batch) {
+            lock.lock();
+            try {
+                for (Captured captured : batch.statements) {
+                    executor.addBatch(captured.ms, captured.parameter, captured.handler);
+                }
+                long start = System.nanoTime();
+                List<BatchResult> batchResults = executor.flushStatements();
+                if (batchPolicy != null) {
+                    batchPolicy.onFlush(batch.rows, batch.bytes, System.nanoTime() - start);
+                }
+                for (BatchResult batchResult : batchResults) {
+                    for (int updateCount : batchResult.getUpdateCounts()) {
+                        results[resultsPos++] = updateCount;
+                    }
+                }
+            } catch (Throwable e) {
+                failure = e;
+                try {
+                    // 丢弃未执行的语句
+                    executor.flushStatements(true);
+                } catch (SQLException ignored) {
+                    // ignore
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 交出构建完成的批次，上一个批次仍在执行时等待。
+         */
+        void submit(Batch batch) throws SQLException {
+            throwIfFailed();
+            if (!pipelined) {
+                execute(batch);
+                throwIfFailed();
+                return;
+            }
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw FlexExceptions.wrap(e);
+            }
+        }
+
+        /**
+         * 等待全部批次执行完成。
+         */
+        void finish(Thread thread) throws SQLException {
+            stop(thread);
+            throwIfFailed();
+        }
+
+        /**
+         * 构建失败时调用，等待正在执行的批次完成，之后的批次不再执行。
+         */
+        void abort(Thread thread, Throwable cause) {
+            if (failure == null) {
+                failure = cause;
+            }
+            stop(thread);
+            Throwable writerFailure = failure;
+            if (writerFailure != cause) {
+                cause.addSuppressed(writerFailure);
+            }
+        }
+
+        private void stop(Thread thread) {
+            if (thread == null || !thread.isAlive()) {
+                return;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(END);
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void throwIfFailed() throws SQLException {
+            Throwable e = failure;
+            if (e == null) {
+                return;
+            }
+            if (e instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException(e);
+        }
+
+    }
+
+
+    /**
+     * 在构建线程中使用的执行器，只记录语句而不访问数据库；需要访问数据库的操作会等待正在执行的批次完成。
+     */
+    private static final class Recorder implements Executor {
+
+        private final FlexBatchExecutor target;
+        private final ReentrantLock lock;
+        private final boolean estimateBytes;
+        private final Set<String> writtenTables;
+        private List<Captured> statements = new ArrayList<>();
+        private long bytes;
+
+        Recorder(FlexBatchExecutor target, ReentrantLock lock, boolean estimateBytes, Set<String> writtenTables) {
+            this.target = target;
+            this.lock = lock;
+            this.estimateBytes = estimateBytes;
+            this.writtenTables = writtenTables;
+        }
+
+        Batch drain(int rows) {
+            Batch batch = new Batch(statements, rows, bytes);
+            statements = new ArrayList<>(statements.size());
+            bytes = 0;
+            return batch;
+        }
+
+        @Override
+        public int update(MappedStatement ms, Object parameter) throws SQLException {
+            KeyGenerator keyGenerator = ms.getKeyGenerator();
+            if (isThreadSafe(keyGenerator)) {
+                keyGenerator.processBefore(this, ms, null, parameter);
+            } else {
+                lock.lock();
+                try {
+                    keyGenerator.processBefore(this, ms, null, parameter);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            // 插件以及审计消息可能读取线程上下文，在当前线程中创建 StatementHandler
+            StatementHandler handler = ms.getConfiguration().newStatementHandler(target, ms, parameter, RowBounds.DEFAULT, null, ms.getBoundSql(parameter));
+            statements.add(new Captured(ms, parameter, handler));
+            if (estimateBytes) {
+                bytes += BatchContext.estimateStatement(parameter);
+            }
+
+            if (writtenTables != null) {
+                String[] tables = QueryCacheManager.afterUpdate(ms, parameter);
+                if (tables == null) {
+                    writtenTables.add(null);
+                } else {
+                    Collections.addAll(writtenTables, tables);
+                }
+            }
+            return BatchExecutor.BATCH_UPDATE_RETURN_VALUE;
+        }
+
+        @Override
+        public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey cacheKey, BoundSql boundSql) throws SQLException {
+            lock.lock();
+            try {
+                return target.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler) throws SQLException {
+            lock.lock();
+            try {
+                return target.query(ms, parameter, rowBounds, resultHandler);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) {
+            throw FlexExceptions.wrap("Cursor query is not supported in pipelined batch: %s", ms.getId());
+        }
+
+        @Override
+        public List<BatchResult> flushStatements() {
+            // 批次的边界由 PipelinedBatchWriter 决定
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void commit(boolean required) {
+            // 与 Db.executeBatch 相同，使用自动提交
+        }
+
+        @Override
+        public void rollback(boolean required) {
+            // 与 Db.executeBatch 相同，使用自动提交
+        }
+
+        @Override
+        public CacheKey createCacheKey(MappedStatement ms, Object parameterObject, RowBounds rowBounds, BoundSql boundSql) {
+            return target.createCacheKey(ms, parameterObject, rowBounds, boundSql);
+        }
+
+        @Override
+        public boolean isCached(MappedStatement ms, CacheKey key) {
+            return false;
+        }
+
+        @Override
+        public void clearLocalCache() {
+            lock.lock();
+            try {
+                target.clearLocalCache();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key, Class<?> targetType) {
+            lock.lock();
+            try {
+                target.deferLoad(ms, resultObject, property, key, targetType);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Transaction getTransaction() {
+            return target.getTransaction();
+        }
+
+        @Override
+        public void close(boolean forceRollback) {
+            // 由 PipelinedBatchWriter 关闭
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void setExecutorWrapper(Executor executor) {
+            // ignore
+        }
+
+    }
+
+}
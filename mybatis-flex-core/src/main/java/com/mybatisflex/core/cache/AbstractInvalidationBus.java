@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationBus} 的基础实现，负责分发事件、忽略本节点发出的事件以及统计失效延迟。
+ *
+ * <p>失效延迟为收到事件的时间与事件发出时间的差值，各节点之间的时钟偏差会计入其中。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private final String nodeId;
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    protected AbstractInvalidationBus() {
+        this(UUID.randomUUID().toString());
+    }
+
+    protected AbstractInvalidationBus(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        publishedCount.increment();
+        doPublish(event);
+    }
+
+    /**
+     * 将事件发送给其他节点。
+     *
+     * @param event 失效事件
+     */
+    protected abstract void doPublish(InvalidationEvent event);
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 收到其他节点的事件时调用。
+     *
+     * @param event 失效事件
+     */
+    protected void receive(InvalidationEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            return;
+        }
+
+        long lag = Math.max(0, System.currentTimeMillis() - event.getTimestamp());
+        receivedCount.increment();
+        totalLagMillis.add(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+
+        for (Consumer<InvalidationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * 获取统计信息。
+     */
+    public Metrics getMetrics() {
+        long received = receivedCount.sum();
+        return new Metrics(publishedCount.sum(), received, received == 0 ? 0 : totalLagMillis.sum() / received, maxLagMillis.get());
+    }
+
+    /**
+     * 重置统计信息。
+     */
+    public void resetMetrics() {
+        publishedCount.reset();
+        receivedCount.reset();
+        totalLagMillis.reset();
+        maxLagMillis.set(0);
+    }
+
+
+    /**
+     * 失效总线的统计信息。
+     *
+     * @param publishedCount  发布的事件数量
+     * @param receivedCount   收到的其他节点的事件数量
+     * @param averageLagMillis 平均失效延迟（毫秒）
+     * @param maxLagMillis    最大失效延迟（毫秒）
+     */
+    public record Metrics(long publishedCount, long receivedCount, long averageLagMillis, long maxLagMillis) {
+    }
+
+}
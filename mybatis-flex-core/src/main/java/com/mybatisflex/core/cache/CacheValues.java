@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 缓存中共享的值。
+ *
+ * <p>缓存的值会被多个线程、多次查询共同使用，而实体类通常是可变的，也不是线程安全的。因此除了不可变的值以外，
+ * 缓存中只保存序列化之后的内容，每次读取都会反序列化出新的对象，修改查询结果不会影响缓存以及其他线程。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+final class CacheValues {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class
+        , Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class
+        , UUID.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class
+        , OffsetDateTime.class, ZonedDateTime.class, Duration.class, Year.class, YearMonth.class);
+
+    private CacheValues() {
+    }
+
+    /**
+     * 转换为可以共享的形式：不可变的值原样返回，其他值序列化后返回。
+     *
+     * @param value 缓存的值
+     * @return 可以共享的值，无法序列化时返回 {@code null}
+     */
+    static Object freeze(Object value) {
+        if (value instanceof Frozen || isImmutable(value)) {
+            return value;
+        }
+        if (value instanceof List<?> list && isImmutableElements(list)) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+        try {
+            return new Frozen(serialize(value));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取 {@link #freeze(Object)} 返回值的独立副本。
+     *
+     * @param frozen {@link #freeze(Object)} 的返回值
+     * @return 新的对象，无法反序列化（例如热加载后类发生了变化）时返回 {@code null}
+     */
+    static Object thaw(Object frozen) {
+        if (!(frozen instanceof Frozen)) {
+            return frozen;
+        }
+        try {
+            return deserialize(((Frozen) frozen).bytes);
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    static byte[] serialize(Object value) throws IOException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream(); ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(value);
+            out.flush();
+            return bos.toByteArray();
+        }
+    }
+
+    static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ContextObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
+    private static boolean isImmutableElements(List<?> list) {
+        for (Object element : list) {
+            if (!isImmutable(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * 序列化之后的值。
+     */
+    private static final class Frozen implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+
+        Frozen(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+    }
+
+    /**
+     * 优先通过线程上下文类加载器加载类，以支持热加载等场景下由不同类加载器加载的实体类。
+     */
+    private static final class ContextObjectInputStream extends ObjectInputStream {
+
+        ContextObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // 交由默认的方式加载
+                }
+            }
+            return super.resolveClass(desc);
+        }
+
+    }
+
+}
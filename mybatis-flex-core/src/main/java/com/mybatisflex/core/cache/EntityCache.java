@@ -0,0 +1,387 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.dialect.OperateType;
+import com.mybatisflex.core.mask.MaskManager;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableManager;
+import com.mybatisflex.core.transaction.TransactionContext;
+import com.mybatisflex.core.util.ConvertUtil;
+import com.mybatisflex.core.util.StringUtil;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按主键缓存实体。
+ *
+ * <p>对于 {@code @Table(queryCache = true)} 且只有一个主键的表，{@code selectOneById} 与 {@code selectListByIds}
+ * 会以单个主键为粒度读取缓存：已缓存的主键直接返回，只有未命中的主键才会通过一条（按 {@link #setBatchSize(int) batchSize}
+ * 分批的）{@code IN} 查询从数据库中加载，不存在的主键也会被缓存，避免反复查询。
+ *
+ * <p>多个线程同时加载同一个主键时，只有一个线程会执行查询，其他线程等待该结果。与 {@link LocalQueryCacheStore} 相同，
+ * 缓存以及等待的线程得到的都是序列化之后的内容，每次读取都会反序列化出新的实体，因此实体类需要实现 {@link java.io.Serializable}，
+ * 无法序列化的实体不会被缓存，等待的线程也会自行加载。
+ *
+ * <p>缓存的 key 包含数据源、实际的表名、当前的租户 ID、逻辑删除是否生效以及是否跳过了脱敏，
+ * 失效规则与 {@link QueryCacheManager} 相同：写入该表后全部缓存的实体失效，事务中不读取也不写入缓存。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class EntityCache {
+
+    private static final String SELECT_ONE_BY_ID = ".selectOneById";
+    private static final String SELECT_LIST_BY_IDS = ".selectListByIds";
+    private static final String KEY_PREFIX = "$$entity:";
+
+    private static final Map<QueryCacheKey, Flight> FLIGHTS = new ConcurrentHashMap<>();
+    private static final LongAdder LOAD_COUNT = new LongAdder();
+    private static final LongAdder COALESCED_COUNT = new LongAdder();
+
+    private static volatile int batchSize = 500;
+
+    private EntityCache() {
+    }
+
+    public static int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 设置加载未命中的主键时，单条 {@code IN} 查询最多包含的主键数量，默认为 500。
+     */
+    public static void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        EntityCache.batchSize = batchSize;
+    }
+
+    /**
+     * 从数据库加载的次数（每个分批计一次）。
+     */
+    public static long getLoadCount() {
+        return LOAD_COUNT.sum();
+    }
+
+    /**
+     * 等待其他线程加载、而没有自己查询的主键数量。
+     */
+    public static long getCoalescedCount() {
+        return COALESCED_COUNT.sum();
+    }
+
+    /**
+     * 是否可以按主键缓存该语句的结果。
+     *
+     * @param ms        MappedStatement
+     * @param parameter 参数
+     * @return 实体的 TableInfo，不可以缓存时返回 {@code null}
+     */
+    public static TableInfo resolveTableInfo(MappedStatement ms, Object parameter) {
+        if (QueryCacheManager.getStore() == null || TransactionContext.getXID() != null
+            || !(parameter instanceof Map<?, ?> params) || !params.containsKey(FlexConsts.PRIMARY_VALUE)) {
+            return null;
+        }
+        String id = ms.getId();
+        if (!id.endsWith(SELECT_ONE_BY_ID) && !id.endsWith(SELECT_LIST_BY_IDS)) {
+            return null;
+        }
+        TableInfo tableInfo = QueryCacheManager.getMapperTableInfo(ms);
+        if (tableInfo == null || !tableInfo.isQueryCache()
+            || tableInfo.getPrimaryKeyList() == null || tableInfo.getPrimaryKeyList().size() != 1) {
+            return null;
+        }
+        return tableInfo;
+    }
+
+    /**
+     * 按主键查询，优先从缓存中读取。
+     *
+     * @param ms        MappedStatement
+     * @param params    参数
+     * @param tableInfo {@link #resolveTableInfo(MappedStatement, Object)} 返回的 TableInfo
+     * @param loader    通过主键从数据库中加载实体
+     * @return 查询结果，按请求的主键顺序排列，不包含不存在的主键
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> List<E> query(MappedStatement ms, Map<?, ?> params, TableInfo tableInfo, Loader<E> loader) throws SQLException {
+        QueryCacheStore store = QueryCacheManager.getStore();
+        if (store == null) {
+            return loader.load(getPrimaryValues(params));
+        }
+
+        Class<?> pkType = tableInfo.getPrimaryKeyList().get(0).getPropertyType();
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Object value : getPrimaryValues(params)) {
+            Object id = ConvertUtil.convert(value, pkType, true);
+            if (id == null) {
+                // 无法转换的主键交由数据库处理
+                return loader.load(getPrimaryValues(params));
+            }
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return loader.load(getPrimaryValues(params));
+        }
+
+        String table = QueryCacheManager.normalize(tableInfo.getTableName());
+        KeyFactory keyFactory = new KeyFactory(ms, tableInfo);
+
+        Map<Object, Object> values = new HashMap<>();
+        Map<Object, QueryCacheKey> missing = new LinkedHashMap<>();
+        for (Object id : ids) {
+            QueryCacheKey key = keyFactory.create(id);
+            QueryCacheEntry entry = store.get(key);
+            Object value = entry != null && QueryCacheManager.isValid(entry) ? CacheValues.thaw(entry.getValue()) : null;
+            if (value != null) {
+                QueryCacheManager.recordHit();
+                values.put(id, value);
+            } else {
+                if (entry != null) {
+                    store.remove(key);
+                }
+                QueryCacheManager.recordMiss();
+                missing.put(id, key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            load(store, table, tableInfo, pkType, missing, values, loader);
+        }
+
+        List<E> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Object value = values.get(id);
+            if (value != null && value != NotFound.INSTANCE) {
+                result.add((E) value);
+            }
+        }
+        return result;
+    }
+
+    private static Object[] getPrimaryValues(Map<?, ?> params) {
+        Object primaryValue = params.get(FlexConsts.PRIMARY_VALUE);
+        if (primaryValue == null) {
+            return FlexConsts.EMPTY_ARRAY;
+        }
+        if (primaryValue instanceof Object[] array) {
+            return array;
+        } else if (primaryValue instanceof Collection<?> collection) {
+            return collection.toArray();
+        } else {
+            return new Object[]{primaryValue};
+        }
+    }
+
+    private static <E> void load(QueryCacheStore store, String table, TableInfo tableInfo, Class<?> pkType
+        , Map<Object, QueryCacheKey> missing, Map<Object, Object> values, Loader<E> loader) throws SQLException {
+
+        // 加载之前记录版本号，加载期间发生的写入会使本次结果失效
+        String[] tables = {table};
+        long epoch = QueryCacheManager.currentEpoch();
+        long[] versions = QueryCacheManager.captureVersions(tables);
+
+        Map<Object, Flight> owned = new LinkedHashMap<>();
+        Map<Object, Flight> waiting = new LinkedHashMap<>();
+        for (Map.Entry<Object, QueryCacheKey> e : missing.entrySet()) {
+            Flight flight = new Flight(epoch, versions[0]);
+            Flight existing = FLIGHTS.putIfAbsent(e.getValue(), flight);
+            if (existing == null) {
+                owned.put(e.getKey(), flight);
+            } else if (existing.epoch == epoch && existing.version == versions[0]) {
+                waiting.put(e.getKey(), existing);
+            } else {
+                // 正在进行的加载开始于写入之前，其结果可能已经过期，自行加载且不参与合并
+                owned.put(e.getKey(), new Flight(epoch, versions[0]));
+            }
+        }
+
+        try {
+            // 先完成自己负责的加载，再等待其他线程，避免相互等待
+            if (!owned.isEmpty()) {
+                Map<Object, Object> loaded = loadByIds(tableInfo, pkType, owned.keySet(), loader);
+                long expireAt = System.currentTimeMillis() + QueryCacheManager.getDefaultTtlMillis();
+                for (Map.Entry<Object, Flight> e : owned.entrySet()) {
+                    Object value = loaded.getOrDefault(e.getKey(), NotFound.INSTANCE);
+                    values.put(e.getKey(), value);
+                    // 缓存以及等待的线程只能得到序列化之后的内容，各自反序列化出新的对象
+                    Object frozen = CacheValues.freeze(value);
+                    if (frozen != null) {
+                        store.put(missing.get(e.getKey()), new QueryCacheEntry(frozen, tables, versions, epoch, expireAt));
+                    }
+                    e.getValue().future.complete(frozen);
+                }
+            }
+        } catch (Throwable t) {
+            for (Flight flight : owned.values()) {
+                flight.future.completeExceptionally(t);
+            }
+            throw t;
+        } finally {
+            for (Map.Entry<Object, Flight> e : owned.entrySet()) {
+                FLIGHTS.remove(missing.get(e.getKey()), e.getValue());
+            }
+        }
+
+        Set<Object> unshared = new LinkedHashSet<>();
+        for (Map.Entry<Object, Flight> e : waiting.entrySet()) {
+            Object value = CacheValues.thaw(await(e.getValue()));
+            if (value == null) {
+                // 无法序列化的实体不能在线程之间共享，自行加载
+                unshared.add(e.getKey());
+            } else {
+                COALESCED_COUNT.increment();
+                values.put(e.getKey(), value);
+            }
+        }
+        if (!unshared.isEmpty()) {
+            Map<Object, Object> loaded = loadByIds(tableInfo, pkType, unshared, loader);
+            for (Object id : unshared) {
+                values.put(id, loaded.getOrDefault(id, NotFound.INSTANCE));
+            }
+        }
+    }
+
+    private static <E> Map<Object, Object> loadByIds(TableInfo tableInfo, Class<?> pkType, Set<Object> ids, Loader<E> loader) throws SQLException {
+        Map<Object, Object> loaded = new HashMap<>(ids.size());
+        Object[] idArray = ids.toArray();
+        int size = batchSize;
+        for (int from = 0; from < idArray.length; from += size) {
+            Object[] chunk = Arrays.copyOfRange(idArray, from, Math.min(from + size, idArray.length));
+            LOAD_COUNT.increment();
+            List<E> entities = loader.load(chunk);
+            if (entities == null) {
+                continue;
+            }
+            for (E entity : entities) {
+                if (entity != null) {
+                    loaded.put(ConvertUtil.convert(tableInfo.getPkValue(entity), pkType, true), entity);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Object await(Flight flight) throws SQLException {
+        try {
+            return flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for entity loading.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+
+    /**
+     * 通过主键从数据库中加载实体。
+     */
+    @FunctionalInterface
+    public interface Loader<E> {
+
+        /**
+         * @param ids 主键
+         * @return 查询到的实体，不需要与主键的顺序一致
+         */
+        List<E> load(Object[] ids) throws SQLException;
+
+    }
+
+    /**
+     * 构建同一次查询中各个主键的缓存 key，查询条件相关的状态只计算一次。
+     */
+    private static final class KeyFactory {
+
+        private final String statementId;
+        private final Class<?> resultType;
+        private final String dataSourceKey;
+        private final List<?> tenantIdArgs;
+        private final String logicDeleteColumn;
+        private final boolean skipMask;
+
+        KeyFactory(MappedStatement ms, TableInfo tableInfo) {
+            String realTable = TableManager.getRealTable(tableInfo.getTableName(), OperateType.SELECT);
+            String realSchema = StringUtil.hasText(tableInfo.getSchema())
+                ? TableManager.getRealSchema(tableInfo.getSchema(), realTable, OperateType.SELECT) : null;
+            this.statementId = KEY_PREFIX + (realSchema == null ? realTable : realSchema + "." + realTable);
+            this.resultType = QueryCacheManager.getResultType(ms);
+            this.dataSourceKey = DataSourceKey.get();
+            Object[] tenantIds = tableInfo.buildTenantIdArgs();
+            this.tenantIdArgs = tenantIds == null ? null : Arrays.asList(tenantIds);
+            this.logicDeleteColumn = tableInfo.getLogicDeleteColumnOrSkip();
+            this.skipMask = MaskManager.isSkipMask();
+        }
+
+        QueryCacheKey create(Object id) {
+            return new QueryCacheKey(statementId, resultType, null
+                , new Object[]{id, tenantIdArgs, logicDeleteColumn, skipMask}, dataSourceKey);
+        }
+
+    }
+
+    /**
+     * 正在进行的加载，以及该加载开始时表的版本。
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private final long epoch;
+        private final long version;
+
+        Flight(long epoch, long version) {
+            this.epoch = epoch;
+            this.version = version;
+        }
+
+    }
+
+    /**
+     * 不存在的主键。
+     */
+    private enum NotFound {
+        INSTANCE
+    }
+
+}
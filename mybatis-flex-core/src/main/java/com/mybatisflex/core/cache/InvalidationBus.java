@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效总线，用于在集群的各个节点之间广播表级别的缓存失效。
+ *
+ * <p>通过 {@link QueryCacheManager#setInvalidationBus(InvalidationBus)} 配置后，本节点写入的表会通过总线发布，
+ * 其他节点收到后使本地的缓存失效。事务中写入的表会在事务提交后合并为一个事件发布。内置的实现有：
+ * <ul>
+ *     <li>{@link LocalInvalidationBus}：进程内传递，主要用于测试；</li>
+ *     <li>{@link MulticastInvalidationBus}：通过 UDP 组播传递。</li>
+ * </ul>
+ *
+ * <p>自定义传输方式（例如 Redis、MQ）时，可以继承 {@link AbstractInvalidationBus}，只需要实现发送以及在收到消息时调用
+ * {@link AbstractInvalidationBus#receive(InvalidationEvent)}。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /**
+     * 当前节点的 ID。
+     */
+    String getNodeId();
+
+    /**
+     * 发布失效事件。
+     *
+     * @param event 失效事件
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * 订阅其他节点发布的失效事件。
+     *
+     * @param listener 监听器
+     */
+    void subscribe(Consumer<InvalidationEvent> listener);
+
+    /**
+     * 关闭总线，释放相关的资源。
+     */
+    @Override
+    default void close() {
+    }
+
+}
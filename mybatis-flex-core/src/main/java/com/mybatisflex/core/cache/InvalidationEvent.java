@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.util.Arrays;
+
+/**
+ * 缓存失效事件，在集群的各个节点之间传递。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class InvalidationEvent {
+
+    private static final String[] EMPTY_TABLES = new String[0];
+
+    private final String nodeId;
+    private final String[] tables;
+    private final boolean all;
+    private final long timestamp;
+
+    public InvalidationEvent(String nodeId, String[] tables, boolean all, long timestamp) {
+        this.nodeId = nodeId;
+        this.tables = tables == null ? EMPTY_TABLES : tables;
+        this.all = all;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * 创建使指定表失效的事件。
+     */
+    public static InvalidationEvent ofTables(String nodeId, String... tables) {
+        return new InvalidationEvent(nodeId, tables, false, System.currentTimeMillis());
+    }
+
+    /**
+     * 创建使全部缓存失效的事件。
+     */
+    public static InvalidationEvent ofAll(String nodeId) {
+        return new InvalidationEvent(nodeId, EMPTY_TABLES, true, System.currentTimeMillis());
+    }
+
+    /**
+     * 发出事件的节点 ID。
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 失效的表，{@link #isAll()} 为 {@code true} 时为空。
+     */
+    public String[] getTables() {
+        return tables;
+    }
+
+    /**
+     * 是否使全部缓存失效。
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * 事件发出的时间戳（毫秒）。
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidationEvent{" + nodeId + ", " + (all ? "*" : Arrays.toString(tables)) + ", " + timestamp + "}";
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 进程内的失效总线，同一个频道中的总线互相传递事件，主要用于在测试中模拟多个节点。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Map<String, List<LocalInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    public LocalInvalidationBus() {
+        this("default");
+    }
+
+    /**
+     * @param channel 频道名称
+     */
+    public LocalInvalidationBus(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    protected void doPublish(InvalidationEvent event) {
+        List<LocalInvalidationBus> buses = CHANNELS.get(channel);
+        if (buses != null) {
+            for (LocalInvalidationBus bus : buses) {
+                bus.receive(event);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        List<LocalInvalidationBus> buses = CHANNELS.get(channel);
+        if (buses != null) {
+            buses.remove(this);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import com.mybatisflex.core.exception.FlexExceptions;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 堆内的查询结果缓存存储。
+ *
+ * <p>按 key 的哈希分为多个段，每个段是一个按访问顺序排列的 {@link LinkedHashMap}，超出容量时淘汰最久未访问的条目，
+ * 分段可以减少多线程读取时的锁竞争。
+ *
+ * <p>字符串、数字、日期等不可变的结果直接保存，其他结果（例如实体类）序列化后保存在堆内存中，每次命中都会反序列化出新的对象，
+ * 修改查询结果不会影响缓存以及其他线程。这些结果需要实现 {@link java.io.Serializable}，无法序列化的结果不会被缓存。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class LocalQueryCacheStore implements QueryCacheStore {
+
+    private static final Log log = LogFactory.getLog(LocalQueryCacheStore.class);
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    /**
+     * @param maxEntries 最多缓存的条目数量
+     */
+    public LocalQueryCacheStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw FlexExceptions.wrap("maxEntries must be greater than 0.");
+        }
+        int segmentCount = Math.min(SEGMENT_COUNT, maxEntries);
+        int capacity = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    private Segment segmentFor(QueryCacheKey key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h & 0x7fffffff) % segments.length];
+    }
+
+    @Override
+    public QueryCacheEntry get(QueryCacheKey key) {
+        Segment segment = segmentFor(key);
+        QueryCacheEntry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+
+        // 保存的值不会再修改，可以在锁外复制
+        Object value = CacheValues.thaw(entry.getValue());
+        if (value == null) {
+            remove(key);
+            return null;
+        }
+        return new QueryCacheEntry(value, entry.getTables(), entry.getVersions(), entry.getEpoch(), entry.getExpireAt());
+    }
+
+    @Override
+    public void put(QueryCacheKey key, QueryCacheEntry entry) {
+        Object value = CacheValues.freeze(entry.getValue());
+        if (value == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Query result can not be cached: " + key.getStatementId() + ". Cause: result is not serializable.");
+            }
+            return;
+        }
+
+        QueryCacheEntry frozen = new QueryCacheEntry(value, entry.getTables(), entry.getVersions(), entry.getEpoch(), entry.getExpireAt());
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, frozen);
+        }
+    }
+
+    @Override
+    public void remove(QueryCacheKey key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+
+    private static class Segment extends LinkedHashMap<QueryCacheKey, QueryCacheEntry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<QueryCacheKey, QueryCacheEntry> eldest) {
+            return size() > capacity;
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import com.mybatisflex.core.exception.FlexExceptions;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+
+/**
+ * 通过 UDP 组播传递事件的失效总线。
+ *
+ * <p>集群中的各个节点使用相同的组播地址和端口即可互相收到事件，无需额外的中间件。
+ * UDP 不保证送达，丢失的事件只能依赖缓存的过期时间兜底，对一致性要求较高的场景请基于可靠的消息中间件自行实现。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class MulticastInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Log log = LogFactory.getLog(MulticastInvalidationBus.class);
+
+    private static final int MAGIC = 0x464C4558;
+    private static final int MAX_PACKET_SIZE = 65507;
+
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private final Thread receiver;
+    private volatile boolean closed;
+
+    /**
+     * @param groupAddress 组播地址，例如 {@code 239.255.27.1}
+     * @param port         端口
+     */
+    public MulticastInvalidationBus(String groupAddress, int port) {
+        this(groupAddress, port, null);
+    }
+
+    /**
+     * @param groupAddress     组播地址，例如 {@code 239.255.27.1}
+     * @param port             端口
+     * @param networkInterface 使用的网卡，为 {@code null} 时使用系统默认的网卡
+     */
+    public MulticastInvalidationBus(String groupAddress, int port, NetworkInterface networkInterface) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.networkInterface = networkInterface;
+            this.socket = new MulticastSocket(port);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw FlexExceptions.wrap(e);
+        }
+
+        this.receiver = new Thread(this::receiveLoop, "mybatis-flex-invalidation-" + port);
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    protected void doPublish(InvalidationEvent event) {
+        try {
+            byte[] bytes = encode(event);
+            if (bytes.length > MAX_PACKET_SIZE) {
+                // 表过多时，退化为全部失效
+                bytes = encode(new InvalidationEvent(event.getNodeId(), null, true, event.getTimestamp()));
+            }
+            socket.send(new DatagramPacket(bytes, bytes.length, group));
+        } catch (IOException e) {
+            log.error("Failed to publish cache invalidation: " + event, e);
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                InvalidationEvent event = decode(packet.getData(), packet.getOffset(), packet.getLength());
+                if (event != null) {
+                    receive(event);
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    log.error("Failed to receive cache invalidation.", e);
+                }
+            } catch (Throwable e) {
+                // 单个数据包出错不能终止接收线程，否则之后的事件都无法收到
+                log.error("Failed to apply cache invalidation.", e);
+            }
+        }
+    }
+
+    static byte[] encode(InvalidationEvent event) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(MAGIC);
+            out.writeUTF(event.getNodeId());
+            out.writeLong(event.getTimestamp());
+            out.writeBoolean(event.isAll());
+            String[] tables = event.getTables();
+            out.writeInt(tables.length);
+            for (String table : tables) {
+                out.writeUTF(table);
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    static InvalidationEvent decode(byte[] data, int offset, int length) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            if (length < 4 || in.readInt() != MAGIC) {
+                // 其他程序发送到相同地址的数据
+                return null;
+            }
+            String nodeId = in.readUTF();
+            long timestamp = in.readLong();
+            boolean all = in.readBoolean();
+            int count = in.readInt();
+            // 每个表名至少占用 2 个字节的长度前缀，数量超出剩余的字节数时为损坏或伪造的数据包
+            if (count < 0 || count > in.available() / 2) {
+                return null;
+            }
+            String[] tables = new String[count];
+            for (int i = 0; i < tables.length; i++) {
+                tables[i] = in.readUTF();
+            }
+            return new InvalidationEvent(nodeId, tables, all, timestamp);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException e) {
+            // ignore
+        }
+        socket.close();
+    }
+
+}
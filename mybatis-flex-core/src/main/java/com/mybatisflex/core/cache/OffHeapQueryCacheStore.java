@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import com.mybatisflex.core.exception.FlexExceptions;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 堆外的查询结果缓存存储。
+ *
+ * <p>条目通过 Java 序列化后保存在直接内存（{@link ByteBuffer#allocateDirect(int)}）中，按字节数限制大小，
+ * 超出容量时淘汰最久未访问的条目。大量的缓存数据不会增加堆内存以及 GC 的压力，并且每次命中都会反序列化出新的对象，
+ * 修改查询结果不会影响缓存。
+ *
+ * <p>查询结果（实体类等）需要实现 {@link java.io.Serializable}，无法序列化的结果不会被缓存。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class OffHeapQueryCacheStore implements QueryCacheStore {
+
+    private static final Log log = LogFactory.getLog(OffHeapQueryCacheStore.class);
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    /**
+     * @param maxBytes 最多占用的堆外内存字节数
+     */
+    public OffHeapQueryCacheStore(long maxBytes) {
+        if (maxBytes < SEGMENT_COUNT) {
+            throw FlexExceptions.wrap("maxBytes must be greater than or equal to %s.", SEGMENT_COUNT);
+        }
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(maxBytes / SEGMENT_COUNT);
+        }
+    }
+
+    private Segment segmentFor(QueryCacheKey key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h & 0x7fffffff) % segments.length];
+    }
+
+    @Override
+    public QueryCacheEntry get(QueryCacheKey key) {
+        Segment segment = segmentFor(key);
+        ByteBuffer buffer;
+        synchronized (segment) {
+            buffer = segment.buffers.get(key);
+        }
+        if (buffer == null) {
+            return null;
+        }
+
+        // 缓冲区写入后不会再修改，可以在锁外读取
+        byte[] bytes = new byte[buffer.capacity()];
+        buffer.duplicate().get(bytes);
+        try {
+            return (QueryCacheEntry) CacheValues.deserialize(bytes);
+        } catch (IOException | ClassNotFoundException e) {
+            // 例如热加载后类发生了变化
+            remove(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(QueryCacheKey key, QueryCacheEntry entry) {
+        byte[] bytes;
+        try {
+            bytes = CacheValues.serialize(entry);
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Query result can not be cached off-heap: " + key.getStatementId() + ". Cause: " + e);
+            }
+            return;
+        }
+
+        Segment segment = segmentFor(key);
+        if (bytes.length > segment.capacity) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        synchronized (segment) {
+            segment.put(key, buffer);
+        }
+    }
+
+    @Override
+    public void remove(QueryCacheKey key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.buffers.clear();
+                segment.usedBytes = 0;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.buffers.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 当前占用的堆外内存字节数。
+     */
+    public long getUsedBytes() {
+        long usedBytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                usedBytes += segment.usedBytes;
+            }
+        }
+        return usedBytes;
+    }
+
+
+    private static class Segment {
+
+        private final long capacity;
+        private final LinkedHashMap<QueryCacheKey, ByteBuffer> buffers = new LinkedHashMap<>(16, 0.75f, true);
+        private long usedBytes;
+
+        Segment(long capacity) {
+            this.capacity = capacity;
+        }
+
+        void put(QueryCacheKey key, ByteBuffer buffer) {
+            ByteBuffer old = buffers.put(key, buffer);
+            if (old != null) {
+                usedBytes -= old.capacity();
+            }
+            usedBytes += buffer.capacity();
+
+            Iterator<Map.Entry<QueryCacheKey, ByteBuffer>> iterator = buffers.entrySet().iterator();
+            while (usedBytes > capacity && iterator.hasNext()) {
+                Map.Entry<QueryCacheKey, ByteBuffer> eldest = iterator.next();
+                if (eldest.getValue() == buffer) {
+                    continue;
+                }
+                usedBytes -= eldest.getValue().capacity();
+                iterator.remove();
+            }
+        }
+
+        void remove(QueryCacheKey key) {
+            ByteBuffer old = buffers.remove(key);
+            if (old != null) {
+                usedBytes -= old.capacity();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.io.Serializable;
+
+/**
+ * 查询结果缓存的条目。
+ *
+ * <p>除了查询结果以外，还记录了查询开始前相关表的版本号，任意一张表在此之后发生写入，条目即失效。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class QueryCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+    private final String[] tables;
+    private final long[] versions;
+    private final long epoch;
+    private final long expireAt;
+
+    public QueryCacheEntry(Object value, String[] tables, long[] versions, long epoch, long expireAt) {
+        this.value = value;
+        this.tables = tables;
+        this.versions = versions;
+        this.epoch = epoch;
+        this.expireAt = expireAt;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public String[] getTables() {
+        return tables;
+    }
+
+    public long[] getVersions() {
+        return versions;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getExpireAt() {
+        return expireAt;
+    }
+
+}
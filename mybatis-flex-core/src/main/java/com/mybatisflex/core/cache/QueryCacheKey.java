@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 查询结果缓存的 key，由 MappedStatement、结果类型、SQL、SQL 参数以及数据源 key 组成。
+ *
+ * <p>多租户条件的租户 ID 会作为 SQL 参数出现在 {@link #getArgs()} 中，因此不同租户的查询不会命中同一个缓存。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class QueryCacheKey {
+
+    private final String statementId;
+    private final Class<?> resultType;
+    private final String sql;
+    private final Object[] args;
+    private final String dataSourceKey;
+    private final int hashCode;
+
+    public QueryCacheKey(String statementId, Class<?> resultType, String sql, Object[] args, String dataSourceKey) {
+        this.statementId = statementId;
+        this.resultType = resultType;
+        this.sql = sql;
+        this.args = args;
+        this.dataSourceKey = dataSourceKey;
+
+        int h = Objects.hash(statementId, resultType, sql, dataSourceKey);
+        this.hashCode = 31 * h + Arrays.deepHashCode(args);
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public Class<?> getResultType() {
+        return resultType;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public String getDataSourceKey() {
+        return dataSourceKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryCacheKey that)) {
+            return false;
+        }
+        return hashCode == that.hashCode
+            && resultType == that.resultType
+            && Objects.equals(statementId, that.statementId)
+            && Objects.equals(sql, that.sql)
+            && Objects.equals(dataSourceKey, that.dataSourceKey)
+            && Arrays.deepEquals(args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheKey{" + statementId + ", " + sql + ", " + Arrays.toString(args) + ", " + dataSourceKey + "}";
+    }
+
+}
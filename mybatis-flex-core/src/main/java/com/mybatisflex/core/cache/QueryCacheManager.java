@@ -0,0 +1,565 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.query.BoundQueryWrapper;
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryTable;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.query.SelectQueryColumn;
+import com.mybatisflex.core.query.SelectQueryTable;
+import com.mybatisflex.core.query.UnionWrapper;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.transaction.TransactionContext;
+import com.mybatisflex.core.util.CollectionUtil;
+import com.mybatisflex.core.util.StringUtil;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 查询结果缓存管理。
+ *
+ * <p>通过 {@link #setStore(QueryCacheStore)} 配置缓存存储后，对于 {@code @Table(queryCache = true)} 的表，
+ * 或者通过 {@link QueryWrapper#cache()} 开启了缓存的查询，MyBatis-Flex 内置方法（{@code BaseMapper}、{@code Db} 等）的查询结果会被缓存，
+ * 缓存的 key 由 SQL、SQL 参数以及数据源 key 组成。
+ *
+ * <p>缓存通过表的版本号失效：每次查询前记录相关表的版本号，内置方法写入某张表后，该表的版本号加一，之前缓存的结果即失效。
+ * 无法得知写入了哪些表的语句（例如 {@code Db.updateBySql} 或者 XML 中的语句）会使全部缓存失效。
+ * 事务中的查询不会读取、也不会写入缓存，事务中写入的表会在事务结束后再次失效，以避免其他线程在事务提交之前缓存了旧的数据。
+ *
+ * <p>集群部署时，可以通过 {@link #setInvalidationBus(InvalidationBus)} 配置失效总线，在各个节点之间广播失效的表。
+ * 未通过 MyBatis-Flex 写入数据库（例如其他系统直接修改数据）时，需要根据业务设置合适的过期时间，或者主动调用 {@link #invalidate(String...)}。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class QueryCacheManager {
+
+    /**
+     * 在 {@link QueryWrapper} 的上下文中保存缓存过期时间的 key。
+     */
+    public static final String CONTEXT_KEY = "$$queryCache";
+
+    private static final String ALL_TABLES = "*";
+
+    private static final Map<String, AtomicLong> TABLE_VERSIONS = new ConcurrentHashMap<>();
+    private static final AtomicLong EPOCH = new AtomicLong();
+    private static final Map<String, Set<String>> TRANSACTION_TABLES = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<TableInfo>> NAMESPACE_TABLE_INFOS = new ConcurrentHashMap<>();
+
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    private static volatile QueryCacheStore store;
+    private static volatile InvalidationBus invalidationBus;
+    private static volatile long defaultTtlMillis = Duration.ofMinutes(5).toMillis();
+
+    private QueryCacheManager() {
+    }
+
+    public static QueryCacheStore getStore() {
+        return store;
+    }
+
+    /**
+     * 设置缓存存储，设置为 {@code null} 时关闭查询结果缓存。
+     */
+    public static void setStore(QueryCacheStore store) {
+        QueryCacheStore old = QueryCacheManager.store;
+        QueryCacheManager.store = store;
+        if (old != null && old != store) {
+            old.clear();
+        }
+    }
+
+    /**
+     * 是否配置了缓存存储或者失效总线，此时需要跟踪写入的表。
+     */
+    public static boolean isEnabled() {
+        return store != null || invalidationBus != null;
+    }
+
+    public static InvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+
+    /**
+     * 设置缓存失效总线，用于在集群的各个节点之间广播缓存失效，设置为 {@code null} 时只使本节点的缓存失效。
+     *
+     * <p>之前设置的总线会被关闭。
+     */
+    public static void setInvalidationBus(InvalidationBus invalidationBus) {
+        InvalidationBus old = QueryCacheManager.invalidationBus;
+        if (old == invalidationBus) {
+            return;
+        }
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(event -> {
+                if (QueryCacheManager.invalidationBus == invalidationBus) {
+                    applyRemoteEvent(event);
+                }
+            });
+        }
+        QueryCacheManager.invalidationBus = invalidationBus;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    public static Duration getDefaultTtl() {
+        return Duration.ofMillis(defaultTtlMillis);
+    }
+
+    /**
+     * 设置默认的缓存过期时间，默认为 5 分钟。
+     */
+    public static void setDefaultTtl(Duration defaultTtl) {
+        Objects.requireNonNull(defaultTtl, "defaultTtl");
+        if (defaultTtl.isNegative() || defaultTtl.isZero()) {
+            throw new IllegalArgumentException("defaultTtl must be positive.");
+        }
+        QueryCacheManager.defaultTtlMillis = defaultTtl.toMillis();
+    }
+
+    public static long getHitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    public static long getMissCount() {
+        return MISS_COUNT.sum();
+    }
+
+    /**
+     * 使指定表的缓存失效，配置了失效总线时会通知其他节点。
+     *
+     * @param tables 表名，忽略 schema 以及大小写
+     */
+    public static void invalidate(String... tables) {
+        publish(invalidateLocal(tables));
+    }
+
+    /**
+     * 使全部缓存失效，配置了失效总线时会通知其他节点。
+     */
+    public static void invalidateAll() {
+        invalidateAllLocal();
+        InvalidationBus bus = invalidationBus;
+        if (bus != null) {
+            bus.publish(InvalidationEvent.ofAll(bus.getNodeId()));
+        }
+    }
+
+    private static String[] invalidateLocal(String... tables) {
+        if (tables == null || tables.length == 0) {
+            return new String[0];
+        }
+        List<String> names = new ArrayList<>(tables.length);
+        for (String table : tables) {
+            String name = normalize(table);
+            if (name != null) {
+                TABLE_VERSIONS.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+                names.add(name);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static void invalidateAllLocal() {
+        EPOCH.incrementAndGet();
+        QueryCacheStore store = QueryCacheManager.store;
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    private static void publish(String[] tables) {
+        InvalidationBus bus = invalidationBus;
+        if (bus != null && tables.length > 0) {
+            bus.publish(InvalidationEvent.ofTables(bus.getNodeId(), tables));
+        }
+    }
+
+    private static void applyRemoteEvent(InvalidationEvent event) {
+        if (event.isAll()) {
+            invalidateAllLocal();
+        } else {
+            invalidateLocal(event.getTables());
+        }
+    }
+
+
+    /**
+     * 执行查询，可以缓存时优先从缓存中读取。
+     *
+     * @param ms        MappedStatement
+     * @param parameter 参数，需在 {@code ms.getBoundSql(parameter)} 之后调用
+     * @param sql       执行的 SQL
+     * @param query     实际执行的查询
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> List<E> query(MappedStatement ms, Object parameter, String sql, Query<E> query) throws SQLException {
+        QueryCacheStore store = QueryCacheManager.store;
+        if (store == null || TransactionContext.getXID() != null
+            || !(parameter instanceof Map<?, ?> params) || !isFlexStatement(params)) {
+            return query.execute();
+        }
+
+        CacheTarget target = resolveQueryTarget(ms, params);
+        if (target == null) {
+            return query.execute();
+        }
+
+        Object[] args = (Object[]) params.get(FlexConsts.SQL_ARGS);
+        QueryCacheKey key = new QueryCacheKey(ms.getId(), getResultType(ms), sql, args == null ? null : args.clone(), DataSourceKey.get());
+
+        QueryCacheEntry entry = store.get(key);
+        if (entry != null) {
+            if (isValid(entry)) {
+                HIT_COUNT.increment();
+                return new ArrayList<>((List<E>) entry.getValue());
+            }
+            store.remove(key);
+        }
+        MISS_COUNT.increment();
+
+        // 查询之前记录版本号，查询期间发生的写入会使本次结果失效
+        long epoch = EPOCH.get();
+        long[] versions = captureVersions(target.tables);
+
+        List<E> result = query.execute();
+        if (result != null) {
+            long expireAt = System.currentTimeMillis() + target.ttlMillis;
+            store.put(key, new QueryCacheEntry(new ArrayList<>(result), target.tables, versions, epoch, expireAt));
+        }
+        return result;
+    }
+
+    /**
+     * 写入语句执行之后调用，使相关表的缓存失效。
+     *
+     * @param ms        MappedStatement
+     * @param parameter 参数
+     * @return 失效的表，无法得知写入了哪些表时返回 {@code null}
+     */
+    public static String[] afterUpdate(MappedStatement ms, Object parameter) {
+        if (!isEnabled()) {
+            return new String[0];
+        }
+
+        String[] tables = null;
+        if (parameter instanceof Map<?, ?> params && isFlexStatement(params)) {
+            tables = resolveUpdateTables(ms, params);
+        }
+        afterWrite(tables);
+        return tables;
+    }
+
+    /**
+     * 写入数据之后调用，使相关表的缓存失效。
+     *
+     * <p>在事务中时只使本节点的缓存失效，写入的表会在事务提交后合并为一个事件再通知其他节点。
+     *
+     * @param tables 写入的表，为 {@code null} 时表示无法得知写入了哪些表
+     */
+    public static void afterWrite(String[] tables) {
+        String xid = TransactionContext.getXID();
+        if (xid == null) {
+            if (tables == null) {
+                invalidateAll();
+            } else {
+                invalidate(tables);
+            }
+            return;
+        }
+
+        Set<String> pending = TRANSACTION_TABLES.computeIfAbsent(xid, k -> ConcurrentHashMap.newKeySet());
+        if (tables == null) {
+            pending.add(ALL_TABLES);
+            invalidateAllLocal();
+        } else {
+            pending.addAll(List.of(invalidateLocal(tables)));
+        }
+    }
+
+    /**
+     * 事务结束时调用，事务提交后再次使事务中写入的表失效，并通知其他节点。
+     *
+     * @param xid    事务 ID
+     * @param commit 是否提交
+     */
+    public static void afterTransaction(String xid, boolean commit) {
+        Set<String> tables = TRANSACTION_TABLES.remove(xid);
+        if (tables == null || !commit) {
+            return;
+        }
+        if (tables.contains(ALL_TABLES)) {
+            invalidateAll();
+        } else {
+            invalidate(tables.toArray(new String[0]));
+        }
+    }
+
+
+    static void recordHit() {
+        HIT_COUNT.increment();
+    }
+
+    static void recordMiss() {
+        MISS_COUNT.increment();
+    }
+
+    static long currentEpoch() {
+        return EPOCH.get();
+    }
+
+    static long getDefaultTtlMillis() {
+        return defaultTtlMillis;
+    }
+
+    static long[] captureVersions(String[] tables) {
+        long[] versions = new long[tables.length];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = getVersion(tables[i]);
+        }
+        return versions;
+    }
+
+    static boolean isValid(QueryCacheEntry entry) {
+        if (entry.getEpoch() != EPOCH.get() || entry.getExpireAt() <= System.currentTimeMillis()) {
+            return false;
+        }
+        String[] tables = entry.getTables();
+        long[] versions = entry.getVersions();
+        for (int i = 0; i < tables.length; i++) {
+            if (getVersion(tables[i]) != versions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long getVersion(String table) {
+        AtomicLong version = TABLE_VERSIONS.get(table);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * MyBatis-Flex 内置方法构建的语句，SQL 参数都保存在 {@link FlexConsts#SQL_ARGS} 中；
+     * 直接执行的原生 SQL 保存在 {@link FlexConsts#SQL} 中，无法得知涉及的表。
+     */
+    private static boolean isFlexStatement(Map<?, ?> params) {
+        return params.containsKey(FlexConsts.SQL_ARGS) && !params.containsKey(FlexConsts.SQL);
+    }
+
+    static Class<?> getResultType(MappedStatement ms) {
+        List<ResultMap> resultMaps = ms.getResultMaps();
+        return resultMaps == null || resultMaps.isEmpty() ? null : resultMaps.get(0).getType();
+    }
+
+    private static CacheTarget resolveQueryTarget(MappedStatement ms, Map<?, ?> params) {
+        Object queryWrapperObj = params.containsKey(FlexConsts.QUERY) ? params.get(FlexConsts.QUERY) : null;
+        if (queryWrapperObj instanceof BoundQueryWrapper) {
+            return null;
+        }
+
+        Map<String, TableInfo> tables = new LinkedHashMap<>();
+        Duration ttl = null;
+        if (queryWrapperObj instanceof QueryWrapper queryWrapper) {
+            ttl = CPI.getContext(queryWrapper, CONTEXT_KEY);
+            collectTables(queryWrapper, tables);
+        }
+        if (params.containsKey(FlexConsts.TABLE_NAME)) {
+            addTable(getTableNameWithSchema(params), tables);
+        }
+        if (tables.isEmpty()) {
+            TableInfo tableInfo = getMapperTableInfo(ms);
+            if (tableInfo != null) {
+                tables.put(normalize(tableInfo.getTableName()), tableInfo);
+            }
+        }
+        if (tables.isEmpty()) {
+            return null;
+        }
+
+        if (ttl == null) {
+            // 未在查询中开启缓存时，需要全部的表都开启了缓存
+            for (TableInfo tableInfo : tables.values()) {
+                if (tableInfo == null || !tableInfo.isQueryCache()) {
+                    return null;
+                }
+            }
+        }
+
+        long ttlMillis = ttl == null || ttl.isZero() || ttl.isNegative() ? defaultTtlMillis : ttl.toMillis();
+        return new CacheTarget(tables.keySet().toArray(new String[0]), ttlMillis);
+    }
+
+    private static String[] resolveUpdateTables(MappedStatement ms, Map<?, ?> params) {
+        Map<String, TableInfo> tables = new LinkedHashMap<>();
+        if (params.containsKey(FlexConsts.QUERY) && params.get(FlexConsts.QUERY) instanceof QueryWrapper queryWrapper) {
+            collectTables(queryWrapper, tables);
+        }
+        if (params.containsKey(FlexConsts.TABLE_NAME)) {
+            addTable(getTableNameWithSchema(params), tables);
+        }
+        if (params.containsKey(FlexConsts.ENTITY)) {
+            Object entity = params.get(FlexConsts.ENTITY);
+            TableInfo tableInfo = entity == null ? null : TableInfoFactory.ofEntityClass(entity.getClass());
+            if (tableInfo != null) {
+                tables.put(normalize(tableInfo.getTableName()), tableInfo);
+            }
+        }
+        TableInfo tableInfo = getMapperTableInfo(ms);
+        if (tableInfo != null) {
+            tables.put(normalize(tableInfo.getTableName()), tableInfo);
+        }
+        tables.remove(null);
+        return tables.isEmpty() ? null : tables.keySet().toArray(new String[0]);
+    }
+
+    private static String getTableNameWithSchema(Map<?, ?> params) {
+        Object tableName = params.get(FlexConsts.TABLE_NAME);
+        if (tableName == null) {
+            return null;
+        }
+        Object schema = params.containsKey(FlexConsts.SCHEMA_NAME) ? params.get(FlexConsts.SCHEMA_NAME) : null;
+        return schema == null || StringUtil.noText(schema.toString())
+            ? tableName.toString().trim()
+            : schema.toString().trim() + "." + tableName.toString().trim();
+    }
+
+    private static void collectTables(QueryWrapper queryWrapper, Map<String, TableInfo> tables) {
+        collectTables(CPI.getQueryTables(queryWrapper), tables);
+        collectTables(CPI.getJoinTables(queryWrapper), tables);
+
+        List<QueryColumn> selectColumns = CPI.getSelectColumns(queryWrapper);
+        if (CollectionUtil.isNotEmpty(selectColumns)) {
+            for (QueryColumn selectColumn : selectColumns) {
+                if (selectColumn instanceof SelectQueryColumn sqc) {
+                    collectTables(CPI.getQueryWrapper(sqc), tables);
+                }
+            }
+        }
+
+        List<QueryWrapper> childSelects = CPI.getChildSelect(queryWrapper);
+        if (CollectionUtil.isNotEmpty(childSelects)) {
+            for (QueryWrapper childSelect : childSelects) {
+                collectTables(childSelect, tables);
+            }
+        }
+
+        List<UnionWrapper> unions = CPI.getUnions(queryWrapper);
+        if (CollectionUtil.isNotEmpty(unions)) {
+            for (UnionWrapper union : unions) {
+                collectTables(union.getQueryWrapper(), tables);
+            }
+        }
+    }
+
+    private static void collectTables(Collection<QueryTable> queryTables, Map<String, TableInfo> tables) {
+        if (CollectionUtil.isEmpty(queryTables)) {
+            return;
+        }
+        for (QueryTable queryTable : queryTables) {
+            if (queryTable instanceof SelectQueryTable selectQueryTable) {
+                collectTables(selectQueryTable.getQueryWrapper(), tables);
+            } else {
+                addTable(queryTable.getNameWithSchema(), tables);
+            }
+        }
+    }
+
+    private static void addTable(String tableNameWithSchema, Map<String, TableInfo> tables) {
+        String name = normalize(tableNameWithSchema);
+        if (name != null && !tables.containsKey(name)) {
+            tables.put(name, TableInfoFactory.ofTableName(tableNameWithSchema));
+        }
+    }
+
+    static TableInfo getMapperTableInfo(MappedStatement ms) {
+        String id = ms.getId();
+        int index = id.lastIndexOf('.');
+        if (index <= 0) {
+            return null;
+        }
+        String namespace = id.substring(0, index);
+        return NAMESPACE_TABLE_INFOS.computeIfAbsent(namespace, key -> {
+            try {
+                return Optional.ofNullable(TableInfoFactory.ofMapperClass(Resources.classForName(key)));
+            } catch (ClassNotFoundException | RuntimeException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * 统一表名：去掉 schema 与引号并转为小写，不同 schema 的同名表会一起失效。
+     */
+    static String normalize(String table) {
+        if (StringUtil.noText(table)) {
+            return null;
+        }
+        String name = table.trim();
+        int index = name.lastIndexOf('.');
+        if (index >= 0) {
+            name = name.substring(index + 1);
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '"' && c != '`' && c != '[' && c != ']') {
+                sb.append(c);
+            }
+        }
+        return sb.length() == 0 ? null : sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+
+    /**
+     * 实际执行的查询。
+     */
+    @FunctionalInterface
+    public interface Query<E> {
+
+        List<E> execute() throws SQLException;
+
+    }
+
+    private record CacheTarget(String[] tables, long ttlMillis) {
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+/**
+ * 查询结果缓存的存储。
+ *
+ * <p>存储只负责保存条目，条目是否过期、是否因为表的写入而失效由 {@link QueryCacheManager} 判断，
+ * 因此实现类无需关心表与条目之间的关系。内置的实现有：
+ * <ul>
+ *     <li>{@link LocalQueryCacheStore}：序列化后保存在堆内存中，按条目数量限制大小；</li>
+ *     <li>{@link OffHeapQueryCacheStore}：序列化后保存在堆外内存中，按字节数限制大小。</li>
+ * </ul>
+ *
+ * <p>实现类需要是线程安全的。缓存的值（例如实体类）通常是可变的，实现类不能把同一个对象返回给多次读取，
+ * 而是需要像内置的实现一样保存序列化之后的内容，每次读取都返回新的副本。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public interface QueryCacheStore {
+
+    /**
+     * 获取缓存条目。
+     *
+     * @param key 缓存 key
+     * @return 缓存条目，不存在时返回 {@code null}
+     */
+    QueryCacheEntry get(QueryCacheKey key);
+
+    /**
+     * 保存缓存条目，超出容量时由实现类自行淘汰。
+     *
+     * @param key   缓存 key
+     * @param entry 缓存条目
+     */
+    void put(QueryCacheKey key, QueryCacheEntry entry);
+
+    /**
+     * 移除缓存条目。
+     *
+     * @param key 缓存 key
+     */
+    void remove(QueryCacheKey key);
+
+    /**
+     * 清空全部缓存条目。
+     */
+    void clear();
+
+    /**
+     * 当前的缓存条目数量。
+     */
+    int size();
+
+}
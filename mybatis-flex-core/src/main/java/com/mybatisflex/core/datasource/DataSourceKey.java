@@ -91,6 +91,14 @@ public class DataSourceKey {
         return dsKey != null ? dsKey : dataSourceKey;
     }
 
+    /**
+     * 判断数据源 key 是否需要在每次调用时通过 {@link com.mybatisflex.core.datasource.processor.DataSourceProcessor} 动态处理。
+     * 返回 {@code false} 时，{@link #processDataSourceKey} 的结果总是原始的 dataSourceKey，可以直接缓存。
+     */
+    public static boolean isDynamicDataSourceKey(String dataSourceKey) {
+        return DataSourceManager.isDynamicDataSourceKey(dataSourceKey);
+    }
+
 
     public static String getShardingDsKey(String dataSource, Object mapper, Method method, Object[] args) {
         String shardingDsKey = DataSourceManager.getShardingDsKey(dataSource, mapper, method, args);
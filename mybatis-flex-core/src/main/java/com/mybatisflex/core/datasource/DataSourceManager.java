@@ -16,6 +16,7 @@
 package com.mybatisflex.core.datasource;
 
 import com.mybatisflex.core.datasource.processor.DataSourceProcessor;
+import com.mybatisflex.core.datasource.readwrite.ReadWriteSplitting;
 import com.mybatisflex.core.exception.FlexExceptions;
 import com.mybatisflex.core.util.ClassUtil;
 import org.apache.ibatis.logging.LogFactory;
@@ -61,6 +62,19 @@ public class DataSourceManager {
         DataSourceManager.dataSourceShardingStrategy = dataSourceShardingStrategy;
     }
 
+    /**
+     * 读写分离，为 null 时不启用
+     */
+    private static ReadWriteSplitting readWriteSplitting;
+
+    public static ReadWriteSplitting getReadWriteSplitting() {
+        return readWriteSplitting;
+    }
+
+    public static void setReadWriteSplitting(ReadWriteSplitting readWriteSplitting) {
+        DataSourceManager.readWriteSplitting = readWriteSplitting;
+    }
+
     public static void decryptDataSource(DataSource dataSource) {
         if (decipher == null) {
             return;
@@ -115,6 +129,11 @@ public class DataSourceManager {
     }
 
 
+    static boolean isDynamicDataSourceKey(String dataSourceKey) {
+        return dataSourceProcessor != null && dataSourceProcessor.isDynamic(dataSourceKey);
+    }
+
+
     static String getShardingDsKey(String dataSource, Object mapper, Method method, Object[] args) {
         return dataSourceShardingStrategy != null ? dataSourceShardingStrategy.doSharding(dataSource, mapper, method, args) : null;
     }
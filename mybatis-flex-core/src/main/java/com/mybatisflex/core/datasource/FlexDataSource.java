@@ -16,28 +16,31 @@
 package com.mybatisflex.core.datasource;
 
 import com.mybatisflex.core.FlexGlobalConfig;
+import com.mybatisflex.core.datasource.loadbalance.LoadBalanceStrategy;
+import com.mybatisflex.core.datasource.loadbalance.RandomLoadBalanceStrategy;
 import com.mybatisflex.core.dialect.DbType;
 import com.mybatisflex.core.dialect.DbTypeUtil;
+import com.mybatisflex.core.mybatis.FlexSession;
 import com.mybatisflex.core.transaction.TransactionContext;
 import com.mybatisflex.core.transaction.TransactionalManager;
-import com.mybatisflex.core.util.ArrayUtil;
 import com.mybatisflex.core.util.StringUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author michael
@@ -47,8 +50,24 @@ public class FlexDataSource extends AbstractDataSource {
     private static final char LOAD_BALANCE_KEY_SUFFIX = '*';
     private static final Log log = LogFactory.getLog(FlexDataSource.class);
 
-    private final Map<String, DataSource> dataSourceMap = new HashMap<>();
-    private final Map<String, DbType> dbTypeHashMap = new HashMap<>();
+    private static final String[] EMPTY_KEYS = new String[0];
+
+    private final Map<String, DataSource> dataSourceMap = new ConcurrentHashMap<>();
+    private final Map<String, DbType> dbTypeHashMap = new ConcurrentHashMap<>();
+
+    /**
+     * 负载均衡分组索引：前缀 -> 匹配的数据源 key（已排序）。
+     * 采用写时复制，读取时无需加锁；数据源增删时整体失效。
+     */
+    private volatile Map<String, String[]> groupIndex = Collections.emptyMap();
+    private long groupIndexVersion;
+
+    /**
+     * 被摘除的数据源，不参与负载均衡选择，但仍可通过完整的 key 直接使用。
+     */
+    private final Set<String> ejectedKeys = ConcurrentHashMap.newKeySet();
+
+    private volatile LoadBalanceStrategy loadBalanceStrategy = new RandomLoadBalanceStrategy();
 
     private DbType defaultDbType;
     private String defaultDataSourceKey;
@@ -111,20 +130,87 @@ public class FlexDataSource extends AbstractDataSource {
 
         dbType = Optional.ofNullable(dbType).orElseGet(() -> DbTypeUtil.getDbType(dataSource));
 
-        dataSourceMap.put(dataSourceKey, dataSource);
-        dbTypeHashMap.put(dataSourceKey, dbType);
+        synchronized (this) {
+            dataSourceMap.put(dataSourceKey, dataSource);
+            dbTypeHashMap.put(dataSourceKey, dbType);
+            invalidateGroupIndex();
+        }
     }
 
 
-    public void removeDatasource(String dataSourceKey) {
+    public synchronized void removeDatasource(String dataSourceKey) {
         dataSourceMap.remove(dataSourceKey);
         dbTypeHashMap.remove(dataSourceKey);
+        ejectedKeys.remove(dataSourceKey);
+        invalidateGroupIndex();
+    }
+
+    /**
+     * 将数据源从负载均衡中摘除（例如从库不可用或复制延迟过大），摘除后不会再被 {@code xxx*} 选中。
+     *
+     * @return 数据源之前未被摘除时返回 {@code true}
+     */
+    public synchronized boolean ejectDataSource(String dataSourceKey) {
+        boolean changed = ejectedKeys.add(dataSourceKey);
+        if (changed) {
+            invalidateGroupIndex();
+        }
+        return changed;
+    }
+
+    /**
+     * 将被摘除的数据源恢复到负载均衡中。
+     *
+     * @return 数据源之前处于摘除状态时返回 {@code true}
+     */
+    public synchronized boolean restoreDataSource(String dataSourceKey) {
+        boolean changed = ejectedKeys.remove(dataSourceKey);
+        if (changed) {
+            invalidateGroupIndex();
+        }
+        return changed;
+    }
+
+    public boolean isEjected(String dataSourceKey) {
+        return ejectedKeys.contains(dataSourceKey);
+    }
+
+    /**
+     * 判断以 group 为前缀的数据源中，是否存在未被摘除、可参与负载均衡的数据源。
+     */
+    public boolean hasAvailableDataSource(String group) {
+        return getGroupKeys(group).length > 0;
     }
 
+    /**
+     * 获取所有的数据源。
+     *
+     * <p>注意：请通过 {@link #addDataSource(String, DataSource)} 与 {@link #removeDatasource(String)} 增删数据源，
+     * 直接修改返回的 Map 不会刷新负载均衡分组索引，需再调用 {@link #invalidateGroupIndex()}。
+     */
     public Map<String, DataSource> getDataSourceMap() {
         return dataSourceMap;
     }
 
+    public LoadBalanceStrategy getLoadBalanceStrategy() {
+        return loadBalanceStrategy;
+    }
+
+    /**
+     * 设置负载均衡策略，用于 {@code DataSourceKey} 以 {@code *} 结尾时选择数据源，默认为随机选择。
+     */
+    public void setLoadBalanceStrategy(LoadBalanceStrategy loadBalanceStrategy) {
+        this.loadBalanceStrategy = Objects.requireNonNull(loadBalanceStrategy, "loadBalanceStrategy can not be null.");
+    }
+
+    /**
+     * 使负载均衡分组索引失效，下次访问时重新计算。
+     */
+    public synchronized void invalidateGroupIndex() {
+        groupIndexVersion++;
+        groupIndex = Collections.emptyMap();
+    }
+
     public Map<String, DbType> getDbTypeHashMap() {
         return dbTypeHashMap;
     }
@@ -148,42 +234,60 @@ public class FlexDataSource extends AbstractDataSource {
 
     @Override
     public Connection getConnection() throws SQLException {
+        return getConnection(null, null, false);
+    }
+
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(username, password, true);
+    }
+
+    private Connection getConnection(String username, String password, boolean withCredentials) throws SQLException {
         String xid = TransactionContext.getXID();
         if (StringUtil.hasText(xid)) {
-            String dataSourceKey = DataSourceKey.get();
-            if (StringUtil.noText(dataSourceKey)) {
-                dataSourceKey = defaultDataSourceKey;
-            }
+            String dataSourceKey = getCurrentDataSourceKey();
 
             Connection connection = TransactionalManager.getConnection(xid, dataSourceKey);
             if (connection == null) {
-                connection = proxy(getDataSource().getConnection(), xid);
+                connection = proxy(openConnection(username, password, withCredentials), xid);
                 TransactionalManager.hold(xid, dataSourceKey, connection);
             }
             return connection;
-        } else {
-            return getDataSource().getConnection();
         }
-    }
 
+        FlexSession session = FlexSession.current();
+        if (session != null && !withCredentials) {
+            String dataSourceKey = getCurrentDataSourceKey();
 
-    @Override
-    public Connection getConnection(String username, String password) throws SQLException {
-        String xid = TransactionContext.getXID();
-        if (StringUtil.hasText(xid)) {
-            String dataSourceKey = DataSourceKey.get();
-            if (StringUtil.noText(dataSourceKey)) {
-                dataSourceKey = defaultDataSourceKey;
-            }
-            Connection connection = TransactionalManager.getConnection(xid, dataSourceKey);
+            SessionConnection connection = session.getConnection(this, dataSourceKey);
             if (connection == null) {
-                connection = proxy(getDataSource().getConnection(username, password), xid);
-                TransactionalManager.hold(xid, dataSourceKey, connection);
+                connection = new SessionConnection(openConnection(null, null, false));
+                session.bindConnection(this, dataSourceKey, connection);
             }
             return connection;
-        } else {
-            return getDataSource().getConnection(username, password);
         }
+
+        return openConnection(username, password, withCredentials);
+    }
+
+    private String getCurrentDataSourceKey() {
+        String dataSourceKey = DataSourceKey.get();
+        return StringUtil.noText(dataSourceKey) ? defaultDataSourceKey : dataSourceKey;
+    }
+
+    private Connection openConnection(String username, String password, boolean withCredentials) throws SQLException {
+        Target target = getTarget();
+        DataSource dataSource = target.dataSource();
+        Connection connection = withCredentials ? dataSource.getConnection(username, password) : dataSource.getConnection();
+
+        LoadBalanceStrategy strategy = target.strategy();
+        if (strategy == null || !strategy.isFeedbackRequired()) {
+            return connection;
+        }
+
+        strategy.onAcquire(target.key());
+        return new FeedbackConnection(connection, target.key(), strategy, System.nanoTime());
     }
 
     static void closeAutoCommit(Connection connection) {
@@ -211,10 +315,7 @@ public class FlexDataSource extends AbstractDataSource {
 
 
     public Connection proxy(Connection connection, String xid) {
-        return (Connection) Proxy.newProxyInstance(FlexDataSource.class.getClassLoader()
-            , new Class[]{Connection.class}
-            , new ConnectionHandler(connection, xid)
-        );
+        return new TransactionalConnection(connection, xid);
     }
 
     /**
@@ -249,6 +350,10 @@ public class FlexDataSource extends AbstractDataSource {
     }
 
     protected DataSource getDataSource() {
+        return getTarget().dataSource();
+    }
+
+    private Target getTarget() {
         DataSource dataSource = defaultDataSource;
         DataSourceMissingHandler dataSourceMissingHandler = getDataSourceMissingHandler();
 
@@ -259,34 +364,24 @@ public class FlexDataSource extends AbstractDataSource {
                 // 负载均衡 key
                 if (dataSourceKey.charAt(dataSourceKey.length() - 1) == LOAD_BALANCE_KEY_SUFFIX) {
                     String prefix = dataSourceKey.substring(0, dataSourceKey.length() - 1);
-                    List<String> matchedKeys = new ArrayList<>();
-
-                    for (String key : dataSourceMap.keySet()) {
-                        if (key.startsWith(prefix)) {
-                            matchedKeys.add(key);
-                        }
+                    LoadBalanceStrategy strategy = loadBalanceStrategy;
+                    Target target = select(prefix, getGroupKeys(prefix), dataSourceMap, strategy);
+                    if (target != null) {
+                        return target;
                     }
 
                     // 当找不到匹配的 key 时，尝试后备匹配
-                    if (matchedKeys.isEmpty() && dataSourceMissingHandler != null) {
-                        Map<String, DataSource> dsMap = dataSourceMissingHandler.handle(dataSourceKey, dataSourceMap);
-
+                    if (dataSourceMissingHandler != null) {
+                        Map<String, DataSource> dsMap = handleMissing(dataSourceMissingHandler, dataSourceKey);
                         if (dsMap != null && !dsMap.isEmpty()) {
-                            for (String key : dsMap.keySet()) {
-                                if (key.startsWith(prefix)) {
-                                    matchedKeys.add(key);
-                                }
+                            target = select(prefix, matchKeys(dsMap, prefix, ejectedKeys), dsMap, strategy);
+                            if (target != null) {
+                                return target;
                             }
                         }
                     }
 
-                    if (matchedKeys.isEmpty()) {
-                        throw new IllegalStateException("Can not matched dataSource by key: \"" + dataSourceKey + "\"");
-                    }
-
-                    String randomKey = matchedKeys.get(ThreadLocalRandom.current().nextInt(matchedKeys.size()));
-
-                    return dataSourceMap.get(randomKey);
+                    throw new IllegalStateException("Can not matched dataSource by key: \"" + dataSourceKey + "\"");
                 }
                 // 非负载均衡 key
                 else {
@@ -294,8 +389,7 @@ public class FlexDataSource extends AbstractDataSource {
 
                     // 当找不到匹配的 key 时，尝试后备匹配
                     if (dataSource == null && dataSourceMissingHandler != null) {
-                        Map<String, DataSource> dsMap = dataSourceMissingHandler.handle(dataSourceKey, dataSourceMap);
-
+                        Map<String, DataSource> dsMap = handleMissing(dataSourceMissingHandler, dataSourceKey);
                         if (dsMap != null && !dsMap.isEmpty()) {
                             dataSource = dsMap.get(dataSourceKey);
                         }
@@ -304,38 +398,133 @@ public class FlexDataSource extends AbstractDataSource {
                     if (dataSource == null) {
                         throw new IllegalStateException("Cannot get target dataSource by key: \"" + dataSourceKey + "\"");
                     }
+
+                    return new Target(dataSourceKey, dataSource, null);
                 }
             }
         }
 
-        return dataSource;
+        return new Target(defaultDataSourceKey, dataSource, null);
     }
 
-    private record ConnectionHandler(Connection original, String xid) implements InvocationHandler {
-        private static final String[] proxyMethods = new String[]{"commit", "rollback", "close", "setAutoCommit"};
+    /**
+     * 通过负载均衡策略从 matchedKeys 中选择数据源，选中的数据源已被并发移除时，从剩余的 key 中重新选择。
+     *
+     * @return 没有可用的数据源时返回 {@code null}
+     */
+    private Target select(String prefix, String[] matchedKeys, Map<String, DataSource> dsMap, LoadBalanceStrategy strategy) {
+        Target target = null;
+        boolean stale = false;
+        while (matchedKeys.length > 0) {
+            String selectedKey = strategy.select(prefix, matchedKeys);
+            DataSource selected = dsMap.get(selectedKey);
+            if (selected != null) {
+                target = new Target(selectedKey, selected, strategy);
+                break;
+            }
+            stale = true;
+            List<String> remainingKeys = new ArrayList<>(Arrays.asList(matchedKeys));
+            remainingKeys.remove(selectedKey);
+            if (remainingKeys.size() == matchedKeys.length) {
+                // 策略返回了不在候选列表中的 key
+                break;
+            }
+            matchedKeys = remainingKeys.toArray(EMPTY_KEYS);
+        }
+        // 分组索引中的 key 已不存在（例如直接修改了 dataSourceMap），重新计算
+        if (stale && dsMap == dataSourceMap) {
+            invalidateGroupIndex();
+        }
+        return target;
+    }
 
-        private ConnectionHandler {
-            closeAutoCommit(original);
+    /**
+     * 调用数据源缺失处理器。处理器可能直接修改了 dataSourceMap，只有数据源的 key 确实发生变化时才使分组索引失效。
+     */
+    private Map<String, DataSource> handleMissing(DataSourceMissingHandler dataSourceMissingHandler, String dataSourceKey) {
+        Set<String> keysBefore = new HashSet<>(dataSourceMap.keySet());
+        Map<String, DataSource> dsMap = dataSourceMissingHandler.handle(dataSourceKey, dataSourceMap);
+        if (!keysBefore.equals(dataSourceMap.keySet())) {
+            invalidateGroupIndex();
         }
+        return dsMap;
+    }
 
-        @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            if (ArrayUtil.contains(proxyMethods, method.getName())
-                && isTransactional()) {
-                // do nothing
-                return null;
+    private String[] getGroupKeys(String prefix) {
+        String[] keys = groupIndex.get(prefix);
+        if (keys != null) {
+            return keys;
+        }
+
+        long version;
+        synchronized (this) {
+            version = groupIndexVersion;
+        }
+
+        keys = matchKeys(dataSourceMap, prefix, ejectedKeys);
+        if (keys.length == 0) {
+            // 不缓存空结果，以便后续由 DataSourceMissingHandler 补充
+            return keys;
+        }
+
+        synchronized (this) {
+            // 计算期间数据源发生了变化，则放弃本次结果，避免写入过期的索引
+            if (version == groupIndexVersion) {
+                Map<String, String[]> newIndex = new HashMap<>(groupIndex);
+                newIndex.put(prefix, keys);
+                groupIndex = newIndex;
             }
+        }
+        return keys;
+    }
 
-            // setAutoCommit: true
-            if ("close".equalsIgnoreCase(method.getName())) {
-                resetAutoCommit(original);
+    private static String[] matchKeys(Map<String, DataSource> dsMap, String prefix, Set<String> excludedKeys) {
+        List<String> matchedKeys = new ArrayList<>();
+        for (String key : dsMap.keySet()) {
+            if (key.startsWith(prefix) && !excludedKeys.contains(key)) {
+                matchedKeys.add(key);
             }
+        }
+        if (matchedKeys.isEmpty()) {
+            return EMPTY_KEYS;
+        }
+        // 保持稳定的顺序，便于轮询等有状态的策略
+        Collections.sort(matchedKeys);
+        return matchedKeys.toArray(EMPTY_KEYS);
+    }
 
-            return method.invoke(original, args);
+    /**
+     * 本次获取连接的目标数据源，strategy 仅在通过负载均衡选中时不为 null。
+     */
+    private record Target(String key, DataSource dataSource, LoadBalanceStrategy strategy) {
+    }
+
+    private static final class FeedbackConnection extends ConnectionWrapper {
+
+        private final String dataSourceKey;
+        private final LoadBalanceStrategy strategy;
+        private final long acquireNanos;
+        private boolean released;
+
+        private FeedbackConnection(Connection original, String dataSourceKey, LoadBalanceStrategy strategy, long acquireNanos) {
+            super(original);
+            this.dataSourceKey = dataSourceKey;
+            this.strategy = strategy;
+            this.acquireNanos = acquireNanos;
         }
 
-        private boolean isTransactional() {
-            return Objects.equals(xid, TransactionContext.getXID());
+        @Override
+        public void close() throws SQLException {
+            if (released) {
+                original.close();
+                return;
+            }
+            released = true;
+            try {
+                original.close();
+            } finally {
+                strategy.onRelease(dataSourceKey, System.nanoTime() - acquireNanos);
+            }
         }
 
     }
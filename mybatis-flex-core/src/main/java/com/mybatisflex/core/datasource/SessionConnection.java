@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 会话（{@link com.mybatisflex.core.mybatis.FlexSession}）中绑定的连接。
+ *
+ * <p>会话内的多次调用共用同一个连接，因此每次调用结束时的 {@code close} 不生效，
+ * 由会话结束时通过 {@link #release()} 统一关闭。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SessionConnection extends ConnectionWrapper {
+
+    public SessionConnection(Connection original) {
+        super(original);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        // 由会话统一关闭
+    }
+
+    /**
+     * 恢复自动提交并关闭原始连接。
+     */
+    public void release() throws SQLException {
+        FlexDataSource.resetAutoCommit(original);
+        original.close();
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource;
+
+import com.mybatisflex.core.transaction.TransactionContext;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * 事务中持有的连接。
+ *
+ * <p>在事务仍处于当前线程时，{@code commit}、{@code rollback}、{@code close} 与 {@code setAutoCommit} 均不生效，
+ * 由 {@link com.mybatisflex.core.transaction.TransactionalManager} 在事务结束时统一提交或回滚并关闭连接。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class TransactionalConnection extends ConnectionWrapper {
+
+    private final String xid;
+
+    public TransactionalConnection(Connection original, String xid) {
+        super(original);
+        this.xid = xid;
+        FlexDataSource.closeAutoCommit(original);
+    }
+
+    public String getXid() {
+        return xid;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        if (!isTransactional()) {
+            original.setAutoCommit(autoCommit);
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        if (!isTransactional()) {
+            original.commit();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        if (!isTransactional()) {
+            original.rollback();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!isTransactional()) {
+            // setAutoCommit: true
+            FlexDataSource.resetAutoCommit(original);
+            original.close();
+        }
+    }
+
+    private boolean isTransactional() {
+        return Objects.equals(xid, TransactionContext.getXID());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于延迟感知的选择策略。
+ *
+ * <p>每个数据源以指数加权移动平均（EWMA）记录连接的持有时长，并结合当前活跃连接数计算负载分值：
+ * {@code score = ewma * (active + 1)}。每次选择时随机取两个候选数据源，返回分值较低的一个（power of two choices），
+ * 既能避开变慢的数据源，又不会让所有请求同时涌向同一个数据源。
+ *
+ * <p>尚未产生采样的数据源分值为 0，因此新加入的数据源会优先得到探测。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class LatencyAwareLoadBalanceStrategy implements LoadBalanceStrategy {
+
+    /**
+     * 默认的平滑系数，值越大越偏向最新的采样。
+     */
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    private final Map<String, Stats> statsMap = new ConcurrentHashMap<>();
+    private final double alpha;
+
+    public LatencyAwareLoadBalanceStrategy() {
+        this(DEFAULT_ALPHA);
+    }
+
+    public LatencyAwareLoadBalanceStrategy(double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+
+    @Override
+    public String select(String group, String[] candidates) {
+        int length = candidates.length;
+        if (length == 1) {
+            return candidates[0];
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(length);
+        int second = random.nextInt(length - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        return score(candidates[first]) <= score(candidates[second]) ? candidates[first] : candidates[second];
+    }
+
+    /**
+     * 获取数据源当前的平均连接持有时长（纳秒）。
+     */
+    public double getEwmaNanos(String dataSourceKey) {
+        Stats stats = statsMap.get(dataSourceKey);
+        return stats == null ? 0 : Double.longBitsToDouble(stats.ewma.get());
+    }
+
+    private double score(String dataSourceKey) {
+        Stats stats = statsMap.get(dataSourceKey);
+        if (stats == null) {
+            return 0;
+        }
+        return Double.longBitsToDouble(stats.ewma.get()) * (stats.active.get() + 1);
+    }
+
+    @Override
+    public boolean isFeedbackRequired() {
+        return true;
+    }
+
+    @Override
+    public void onAcquire(String dataSourceKey) {
+        statsMap.computeIfAbsent(dataSourceKey, k -> new Stats()).active.incrementAndGet();
+    }
+
+    @Override
+    public void onRelease(String dataSourceKey, long elapsedNanos) {
+        Stats stats = statsMap.computeIfAbsent(dataSourceKey, k -> new Stats());
+        stats.active.updateAndGet(v -> v > 0 ? v - 1 : 0);
+        stats.ewma.updateAndGet(bits -> {
+            double previous = Double.longBitsToDouble(bits);
+            double next = previous == 0 ? elapsedNanos : previous + alpha * (elapsedNanos - previous);
+            return Double.doubleToLongBits(next);
+        });
+    }
+
+    private static class Stats {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong ewma = new AtomicLong(Double.doubleToLongBits(0));
+    }
+
+}
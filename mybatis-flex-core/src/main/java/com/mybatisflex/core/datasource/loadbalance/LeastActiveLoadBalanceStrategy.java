@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 最少活跃连接数优先，活跃连接数相同的数据源之间随机选择。
+ *
+ * <p>活跃连接数仅统计通过 {@code FlexDataSource} 获取且尚未关闭的连接。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class LeastActiveLoadBalanceStrategy implements LoadBalanceStrategy {
+
+    private final Map<String, AtomicInteger> actives = new ConcurrentHashMap<>();
+
+    @Override
+    public String select(String group, String[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+
+        String selected = null;
+        int leastActive = Integer.MAX_VALUE;
+        int leastCount = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (String candidate : candidates) {
+            int active = getActive(candidate);
+            if (active < leastActive) {
+                selected = candidate;
+                leastActive = active;
+                leastCount = 1;
+            } else if (active == leastActive && random.nextInt(++leastCount) == 0) {
+                // 蓄水池抽样，保证并列最少的数据源被等概率选中
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    public int getActive(String dataSourceKey) {
+        AtomicInteger active = actives.get(dataSourceKey);
+        return active == null ? 0 : active.get();
+    }
+
+    @Override
+    public boolean isFeedbackRequired() {
+        return true;
+    }
+
+    @Override
+    public void onAcquire(String dataSourceKey) {
+        actives.computeIfAbsent(dataSourceKey, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @Override
+    public void onRelease(String dataSourceKey, long elapsedNanos) {
+        AtomicInteger active = actives.get(dataSourceKey);
+        if (active != null) {
+            active.updateAndGet(v -> v > 0 ? v - 1 : 0);
+        }
+    }
+
+}
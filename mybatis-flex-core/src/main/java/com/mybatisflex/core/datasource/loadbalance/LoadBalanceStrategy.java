@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+/**
+ * 负载均衡策略。
+ *
+ * <p>当 {@code DataSourceKey} 以 {@code *} 结尾时（例如 {@code "slave*"}），{@link com.mybatisflex.core.datasource.FlexDataSource}
+ * 会找出所有以该前缀开头的数据源 key 作为候选，然后交由本策略选择其中一个。
+ *
+ * <p>候选 key 数组由 {@code FlexDataSource} 预先计算并缓存，在数据源未发生变化时每次传入的都是同一个数组实例，
+ * 实现类<b>不允许</b>修改该数组。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public interface LoadBalanceStrategy {
+
+    /**
+     * 从候选数据源中选择一个。
+     *
+     * @param group      分组名称，即去掉 {@code *} 后的前缀
+     * @param candidates 候选数据源 key，不为空数组
+     * @return 选中的数据源 key，必须是 candidates 中的一个
+     */
+    String select(String group, String[] candidates);
+
+    /**
+     * 是否需要连接的使用反馈。返回 {@code true} 时，{@code FlexDataSource} 会在连接获取与关闭时
+     * 回调 {@link #onAcquire(String)} 与 {@link #onRelease(String, long)}，这会为每个连接增加一层包装。
+     *
+     * @return 默认不需要
+     */
+    default boolean isFeedbackRequired() {
+        return false;
+    }
+
+    /**
+     * 从指定数据源获取到连接后回调。
+     *
+     * @param dataSourceKey 数据源 key
+     */
+    default void onAcquire(String dataSourceKey) {
+    }
+
+    /**
+     * 从指定数据源获取的连接关闭后回调。
+     *
+     * @param dataSourceKey 数据源 key
+     * @param elapsedNanos  连接从获取到关闭所持续的时间（纳秒）
+     */
+    default void onRelease(String dataSourceKey, long elapsedNanos) {
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机选择，默认的负载均衡策略。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class RandomLoadBalanceStrategy implements LoadBalanceStrategy {
+
+    @Override
+    public String select(String group, String[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        return candidates[ThreadLocalRandom.current().nextInt(candidates.length)];
+    }
+
+}
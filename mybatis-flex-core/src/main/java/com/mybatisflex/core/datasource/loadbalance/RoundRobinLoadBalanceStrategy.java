@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轮询选择，每个分组各自维护一个计数器。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class RoundRobinLoadBalanceStrategy implements LoadBalanceStrategy {
+
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public String select(String group, String[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        AtomicInteger counter = counters.computeIfAbsent(group, k -> new AtomicInteger());
+        // 溢出后取绝对值，保证下标不为负数
+        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % candidates.length;
+        return candidates[index];
+    }
+
+}
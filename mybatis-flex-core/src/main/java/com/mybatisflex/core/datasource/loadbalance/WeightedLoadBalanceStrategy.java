@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.loadbalance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 加权随机选择，未配置权重的数据源使用默认权重。
+ *
+ * <p>示例：
+ * <pre>{@code
+ * WeightedLoadBalanceStrategy strategy = new WeightedLoadBalanceStrategy();
+ * strategy.setWeight("slave1", 3);
+ * strategy.setWeight("slave2", 1);
+ * }</pre>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class WeightedLoadBalanceStrategy implements LoadBalanceStrategy {
+
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private final Map<String, Integer> weights = new ConcurrentHashMap<>();
+    private int defaultWeight = DEFAULT_WEIGHT;
+
+    public WeightedLoadBalanceStrategy() {
+    }
+
+    public WeightedLoadBalanceStrategy(Map<String, Integer> weights) {
+        weights.forEach(this::setWeight);
+    }
+
+    public void setWeight(String dataSourceKey, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        weights.put(dataSourceKey, weight);
+    }
+
+    public int getWeight(String dataSourceKey) {
+        return weights.getOrDefault(dataSourceKey, defaultWeight);
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public void setDefaultWeight(int defaultWeight) {
+        if (defaultWeight < 0) {
+            throw new IllegalArgumentException("defaultWeight must not be negative: " + defaultWeight);
+        }
+        this.defaultWeight = defaultWeight;
+    }
+
+    @Override
+    public String select(String group, String[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+
+        long totalWeight = 0;
+        for (String candidate : candidates) {
+            totalWeight += getWeight(candidate);
+        }
+
+        // 权重全部为 0 时退化为随机
+        if (totalWeight <= 0) {
+            return candidates[ThreadLocalRandom.current().nextInt(candidates.length)];
+        }
+
+        long offset = ThreadLocalRandom.current().nextLong(totalWeight);
+        for (String candidate : candidates) {
+            offset -= getWeight(candidate);
+            if (offset < 0) {
+                return candidate;
+            }
+        }
+        return candidates[candidates.length - 1];
+    }
+
+}
@@ -29,4 +29,15 @@ public interface DataSourceProcessor {
      */
     String process(String dataSourceKey, Object targetOrProxy, Method method, Object[] arguments);
 
+    /**
+     * 判断数据源 key 的处理结果是否依赖于每次调用（例如方法参数），用于决定处理结果能否被缓存。
+     * 返回 {@code false} 时，调用方可以直接使用原始的 dataSourceKey，而不再调用 {@link #process}。
+     *
+     * @param dataSourceKey 注解UseDataSource的value 值
+     * @return 默认返回 {@code true}，即每次调用都进行处理
+     */
+    default boolean isDynamic(String dataSourceKey) {
+        return true;
+    }
+
 }
@@ -55,4 +55,14 @@ public class DelegatingDataSourceProcessor implements DataSourceProcessor {
         return dataSourceKey;
     }
 
+    @Override
+    public boolean isDynamic(String dataSourceKey) {
+        for (DataSourceProcessor delegate : delegates) {
+            if (delegate.isDynamic(dataSourceKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -48,6 +48,11 @@ public class ParamIndexDataSourceProcessor implements DataSourceProcessor {
         return value;
     }
 
+    @Override
+    public boolean isDynamic(String dataSourceKey) {
+        return dataSourceKey != null && dataSourceKey.startsWith(DYNAMIC_PREFIX);
+    }
+
     private static Integer parseIndex(String dsKey) {
         // 参数索引
         String indexStr = dsKey.substring(PARAM_INDEX.length());
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.readwrite;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * 通过 {@link Connection#isValid(int)} 探测从库是否可用。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class ConnectionValidHealthProbe implements ReplicaHealthProbe {
+
+    private final int timeoutSeconds;
+
+    public ConnectionValidHealthProbe() {
+        this(3);
+    }
+
+    public ConnectionValidHealthProbe(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public boolean isHealthy(String dataSourceKey, DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(timeoutSeconds);
+        }
+    }
+
+}
@@ -0,0 +1,432 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.readwrite;
+
+import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.util.StringUtil;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.DeleteProvider;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.InsertProvider;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.annotations.UpdateProvider;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离。
+ *
+ * <p>启用后（{@link com.mybatisflex.core.datasource.DataSourceManager#setReadWriteSplitting(ReadWriteSplitting)}），
+ * 未通过 {@code DataSourceKey}、{@code @UseDataSource} 或 {@code @Table(dataSource)} 指定数据源的 Mapper 方法会被自动路由：
+ * <ul>
+ *     <li>事务之外的查询路由到从库分组（即 {@code replicaGroup + "*"}，由 {@code FlexDataSource} 的负载均衡策略选择）；</li>
+ *     <li>写操作、事务中的所有操作路由到主库；</li>
+ *     <li>写操作之后的 {@link #getReadYourWritesMillis()} 毫秒内，同一线程（或同一 scope）的查询仍然路由到主库，
+ *         以保证能读取到自己刚写入的数据；</li>
+ *     <li>没有可用从库时，查询回退到主库。</li>
+ * </ul>
+ *
+ * <p>配置了 {@link ReplicaHealthProbe} 或 {@link ReplicaLagProbe} 后，调用 {@link #start(FlexDataSource)} 开始定时探测，
+ * 不可用或复制延迟超过 {@link #getMaxLagMillis()} 的从库会被摘除，恢复后重新加入。
+ *
+ * <pre>{@code
+ * ReadWriteSplitting splitting = new ReadWriteSplitting("master", "replica");
+ * splitting.setReadYourWritesMillis(1000);
+ * splitting.setLagProbe(new MySqlReplicaLagProbe());
+ * splitting.setMaxLagMillis(3000);
+ * splitting.start(flexDataSource);
+ * DataSourceManager.setReadWriteSplitting(splitting);
+ * }</pre>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class ReadWriteSplitting {
+
+    private static final Log log = LogFactory.getLog(ReadWriteSplitting.class);
+
+    private static final ThreadLocal<long[]> LAST_WRITE_NANOS = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> PRIMARY_DEPTH = new ThreadLocal<>();
+
+    /**
+     * scope 数量超过该值时，清理已过期的 scope。
+     */
+    private static final int SCOPE_CLEAN_THRESHOLD = 4096;
+
+    private final String primaryKey;
+    private final String replicaGroup;
+    private final String replicaGroupKey;
+
+    private final Map<Method, SqlCommandType> commandTypeCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> scopeLastWriteNanos = new ConcurrentHashMap<>();
+
+    private volatile long readYourWritesNanos;
+    private volatile Supplier<String> scopeKeyProvider;
+
+    private volatile ReplicaHealthProbe healthProbe;
+    private volatile ReplicaLagProbe lagProbe;
+    private volatile long maxLagMillis = Long.MAX_VALUE;
+    private long probeIntervalMillis = 5000;
+
+    private ScheduledExecutorService scheduler;
+    private volatile FlexDataSource flexDataSource;
+
+    /**
+     * @param primaryKey   主库的数据源 key，为 {@code null} 时使用 {@code FlexDataSource} 的默认数据源
+     * @param replicaGroup 从库分组，即从库数据源 key 的公共前缀，例如 {@code "replica"} 对应 {@code replica1}、{@code replica2}
+     */
+    public ReadWriteSplitting(String primaryKey, String replicaGroup) {
+        if (StringUtil.noText(replicaGroup)) {
+            throw new IllegalArgumentException("replicaGroup can not be empty.");
+        }
+        this.primaryKey = primaryKey;
+        this.replicaGroup = replicaGroup;
+        this.replicaGroupKey = replicaGroup + "*";
+    }
+
+    public String getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public String getReplicaGroup() {
+        return replicaGroup;
+    }
+
+    public long getReadYourWritesMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(readYourWritesNanos);
+    }
+
+    /**
+     * 设置写后读主库的时间窗口，默认为 0，即不开启。
+     */
+    public void setReadYourWritesMillis(long readYourWritesMillis) {
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+    }
+
+    public Supplier<String> getScopeKeyProvider() {
+        return scopeKeyProvider;
+    }
+
+    /**
+     * 设置写后读主库窗口的作用范围。默认按线程区分；设置后按返回的 key（例如用户 ID、会话 ID）区分，
+     * 返回 {@code null} 时仍按线程区分。
+     */
+    public void setScopeKeyProvider(Supplier<String> scopeKeyProvider) {
+        this.scopeKeyProvider = scopeKeyProvider;
+    }
+
+    public ReplicaHealthProbe getHealthProbe() {
+        return healthProbe;
+    }
+
+    public void setHealthProbe(ReplicaHealthProbe healthProbe) {
+        this.healthProbe = healthProbe;
+    }
+
+    public ReplicaLagProbe getLagProbe() {
+        return lagProbe;
+    }
+
+    public void setLagProbe(ReplicaLagProbe lagProbe) {
+        this.lagProbe = lagProbe;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    public void setMaxLagMillis(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public long getProbeIntervalMillis() {
+        return probeIntervalMillis;
+    }
+
+    public void setProbeIntervalMillis(long probeIntervalMillis) {
+        this.probeIntervalMillis = probeIntervalMillis;
+    }
+
+
+    /**
+     * 计算 Mapper 方法应当使用的数据源 key。
+     *
+     * @param method          Mapper 方法
+     * @param mapperInterface Mapper 接口
+     * @param configuration   MyBatis 配置
+     * @param dataSource      当前的 FlexDataSource
+     * @param inTransaction   是否处于事务中
+     * @return 数据源 key，{@code null} 表示不做路由（例如 Mapper 中的 default 方法）
+     */
+    public String route(Method method, Class<?> mapperInterface, Configuration configuration
+        , FlexDataSource dataSource, boolean inTransaction) {
+        SqlCommandType commandType = getCommandType(method, mapperInterface, configuration);
+        if (commandType == SqlCommandType.UNKNOWN) {
+            return null;
+        }
+
+        if (commandType != SqlCommandType.SELECT || inTransaction || isPinnedToPrimary()) {
+            return primaryKey;
+        }
+
+        if (dataSource != null && !dataSource.hasAvailableDataSource(replicaGroup)) {
+            return primaryKey;
+        }
+
+        return replicaGroupKey;
+    }
+
+    /**
+     * 判断 Mapper 方法是否为写操作。
+     */
+    public boolean isWrite(Method method, Class<?> mapperInterface, Configuration configuration) {
+        SqlCommandType commandType = getCommandType(method, mapperInterface, configuration);
+        return commandType == SqlCommandType.INSERT
+            || commandType == SqlCommandType.UPDATE
+            || commandType == SqlCommandType.DELETE;
+    }
+
+    /**
+     * 写操作完成后调用，开启写后读主库的时间窗口。
+     */
+    public void onWrite() {
+        if (readYourWritesNanos <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        String scopeKey = currentScopeKey();
+        if (scopeKey != null) {
+            scopeLastWriteNanos.put(scopeKey, now);
+            if (scopeLastWriteNanos.size() > SCOPE_CLEAN_THRESHOLD) {
+                cleanExpiredScopes(now);
+            }
+            return;
+        }
+
+        long[] lastWrite = LAST_WRITE_NANOS.get();
+        if (lastWrite == null) {
+            LAST_WRITE_NANOS.set(new long[]{now});
+        } else {
+            lastWrite[0] = now;
+        }
+    }
+
+    /**
+     * 当前线程（或 scope）的查询是否需要路由到主库。
+     */
+    public boolean isPinnedToPrimary() {
+        int[] depth = PRIMARY_DEPTH.get();
+        if (depth != null && depth[0] > 0) {
+            return true;
+        }
+
+        long window = readYourWritesNanos;
+        if (window <= 0) {
+            return false;
+        }
+
+        String scopeKey = currentScopeKey();
+        if (scopeKey != null) {
+            Long lastWrite = scopeLastWriteNanos.get(scopeKey);
+            return lastWrite != null && System.nanoTime() - lastWrite < window;
+        }
+
+        long[] lastWrite = LAST_WRITE_NANOS.get();
+        return lastWrite != null && System.nanoTime() - lastWrite[0] < window;
+    }
+
+    /**
+     * 在 supplier 执行期间，强制所有查询都路由到主库。
+     */
+    public static <T> T usePrimary(Supplier<T> supplier) {
+        int[] depth = PRIMARY_DEPTH.get();
+        if (depth == null) {
+            depth = new int[1];
+            PRIMARY_DEPTH.set(depth);
+        }
+        depth[0]++;
+        try {
+            return supplier.get();
+        } finally {
+            if (--depth[0] == 0) {
+                PRIMARY_DEPTH.remove();
+            }
+        }
+    }
+
+    /**
+     * 在 runnable 执行期间，强制所有查询都路由到主库。
+     */
+    public static void usePrimary(Runnable runnable) {
+        usePrimary(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 清除当前线程的写后读主库状态。
+     */
+    public static void clearThreadState() {
+        LAST_WRITE_NANOS.remove();
+        PRIMARY_DEPTH.remove();
+    }
+
+
+    /**
+     * 开始定时探测从库。未配置任何探测器时不做任何事情。
+     */
+    public synchronized void start(FlexDataSource flexDataSource) {
+        this.flexDataSource = flexDataSource;
+        if (scheduler != null || (healthProbe == null && lagProbe == null)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ReadWriteSplittingProbe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probe, 0, probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 立即探测一次所有从库，并摘除或恢复相应的从库。
+     */
+    public void probe() {
+        probe(this.flexDataSource);
+    }
+
+    /**
+     * 立即探测一次指定数据源中的所有从库，并摘除或恢复相应的从库，不会开启定时探测。
+     *
+     * @param dataSource 需要探测的 FlexDataSource
+     */
+    public void probe(FlexDataSource dataSource) {
+        if (dataSource == null) {
+            return;
+        }
+        for (Map.Entry<String, DataSource> entry : dataSource.getDataSourceMap().entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(replicaGroup)) {
+                continue;
+            }
+            String reason = probe(key, entry.getValue());
+            if (reason != null) {
+                if (dataSource.ejectDataSource(key)) {
+                    log.warn("Replica \"" + key + "\" is ejected from read routing. Cause: " + reason);
+                }
+            } else if (dataSource.restoreDataSource(key)) {
+                log.warn("Replica \"" + key + "\" is restored to read routing.");
+            }
+        }
+    }
+
+    private String probe(String key, DataSource dataSource) {
+        try {
+            ReplicaHealthProbe health = this.healthProbe;
+            if (health != null && !health.isHealthy(key, dataSource)) {
+                return "health probe failed";
+            }
+            ReplicaLagProbe lag = this.lagProbe;
+            if (lag != null) {
+                long lagMillis = lag.getLagMillis(key, dataSource);
+                if (lagMillis > maxLagMillis) {
+                    return "replication lag " + (lagMillis == Long.MAX_VALUE ? "unknown" : lagMillis + "ms")
+                        + " exceeds " + maxLagMillis + "ms";
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+
+    private String currentScopeKey() {
+        Supplier<String> provider = this.scopeKeyProvider;
+        return provider == null ? null : provider.get();
+    }
+
+    private void cleanExpiredScopes(long now) {
+        long window = readYourWritesNanos;
+        Iterator<Map.Entry<String, Long>> iterator = scopeLastWriteNanos.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() >= window) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private SqlCommandType getCommandType(Method method, Class<?> mapperInterface, Configuration configuration) {
+        SqlCommandType commandType = commandTypeCache.get(method);
+        if (commandType == null) {
+            commandType = resolveCommandType(method, mapperInterface, configuration);
+            commandTypeCache.put(method, commandType);
+        }
+        return commandType;
+    }
+
+    private static SqlCommandType resolveCommandType(Method method, Class<?> mapperInterface, Configuration configuration) {
+        if (method.isDefault()) {
+            return SqlCommandType.UNKNOWN;
+        }
+        if (method.isAnnotationPresent(Select.class) || method.isAnnotationPresent(SelectProvider.class)) {
+            return SqlCommandType.SELECT;
+        }
+        if (method.isAnnotationPresent(Insert.class) || method.isAnnotationPresent(InsertProvider.class)) {
+            return SqlCommandType.INSERT;
+        }
+        if (method.isAnnotationPresent(Update.class) || method.isAnnotationPresent(UpdateProvider.class)) {
+            return SqlCommandType.UPDATE;
+        }
+        if (method.isAnnotationPresent(Delete.class) || method.isAnnotationPresent(DeleteProvider.class)) {
+            return SqlCommandType.DELETE;
+        }
+
+        // xml 中定义的方法
+        String statementId = mapperInterface.getName() + "." + method.getName();
+        if (!configuration.hasStatement(statementId, false)) {
+            statementId = method.getDeclaringClass().getName() + "." + method.getName();
+            if (!configuration.hasStatement(statementId, false)) {
+                return SqlCommandType.UNKNOWN;
+            }
+        }
+        return configuration.getMappedStatement(statementId, false).getSqlCommandType();
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource.readwrite;
+
+import javax.sql.DataSource;
+
+/**
+ * 从库健康探测，探测失败（返回 {@code false} 或抛出异常）的从库会被摘除。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+@FunctionalInterface
+public interface ReplicaHealthProbe {
+
+    /**
+     * 探测从库是否可用。
+     *
+     * @param dataSourceKey 从库的数据源 key
+     * @param dataSource    从库数据源
+     * @return 是否可用
+     */
+    boolean isHealthy(String dataSourceKey, DataSource dataSource) throws Exception;
+
+}
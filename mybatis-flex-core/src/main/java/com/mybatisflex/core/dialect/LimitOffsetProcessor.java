@@ -41,15 +41,39 @@ public interface LimitOffsetProcessor {
     StringBuilder process(IDialect dialect, StringBuilder sql, QueryWrapper queryWrapper, Long limitRows, Long limitOffset);
 
 
+    /**
+     * 追加分页数值。查询模板编译时（见 {@link LimitParams#bindTo(QueryWrapper)}）追加参数占位 {@code ?}，否则追加具体的数值。
+     *
+     * <p>只能用于追加到 SQL 末尾的、数据库支持以参数绑定的位置，例如 {@code LIMIT ?}、{@code OFFSET ? ROWS}；
+     * {@code TOP n}、{@code FIRST n} 等不支持参数的位置需要直接追加数值。
+     *
+     * @param sql          已经构建的 sql
+     * @param queryWrapper 参数内容
+     * @param value        追加的分页数值
+     * @param limitRows    用户传入的 limit 参数 可能为 null
+     * @param limitOffset  用户传入的 offset 参数，可能为 null
+     * @return 追加后的 sql
+     */
+    static StringBuilder appendLimitValue(StringBuilder sql, QueryWrapper queryWrapper, LimitParams.Value value, Long limitRows, Long limitOffset) {
+        LimitParams limitParams = LimitParams.of(queryWrapper);
+        if (limitParams == null) {
+            return sql.append(value.resolve(limitOffset, limitRows));
+        }
+        limitParams.add(sql, value);
+        return sql.append('?');
+    }
+
+
     /**
      * MySql 的处理器
      * 适合 {@link DbType#MYSQL,DbType#MARIADB,DbType#H2,DbType#CLICK_HOUSE,DbType#XCloud}
      */
     LimitOffsetProcessor MYSQL = (dialect, sql, queryWrapper, limitRows, limitOffset) -> {
         if (limitRows != null && limitOffset != null) {
-            sql.append(LIMIT).append(limitOffset).append(DELIMITER).append(limitRows);
+            appendLimitValue(sql.append(LIMIT), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
+            appendLimitValue(sql.append(DELIMITER), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset);
         } else if (limitRows != null) {
-            sql.append(LIMIT).append(limitRows);
+            appendLimitValue(sql.append(LIMIT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset);
         }
         return sql;
     };
@@ -61,9 +85,10 @@ public interface LimitOffsetProcessor {
      */
     LimitOffsetProcessor POSTGRESQL = (dialect, sql, queryWrapper, limitRows, limitOffset) -> {
         if (limitRows != null && limitOffset != null) {
-            sql.append(LIMIT).append(limitRows).append(OFFSET).append(limitOffset);
+            appendLimitValue(sql.append(LIMIT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset);
+            appendLimitValue(sql.append(OFFSET), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
         } else if (limitRows != null) {
-            sql.append(LIMIT).append(limitRows);
+            appendLimitValue(sql.append(LIMIT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset);
         }
         return sql;
     };
@@ -74,9 +99,10 @@ public interface LimitOffsetProcessor {
     LimitOffsetProcessor DERBY = (dialect, sql, queryWrapper, limitRows, limitOffset) -> {
         if (limitRows != null && limitOffset != null) {
             // OFFSET ** ROWS FETCH NEXT ** ROWS ONLY")
-            sql.append(OFFSET).append(limitOffset).append(ROWS_FETCH_NEXT).append(limitRows).append(ROWS_ONLY);
+            appendLimitValue(sql.append(OFFSET), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
+            appendLimitValue(sql.append(ROWS_FETCH_NEXT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset).append(ROWS_ONLY);
         } else if (limitRows != null) {
-            sql.append(OFFSET).append(0).append(ROWS_FETCH_NEXT).append(limitRows).append(ROWS_ONLY);
+            appendLimitValue(sql.append(OFFSET).append(0).append(ROWS_FETCH_NEXT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset).append(ROWS_ONLY);
         }
         return sql;
     };
@@ -87,11 +113,12 @@ public interface LimitOffsetProcessor {
     LimitOffsetProcessor SQLSERVER = (dialect, sql, queryWrapper, limitRows, limitOffset) -> {
         if (limitRows != null && limitOffset != null) {
             // OFFSET ** ROWS FETCH NEXT ** ROWS ONLY")
-            sql.append(OFFSET).append(limitOffset).append(ROWS_FETCH_NEXT).append(limitRows).append(ROWS_ONLY);
+            appendLimitValue(sql.append(OFFSET), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
+            appendLimitValue(sql.append(ROWS_FETCH_NEXT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset).append(ROWS_ONLY);
         } else if (limitRows != null) {
             List<QueryOrderBy> orderBys = CPI.getOrderBys(queryWrapper);
             if (CollectionUtil.isNotEmpty(orderBys)) {
-                sql.append(OFFSET).append(0).append(ROWS_FETCH_NEXT).append(limitRows).append(ROWS_ONLY);
+                appendLimitValue(sql.append(OFFSET).append(0).append(ROWS_FETCH_NEXT), queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset).append(ROWS_ONLY);
             } else {
                 sql.insert(6, TOP + limitRows);
             }
@@ -140,8 +167,9 @@ public interface LimitOffsetProcessor {
                 .append(") as __rn ");
             newSql.append(contitionSQL);
             newSql.append(")");
-            newSql.append(" SELECT * FROM temp_datas WHERE __rn BETWEEN ").append(limitOffset + 1).append(" AND ")
-                .append(limitOffset + limitRows);
+            newSql.append(" SELECT * FROM temp_datas WHERE __rn BETWEEN ");
+            appendLimitValue(newSql, queryWrapper, LimitParams.Value.OFFSET_PLUS_ONE, limitRows, limitOffset);
+            appendLimitValue(newSql.append(" AND "), queryWrapper, LimitParams.Value.OFFSET_PLUS_ROWS, limitRows, limitOffset);
             newSql.append(" ORDER BY __rn");
             return newSql;
         }
@@ -182,7 +210,8 @@ public interface LimitOffsetProcessor {
     LimitOffsetProcessor FIREBIRD = (dialect, sql, queryWrapper, limitRows, limitOffset) -> {
         if (limitRows != null && limitOffset != null) {
             // ROWS 2 TO 3
-            sql.append(ROWS).append(limitOffset).append(TO).append(limitOffset + limitRows);
+            appendLimitValue(sql.append(ROWS), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
+            appendLimitValue(sql.append(TO), queryWrapper, LimitParams.Value.OFFSET_PLUS_ROWS, limitRows, limitOffset);
         } else if (limitRows != null) {
             sql.insert(6, FIRST + limitRows);
         }
@@ -199,8 +228,9 @@ public interface LimitOffsetProcessor {
             }
             StringBuilder newSql = new StringBuilder("SELECT * FROM (SELECT TEMP_DATAS.*, ROWNUM RN FROM (");
             newSql.append(sql);
-            newSql.append(") TEMP_DATAS WHERE ROWNUM <= ").append(limitOffset + limitRows).append(") WHERE RN > ")
-                .append(limitOffset);
+            newSql.append(") TEMP_DATAS WHERE ROWNUM <= ");
+            appendLimitValue(newSql, queryWrapper, LimitParams.Value.OFFSET_PLUS_ROWS, limitRows, limitOffset);
+            appendLimitValue(newSql.append(") WHERE RN > "), queryWrapper, LimitParams.Value.OFFSET, limitRows, limitOffset);
             return newSql;
         }
         return sql;
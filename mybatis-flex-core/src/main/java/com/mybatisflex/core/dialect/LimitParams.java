@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.dialect;
+
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 以参数形式绑定的分页数值。
+ *
+ * <p>编译查询模板时，通过 {@link #bindTo(QueryWrapper)} 标记该 {@link QueryWrapper}，{@link LimitOffsetProcessor}
+ * 渲染分页语句时输出参数占位 {@code ?} 而不是具体的数值，并在这里记录每个占位的含义以及它是 SQL 中的第几个占位。
+ * 分页语法不支持参数占位的方言（例如 {@code TOP n}、{@code FIRST n}）仍然输出具体的数值，此时不会记录任何占位。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ * @see LimitOffsetProcessor#appendLimitValue(StringBuilder, QueryWrapper, Value, Long, Long)
+ */
+public final class LimitParams {
+
+    private static final String CONTEXT_KEY = "flex.limitParams";
+
+    private final List<Value> values = new ArrayList<>(2);
+    private final List<Integer> placeholderIndexes = new ArrayList<>(2);
+
+    private LimitParams() {
+    }
+
+    /**
+     * 标记 {@link QueryWrapper} 的分页数值以参数的形式渲染。
+     *
+     * @param queryWrapper 需要渲染的查询
+     * @return 用于接收渲染结果的分页参数
+     */
+    public static LimitParams bindTo(QueryWrapper queryWrapper) {
+        LimitParams limitParams = new LimitParams();
+        CPI.putContext(queryWrapper, CONTEXT_KEY, limitParams);
+        return limitParams;
+    }
+
+    static LimitParams of(QueryWrapper queryWrapper) {
+        return CPI.getContext(queryWrapper, CONTEXT_KEY);
+    }
+
+    /**
+     * 记录追加到 SQL 末尾的参数占位，占位的序号为其之前 {@code ?} 的数量。
+     */
+    void add(StringBuilder sql, Value value) {
+        int placeholderIndex = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                placeholderIndex++;
+            }
+        }
+        values.add(value);
+        placeholderIndexes.add(placeholderIndex);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public Value getValue(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * 获取第 index 个分页参数是 SQL 中的第几个参数占位，从 0 开始。
+     */
+    public int getPlaceholderIndex(int index) {
+        return placeholderIndexes.get(index);
+    }
+
+
+    /**
+     * 分页参数的取值。
+     */
+    public enum Value {
+
+        OFFSET,
+        ROWS,
+        OFFSET_PLUS_ONE,
+        OFFSET_PLUS_ROWS;
+
+        /**
+         * 根据执行时的分页参数计算取值，未设置的 offset 和 rows 按 0 处理。
+         */
+        public Long resolve(Long limitOffset, Long limitRows) {
+            long offset = limitOffset == null ? 0 : limitOffset;
+            long rows = limitRows == null ? 0 : limitRows;
+            return switch (this) {
+                case OFFSET -> offset;
+                case ROWS -> rows;
+                case OFFSET_PLUS_ONE -> offset + 1;
+                case OFFSET_PLUS_ROWS -> offset + rows;
+            };
+        }
+
+    }
+
+}
@@ -30,6 +30,7 @@ import com.mybatisflex.core.query.QueryCondition;
 import com.mybatisflex.core.query.QueryOrderBy;
 import com.mybatisflex.core.query.QueryTable;
 import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.query.SqlWriter;
 import com.mybatisflex.core.query.UnionWrapper;
 import com.mybatisflex.core.query.With;
 import com.mybatisflex.core.row.Row;
@@ -410,6 +411,13 @@ public class CommonsDialectImpl implements IDialect {
 
     @Override
     public String buildSelectSql(QueryWrapper queryWrapper, List<QueryTable> contextTables) {
+        // 使用线程内复用的缓冲区，子查询会递归获取新的缓冲区
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            return buildSelectSql(writer.sql(), queryWrapper, contextTables);
+        }
+    }
+
+    protected String buildSelectSql(StringBuilder sqlBuilder, QueryWrapper queryWrapper, List<QueryTable> contextTables) {
         List<QueryTable> queryTables = CPI.getQueryTables(queryWrapper);
 
         List<QueryTable> joinTables = CPI.getJoinTables(queryWrapper);
@@ -447,7 +455,6 @@ public class CommonsDialectImpl implements IDialect {
                     e.getValue().as(e.getValue().getTable().getName() + "$" + e.getValue().getName())));
         }
 
-        StringBuilder sqlBuilder = new StringBuilder();
         buildWithSql(sqlBuilder, queryWrapper);
 
         buildSelectColumnSql(sqlBuilder, allTables, selectColumns, CPI.getHint(queryWrapper));
@@ -17,6 +17,7 @@ package com.mybatisflex.core.dialect.impl;
 
 import com.mybatisflex.core.dialect.KeywordWrap;
 import com.mybatisflex.core.dialect.LimitOffsetProcessor;
+import com.mybatisflex.core.dialect.LimitParams;
 import com.mybatisflex.core.query.CPI;
 import com.mybatisflex.core.query.QueryOrderBy;
 import com.mybatisflex.core.query.QueryTable;
@@ -92,12 +93,12 @@ public class DB2105Dialect extends CommonsDialectImpl {
             limitSqlFragment.append(" )u_  ) temp_ where temp_.rn between ");
 
             if (limitRows != null && limitOffset != null) {
-                limitSqlFragment.append(limitOffset + 1);
+                LimitOffsetProcessor.appendLimitValue(limitSqlFragment, queryWrapper, LimitParams.Value.OFFSET_PLUS_ONE, limitRows, limitOffset);
                 limitSqlFragment.append(" and ");
-                limitSqlFragment.append(limitRows + limitOffset);
+                LimitOffsetProcessor.appendLimitValue(limitSqlFragment, queryWrapper, LimitParams.Value.OFFSET_PLUS_ROWS, limitRows, limitOffset);
             } else if (limitRows != null) {
                 limitSqlFragment.append("1 and ");
-                limitSqlFragment.append(limitRows);
+                LimitOffsetProcessor.appendLimitValue(limitSqlFragment, queryWrapper, LimitParams.Value.ROWS, limitRows, limitOffset);
             } else {
                 return sql;
             }
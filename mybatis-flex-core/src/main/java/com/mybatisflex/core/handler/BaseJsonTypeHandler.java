@@ -15,10 +15,21 @@
  */
 package com.mybatisflex.core.handler;
 
+import com.mybatisflex.core.exception.FlexExceptions;
 import com.mybatisflex.core.util.StringUtil;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -26,31 +37,250 @@ import java.sql.SQLException;
 
 public abstract class BaseJsonTypeHandler<T> extends BaseTypeHandler<T> {
 
+    private static volatile StreamMode defaultStreamMode = StreamMode.NONE;
+    private static volatile boolean defaultLazyEnable = false;
+
+    /**
+     * 设置 JSON 类型处理器默认的读写方式。
+     *
+     * <p>通过流读写时，不再经过完整的 JSON 字符串，适合较大的 JSON 列；但能否减少内存占用取决于数据库驱动的实现，
+     * 部分驱动在返回流之前已经将整个值读入内存。
+     *
+     * @param streamMode 读写方式
+     * @since 1.11.9
+     */
+    public static void setDefaultStreamMode(StreamMode streamMode) {
+        defaultStreamMode = streamMode == null ? StreamMode.NONE : streamMode;
+    }
+
+    public static StreamMode getDefaultStreamMode() {
+        return defaultStreamMode;
+    }
+
+    /**
+     * 设置是否默认延迟解析 JSON。开启后，类型为 {@link java.util.List}、{@link java.util.Set}、{@link java.util.Collection}
+     * 或 {@link java.util.Map} 的属性会先保存 JSON 原文，首次访问其内容时才进行解析；未访问的值在更新时直接写回原文。
+     *
+     * @param lazyEnable 是否延迟解析
+     * @since 1.11.9
+     */
+    public static void setDefaultLazyEnable(boolean lazyEnable) {
+        defaultLazyEnable = lazyEnable;
+    }
+
+    public static boolean isDefaultLazyEnable() {
+        return defaultLazyEnable;
+    }
+
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
-        ps.setString(i, toJson(parameter));
+        // 延迟解析且未被访问过的值，直接写回原文
+        if (parameter instanceof LazyJsonValue.Lazy lazy && !lazy.isParsed()) {
+            ps.setString(i, lazy.getJson());
+            return;
+        }
+        if (getStreamMode() == StreamMode.NONE) {
+            ps.setString(i, toJson(parameter));
+            return;
+        }
+        JsonBuffer buffer = new JsonBuffer();
+        try {
+            writeJson(parameter, buffer);
+        } catch (IOException e) {
+            throw FlexExceptions.wrap(e, "Can not convert object to Json by " + getClass().getSimpleName());
+        }
+        ps.setCharacterStream(i, buffer.toReader(), buffer.size());
     }
 
     @Override
     public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        StreamMode streamMode = getStreamMode();
+        if (streamMode == StreamMode.CHARACTER && !isLazy()) {
+            return parseJsonStream(rs.getCharacterStream(columnName));
+        }
+        if (streamMode == StreamMode.BINARY && !isLazy()) {
+            return parseJsonStream(rs.getBinaryStream(columnName));
+        }
         final String json = rs.getString(columnName);
-        return StringUtil.noText(json) ? null : parseJson(json);
+        return StringUtil.noText(json) ? null : parseJsonOrLazy(json);
     }
 
     @Override
     public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        StreamMode streamMode = getStreamMode();
+        if (streamMode == StreamMode.CHARACTER && !isLazy()) {
+            return parseJsonStream(rs.getCharacterStream(columnIndex));
+        }
+        if (streamMode == StreamMode.BINARY && !isLazy()) {
+            return parseJsonStream(rs.getBinaryStream(columnIndex));
+        }
         final String json = rs.getString(columnIndex);
-        return StringUtil.noText(json) ? null : parseJson(json);
+        return StringUtil.noText(json) ? null : parseJsonOrLazy(json);
     }
 
     @Override
     public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        if (getStreamMode() == StreamMode.CHARACTER && !isLazy()) {
+            return parseJsonStream(cs.getCharacterStream(columnIndex));
+        }
         final String json = cs.getString(columnIndex);
-        return StringUtil.noText(json) ? null : parseJson(json);
+        return StringUtil.noText(json) ? null : parseJsonOrLazy(json);
     }
 
     protected abstract T parseJson(String json);
 
     protected abstract String toJson(T object);
 
+    /**
+     * 从字符流中解析 JSON，默认读取为字符串后调用 {@link #parseJson(String)}，子类可以重写以直接从流中解析。
+     *
+     * @param reader 字符流，已跳过开头的空白字符且不为空
+     * @since 1.11.9
+     */
+    protected T parseJson(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        int len;
+        while ((len = reader.read(buffer)) != -1) {
+            sb.append(buffer, 0, len);
+        }
+        return parseJson(sb.toString());
+    }
+
+    /**
+     * 从 UTF-8 编码的字节流中解析 JSON，默认转换为字符流后调用 {@link #parseJson(Reader)}，子类可以重写以直接从流中解析。
+     *
+     * @param inputStream 字节流，已跳过开头的空白字符且不为空
+     * @since 1.11.9
+     */
+    protected T parseJson(InputStream inputStream) throws IOException {
+        return parseJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 将对象序列化为 JSON 并写入字符流，默认写入 {@link #toJson(Object)} 的结果，子类可以重写以直接写入流中。
+     *
+     * @since 1.11.9
+     */
+    protected void writeJson(T object, Writer writer) throws IOException {
+        writer.write(toJson(object));
+    }
+
+    /**
+     * 读写 JSON 的方式，默认为 {@link #getDefaultStreamMode()}。
+     *
+     * @since 1.11.9
+     */
+    protected StreamMode getStreamMode() {
+        return defaultStreamMode;
+    }
+
+    /**
+     * 是否延迟解析，默认为 {@link #isDefaultLazyEnable()}。
+     *
+     * @since 1.11.9
+     */
+    protected boolean isLazyEnable() {
+        return defaultLazyEnable;
+    }
+
+    /**
+     * 属性的类型，用于判断能否延迟解析，返回 {@code null} 时不支持延迟解析。
+     *
+     * @since 1.11.9
+     */
+    protected Class<?> getPropertyType() {
+        return null;
+    }
+
+    private boolean isLazy() {
+        return isLazyEnable() && LazyJsonValue.isSupported(getPropertyType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private T parseJsonOrLazy(String json) {
+        if (isLazy()) {
+            return (T) LazyJsonValue.wrap(getPropertyType(), json, this::parseJson);
+        }
+        return parseJson(json);
+    }
+
+    private T parseJsonStream(Reader reader) throws SQLException {
+        if (reader == null) {
+            return null;
+        }
+        try (PushbackReader pushbackReader = new PushbackReader(reader, 1)) {
+            int c;
+            do {
+                c = pushbackReader.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            if (c == -1) {
+                return null;
+            }
+            pushbackReader.unread(c);
+            return parseJson(pushbackReader);
+        } catch (IOException e) {
+            throw FlexExceptions.wrap(e, "Can not parseJson by " + getClass().getSimpleName());
+        }
+    }
+
+    private T parseJsonStream(InputStream inputStream) throws SQLException {
+        if (inputStream == null) {
+            return null;
+        }
+        try (PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 1)) {
+            int b;
+            do {
+                b = pushbackInputStream.read();
+            } while (b == ' ' || b == '\t' || b == '\n' || b == '\r');
+            if (b == -1) {
+                return null;
+            }
+            pushbackInputStream.unread(b);
+            return parseJson(pushbackInputStream);
+        } catch (IOException e) {
+            throw FlexExceptions.wrap(e, "Can not parseJson by " + getClass().getSimpleName());
+        }
+    }
+
+
+    /**
+     * JSON 的读写方式。
+     *
+     * @since 1.11.9
+     */
+    public enum StreamMode {
+
+        /**
+         * 通过 {@code getString} 和 {@code setString} 读写完整的 JSON 字符串。
+         */
+        NONE,
+
+        /**
+         * 通过 {@code getCharacterStream} 读取，{@code setCharacterStream} 写入。
+         */
+        CHARACTER,
+
+        /**
+         * 通过 {@code getBinaryStream} 读取 UTF-8 编码的 JSON，{@code setCharacterStream} 写入。
+         */
+        BINARY
+
+    }
+
+    /**
+     * 序列化 JSON 的缓冲区，写入参数时直接读取其内部数组，不再复制为字符串。
+     */
+    private static class JsonBuffer extends CharArrayWriter {
+
+        JsonBuffer() {
+            super(256);
+        }
+
+        Reader toReader() {
+            return new CharArrayReader(buf, 0, count);
+        }
+
+    }
+
 }
@@ -20,6 +20,9 @@ import com.alibaba.fastjson2.JSONReader;
 import com.alibaba.fastjson2.JSONWriter;
 import com.alibaba.fastjson2.TypeReference;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -72,6 +75,46 @@ public class Fastjson2TypeHandler extends BaseJsonTypeHandler<Object> {
         }
     }
 
+    @Override
+    protected Object parseJson(Reader reader) throws IOException {
+        if (genericType != null && Collection.class.isAssignableFrom(propertyType)) {
+            if (supportAutoType) {
+                // 带类型信息的集合需要按数组解析
+                return super.parseJson(reader);
+            } else {
+                return JSON.parseObject(reader, type);
+            }
+        } else {
+            if (supportAutoType) {
+                return JSON.parseObject(reader, Object.class, JSONReader.Feature.SupportAutoType);
+            } else {
+                return JSON.parseObject(reader, propertyType);
+            }
+        }
+    }
+
+    @Override
+    protected Object parseJson(InputStream inputStream) throws IOException {
+        if (genericType != null && Collection.class.isAssignableFrom(propertyType)) {
+            if (supportAutoType) {
+                return super.parseJson(inputStream);
+            } else {
+                return JSON.parseObject(inputStream, type);
+            }
+        } else {
+            if (supportAutoType) {
+                return JSON.parseObject(inputStream, Object.class, JSONReader.Feature.SupportAutoType);
+            } else {
+                return JSON.parseObject(inputStream, propertyType);
+            }
+        }
+    }
+
+    @Override
+    protected Class<?> getPropertyType() {
+        return propertyType;
+    }
+
     @Override
     protected String toJson(Object object) {
         if (supportAutoType) {
@@ -18,8 +18,12 @@ package com.mybatisflex.core.handler;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
@@ -52,12 +56,32 @@ public class FastjsonTypeHandler extends BaseJsonTypeHandler<Object> {
         }
     }
 
+    @Override
+    protected Object parseJson(InputStream inputStream) throws IOException {
+        if (genericType != null && Collection.class.isAssignableFrom(propertyType)) {
+            return JSON.parseObject(inputStream, StandardCharsets.UTF_8, type);
+        } else {
+            return JSON.parseObject(inputStream, StandardCharsets.UTF_8, propertyType);
+        }
+    }
+
     @Override
     protected String toJson(Object object) {
         return JSON.toJSONString(object, SerializerFeature.WriteMapNullValue,
             SerializerFeature.WriteNullListAsEmpty, SerializerFeature.WriteNullStringAsEmpty);
     }
 
+    @Override
+    protected void writeJson(Object object, Writer writer) throws IOException {
+        JSON.writeJSONString(writer, object, SerializerFeature.WriteMapNullValue,
+            SerializerFeature.WriteNullListAsEmpty, SerializerFeature.WriteNullStringAsEmpty);
+    }
+
+    @Override
+    protected Class<?> getPropertyType() {
+        return propertyType;
+    }
+
 
     public static class ParameterizedTypeImpl implements ParameterizedType {
 
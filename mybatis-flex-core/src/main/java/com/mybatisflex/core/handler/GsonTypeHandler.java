@@ -18,6 +18,11 @@ package com.mybatisflex.core.handler;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
 /**
  * @author michael
  */
@@ -26,6 +31,7 @@ public class GsonTypeHandler extends BaseJsonTypeHandler<Object> {
     private static Gson gson;
     private final Class<?> propertyType;
     private Class<?> genericType;
+    private Type type;
 
     public GsonTypeHandler(Class<?> propertyType) {
         this.propertyType = propertyType;
@@ -38,12 +44,12 @@ public class GsonTypeHandler extends BaseJsonTypeHandler<Object> {
 
     @Override
     protected Object parseJson(String json) {
-        if (genericType != null) {
-            TypeToken<?> typeToken = TypeToken.getParameterized(propertyType, genericType);
-            return getGson().fromJson(json, typeToken);
-        } else {
-            return getGson().fromJson(json, propertyType);
-        }
+        return getGson().fromJson(json, getType());
+    }
+
+    @Override
+    protected Object parseJson(Reader reader) throws IOException {
+        return getGson().fromJson(reader, getType());
     }
 
     @Override
@@ -51,6 +57,26 @@ public class GsonTypeHandler extends BaseJsonTypeHandler<Object> {
         return getGson().toJson(object);
     }
 
+    @Override
+    protected void writeJson(Object object, Writer writer) throws IOException {
+        getGson().toJson(object, writer);
+    }
+
+    @Override
+    protected Class<?> getPropertyType() {
+        return propertyType;
+    }
+
+    /**
+     * 解析的目标类型，泛型类型只需要构建一次。
+     */
+    private Type getType() {
+        if (type == null) {
+            type = genericType != null ? TypeToken.getParameterized(propertyType, genericType).getType() : propertyType;
+        }
+        return type;
+    }
+
 
     public static Gson getGson() {
         if (null == gson) {
@@ -18,10 +18,18 @@ package com.mybatisflex.core.handler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.mybatisflex.core.exception.FlexExceptions;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author michael
@@ -29,6 +37,13 @@ import java.util.Collection;
 public class JacksonTypeHandler extends BaseJsonTypeHandler<Object> {
 
     private static ObjectMapper objectMapper;
+
+    /**
+     * 每个 JavaType 对应的 ObjectReader，避免每次解析时重新查找反序列化器。
+     */
+    private static final Map<JavaType, ObjectReader> OBJECT_READER_CACHE = new ConcurrentHashMap<>();
+    private static ObjectWriter objectWriter;
+
     private final Class<?> propertyType;
     private Class<?> genericType;
     private JavaType javaType;
@@ -45,33 +60,65 @@ public class JacksonTypeHandler extends BaseJsonTypeHandler<Object> {
     @Override
     protected Object parseJson(String json) {
         try {
-            if (genericType != null && Collection.class.isAssignableFrom(propertyType)) {
-                return getObjectMapper().readValue(json, getJavaType());
-            } else {
-                return getObjectMapper().readValue(json, propertyType);
-            }
+            return getObjectReader().readValue(json);
         } catch (IOException e) {
             throw FlexExceptions.wrap(e, "Can not parseJson by JacksonTypeHandler: " + json);
         }
     }
 
+    @Override
+    protected Object parseJson(Reader reader) throws IOException {
+        return getObjectReader().readValue(reader);
+    }
+
+    @Override
+    protected Object parseJson(InputStream inputStream) throws IOException {
+        return getObjectReader().readValue(inputStream);
+    }
+
     @Override
     protected String toJson(Object object) {
         try {
-            return getObjectMapper().writeValueAsString(object);
+            return getObjectWriter().writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw FlexExceptions.wrap(e, "Can not convert object to Json by JacksonTypeHandler: " + object);
         }
     }
 
+    @Override
+    protected void writeJson(Object object, Writer writer) throws IOException {
+        getObjectWriter().writeValue(writer, object);
+    }
+
+    @Override
+    protected Class<?> getPropertyType() {
+        return propertyType;
+    }
+
 
     public JavaType getJavaType() {
-        if (javaType == null){
-            javaType = getObjectMapper().getTypeFactory().constructCollectionType((Class<? extends Collection>) propertyType, genericType);
+        if (javaType == null) {
+            TypeFactory typeFactory = getObjectMapper().getTypeFactory();
+            if (genericType != null && Collection.class.isAssignableFrom(propertyType)) {
+                javaType = typeFactory.constructCollectionType((Class<? extends Collection>) propertyType, genericType);
+            } else {
+                javaType = typeFactory.constructType(propertyType);
+            }
         }
         return javaType;
     }
 
+    private ObjectReader getObjectReader() {
+        return OBJECT_READER_CACHE.computeIfAbsent(getJavaType(), type -> getObjectMapper().readerFor(type));
+    }
+
+    private static ObjectWriter getObjectWriter() {
+        if (null == objectWriter) {
+            objectWriter = getObjectMapper().writer();
+        }
+        return objectWriter;
+    }
+
     public static ObjectMapper getObjectMapper() {
         if (null == objectMapper) {
             objectMapper = new ObjectMapper();
@@ -81,6 +128,8 @@ public class JacksonTypeHandler extends BaseJsonTypeHandler<Object> {
 
     public static void setObjectMapper(ObjectMapper objectMapper) {
         JacksonTypeHandler.objectMapper = objectMapper;
+        OBJECT_READER_CACHE.clear();
+        objectWriter = null;
     }
 
 }
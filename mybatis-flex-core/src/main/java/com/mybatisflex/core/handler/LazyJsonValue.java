@@ -0,0 +1,299 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.handler;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 延迟解析的 JSON 集合，首次访问其内容时才解析 JSON 原文，之后所有操作都委托给解析后的集合。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+final class LazyJsonValue {
+
+    private LazyJsonValue() {
+    }
+
+    /**
+     * 延迟解析的值。
+     */
+    interface Lazy {
+
+        /**
+         * JSON 原文。
+         */
+        String getJson();
+
+        /**
+         * 是否已经解析，解析后的值可能已被修改，不能再使用原文。
+         */
+        boolean isParsed();
+
+    }
+
+    static boolean isSupported(Class<?> propertyType) {
+        return propertyType == List.class || propertyType == Collection.class
+            || propertyType == Set.class || propertyType == Map.class;
+    }
+
+    static Object wrap(Class<?> propertyType, String json, Function<String, ?> parser) {
+        if ("null".equals(json.trim())) {
+            return null;
+        }
+        if (propertyType == Set.class) {
+            return new LazySet<>(json, parser);
+        }
+        if (propertyType == Map.class) {
+            return new LazyMap<>(json, parser);
+        }
+        return new LazyList<>(json, parser);
+    }
+
+
+    /**
+     * 保存 JSON 原文及解析函数，解析后释放原文。
+     *
+     * <p>实体可能被多个线程同时读取（例如缓存的实体），首次解析通过双重检查加锁只执行一次。
+     * 先写入 {@code value} 再清空 {@code json}，读取到 {@code json == null} 的线程一定能看到完整的解析结果。
+     */
+    private static final class Holder<V> {
+
+        private volatile String json;
+        private Function<String, ?> parser;
+        private volatile V value;
+
+        Holder(String json, Function<String, ?> parser) {
+            this.json = json;
+            this.parser = parser;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get() {
+            if (json != null) {
+                synchronized (this) {
+                    String text = json;
+                    if (text != null) {
+                        value = (V) parser.apply(text);
+                        parser = null;
+                        json = null;
+                    }
+                }
+            }
+            return value;
+        }
+
+    }
+
+    static final class LazyList<E> extends AbstractList<E> implements RandomAccess, Lazy, Serializable {
+
+        private final transient Holder<List<E>> holder;
+
+        LazyList(String json, Function<String, ?> parser) {
+            this.holder = new Holder<>(json, parser);
+        }
+
+        @Override
+        public String getJson() {
+            return holder.json;
+        }
+
+        @Override
+        public boolean isParsed() {
+            return holder.json == null;
+        }
+
+        @Override
+        public E get(int index) {
+            return holder.get().get(index);
+        }
+
+        @Override
+        public int size() {
+            return holder.get().size();
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return holder.get().set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            holder.get().add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return holder.get().remove(index);
+        }
+
+        @Override
+        public void clear() {
+            holder.get().clear();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return holder.get().iterator();
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            return holder.get().listIterator(index);
+        }
+
+        private Object writeReplace() {
+            return holder.get();
+        }
+
+    }
+
+    static final class LazySet<E> extends AbstractSet<E> implements Lazy, Serializable {
+
+        private final transient Holder<Set<E>> holder;
+
+        LazySet(String json, Function<String, ?> parser) {
+            this.holder = new Holder<>(json, parser);
+        }
+
+        @Override
+        public String getJson() {
+            return holder.json;
+        }
+
+        @Override
+        public boolean isParsed() {
+            return holder.json == null;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return holder.get().iterator();
+        }
+
+        @Override
+        public int size() {
+            return holder.get().size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return holder.get().contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            return holder.get().add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return holder.get().remove(o);
+        }
+
+        @Override
+        public void clear() {
+            holder.get().clear();
+        }
+
+        private Object writeReplace() {
+            return holder.get();
+        }
+
+    }
+
+    static final class LazyMap<K, V> extends AbstractMap<K, V> implements Lazy, Serializable {
+
+        private final transient Holder<Map<K, V>> holder;
+
+        LazyMap(String json, Function<String, ?> parser) {
+            this.holder = new Holder<>(json, parser);
+        }
+
+        @Override
+        public String getJson() {
+            return holder.json;
+        }
+
+        @Override
+        public boolean isParsed() {
+            return holder.json == null;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return holder.get().entrySet();
+        }
+
+        @Override
+        public int size() {
+            return holder.get().size();
+        }
+
+        @Override
+        public V get(Object key) {
+            return holder.get().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return holder.get().containsKey(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return holder.get().put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return holder.get().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            holder.get().clear();
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return holder.get().keySet();
+        }
+
+        @Override
+        public Collection<V> values() {
+            return holder.get().values();
+        }
+
+        private Object writeReplace() {
+            return holder.get();
+        }
+
+    }
+
+}
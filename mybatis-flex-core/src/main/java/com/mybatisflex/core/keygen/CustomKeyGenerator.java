@@ -31,6 +31,9 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -88,6 +91,39 @@ public class CustomKeyGenerator implements KeyGenerator {
     }
 
 
+    /**
+     * 批量插入时，为所有未设置主键的实体类一次生成主键。
+     *
+     * @param ms       MappedStatement
+     * @param entities 实体类
+     * @since 1.11.9
+     */
+    public void processBatchBefore(MappedStatement ms, Collection<?> entities) {
+        try {
+            List<Object> needIdEntities = new ArrayList<>(entities.size());
+            for (Object entity : entities) {
+                Object existId = tableInfo.getValue(entity, idInfo.getProperty());
+                if (existId == null || (existId instanceof String && StringUtil.noText((String) existId))) {
+                    needIdEntities.add(entity);
+                }
+            }
+            if (needIdEntities.isEmpty()) {
+                return;
+            }
+
+            Object[] generateIds = keyGenerator.generateBatch(needIdEntities, idInfo.getColumn());
+            Configuration msConfiguration = ms.getConfiguration();
+            Class<?> setterType = tableInfo.getReflector().getSetterType(idInfo.getProperty());
+            for (int i = 0; i < generateIds.length; i++) {
+                Object id = ConvertUtil.convert(generateIds[i], setterType);
+                this.setValue(msConfiguration.newMetaObject(needIdEntities.get(i)), this.idInfo.getProperty(), id);
+            }
+        } catch (Exception e) {
+            throw FlexExceptions.wrap(e);
+        }
+    }
+
+
     @Override
     public void processAfter(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
         // do nothing
@@ -15,8 +15,28 @@
  */
 package com.mybatisflex.core.keygen;
 
+import java.util.List;
+
 public interface IKeyGenerator {
 
     Object generate(Object entity, String keyColumn);
 
+    /**
+     * 批量生成主键，用于批量插入的场景，返回的主键与 entities 一一对应。
+     *
+     * <p>默认逐个调用 {@link #generate(Object, String)}，内置的生成器会重写该方法，一次预留多个主键。
+     *
+     * @param entities  需要生成主键的实体类
+     * @param keyColumn 主键列名
+     * @return 主键
+     * @since 1.11.9
+     */
+    default Object[] generateBatch(List<?> entities, String keyColumn) {
+        Object[] ids = new Object[entities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generate(entities.get(i), keyColumn);
+        }
+        return ids;
+    }
+
 }
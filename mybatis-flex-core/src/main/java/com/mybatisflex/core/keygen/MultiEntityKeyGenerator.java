@@ -41,6 +41,11 @@ public class MultiEntityKeyGenerator implements KeyGenerator {
     public void processBefore(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
         Collection<Object> entities = (Collection<Object>) ((Map) parameter).get(FlexConsts.ENTITIES);
         if (CollectionUtil.isNotEmpty(entities)) {
+            // 通过 java 生成的主键，一次为所有实体类生成
+            if (keyGenerator instanceof CustomKeyGenerator customKeyGenerator) {
+                customKeyGenerator.processBatchBefore(ms, entities);
+                return;
+            }
             for (Object entity : entities) {
                 ((Map) parameter).put(FlexConsts.ENTITY, entity);
                 keyGenerator.processBefore(executor, ms, stmt, parameter);
@@ -87,6 +87,11 @@ public class MybatisKeyGeneratorUtil {
                 , tableInfo.getEntityClass().getName());
         }
 
+        //已注册序列号池的，从内存中预留的序列值中分配
+        SequencePool sequencePool = SequencePool.get(sequence);
+        if (sequencePool != null) {
+            return new SequenceKeyGenerator(sequencePool, tableInfo, idInfo);
+        }
 
         String selectId = ms.getId() + SelectKeyGenerator.SELECT_KEY_SUFFIX;
         SqlSource sqlSource = ms.getLang().createSqlSource(ms.getConfiguration(), sequence.trim(), idInfo.getPropertyType());
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.keygen;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.FlexGlobalConfig;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.dialect.DbType;
+import com.mybatisflex.core.dialect.DialectFactory;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.table.IdInfo;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.util.ConvertUtil;
+import com.mybatisflex.core.util.StringUtil;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * 通过 {@link SequencePool} 生成主键，当主键类型配置为 KeyType#Sequence 且对应的序列号池已注册时，使用此生成器生成。
+ *
+ * <p>与 {@link org.apache.ibatis.executor.keygen.SelectKeyGenerator} 每条数据查询一次序列不同，
+ * 序列值从内存中预留的批次中分配，使用当前插入语句的数据库连接进行预留。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SequenceKeyGenerator implements KeyGenerator {
+
+    protected SequencePool sequencePool;
+    protected TableInfo tableInfo;
+    protected IdInfo idInfo;
+
+    public SequenceKeyGenerator(SequencePool sequencePool, TableInfo tableInfo, IdInfo idInfo) {
+        this.sequencePool = sequencePool;
+        this.tableInfo = tableInfo;
+        this.idInfo = idInfo;
+    }
+
+
+    @Override
+    public void processBefore(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        Object entity = ((Map<?, ?>) parameter).get(FlexConsts.ENTITY);
+        try {
+            Object existId = tableInfo.getValue(entity, idInfo.getProperty());
+            // 若用户主动设置了主键，则使用用户自己设置的主键，不再生成主键
+            if (existId == null || (existId instanceof String && StringUtil.noText((String) existId))) {
+                DbType dbType = DialectFactory.getHintDbType();
+                if (dbType == null) {
+                    dbType = FlexGlobalConfig.getConfig(ms.getConfiguration()).getDbType();
+                }
+                long value = sequencePool.next(executor.getTransaction().getConnection(), dbType, DataSourceKey.get());
+                MetaObject metaParam = ms.getConfiguration().newMetaObject(parameter);
+                MetaObject metaObjectForProperty = metaParam.metaObjectForProperty(FlexConsts.ENTITY);
+                Class<?> setterType = tableInfo.getReflector().getSetterType(idInfo.getProperty());
+                Object id = ConvertUtil.convert(value, setterType);
+                this.setValue(metaObjectForProperty, this.idInfo.getProperty(), id);
+            }
+        } catch (Exception e) {
+            throw FlexExceptions.wrap(e);
+        }
+    }
+
+
+    @Override
+    public void processAfter(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        // do nothing
+    }
+
+    private void setValue(MetaObject metaParam, String property, Object value) {
+        if (!metaParam.hasSetter(property)) {
+            throw new ExecutorException("No setter found for the keyProperty '" + property + "' in " + metaParam.getOriginalObject().getClass().getName() + ".");
+        } else {
+            metaParam.setValue(property, value);
+        }
+    }
+
+}
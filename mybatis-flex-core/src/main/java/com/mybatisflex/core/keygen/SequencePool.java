@@ -0,0 +1,340 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.keygen;
+
+import com.mybatisflex.core.dialect.DbType;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.util.StringUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 序列号池，一次从数据库预留一批序列值，之后的插入直接从内存中分配，避免每条数据都查询一次序列。
+ *
+ * <p>支持两种预留方式：
+ * <ul>
+ *     <li>{@link Strategy#HILO}：序列需配置为 {@code INCREMENT BY blockSize}，每次查询得到的值 {@code v}
+ *     代表区间 {@code [v, v + blockSize)}，适用于所有支持序列的数据库。</li>
+ *     <li>{@link Strategy#BATCH}：序列保持原来的步长，通过一条 SQL 查询 {@code blockSize} 个序列值，
+ *     目前内置 Oracle、达梦（{@code CONNECT BY}）、PostgreSQL 系列（{@code generate_series}）以及 H2 的 SQL，
+ *     其他数据库可以通过 {@link #setSql(String)} 自定义。</li>
+ * </ul>
+ *
+ * <p>注册之后，{@code @Id(keyType = KeyType.Sequence, value = "序列名称")} 会使用该序列号池生成主键，
+ * 也可以通过 {@link #register(String, SequencePool)} 以原来 {@code @Id} 中配置的 SQL 作为名称进行注册：
+ * <pre>{@code
+ * SequencePool.register(new SequencePool("seq_account", 50, SequencePool.Strategy.HILO));
+ * }</pre>
+ *
+ * <p>序列号池是线程安全的，多个线程同时插入时，只有一个线程会去数据库预留新的一批序列值。
+ * 不同的数据源分别预留。应用重启或者调用 {@link #reset()} 时，未使用完的序列值会被丢弃，因此主键可能不连续。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SequencePool {
+
+    private static final Pattern SEQUENCE_NAME_PATTERN = Pattern.compile("[\\w.$\"`\\[\\]]+");
+
+    private static final Map<String, SequencePool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * 序列值的预留方式。
+     */
+    public enum Strategy {
+
+        /**
+         * 序列步长为 blockSize，查询一次得到一个区间的起始值。
+         */
+        HILO,
+
+        /**
+         * 一条 SQL 查询多个序列值。
+         */
+        BATCH,
+
+    }
+
+    private final String sequence;
+    private final int blockSize;
+    private final Strategy strategy;
+    private String sql;
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong fetchNanos = new AtomicLong();
+    private final LongAdder allocatedCount = new LongAdder();
+
+    /**
+     * 创建序列号池。
+     *
+     * @param sequence  序列名称
+     * @param blockSize 每次预留的序列值数量，HILO 方式下需与序列的步长一致
+     * @param strategy  预留方式
+     */
+    public SequencePool(String sequence, int blockSize, Strategy strategy) {
+        if (StringUtil.noText(sequence) || !SEQUENCE_NAME_PATTERN.matcher(sequence.trim()).matches()) {
+            throw FlexExceptions.wrap("Illegal sequence name: \"%s\".", sequence);
+        }
+        if (blockSize < 1) {
+            throw FlexExceptions.wrap("The blockSize of sequence pool must be greater than 0, but got %s.", blockSize);
+        }
+        this.sequence = sequence.trim();
+        this.blockSize = blockSize;
+        this.strategy = Objects.requireNonNull(strategy, "strategy");
+    }
+
+    /**
+     * 注册序列号池，名称为序列名称。
+     *
+     * @param pool 序列号池
+     * @return 之前注册的同名序列号池
+     */
+    public static SequencePool register(SequencePool pool) {
+        return register(pool.getSequence(), pool);
+    }
+
+    /**
+     * 注册序列号池，当 {@code @Id} 的 value 与 name 一致时使用该序列号池。
+     *
+     * @param name 名称，一般为 {@code @Id} 中配置的 value
+     * @param pool 序列号池
+     * @return 之前注册的同名序列号池
+     */
+    public static SequencePool register(String name, SequencePool pool) {
+        if (StringUtil.noText(name)) {
+            throw FlexExceptions.wrap("The name of sequence pool must not be empty.");
+        }
+        return POOLS.put(name.trim(), Objects.requireNonNull(pool, "pool"));
+    }
+
+    /**
+     * 移除序列号池，之后该序列恢复为每次插入查询一次。
+     *
+     * <p>注意：已经构建的 Mapper 方法会继续使用原来的序列号池。
+     *
+     * @param name 名称
+     * @return 被移除的序列号池
+     */
+    public static SequencePool unregister(String name) {
+        return name == null ? null : POOLS.remove(name.trim());
+    }
+
+    /**
+     * 获取序列号池。
+     *
+     * @param name 名称
+     * @return 序列号池，未注册时返回 {@code null}
+     */
+    public static SequencePool get(String name) {
+        return name == null || POOLS.isEmpty() ? null : POOLS.get(name.trim());
+    }
+
+    public String getSequence() {
+        return sequence;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 自定义查询序列的 SQL。HILO 方式下查询一个序列值；BATCH 方式下查询多个序列值，
+     * 且 SQL 中需要有一个 {@code ?} 参数用于传入 blockSize。
+     *
+     * @param sql 查询序列的 SQL
+     */
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 分配一个序列值，当前批次用完时，通过 connection 预留新的一批。
+     *
+     * @param connection    数据库连接，一般为当前插入所使用的连接
+     * @param dbType        数据库类型，用于生成查询序列的 SQL
+     * @param dataSourceKey 数据源，不同的数据源分别预留
+     * @return 序列值
+     */
+    public long next(Connection connection, DbType dbType, String dataSourceKey) throws SQLException {
+        Partition partition = partitions.computeIfAbsent(dataSourceKey == null ? "" : dataSourceKey, k -> new Partition());
+        while (true) {
+            Block block = partition.block;
+            if (block != null) {
+                int index = block.cursor.getAndIncrement();
+                if (index < block.size) {
+                    allocatedCount.increment();
+                    return block.get(index);
+                }
+            }
+            partition.lock.lock();
+            try {
+                // 其他线程可能已经预留了新的一批
+                if (partition.block == block) {
+                    partition.block = fetch(connection, dbType);
+                }
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 丢弃所有数据源中未使用完的序列值，下次分配时重新预留。
+     */
+    public void reset() {
+        partitions.clear();
+    }
+
+    /**
+     * 获取统计信息。
+     */
+    public Metrics getMetrics() {
+        return new Metrics(fetchCount.get(), allocatedCount.sum(), fetchNanos.get());
+    }
+
+
+    private Block fetch(Connection connection, DbType dbType) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(buildSql(dbType))) {
+            if (strategy == Strategy.BATCH) {
+                ps.setInt(1, blockSize);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                if (strategy == Strategy.HILO) {
+                    if (!rs.next()) {
+                        throw FlexExceptions.wrap("Can not get next value of sequence: %s", sequence);
+                    }
+                    return new Block(rs.getLong(1), null, blockSize);
+                }
+                long[] values = new long[blockSize];
+                int count = 0;
+                while (rs.next() && count < blockSize) {
+                    values[count++] = rs.getLong(1);
+                }
+                if (count == 0) {
+                    throw FlexExceptions.wrap("Can not get next value of sequence: %s", sequence);
+                }
+                Arrays.sort(values, 0, count);
+                return new Block(0, values, count);
+            }
+        } finally {
+            fetchCount.incrementAndGet();
+            fetchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private String buildSql(DbType dbType) {
+        if (StringUtil.hasText(sql)) {
+            return sql;
+        }
+        if (strategy == Strategy.HILO) {
+            if (isOracleLike(dbType)) {
+                return "SELECT " + sequence + ".NEXTVAL FROM DUAL";
+            }
+            if (isPostgresqlLike(dbType)) {
+                return "SELECT nextval('" + sequence + "')";
+            }
+            return "SELECT NEXT VALUE FOR " + sequence;
+        }
+        if (isOracleLike(dbType)) {
+            return "SELECT " + sequence + ".NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?";
+        }
+        if (isPostgresqlLike(dbType)) {
+            return "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)";
+        }
+        if (dbType == DbType.H2) {
+            return "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)";
+        }
+        throw FlexExceptions.wrap("Sequence pool with BATCH strategy does not support the database type: %s, " +
+            "please use HILO strategy or set the sql by SequencePool.setSql().", dbType);
+    }
+
+    private static boolean isOracleLike(DbType dbType) {
+        return dbType != null && (dbType.oracleSameType() || dbType == DbType.ORACLE_12C);
+    }
+
+    private static boolean isPostgresqlLike(DbType dbType) {
+        return dbType == DbType.POSTGRE_SQL || dbType == DbType.KINGBASE_ES || dbType == DbType.GAUSS
+            || dbType == DbType.OPENGAUSS || dbType == DbType.HIGH_GO || dbType == DbType.VASTBASE
+            || dbType == DbType.UXDB || dbType == DbType.GBASE_8C;
+    }
+
+
+    /**
+     * 统计信息。
+     *
+     * @param fetchCount     访问数据库预留序列值的次数
+     * @param allocatedCount 已分配的序列值数量
+     * @param fetchNanos     访问数据库的总耗时（纳秒）
+     */
+    public record Metrics(long fetchCount, long allocatedCount, long fetchNanos) {
+    }
+
+    /**
+     * 每个数据源各自的当前批次。
+     */
+    private static final class Partition {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Block block;
+
+    }
+
+    /**
+     * 已预留的一批序列值，HILO 方式下为连续的区间，BATCH 方式下为查询得到的值。
+     */
+    private static final class Block {
+
+        private final long start;
+        private final long[] values;
+        private final int size;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(long start, long[] values, int size) {
+            this.start = start;
+            this.values = values;
+            this.size = size;
+        }
+
+        long get(int index) {
+            return values != null ? values[index] : start + index;
+        }
+
+    }
+
+}
@@ -17,7 +17,9 @@ package com.mybatisflex.core.keygen.impl;
 
 import com.mybatisflex.core.keygen.IKeyGenerator;
 
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 独创的 FlexID 算法（简单、好用）:
@@ -34,14 +36,19 @@ import java.util.concurrent.ThreadLocalRandom;
  * 2、出现时间回拨，重启机器时，在时间回拨未恢复的情况下，可能出现 id 重复。
  * <p>
  * ID组成：时间（7+）| 毫秒内的时间自增 （00~99：2）| 机器ID（00 ~ 99：2）| 随机数（00~99：2）用于分库分表时，通过 id 取模，保证分布均衡。
+ * <p>
+ * 生成 ID 时通过 CAS 更新状态，无需加锁。
  */
 public class FlexIDKeyGenerator implements IKeyGenerator {
 
     private static final long INITIAL_TIMESTAMP = 1680411660000L;
     private static final long MAX_CLOCK_SEQ = 99;
 
-    private long lastTimeMillis = 0;//最后一次生成 ID 的时间
-    private long clockSeq = 0;      //时间序列
+    /**
+     * 最后一次生成 ID 的时间与时间序列，值为 时间 * 100 + 时间序列，
+     * 时间序列超过 99 时自然进位到下一毫秒，因此可以通过一次 CAS 预留任意数量的 ID。
+     */
+    private final AtomicLong state = new AtomicLong();
     private long workId = 1;        //机器 ID
 
     public FlexIDKeyGenerator() {
@@ -56,40 +63,71 @@ public class FlexIDKeyGenerator implements IKeyGenerator {
         return nextId();
     }
 
-    private synchronized long nextId() {
+    @Override
+    public Object[] generateBatch(List<?> entities, String keyColumn) {
+        long[] ids = nextIds(entities.size());
+        Object[] result = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
 
-        //当前时间
-        long currentTimeMillis = System.currentTimeMillis();
+    private long nextId() {
+        return toId(reserve(1));
+    }
 
-        if (currentTimeMillis == lastTimeMillis) {
-            clockSeq++;
-            if (clockSeq > MAX_CLOCK_SEQ) {
-                clockSeq = 0;
-                currentTimeMillis++;
-            }
+    /**
+     * 批量获取 ID。
+     *
+     * @param n 数量
+     * @return 递增的 ID
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
         }
+        long[] ids = new long[n];
+        if (n == 0) {
+            return ids;
+        }
+        long first = reserve(n);
+        for (int i = 0; i < n; i++) {
+            ids[i] = toId(first + i);
+        }
+        return ids;
+    }
 
-        //出现时间回拨
-        else if (currentTimeMillis < lastTimeMillis) {
-            currentTimeMillis = lastTimeMillis;
-            clockSeq++;
-
-            if (clockSeq > MAX_CLOCK_SEQ) {
-                clockSeq = 0;
-                currentTimeMillis++;
+    /**
+     * 预留 n 个连续的 时间 * 100 + 时间序列，返回第一个。
+     */
+    private long reserve(int n) {
+        while (true) {
+            long current = state.get();
+            //当前时间大于最后一次生成 ID 的时间时，时间序列从 0 开始；
+            //相同毫秒或者出现时间回拨时，在最后一次的基础上自增
+            long first = Math.max(timeGen() * (MAX_CLOCK_SEQ + 1), current + 1);
+            if (state.compareAndSet(current, first + n - 1)) {
+                return first;
             }
-        } else {
-            clockSeq = 0;
         }
+    }
 
-        lastTimeMillis = currentTimeMillis;
-
-        long diffTimeMillis = currentTimeMillis - INITIAL_TIMESTAMP;
+    private long toId(long value) {
+        long diffTimeMillis = value / (MAX_CLOCK_SEQ + 1) - INITIAL_TIMESTAMP;
+        long clockSeq = value % (MAX_CLOCK_SEQ + 1);
 
         //ID组成：时间（7+）| 毫秒内的时间自增 （00~99：2）| 机器ID（00 ~ 99：2）| 随机数（00~99：2）
         return diffTimeMillis * 1000000 + clockSeq * 10000 + workId * 100 + getRandomInt();
     }
 
+    /**
+     * 获取当前毫秒时间戳，子类可以重写以使用其他的时钟。
+     */
+    protected long timeGen() {
+        return System.currentTimeMillis();
+    }
+
 
     private int getRandomInt() {
         return ThreadLocalRandom.current().nextInt(100);
@@ -23,6 +23,9 @@ import org.apache.ibatis.logging.LogFactory;
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>雪花算法 ID 生成器。
@@ -34,6 +37,9 @@ import java.net.NetworkInterface;
  *     <li>最后 12 位存储序列号，同一毫秒时间戳时，通过这个递增的序列号来区分，即对于同一台机器而言，同一毫秒时间戳下，可以生成 2 ^ 12 = 4096 个不重复 ID。
  * </ul>
  *
+ * <p>最后一次使用的时间戳与序列号打包保存在同一个 {@link AtomicLong} 中，通过 CAS 更新，多线程生成 ID 时无需加锁；
+ * {@link #nextIds(int)} 可以通过一次 CAS 预留同一毫秒内的多个序列号。
+ *
  * <p>优化自开源项目：<a href="https://gitee.com/yu120/sequence">Sequence</a>
  *
  * @author 王帅
@@ -100,13 +106,9 @@ public class SnowFlakeIDKeyGenerator implements IKeyGenerator {
      */
     protected InetAddress address;
     /**
-     * 同一毫秒内的最新序号，最大值可为（2^12 - 1 = 4095）。
-     */
-    private long sequence;
-    /**
-     * 上次生产 ID 时间戳。
+     * 上次生产 ID 的时间戳（高位）与同一毫秒内的最新序号（低 12 位，最大值可为 2^12 - 1 = 4095）。
      */
-    private long lastTimeMillis = -1L;
+    private final AtomicLong state = new AtomicLong();
 
     /**
      * 雪花算法 ID 生成器。
@@ -188,61 +190,132 @@ public class SnowFlakeIDKeyGenerator implements IKeyGenerator {
         return nextId();
     }
 
+    @Override
+    public Object[] generateBatch(List<?> entities, String keyColumn) {
+        long[] ids = nextIds(entities.size());
+        Object[] result = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+
     /**
      * 获取下一个 ID。
      */
-    public synchronized long nextId() {
-        long currentTimeMillis = System.currentTimeMillis();
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimeMillis = current >>> SEQUENCE_BITS;
+            long currentTimeMillis = currentTimeMillis(lastTimeMillis);
+
+            long next;
+            if (currentTimeMillis == lastTimeMillis) {
+                // 相同毫秒内，序列号自增
+                if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    // 同一毫秒的序列数已经达到最大
+                    tilNextMillis(lastTimeMillis);
+                    continue;
+                }
+                next = current + 1;
+            } else {
+                // 不同毫秒内，序列号置为 0。
+                next = currentTimeMillis << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return toId(next);
+            }
+        }
+    }
+
+    /**
+     * 批量获取 ID，同一毫秒内剩余的序列号会通过一次 CAS 全部预留，因此生成 n 个 ID 通常只需要 1 ~ n / 4096 次 CAS。
+     *
+     * @param n 数量
+     * @return 递增的 ID
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        long[] ids = new long[n];
+        int count = 0;
+        while (count < n) {
+            long current = state.get();
+            long lastTimeMillis = current >>> SEQUENCE_BITS;
+            long currentTimeMillis = currentTimeMillis(lastTimeMillis);
+
+            long first;
+            if (currentTimeMillis == lastTimeMillis) {
+                if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    tilNextMillis(lastTimeMillis);
+                    continue;
+                }
+                first = current + 1;
+            } else {
+                first = currentTimeMillis << SEQUENCE_BITS;
+            }
+
+            // 只预留当前毫秒内的序列号，不提前占用未来的时间戳
+            long last = Math.min(first + (n - count) - 1, first | SEQUENCE_MASK);
+            if (state.compareAndSet(current, last)) {
+                for (long value = first; value <= last; value++) {
+                    ids[count++] = toId(value);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 获取当前时间戳，并处理时钟回拨：在可容忍的时间差值之内等待时间恢复正常，否则抛出异常。
+     */
+    private long currentTimeMillis(long lastTimeMillis) {
+        long currentTimeMillis = timeGen();
         // 当前时间小于上一次生成 ID 使用的时间，可能出现服务器时钟回拨问题。
         if (currentTimeMillis < lastTimeMillis) {
             long offset = lastTimeMillis - currentTimeMillis;
-            // 在可容忍的时间差值之内等待时间恢复正常
             if (offset <= offsetPeriod) {
                 try {
-                    wait(offset << 1L);
-                    currentTimeMillis = System.currentTimeMillis();
-                    if (currentTimeMillis < lastTimeMillis) {
-                        throw FlexExceptions.wrap("Clock moved backwards, please check the time. Current timestamp: %d, last used timestamp: %d", currentTimeMillis, lastTimeMillis);
-                    }
+                    TimeUnit.MILLISECONDS.sleep(offset << 1L);
                 } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                     throw FlexExceptions.wrap(e);
                 }
-            } else {
-                throw FlexExceptions.wrap("Clock moved backwards, please check the time. Current timestamp: %d, last used timestamp: %d", currentTimeMillis, lastTimeMillis);
+                currentTimeMillis = timeGen();
             }
-        }
-
-        if (currentTimeMillis == lastTimeMillis) {
-            // 相同毫秒内，序列号自增
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                // 同一毫秒的序列数已经达到最大
-                currentTimeMillis = tilNextMillis(lastTimeMillis);
+            if (currentTimeMillis < lastTimeMillis) {
+                throw FlexExceptions.wrap("Clock moved backwards, please check the time. Current timestamp: %d, last used timestamp: %d", currentTimeMillis, lastTimeMillis);
             }
-        } else {
-            // 不同毫秒内，序列号置为 0。
-            sequence = 0L;
         }
+        return currentTimeMillis;
+    }
 
-        // 记录最后一次使用的毫秒时间戳
-        lastTimeMillis = currentTimeMillis;
-
-        // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
-        return ((currentTimeMillis - twepoch) << TIMESTAMP_SHIFT)
+    /**
+     * 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
+     */
+    private long toId(long value) {
+        return (((value >>> SEQUENCE_BITS) - twepoch) << TIMESTAMP_SHIFT)
             | (dataCenterId << DATA_CENTER_ID_SHIFT)
             | (workerId << WORK_ID_SHIFT)
-            | sequence;
+            | (value & SEQUENCE_MASK);
     }
 
     /**
-     * 获取指定时间戳的接下来的时间戳。
+     * 等待直到下一毫秒。
      */
-    private long tilNextMillis(long lastTimestamp) {
-        long currentTimeMillis = System.currentTimeMillis();
-        while (currentTimeMillis <= lastTimestamp) {
-            currentTimeMillis = System.currentTimeMillis();
+    private void tilNextMillis(long lastTimestamp) {
+        while (timeGen() <= lastTimestamp) {
+            Thread.onSpinWait();
         }
-        return currentTimeMillis;
+    }
+
+    /**
+     * 获取当前毫秒时间戳，子类可以重写以使用其他的时钟。
+     */
+    protected long timeGen() {
+        return System.currentTimeMillis();
     }
 
     public static long getTwepoch() {
@@ -278,18 +351,18 @@ public class SnowFlakeIDKeyGenerator implements IKeyGenerator {
     }
 
     public long getSequence() {
-        return sequence;
+        return state.get() & SEQUENCE_MASK;
     }
 
     public void setSequence(long sequence) {
-        this.sequence = sequence;
+        state.updateAndGet(current -> (current & ~SEQUENCE_MASK) | (sequence & SEQUENCE_MASK));
     }
 
     public long getLastTimeMillis() {
-        return lastTimeMillis;
+        return state.get() >>> SEQUENCE_BITS;
     }
 
     public void setLastTimeMillis(long lastTimeMillis) {
-        this.lastTimeMillis = lastTimeMillis;
+        state.updateAndGet(current -> (Math.max(lastTimeMillis, 0L) << SEQUENCE_BITS) | (current & SEQUENCE_MASK));
     }
 }
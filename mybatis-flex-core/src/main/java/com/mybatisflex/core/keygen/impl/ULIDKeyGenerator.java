@@ -18,6 +18,7 @@ package com.mybatisflex.core.keygen.impl;
 import com.mybatisflex.core.keygen.IKeyGenerator;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ULID: 对比UUID的优势在于可排序性和性能。
@@ -43,9 +44,10 @@ public class ULIDKeyGenerator implements IKeyGenerator {
     private static final ThreadLocal<StringBuilder> THREAD_LOCAL_BUILDER =
         ThreadLocal.withInitial(() -> new StringBuilder(26));
 
-    private long lastTimestamp = 0;
-
-    private long lastRandom = 0;
+    /**
+     * 最后一次生成单调 ULID 的时间戳与随机数，通过 CAS 更新。
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, 0));
 
     @Override
     public Object generate(Object entity, String keyColumn) {
@@ -66,20 +68,49 @@ public class ULIDKeyGenerator implements IKeyGenerator {
      *
      * @return ULID
      */
-    public synchronized String nextMonotonicId() {
-        long timestamp = System.currentTimeMillis();
-        if (timestamp > lastTimestamp) {
-            lastTimestamp = timestamp;
-            lastRandom = ThreadLocalRandom.current().nextLong();
-        } else {
-            lastRandom++;
-            if (lastRandom == 0) {
-                timestamp = waitNextMillis(lastTimestamp);
-                lastTimestamp = timestamp;
-                lastRandom = ThreadLocalRandom.current().nextLong();
+    public String nextMonotonicId() {
+        return nextMonotonicIds(1)[0];
+    }
+
+    /**
+     * 批量生成严格单调的 ULID，同一毫秒内通过一次 CAS 预留连续的随机数。
+     *
+     * @param n 数量
+     * @return ULID
+     */
+    public String[] nextMonotonicIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        String[] ids = new String[n];
+        int count = 0;
+        while (count < n) {
+            State current = state.get();
+            long timestamp = timeGen();
+            long first;
+            if (timestamp > current.timestamp) {
+                first = ThreadLocalRandom.current().nextLong();
+            } else {
+                // 相同毫秒或者出现时间回拨时，在最后一次的随机数上自增
+                timestamp = current.timestamp;
+                first = current.random + 1;
+                if (first == 0) {
+                    waitNextMillis(current.timestamp);
+                    continue;
+                }
+            }
+            long size = n - count;
+            // 随机数按无符号数自增，不能越过上限
+            if (Long.compareUnsigned(first + size - 1, first) < 0) {
+                size = -first;
+            }
+            if (state.compareAndSet(current, new State(timestamp, first + size - 1))) {
+                for (long i = 0; i < size; i++) {
+                    ids[count++] = generateULID(timestamp, first + i).toLowerCase();
+                }
             }
         }
-        return generateULID(lastTimestamp, lastRandom).toLowerCase();
+        return ids;
     }
 
     private String generateULID(long timestamp) {
@@ -97,17 +128,23 @@ public class ULIDKeyGenerator implements IKeyGenerator {
         return builder.toString();
     }
 
-    private long waitNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
-        while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
+    private void waitNextMillis(long lastTimestamp) {
+        while (timeGen() <= lastTimestamp) {
+            Thread.onSpinWait();
         }
-        return timestamp;
+    }
+
+    /**
+     * 获取当前毫秒时间戳，子类可以重写以使用其他的时钟。
+     */
+    protected long timeGen() {
+        return System.currentTimeMillis();
     }
 
     private static void appendCrockford(StringBuilder builder, long value, int count) {
         for (int i = (count - 1) * 5; i >= 0; i -= 5) {
-            int index = (int) ((value >>> i) & 0x1F);
+            // 随机数只有 64 位，超出的高位补 0，避免移位数取模后重复编码低位导致单调 ULID 乱序
+            int index = i >= Long.SIZE ? 0 : (int) ((value >>> i) & 0x1F);
             builder.append(ENCODING_CHARS[index]);
         }
     }
@@ -117,4 +154,8 @@ public class ULIDKeyGenerator implements IKeyGenerator {
             throw new IllegalArgumentException("ULID does not support timestamps after +10889-08-02T05:31:50.655Z!");
         }
     }
+
+    private record State(long timestamp, long random) {
+    }
+
 }
@@ -103,6 +103,15 @@ public class MaskManager {
     }
 
 
+    /**
+     * 当前线程是否跳过了脱敏处理
+     */
+    public static boolean isSkipMask() {
+        Boolean skipMask = skipFlags.get();
+        return skipMask != null && skipMask;
+    }
+
+
     public static Object mask(String type, Object data) {
         Boolean skipMask = skipFlags.get();
         if (skipMask != null && skipMask) {
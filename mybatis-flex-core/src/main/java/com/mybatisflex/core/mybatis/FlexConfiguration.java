@@ -17,6 +17,7 @@ package com.mybatisflex.core.mybatis;
 
 import com.mybatisflex.annotation.Table;
 import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.QueryCacheManager;
 import com.mybatisflex.core.handler.CompositeEnumTypeHandler;
 import com.mybatisflex.core.keygen.MultiEntityKeyGenerator;
 import com.mybatisflex.core.keygen.MultiRowKeyGenerator;
@@ -24,11 +25,11 @@ import com.mybatisflex.core.keygen.MybatisKeyGeneratorUtil;
 import com.mybatisflex.core.keygen.RowKeyGenerator;
 import com.mybatisflex.core.mybatis.binding.FlexMapperRegistry;
 import com.mybatisflex.core.mybatis.executor.FlexBatchExecutor;
+import com.mybatisflex.core.mybatis.executor.FlexQueryCacheExecutor;
 import com.mybatisflex.core.mybatis.executor.FlexReuseExecutor;
 import com.mybatisflex.core.mybatis.executor.FlexSimpleExecutor;
 import com.mybatisflex.core.table.TableInfo;
 import com.mybatisflex.core.table.TableInfoFactory;
-import com.mybatisflex.core.util.MapUtil;
 import com.mybatisflex.core.util.StringUtil;
 import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.executor.CachingExecutor;
@@ -48,9 +49,13 @@ import org.apache.ibatis.transaction.Transaction;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -59,8 +64,24 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class FlexConfiguration extends Configuration {
 
-    private static final Map<String, MappedStatement> dynamicMappedStatementCache = new ConcurrentHashMap<>();
-    private final MapperRegistry mapperRegistry = new FlexMapperRegistry(this);
+    private final MappedStatementTypeCache dynamicMappedStatementCache = new MappedStatementTypeCache();
+    private final FlexMapperRegistry mapperRegistry = new FlexMapperRegistry(this);
+
+    /**
+     * 是否延迟构建 Mapper 的 MappedStatement。
+     */
+    private boolean lazyMappedStatements = false;
+
+    /**
+     * 已注册但尚未解析的 mapper，key 为 mapper 的类名。
+     */
+    private final Map<String, Class<?>> pendingMappers = new ConcurrentHashMap<>();
+
+    /**
+     * 延迟模式下注册的 MappedStatement 和 ResultMap，首次使用时才会写入，因此需要支持并发读写。
+     */
+    private final Map<String, MappedStatement> lazyMappedStatementMap = new ConcurrentHashMap<>();
+    private final Map<String, ResultMap> lazyResultMapMap = new ConcurrentHashMap<>();
 
     public FlexConfiguration() {
         setObjectWrapperFactory(new FlexWrapperFactory());
@@ -130,6 +151,9 @@ public class FlexConfiguration extends Configuration {
         } else {
             executor = new FlexSimpleExecutor(this, transaction);
         }
+        if (QueryCacheManager.isEnabled()) {
+            executor = new FlexQueryCacheExecutor(executor);
+        }
         if (cacheEnabled) {
             executor = new CachingExecutor(executor);
         }
@@ -138,6 +162,186 @@ public class FlexConfiguration extends Configuration {
     }
 
 
+    public boolean isLazyMappedStatements() {
+        return lazyMappedStatements;
+    }
+
+    /**
+     * 设置是否延迟构建 Mapper 的 MappedStatement，需要在添加 mapper 之前设置。
+     *
+     * <p>开启后，添加 mapper 时只注册代理，不再解析其方法、构建 ResultMap；mapper 所在包的扫描推迟到
+     * {@link TableInfoFactory#ofTableName(String)} 未命中时进行；
+     * 首次执行该 mapper 的方法时，才会解析该 mapper 的全部 MappedStatement。
+     * 适用于 mapper 数量很多、而单个进程只会用到其中一部分的项目，用于缩短启动时间、降低内存占用。
+     *
+     * @param lazyMappedStatements 是否延迟构建
+     * @since 1.11.9
+     */
+    public void setLazyMappedStatements(boolean lazyMappedStatements) {
+        this.lazyMappedStatements = lazyMappedStatements;
+    }
+
+    /**
+     * 添加延迟解析的 mapper。
+     *
+     * @param type mapper 类
+     */
+    public void addPendingMapper(Class<?> type) {
+        pendingMappers.put(type.getName(), type);
+        TableInfoFactory.addPendingMapperClass(type);
+    }
+
+    /**
+     * mapper 是否已注册但尚未解析。
+     *
+     * @param type mapper 类
+     * @return 尚未解析时返回 {@code true}
+     */
+    public boolean isPendingMapper(Class<?> type) {
+        return pendingMappers.containsKey(type.getName());
+    }
+
+    /**
+     * 立即解析全部延迟解析的 mapper。
+     */
+    public void materializePendingMappers() {
+        for (Class<?> type : pendingMappers.values()) {
+            materializeMapper(type);
+        }
+    }
+
+    private void materializeMapper(String statementId) {
+        if (pendingMappers.isEmpty()
+            || lazyMappedStatementMap.containsKey(statementId)
+            || mappedStatements.containsKey(statementId)) {
+            return;
+        }
+        int index = statementId.lastIndexOf('.');
+        if (index <= 0) {
+            return;
+        }
+        Class<?> type = pendingMappers.get(statementId.substring(0, index));
+        if (type != null) {
+            materializeMapper(type);
+        }
+    }
+
+    private void materializeMapper(Class<?> type) {
+        synchronized (pendingMappers) {
+            // 其他线程可能已经完成解析
+            if (pendingMappers.containsKey(type.getName())) {
+                try {
+                    mapperRegistry.parseMapper(type);
+                } finally {
+                    pendingMappers.remove(type.getName());
+                }
+            }
+        }
+    }
+
+
+    @Override
+    public boolean hasStatement(String statementName, boolean validateIncompleteStatements) {
+        if (lazyMappedStatements) {
+            materializeMapper(statementName);
+            if (lazyMappedStatementMap.containsKey(statementName)) {
+                return true;
+            }
+        }
+        return super.hasStatement(statementName, validateIncompleteStatements);
+    }
+
+
+    @Override
+    public MappedStatement getMappedStatement(String id, boolean validateIncompleteStatements) {
+        if (lazyMappedStatements) {
+            materializeMapper(id);
+            MappedStatement ms = lazyMappedStatementMap.get(id);
+            if (ms != null) {
+                return ms;
+            }
+        }
+        return super.getMappedStatement(id, validateIncompleteStatements);
+    }
+
+
+    @Override
+    public Collection<String> getMappedStatementNames() {
+        if (!lazyMappedStatements) {
+            return super.getMappedStatementNames();
+        }
+        materializePendingMappers();
+        Set<String> names = new LinkedHashSet<>(super.getMappedStatementNames());
+        names.addAll(lazyMappedStatementMap.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+
+    @Override
+    public Collection<MappedStatement> getMappedStatements() {
+        if (!lazyMappedStatements) {
+            return super.getMappedStatements();
+        }
+        materializePendingMappers();
+        List<MappedStatement> statements = new ArrayList<>(super.getMappedStatements());
+        statements.addAll(lazyMappedStatementMap.values());
+        return Collections.unmodifiableList(statements);
+    }
+
+
+    @Override
+    public void addResultMap(ResultMap rm) {
+        if (!lazyMappedStatements) {
+            super.addResultMap(rm);
+            return;
+        }
+        if (super.hasResultMap(rm.getId()) || lazyResultMapMap.putIfAbsent(rm.getId(), rm) != null) {
+            throw new IllegalArgumentException("Result Maps collection already contains key " + rm.getId());
+        }
+        checkLocallyForDiscriminatedNestedResultMaps(rm);
+    }
+
+
+    @Override
+    public boolean hasResultMap(String id) {
+        return (lazyMappedStatements && lazyResultMapMap.containsKey(id)) || super.hasResultMap(id);
+    }
+
+
+    @Override
+    public ResultMap getResultMap(String id) {
+        if (lazyMappedStatements) {
+            ResultMap resultMap = lazyResultMapMap.get(id);
+            if (resultMap != null) {
+                return resultMap;
+            }
+        }
+        return super.getResultMap(id);
+    }
+
+
+    @Override
+    public Collection<String> getResultMapNames() {
+        if (!lazyMappedStatements) {
+            return super.getResultMapNames();
+        }
+        Set<String> names = new LinkedHashSet<>(super.getResultMapNames());
+        names.addAll(lazyResultMapMap.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+
+    @Override
+    public Collection<ResultMap> getResultMaps() {
+        if (!lazyMappedStatements) {
+            return super.getResultMaps();
+        }
+        List<ResultMap> resultMaps = new ArrayList<>(super.getResultMaps());
+        resultMaps.addAll(lazyResultMapMap.values());
+        return Collections.unmodifiableList(resultMaps);
+    }
+
+
     @Override
     public MappedStatement getMappedStatement(String id) {
         MappedStatement ms = super.getMappedStatement(id);
@@ -145,9 +349,11 @@ public class FlexConfiguration extends Configuration {
         Class<?> asType = MappedStatementTypes.getCurrentType();
         //忽略掉查询 Rows 的方法
         if (asType != null) {
-            return MapUtil.computeIfAbsent(dynamicMappedStatementCache, id + ":" + asType.getName(),
-                clazz -> replaceResultMap(ms, TableInfoFactory.ofEntityClass(asType))
-            );
+            MappedStatement typedMs = dynamicMappedStatementCache.get(id, asType);
+            if (typedMs == null) {
+                typedMs = dynamicMappedStatementCache.putIfAbsent(asType, replaceResultMap(ms, TableInfoFactory.ofEntityClass(asType)));
+            }
+            return typedMs;
         }
 
         return ms;
@@ -183,7 +389,14 @@ public class FlexConfiguration extends Configuration {
                 }
             }
         }
-        super.addMappedStatement(ms);
+
+        if (lazyMappedStatements) {
+            if (super.hasStatement(ms.getId(), false) || lazyMappedStatementMap.putIfAbsent(ms.getId(), ms) != null) {
+                throw new IllegalArgumentException("Mapped Statements collection already contains key " + ms.getId());
+            }
+        } else {
+            super.addMappedStatement(ms);
+        }
     }
 
     /**
@@ -350,7 +563,12 @@ public class FlexConfiguration extends Configuration {
         //不支持泛型类添加
         if (!isGenericInterface) {
             mapperRegistry.addMapper(type);
-            TableInfoFactory.init(type.getPackage().getName());
+            //延迟模式下 TableInfo 按需构建，包扫描推迟到按表名获取 TableInfo 时
+            if (lazyMappedStatements) {
+                TableInfoFactory.addPendingPackage(type.getPackage().getName());
+            } else {
+                TableInfoFactory.init(type.getPackage().getName());
+            }
         }
     }
 
@@ -363,13 +581,21 @@ public class FlexConfiguration extends Configuration {
     @Override
     public void addMappers(String packageName, Class<?> superType) {
         mapperRegistry.addMappers(packageName, superType);
-        TableInfoFactory.init(packageName);
+        if (lazyMappedStatements) {
+            TableInfoFactory.addPendingPackage(packageName);
+        } else {
+            TableInfoFactory.init(packageName);
+        }
     }
 
     @Override
     public void addMappers(String packageName) {
         mapperRegistry.addMappers(packageName);
-        TableInfoFactory.init(packageName);
+        if (lazyMappedStatements) {
+            TableInfoFactory.addPendingPackage(packageName);
+        } else {
+            TableInfoFactory.init(packageName);
+        }
     }
 
     @Override
@@ -16,6 +16,9 @@
 package com.mybatisflex.core.mybatis;
 
 import com.mybatisflex.core.FlexGlobalConfig;
+import com.mybatisflex.core.row.CompactRow;
+import com.mybatisflex.core.row.Row;
+import com.mybatisflex.core.update.SnapshotManager;
 import com.mybatisflex.core.util.MapUtil;
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.annotations.Param;
@@ -91,6 +94,7 @@ public class FlexDefaultResultSetHandler extends DefaultResultSetHandler {
     // Cached Automappings
     private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
     private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
+    private final Map<String, CompactRow.Header> compactRowHeaders = new HashMap<>();
 
     // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
     private boolean useConstructorMappings;
@@ -371,6 +375,9 @@ public class FlexDefaultResultSetHandler extends DefaultResultSetHandler {
     @SuppressWarnings("unchecked" /* because ResultHandler<?> is always ResultHandler<Object> */)
     private void callResultHandler(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext,
                                    Object rowValue) {
+        if (SnapshotManager.isEnable() && rowValue != null && !typeHandlerRegistry.hasTypeHandler(rowValue.getClass())) {
+            SnapshotManager.snapshot(rowValue);
+        }
         resultContext.nextResultObject(rowValue);
         ((ResultHandler<Object>) resultHandler).handleResult(resultContext);
     }
@@ -398,6 +405,10 @@ public class FlexDefaultResultSetHandler extends DefaultResultSetHandler {
     //
 
     private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+        if (resultMap.getType() == Row.class && resultMap.getResultMappings().isEmpty()
+            && FlexGlobalConfig.getDefaultConfig().isCompactRow() && shouldApplyAutomaticMappings(resultMap, false)) {
+            return getCompactRowValue(rsw, resultMap, columnPrefix);
+        }
         final ResultLoaderMap lazyLoader = new ResultLoaderMap();
         Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
         if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -413,6 +424,63 @@ public class FlexDefaultResultSetHandler extends DefaultResultSetHandler {
         return rowValue;
     }
 
+    /**
+     * 构建紧凑的 Row，同一结果集的所有行共享列头，与自动映射到普通 Row 的结果保持一致。
+     */
+    private Object getCompactRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+        final String mapKey = resultMap.getId() + ":" + columnPrefix;
+        List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
+        if (autoMapping == null) {
+            autoMapping = createAutomaticMappings(rsw, resultMap, configuration.newMetaObject(new Row()), columnPrefix);
+        }
+        CompactRow.Header header = compactRowHeaders.get(mapKey);
+        if (header == null) {
+            String[] keys = new String[autoMapping.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = autoMapping.get(i).property;
+            }
+            header = CompactRow.Header.of(configuration.isCallSettersOnNulls(), keys);
+            compactRowHeaders.put(mapKey, header);
+        }
+
+        final ResultSet resultSet = rsw.getResultSet();
+        final boolean callSettersOnNulls = configuration.isCallSettersOnNulls();
+        Object[] values = new Object[header.size()];
+        // 存在重复列且不保留 null 值时，重复列的 key 与之前的同名列是否有值有关
+        Object[] columnValues = header.isNullSensitive() ? new Object[autoMapping.size()] : null;
+        boolean foundValues = false;
+        for (int i = 0; i < autoMapping.size(); i++) {
+            UnMappedColumnAutoMapping mapping = autoMapping.get(i);
+            final Object value = mapping.typeHandler.getResult(resultSet, mapping.column);
+            if (value != null) {
+                foundValues = true;
+            }
+            if (value != null || callSettersOnNulls) {
+                values[header.slotOf(i)] = value;
+            }
+            if (columnValues != null) {
+                columnValues[i] = value;
+            }
+        }
+        if (!foundValues && !configuration.isReturnInstanceForEmptyRow()) {
+            return null;
+        }
+        if (columnValues != null && !header.matches(columnValues)) {
+            return newRow(autoMapping, columnValues);
+        }
+        return new CompactRow(header, values);
+    }
+
+    private static Row newRow(List<UnMappedColumnAutoMapping> autoMapping, Object[] columnValues) {
+        Row row = new Row();
+        for (int i = 0; i < columnValues.length; i++) {
+            if (columnValues[i] != null) {
+                row.put(autoMapping.get(i).property, columnValues[i]);
+            }
+        }
+        return row;
+    }
+
     //
     // GET VALUE FROM ROW FOR NESTED RESULT MAP
     //
@@ -0,0 +1,257 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.mybatis;
+
+import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.datasource.SessionConnection;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.transaction.TransactionContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据库会话。
+ *
+ * <p>默认情况下，通过 {@code Db} 或者 {@code Mappers} 执行的每一次调用都会打开一个新的 {@link SqlSession}，
+ * 并从连接池中获取、归还一次连接。在会话中，同一个线程内的多次调用会共用同一个 {@link SqlSession}（使用
+ * {@code REUSE} 执行器，相同的 SQL 会复用 {@code PreparedStatement}），以及每个数据源各一个连接，
+ * 并在会话结束时统一关闭。
+ *
+ * <pre>{@code
+ * try (FlexSession session = FlexSession.open()) {
+ *     Db.selectListByQuery("tb_account", query1);
+ *     accountMapper.selectListByQuery(query2);
+ * }
+ * }</pre>
+ *
+ * <p>注意：
+ * <ul>
+ *     <li>会话中的连接是自动提交的，会话本身不是事务。在会话中开启的事务（{@code Db.tx(...)}、{@code @Transactional} 等）
+ *     使用事务自己的连接，事务内的调用不会使用会话中的 {@link SqlSession}，事务结束后的调用继续使用会话。</li>
+ *     <li>默认执行器为 {@code BATCH} 时，调用不会使用会话中的 {@link SqlSession}，但依然共用会话中的连接。</li>
+ *     <li>每次调用结束后都会清空一级缓存，和不使用会话时的查询结果保持一致。</li>
+ *     <li>会话与当前线程绑定，支持嵌套打开，只有最外层的会话关闭时才会真正关闭。</li>
+ * </ul>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class FlexSession implements AutoCloseable {
+
+    private static final ThreadLocal<FlexSession> CURRENT = new ThreadLocal<>();
+
+    private final Map<SqlSessionFactory, SqlSession> sqlSessions = new IdentityHashMap<>(2);
+    private final Map<ConnectionKey, SessionConnection> connections = new LinkedHashMap<>(2);
+    private int depth = 1;
+    private boolean closed;
+
+    private FlexSession() {
+    }
+
+    /**
+     * 在当前线程中打开会话，若已经存在会话，则返回已存在的会话。
+     *
+     * @return 会话，需要在使用完毕后关闭
+     */
+    public static FlexSession open() {
+        FlexSession session = CURRENT.get();
+        if (session != null) {
+            session.depth++;
+            return session;
+        }
+        session = new FlexSession();
+        CURRENT.set(session);
+        return session;
+    }
+
+    /**
+     * 获取当前线程中的会话。
+     *
+     * @return 会话，不存在时返回 {@code null}
+     */
+    public static FlexSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 获取当前会话中可以复用的 {@link SqlSession}。
+     *
+     * @param sqlSessionFactory   SqlSessionFactory
+     * @param defaultExecutorType 调用方默认使用的执行器类型
+     * @return SqlSession，未打开会话、处于事务中或者默认执行器为 {@code BATCH} 时返回 {@code null}
+     */
+    public static SqlSession getSqlSession(SqlSessionFactory sqlSessionFactory, ExecutorType defaultExecutorType) {
+        FlexSession session = CURRENT.get();
+        if (session == null || defaultExecutorType == ExecutorType.BATCH || TransactionContext.getXID() != null) {
+            return null;
+        }
+        SqlSession sqlSession = session.sqlSessions.get(sqlSessionFactory);
+        if (sqlSession == null) {
+            sqlSession = createSqlSession(sqlSessionFactory.getConfiguration());
+            session.sqlSessions.put(sqlSessionFactory, sqlSession);
+        }
+        return sqlSession;
+    }
+
+    private static SqlSession createSqlSession(Configuration configuration) {
+        Transaction transaction = new SessionTransaction(configuration.getEnvironment().getDataSource());
+        Executor executor = configuration.newExecutor(transaction, ExecutorType.REUSE);
+        return new DefaultSqlSession(configuration, executor, true);
+    }
+
+    /**
+     * 获取会话中已绑定的连接。
+     *
+     * @param dataSource    数据源
+     * @param dataSourceKey 数据源的 key
+     * @return 连接，未绑定时返回 {@code null}
+     */
+    public SessionConnection getConnection(DataSource dataSource, String dataSourceKey) {
+        return connections.get(new ConnectionKey(dataSource, dataSourceKey));
+    }
+
+    /**
+     * 绑定连接，会话关闭时统一关闭。
+     *
+     * @param dataSource    数据源
+     * @param dataSourceKey 数据源的 key
+     * @param connection    连接
+     */
+    public void bindConnection(DataSource dataSource, String dataSourceKey, SessionConnection connection) {
+        if (closed) {
+            throw FlexExceptions.wrap("FlexSession has been closed.");
+        }
+        connections.put(new ConnectionKey(dataSource, dataSourceKey), connection);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed || --depth > 0) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+
+        List<Throwable> errors = new ArrayList<>(0);
+        for (SqlSession sqlSession : sqlSessions.values()) {
+            try {
+                sqlSession.close();
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        }
+        sqlSessions.clear();
+
+        for (SessionConnection connection : connections.values()) {
+            try {
+                connection.release();
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        }
+        connections.clear();
+
+        if (!errors.isEmpty()) {
+            Throwable error = errors.get(0);
+            for (int i = 1; i < errors.size(); i++) {
+                error.addSuppressed(errors.get(i));
+            }
+            throw FlexExceptions.wrap(error);
+        }
+    }
+
+
+    private record ConnectionKey(DataSource dataSource, String dataSourceKey) {
+    }
+
+
+    /**
+     * 会话中 {@link SqlSession} 使用的事务，每次都从数据源获取当前数据源 key 对应的连接，
+     * 连接由会话统一关闭，提交与回滚由自动提交完成。
+     */
+    private static class SessionTransaction implements Transaction {
+
+        private final DataSource dataSource;
+        private Connection connection;
+
+        SessionTransaction(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            // FlexDataSource 会根据当前的数据源 key 返回会话中绑定的连接
+            if (dataSource instanceof FlexDataSource) {
+                Connection sessionConnection = dataSource.getConnection();
+                // 连接池可能配置了 autoCommit=false，绑定的连接也可能被会话外的调用（例如 BATCH 执行器）修改过
+                if (!sessionConnection.getAutoCommit()) {
+                    sessionConnection.setAutoCommit(true);
+                }
+                return sessionConnection;
+            }
+            if (connection == null) {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(true);
+            }
+            return connection;
+        }
+
+        @Override
+        public void commit() {
+            // 自动提交
+        }
+
+        @Override
+        public void rollback() {
+            // 自动提交
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        }
+
+        @Override
+        public Integer getTimeout() {
+            return null;
+        }
+
+    }
+
+}
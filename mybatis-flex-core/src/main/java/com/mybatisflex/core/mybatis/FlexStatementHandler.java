@@ -16,6 +16,7 @@
 package com.mybatisflex.core.mybatis;
 
 import com.mybatisflex.core.audit.AuditManager;
+import com.mybatisflex.core.audit.AuditMessage;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
@@ -38,19 +39,18 @@ import java.util.List;
  * 参考 {@link org.apache.ibatis.executor.statement.RoutingStatementHandler}
  * 主要作用：
  * 1、替换 PreparedStatementHandler 为 FlexPreparedStatementHandler
- * 2、进行数据审计
+ * 2、进行数据审计，审计消息在创建 StatementHandler 时创建，与创建 StatementHandler 的线程上下文一致
  */
 public class FlexStatementHandler implements StatementHandler {
 
     private final StatementHandler delegate;
     private final BoundSql boundSql;
-    private final boolean auditEnable = AuditManager.isAuditEnable();
     private final Configuration configuration;
-    private final String stmtId;
+    private final AuditMessage auditMessage;
 
     public FlexStatementHandler(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
         configuration = ms.getConfiguration();
-        stmtId = ms.getId();
+        auditMessage = AuditManager.isAuditEnable() ? AuditManager.createMessage(ms.getId()) : null;
         switch (ms.getStatementType()) {
             case STATEMENT ->
                 delegate = new SimpleStatementHandler(executor, ms, parameter, rowBounds, resultHandler, boundSql);
@@ -77,11 +77,11 @@ public class FlexStatementHandler implements StatementHandler {
 
     @Override
     public void batch(Statement statement) throws SQLException {
-        if (auditEnable) {
-            AuditManager.startAudit(() -> {
+        if (auditMessage != null) {
+            AuditManager.startAudit(auditMessage, () -> {
                 delegate.batch(statement);
                 return null;
-            }, stmtId, statement, boundSql, configuration);
+            }, statement, boundSql, configuration);
         } else {
             delegate.batch(statement);
         }
@@ -89,19 +89,19 @@ public class FlexStatementHandler implements StatementHandler {
 
     @Override
     public int update(Statement statement) throws SQLException {
-        return auditEnable ? AuditManager.startAudit(() -> delegate.update(statement), stmtId, statement, boundSql, configuration)
+        return auditMessage != null ? AuditManager.startAudit(auditMessage, () -> delegate.update(statement), statement, boundSql, configuration)
             : delegate.update(statement);
     }
 
     @Override
     public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
-        return auditEnable ? AuditManager.startAudit(() -> delegate.query(statement, resultHandler), stmtId, statement, boundSql, configuration)
+        return auditMessage != null ? AuditManager.startAudit(auditMessage, () -> delegate.query(statement, resultHandler), statement, boundSql, configuration)
             : delegate.query(statement, resultHandler);
     }
 
     @Override
     public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
-        return auditEnable ? AuditManager.startAudit(() -> delegate.queryCursor(statement), stmtId, statement, boundSql, configuration)
+        return auditMessage != null ? AuditManager.startAudit(auditMessage, () -> delegate.queryCursor(statement), statement, boundSql, configuration)
             : delegate.queryCursor(statement);
     }
 
@@ -15,6 +15,7 @@
  */
 package com.mybatisflex.core.mybatis;
 
+import com.mybatisflex.core.row.CompactRow;
 import com.mybatisflex.core.row.Row;
 import com.mybatisflex.core.table.TableInfo;
 import com.mybatisflex.core.table.TableInfoFactory;
@@ -49,7 +50,7 @@ public class FlexWrapperFactory implements ObjectWrapperFactory {
     @Override
     public ObjectWrapper getWrapperFor(MetaObject metaObject, Object object) {
         if (Map.class.isAssignableFrom(object.getClass())) {
-            if (object.getClass() == Row.class){
+            if (object.getClass() == Row.class || object.getClass() == CompactRow.class) {
                 //取消 row 的 user_name 转换为 userName，否则再次保存时无法进行保存
                 //https://github.com/mybatis-flex/mybatis-flex/issues/244
                 return new MapWrapper(metaObject, (Map<String, Object>) object);
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.mybatis;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MappedStatementTypes} 的配套缓存，保存按返回类型替换了 ResultMap 的 MappedStatement。
+ *
+ * <p>第一级按返回类型定位，第二级按 MappedStatement 的 id 定位，查询时不需要拼接字符串作为缓存键，
+ * 命中缓存时没有任何内存分配。缓存由 {@link FlexConfiguration} 持有，与其生命周期相同；
+ * 不使用 {@link ClassValue}，避免返回类型的 Class 对象反过来持有 MappedStatement 及其 Configuration。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+final class MappedStatementTypeCache {
+
+    private final Map<Class<?>, Map<String, MappedStatement>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取返回类型为 asType 的 MappedStatement。
+     *
+     * @param id     MappedStatement 的 id
+     * @param asType 返回类型
+     * @return 不存在时返回 {@code null}
+     */
+    MappedStatement get(String id, Class<?> asType) {
+        Map<String, MappedStatement> statements = cache.get(asType);
+        return statements != null ? statements.get(id) : null;
+    }
+
+    /**
+     * 缓存返回类型为 asType 的 MappedStatement，若已存在则返回已存在的实例。
+     *
+     * @param asType 返回类型
+     * @param ms     替换了 ResultMap 的 MappedStatement
+     * @return 缓存中的 MappedStatement
+     */
+    MappedStatement putIfAbsent(Class<?> asType, MappedStatement ms) {
+        MappedStatement existing = cache.computeIfAbsent(asType, k -> new ConcurrentHashMap<>()).putIfAbsent(ms.getId(), ms);
+        return existing != null ? existing : ms;
+    }
+
+}
@@ -15,6 +15,12 @@
  */
 package com.mybatisflex.core.mybatis;
 
+/**
+ * 当前线程查询时使用的返回类型，例如 selectListByQueryAs 中的 asType。
+ *
+ * <p>调用方需要在 {@code finally} 中调用 {@link #clear()}，清除后不会在线程中保留任何引用，
+ * 避免线程池中的线程长期持有实体类及其类加载器。
+ */
 public class MappedStatementTypes {
 
     private MappedStatementTypes() {
@@ -130,6 +130,18 @@ public class Mappers {
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            SqlSession boundSqlSession = FlexSession.getSqlSession(sqlSessionFactory, executorType);
+            if (boundSqlSession != null) {
+                try {
+                    Object mapper = boundSqlSession.getMapper(mapperClass);
+                    return method.invoke(mapper, args);
+                } catch (Throwable throwable) {
+                    throw ExceptionUtil.unwrapThrowable(throwable);
+                } finally {
+                    boundSqlSession.clearCache();
+                }
+            }
+
             try (SqlSession sqlSession = openSession()) {
                 Object mapper = sqlSession.getMapper(mapperClass);
                 return method.invoke(mapper, args);
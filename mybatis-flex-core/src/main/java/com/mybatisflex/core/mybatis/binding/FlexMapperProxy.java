@@ -18,13 +18,16 @@ package com.mybatisflex.core.mybatis.binding;
 import com.mybatisflex.annotation.UseDataSource;
 import com.mybatisflex.core.FlexGlobalConfig;
 import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.datasource.DataSourceManager;
 import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.datasource.readwrite.ReadWriteSplitting;
 import com.mybatisflex.core.dialect.DbType;
 import com.mybatisflex.core.dialect.DialectFactory;
 import com.mybatisflex.core.mybatis.FlexConfiguration;
 import com.mybatisflex.core.row.RowMapper;
 import com.mybatisflex.core.table.TableInfo;
 import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.transaction.TransactionContext;
 import com.mybatisflex.core.util.StringUtil;
 import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.session.SqlSession;
@@ -34,11 +37,15 @@ import java.util.Map;
 
 public class FlexMapperProxy<T> extends MybatisMapperProxy<T> {
     private final FlexDataSource dataSource;
+    private final Class<T> mapperInterface;
+    private final FlexConfiguration configuration;
 
     public FlexMapperProxy(SqlSession sqlSession, Class<T> mapperInterface, Map<Method, MapperMethodInvoker> methodCache,
                            FlexConfiguration configuration) {
         super(sqlSession, mapperInterface, methodCache);
         this.dataSource = (FlexDataSource) configuration.getEnvironment().getDataSource();
+        this.mapperInterface = mapperInterface;
+        this.configuration = configuration;
     }
 
 
@@ -50,6 +57,7 @@ public class FlexMapperProxy<T> extends MybatisMapperProxy<T> {
 
         boolean needClearDsKey = false;
         boolean needClearDbType = false;
+        ReadWriteSplitting readWriteSplitting = null;
 
         //由用户指定的数据
         String userDsKey = DataSourceKey.get();
@@ -64,6 +72,14 @@ public class FlexMapperProxy<T> extends MybatisMapperProxy<T> {
                 if (StringUtil.hasText(finalDsKey)) {
                     finalDsKey = DataSourceKey.processDataSourceKey(finalDsKey, proxy, method, args);
                 }
+                // 未指定数据源时，按读写分离进行路由
+                else {
+                    readWriteSplitting = DataSourceManager.getReadWriteSplitting();
+                    if (readWriteSplitting != null) {
+                        boolean inTransaction = StringUtil.hasText(TransactionContext.getXID());
+                        finalDsKey = readWriteSplitting.route(method, mapperInterface, configuration, dataSource, inTransaction);
+                    }
+                }
             }
 
             // 通过自定义分配策略去获取最终的数据源
@@ -87,7 +103,11 @@ public class FlexMapperProxy<T> extends MybatisMapperProxy<T> {
                 needClearDbType = true;
                 DialectFactory.setHintDbType(hintDbType);
             }
-            return cachedInvoker(method).invoke(proxy, method, args, sqlSession);
+            Object result = cachedInvoker(method).invoke(proxy, method, args, sqlSession);
+            if (readWriteSplitting != null && readWriteSplitting.isWrite(method, mapperInterface, configuration)) {
+                readWriteSplitting.onWrite();
+            }
+            return result;
         } catch (Throwable e) {
             throw ExceptionUtil.unwrapThrowable(e);
         } finally {
@@ -59,14 +59,19 @@ public class FlexMapperRegistry extends MapperRegistry {
             if (hasMapper(type)) {
                 throw new BindingException("Type " + type + " is already known to the MapperRegistry.");
             }
+            // 延迟构建：只注册代理工厂，MappedStatement 在首次使用时再解析
+            if (config.isLazyMappedStatements()) {
+                knownMappers.put(type, new FlexMapperProxyFactory<>(type));
+                config.addPendingMapper(type);
+                return;
+            }
             boolean loadCompleted = false;
             try {
                 knownMappers.put(type, new FlexMapperProxyFactory<>(type));
                 // It's important that the type is added before the parser is run
                 // otherwise the binding may automatically be attempted by the
                 // mapper parser. If the type is already known, it won't try.
-                MapperAnnotationBuilder parser = new MapperAnnotationBuilder(config, type);
-                parser.parse();
+                parseMapper(type);
                 loadCompleted = true;
             } finally {
                 if (!loadCompleted) {
@@ -76,6 +81,16 @@ public class FlexMapperRegistry extends MapperRegistry {
         }
     }
 
+    /**
+     * 解析 mapper 中的方法并注册 MappedStatement。
+     *
+     * @param type mapper 类
+     */
+    public void parseMapper(Class<?> type) {
+        MapperAnnotationBuilder parser = new MapperAnnotationBuilder(config, type);
+        parser.parse();
+    }
+
     /**
      * Gets the mappers.
      *
@@ -15,6 +15,7 @@
  */
 package com.mybatisflex.core.mybatis.executor;
 
+import com.mybatisflex.core.batch.BatchContext;
 import com.mybatisflex.core.keygen.RowKeyGenerator;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.BatchExecutor;
@@ -57,8 +58,25 @@ public class FlexBatchExecutor extends BatchExecutor implements CacheKeyBuilder
 
     @Override
     public int doUpdate(MappedStatement ms, Object parameterObject) throws SQLException {
+        return doUpdate(ms, parameterObject, null);
+    }
+
+    /**
+     * 使用已经创建好的 {@link StatementHandler} 加入批次，不会再次生成主键、构建 SQL 以及创建审计消息，
+     * 用于参数在其他线程中构建的流水线批量执行。
+     *
+     * @param ms              MappedStatement
+     * @param parameterObject 参数
+     * @param handler         通过 {@link Configuration#newStatementHandler} 创建的 StatementHandler
+     */
+    public void addBatch(MappedStatement ms, Object parameterObject, StatementHandler handler) throws SQLException {
+        doUpdate(ms, parameterObject, handler);
+    }
+
+    private int doUpdate(MappedStatement ms, Object parameterObject, StatementHandler preparedHandler) throws SQLException {
         final Configuration configuration = ms.getConfiguration();
-        final StatementHandler handler = configuration.newStatementHandler(this, ms, parameterObject, RowBounds.DEFAULT, null, null);
+        final StatementHandler handler = preparedHandler != null ? preparedHandler
+            : configuration.newStatementHandler(this, ms, parameterObject, RowBounds.DEFAULT, null, null);
         final BoundSql boundSql = handler.getBoundSql();
         final String sql = boundSql.getSql();
         final Statement stmt;
@@ -79,6 +97,7 @@ public class FlexBatchExecutor extends BatchExecutor implements CacheKeyBuilder
             batchResultList.add(new BatchResult(ms, sql, parameterObject));
         }
         handler.batch(stmt);
+        BatchContext.track(parameterObject);
         return BATCH_UPDATE_RETURN_VALUE;
     }
 
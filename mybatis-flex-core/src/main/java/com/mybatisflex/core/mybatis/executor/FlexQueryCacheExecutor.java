@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.mybatis.executor;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.EntityCache;
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.table.TableInfo;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 查询结果缓存的执行器，通过 {@link QueryCacheManager} 读取、写入缓存，并在写入语句执行后使相关表的缓存失效。
+ *
+ * <p>对于批量执行器，写入语句在 {@code flushStatements} 时才真正执行，因此在 {@code flushStatements}、{@code commit}
+ * 之后会再次使写入过的表失效。
+ *
+ * <p>{@code selectOneById} 与 {@code selectListByIds} 通过 {@link EntityCache} 按主键读取缓存，只查询未命中的主键。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class FlexQueryCacheExecutor implements Executor {
+
+    private final Executor delegate;
+
+    /**
+     * 上次提交（或刷新）之后写入过的表，{@code null} 元素表示无法得知写入的表。
+     */
+    private Set<String> writtenTables;
+
+    public FlexQueryCacheExecutor(Executor delegate) {
+        this.delegate = delegate;
+        delegate.setExecutorWrapper(this);
+    }
+
+    @Override
+    public int update(MappedStatement ms, Object parameter) throws SQLException {
+        int result = delegate.update(ms, parameter);
+        String[] tables = QueryCacheManager.afterUpdate(ms, parameter);
+        if (writtenTables == null) {
+            writtenTables = new LinkedHashSet<>();
+        }
+        if (tables == null) {
+            writtenTables.add(null);
+        } else {
+            Collections.addAll(writtenTables, tables);
+        }
+        return result;
+    }
+
+    @Override
+    public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey cacheKey, BoundSql boundSql) throws SQLException {
+        if (resultHandler != NO_RESULT_HANDLER
+            || ms.getSqlCommandType() != SqlCommandType.SELECT
+            || rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET
+            || rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT) {
+            return delegate.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+        }
+        TableInfo tableInfo = EntityCache.resolveTableInfo(ms, parameter);
+        if (tableInfo != null) {
+            return EntityCache.query(ms, (Map<?, ?>) parameter, tableInfo, ids -> queryByIds(ms, (Map<?, ?>) parameter, rowBounds, ids));
+        }
+        return QueryCacheManager.query(ms, parameter, boundSql.getSql()
+            , () -> delegate.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql));
+    }
+
+    @Override
+    public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler) throws SQLException {
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        CacheKey cacheKey = createCacheKey(ms, parameter, rowBounds, boundSql);
+        return query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+    }
+
+    @Override
+    public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
+        return delegate.queryCursor(ms, parameter, rowBounds);
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() throws SQLException {
+        List<BatchResult> results = delegate.flushStatements();
+        invalidateWrittenTables();
+        return results;
+    }
+
+    @Override
+    public void commit(boolean required) throws SQLException {
+        delegate.commit(required);
+        invalidateWrittenTables();
+    }
+
+    @Override
+    public void rollback(boolean required) throws SQLException {
+        try {
+            delegate.rollback(required);
+        } finally {
+            writtenTables = null;
+        }
+    }
+
+    @Override
+    public CacheKey createCacheKey(MappedStatement ms, Object parameterObject, RowBounds rowBounds, BoundSql boundSql) {
+        return delegate.createCacheKey(ms, parameterObject, rowBounds, boundSql);
+    }
+
+    @Override
+    public boolean isCached(MappedStatement ms, CacheKey key) {
+        return delegate.isCached(ms, key);
+    }
+
+    @Override
+    public void clearLocalCache() {
+        delegate.clearLocalCache();
+    }
+
+    @Override
+    public void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key, Class<?> targetType) {
+        delegate.deferLoad(ms, resultObject, property, key, targetType);
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        return delegate.getTransaction();
+    }
+
+    @Override
+    public void close(boolean forceRollback) {
+        try {
+            delegate.close(forceRollback);
+        } finally {
+            writtenTables = null;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public void setExecutorWrapper(Executor executor) {
+        delegate.setExecutorWrapper(executor);
+    }
+
+    /**
+     * 使用新的主键重新构建 SQL 并查询，原参数中已经构建的 SQL 参数需要移除。
+     */
+    private <E> List<E> queryByIds(MappedStatement ms, Map<?, ?> parameter, RowBounds rowBounds, Object[] ids) throws SQLException {
+        Map<Object, Object> params = new HashMap<>(parameter);
+        params.remove(FlexConsts.SQL_ARGS);
+        params.put(FlexConsts.PRIMARY_VALUE, ids);
+        BoundSql boundSql = ms.getBoundSql(params);
+        CacheKey cacheKey = delegate.createCacheKey(ms, params, rowBounds, boundSql);
+        return delegate.query(ms, params, rowBounds, NO_RESULT_HANDLER, cacheKey, boundSql);
+    }
+
+    private void invalidateWrittenTables() {
+        Set<String> tables = writtenTables;
+        if (tables == null) {
+            return;
+        }
+        writtenTables = null;
+        QueryCacheManager.afterWrite(tables.contains(null) ? null : tables.toArray(new String[0]));
+    }
+
+}
@@ -16,19 +16,57 @@
 package com.mybatisflex.core.mybatis.executor;
 
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
 public class FlexReuseExecutor extends ReuseExecutor implements CacheKeyBuilder {
 
+    /**
+     * 上一次执行时使用的连接，在 {@link com.mybatisflex.core.mybatis.FlexSession} 中切换数据源时，
+     * 同一个执行器会先后使用不同的连接，已缓存的 Statement 不能跨连接复用。
+     */
+    private Connection lastConnection;
+
     public FlexReuseExecutor(Configuration configuration, Transaction transaction) {
         super(configuration, transaction);
     }
 
+    @Override
+    public int doUpdate(MappedStatement ms, Object parameter) throws SQLException {
+        checkConnection();
+        return super.doUpdate(ms, parameter);
+    }
+
+    @Override
+    public <E> List<E> doQuery(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        checkConnection();
+        return super.doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+    }
+
+    @Override
+    protected <E> Cursor<E> doQueryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds, BoundSql boundSql) throws SQLException {
+        checkConnection();
+        return super.doQueryCursor(ms, parameter, rowBounds, boundSql);
+    }
+
+    private void checkConnection() throws SQLException {
+        Connection connection = transaction.getConnection();
+        if (lastConnection != null && lastConnection != connection) {
+            doFlushStatements(false);
+        }
+        lastConnection = connection;
+    }
+
     @Override
     public CacheKey createCacheKey(MappedStatement ms, Object parameterObject, RowBounds rowBounds, BoundSql boundSql) {
         return buildCacheKey(super.createCacheKey(ms, parameterObject, rowBounds, boundSql), parameterObject);
@@ -18,7 +18,9 @@ package com.mybatisflex.core.provider;
 import com.mybatisflex.core.FlexConsts;
 import com.mybatisflex.core.dialect.DialectFactory;
 import com.mybatisflex.core.exception.FlexAssert;
+import com.mybatisflex.core.query.BoundQueryWrapper;
 import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.CompiledQuery;
 import com.mybatisflex.core.query.QueryTable;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.table.TableInfo;
@@ -342,6 +344,14 @@ public class EntitySqlProvider {
      * @see com.mybatisflex.core.BaseMapper#selectListByQuery(QueryWrapper)
      */
     public static String selectListByQuery(Map params, ProviderContext context) {
+        BoundQueryWrapper boundQueryWrapper = ProviderUtil.getBoundQueryWrapper(params);
+        if (boundQueryWrapper != null) {
+            CompiledQuery compiledQuery = boundQueryWrapper.compile(context.getMapperType(),
+                queryWrapper -> appendTableConditions(context, queryWrapper, true));
+            ProviderUtil.setSqlArgs(params, boundQueryWrapper.getValueArray(compiledQuery));
+            return compiledQuery.getSql();
+        }
+
         QueryWrapper queryWrapper = ProviderUtil.getQueryWrapper(params);
 
         appendTableConditions(context, queryWrapper, true);
@@ -19,6 +19,7 @@ import com.mybatisflex.core.FlexConsts;
 import com.mybatisflex.core.exception.FlexAssert;
 import com.mybatisflex.core.exception.FlexExceptions;
 import com.mybatisflex.core.exception.locale.LocalizedFormats;
+import com.mybatisflex.core.query.BoundQueryWrapper;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.row.Row;
 import com.mybatisflex.core.table.TableInfo;
@@ -92,9 +93,17 @@ class ProviderUtil {
     public static QueryWrapper getQueryWrapper(Map params) {
         Object queryWrapper = params.get(FlexConsts.QUERY);
         FlexAssert.notNull(queryWrapper, "queryWrapper");
+        if (queryWrapper instanceof BoundQueryWrapper) {
+            throw FlexExceptions.wrap("BoundQueryWrapper of QueryTemplate only supports select list queries.");
+        }
         return (QueryWrapper) queryWrapper;
     }
 
+    public static BoundQueryWrapper getBoundQueryWrapper(Map params) {
+        Object queryWrapper = params.get(FlexConsts.QUERY);
+        return queryWrapper instanceof BoundQueryWrapper ? (BoundQueryWrapper) queryWrapper : null;
+    }
+
     public static Row getRow(Map params) {
         return (Row) params.get(FlexConsts.ROW);
     }
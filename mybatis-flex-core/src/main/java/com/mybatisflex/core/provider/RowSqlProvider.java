@@ -18,7 +18,9 @@ package com.mybatisflex.core.provider;
 import com.mybatisflex.core.FlexConsts;
 import com.mybatisflex.core.dialect.DialectFactory;
 import com.mybatisflex.core.exception.FlexAssert;
+import com.mybatisflex.core.query.BoundQueryWrapper;
 import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.CompiledQuery;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.row.Row;
 import com.mybatisflex.core.row.RowCPI;
@@ -27,6 +29,7 @@ import com.mybatisflex.core.table.TableInfo;
 import com.mybatisflex.core.table.TableInfoFactory;
 import com.mybatisflex.core.util.ArrayUtil;
 import com.mybatisflex.core.util.ClassUtil;
+import com.mybatisflex.core.util.StringUtil;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -298,6 +301,14 @@ public class RowSqlProvider {
         String schema = ProviderUtil.getSchemaName(params);
         String tableName = ProviderUtil.getTableName(params);
 
+        BoundQueryWrapper boundQueryWrapper = ProviderUtil.getBoundQueryWrapper(params);
+        if (boundQueryWrapper != null) {
+            CompiledQuery compiledQuery = boundQueryWrapper.compile(StringUtil.buildSchemaWithTable(schema, tableName),
+                queryWrapper -> CPI.setFromIfNecessary(queryWrapper, schema, tableName));
+            ProviderUtil.setSqlArgs(params, boundQueryWrapper.getValueArray(compiledQuery));
+            return compiledQuery.getSql();
+        }
+
         QueryWrapper queryWrapper = ProviderUtil.getQueryWrapper(params);
         CPI.setFromIfNecessary(queryWrapper, schema, tableName);
 
@@ -0,0 +1,238 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.query;
+
+import com.mybatisflex.core.constant.SqlConnector;
+import com.mybatisflex.core.dialect.DialectFactory;
+import com.mybatisflex.core.exception.FlexExceptions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 绑定了参数值的查询模板，可直接传给 BaseMapper 或 Db 的列表查询方法执行。
+ *
+ * <p>其查询结构由 {@link QueryTemplate} 决定，本身除 limit 和 offset 外不包含任何查询条件。
+ * 修改查询结构的方法（select、from、where、join、orderBy、union、with 等）不会生效，调用时直接抛出异常。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ * @see QueryTemplate#bind(Object...)
+ * @see QueryTemplate#bind(Map)
+ */
+public final class BoundQueryWrapper extends QueryWrapper {
+
+    private final QueryTemplate queryTemplate;
+    private final Object[] args;
+    private final Map<String, ?> namedArgs;
+
+    BoundQueryWrapper(QueryTemplate queryTemplate, Object[] args, Map<String, ?> namedArgs) {
+        this.queryTemplate = queryTemplate;
+        this.args = args;
+        this.namedArgs = namedArgs;
+    }
+
+    public QueryTemplate getQueryTemplate() {
+        return queryTemplate;
+    }
+
+    /**
+     * 获取当前方言下已编译的查询。
+     *
+     * @param scope    编译作用域，例如 Mapper 类型或表名
+     * @param preparer 渲染 SQL 前对模板构建出的 {@link QueryWrapper} 进行的处理
+     * @return 已编译的查询
+     */
+    public CompiledQuery compile(Object scope, Consumer<QueryWrapper> preparer) {
+        return queryTemplate.compile(DialectFactory.getDialect(), scope, CPI.getLimitOffset(this), CPI.getLimitRows(this), preparer);
+    }
+
+    /**
+     * 获取绑定到已编译查询上的 SQL 参数。
+     *
+     * @param compiledQuery 已编译的查询
+     * @return SQL 参数
+     */
+    public Object[] getValueArray(CompiledQuery compiledQuery) {
+        return compiledQuery.bind(args, namedArgs, CPI.getLimitOffset(this), CPI.getLimitRows(this));
+    }
+
+
+    // 以下方法会修改查询结构，而查询结构由 QueryTemplate 决定，直接拒绝，避免修改被静默忽略。
+    // QueryWrapper 中的条件、列、排序等方法最终都会调用这些方法。
+
+    @Override
+    public <Q extends QueryWrapper> WithBuilder<Q> with(String name) {
+        throw unsupported();
+    }
+
+    @Override
+    public <Q extends QueryWrapper> WithBuilder<Q> with(String name, String... params) {
+        throw unsupported();
+    }
+
+    @Override
+    public <Q extends QueryWrapper> WithBuilder<Q> withRecursive(String name) {
+        throw unsupported();
+    }
+
+    @Override
+    public <Q extends QueryWrapper> WithBuilder<Q> withRecursive(String name, String... params) {
+        throw unsupported();
+    }
+
+    @Override
+    public QueryWrapper from(QueryTable... tables) {
+        throw unsupported();
+    }
+
+    @Override
+    public QueryWrapper as(String alias) {
+        throw unsupported();
+    }
+
+    @Override
+    public QueryWrapper union(QueryWrapper unionQuery) {
+        throw unsupported();
+    }
+
+    @Override
+    public QueryWrapper unionAll(QueryWrapper unionQuery) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addSelectColumn(QueryColumn queryColumn) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addJoin(Join join) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper setWhereQueryCondition(QueryCondition queryCondition) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addWhereQueryCondition(QueryCondition queryCondition) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addWhereQueryCondition(QueryCondition queryCondition, SqlConnector connector) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addGroupByColumns(QueryColumn queryColumn) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addHavingQueryCondition(QueryCondition queryCondition, SqlConnector connector) {
+        throw unsupported();
+    }
+
+    @Override
+    protected QueryWrapper addOrderBy(QueryOrderBy queryOrderBy) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void addJoinTable(QueryTable queryTable) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void addEndFragment(String fragment) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setQueryTables(List<QueryTable> queryTables) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setDataSource(String dataSource) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setHint(String hint) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setSelectColumns(List<QueryColumn> selectColumns) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setJoins(List<Join> joins) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setJoinTables(List<QueryTable> joinTables) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setGroupByColumns(List<QueryColumn> groupByColumns) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setHavingQueryCondition(QueryCondition havingQueryCondition) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setOrderBys(List<QueryOrderBy> orderBys) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setUnions(List<UnionWrapper> unions) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setEndFragments(List<String> endFragments) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void setContext(Map<String, Object> context) {
+        throw unsupported();
+    }
+
+    @Override
+    protected void putContext(String key, Object value) {
+        throw unsupported();
+    }
+
+    private static RuntimeException unsupported() {
+        return FlexExceptions.wrap("BoundQueryWrapper of QueryTemplate can not be modified except limit and offset, "
+            + "please change the query in QueryTemplate instead.");
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.query;
+
+import com.mybatisflex.core.dialect.LimitParams;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.util.ClassUtil;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 编译后的查询模板，包含渲染好的 SQL 以及参数提取计划。
+ *
+ * <p>方言支持时，limit 和 offset 也会作为 SQL 参数绑定，不同的分页参数共用同一个编译结果。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ * @see QueryTemplate
+ */
+public final class CompiledQuery {
+
+    private final String sql;
+
+    /**
+     * 编译时得到的参数数组，参数占位所在的位置为 {@link QueryTemplate.Param} 或 {@link LimitParams.Value}，其余位置为常量。
+     */
+    private final Object[] values;
+
+    private final int[] paramPositions;
+
+    CompiledQuery(String sql, Object[] values) {
+        this.sql = sql;
+        this.values = values;
+
+        int count = 0;
+        for (Object value : values) {
+            if (value instanceof QueryTemplate.Param || value instanceof LimitParams.Value) {
+                count++;
+            }
+        }
+        this.paramPositions = new int[count];
+        for (int i = 0, j = 0; i < values.length; i++) {
+            if (values[i] instanceof QueryTemplate.Param || values[i] instanceof LimitParams.Value) {
+                paramPositions[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * 将分页参数插入到参数数组中对应的位置。
+     *
+     * @param sql         渲染好的 SQL，分页数值已经渲染为参数占位
+     * @param values      渲染得到的参数，不包含分页参数
+     * @param limitParams 渲染时记录的分页参数
+     * @return 编译后的查询，当前方言的分页语法不支持参数占位时返回 {@code null}
+     */
+    static CompiledQuery withLimitParams(String sql, Object[] values, LimitParams limitParams) {
+        if (limitParams.size() == 0) {
+            // 分页数值直接渲染在 SQL 中
+            return null;
+        }
+        Object[] newValues = new Object[values.length + limitParams.size()];
+        int valueIndex = 0;
+        int limitIndex = 0;
+        for (int i = 0; i < newValues.length; i++) {
+            if (limitIndex < limitParams.size() && limitParams.getPlaceholderIndex(limitIndex) == i) {
+                newValues[i] = limitParams.getValue(limitIndex++);
+            } else if (valueIndex < values.length) {
+                newValues[i] = values[valueIndex++];
+            } else {
+                throw FlexExceptions.wrap("Can not bind limit params of QueryTemplate, the placeholders in sql do not match the values: %s", sql);
+            }
+        }
+        return new CompiledQuery(sql, newValues);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParamCount() {
+        return paramPositions.length;
+    }
+
+    /**
+     * 根据绑定的参数值构建 SQL 参数。
+     *
+     * @param args        按位置绑定的参数值
+     * @param namedArgs   按名称绑定的参数值
+     * @param limitOffset 执行时设置的 offset
+     * @param limitRows   执行时设置的 rows
+     * @return SQL 参数
+     */
+    public Object[] bind(Object[] args, Map<String, ?> namedArgs, Long limitOffset, Long limitRows) {
+        if (paramPositions.length == 0) {
+            return values;
+        }
+        Object[] result = values.clone();
+        for (int position : paramPositions) {
+            if (values[position] instanceof LimitParams.Value limitValue) {
+                result[position] = limitValue.resolve(limitOffset, limitRows);
+                continue;
+            }
+            QueryTemplate.Param param = (QueryTemplate.Param) values[position];
+            Object value = param.resolve(args, namedArgs);
+            if (value != null && (value instanceof Collection || ClassUtil.isArray(value.getClass()))) {
+                throw FlexExceptions.wrap("QueryTemplate param %s only supports single value.", param);
+            }
+            result[position] = WrapperUtil.getEnumValue(value);
+        }
+        return result;
+    }
+
+}
@@ -15,7 +15,6 @@
  */
 package com.mybatisflex.core.query;
 
-import com.mybatisflex.core.FlexConsts;
 import com.mybatisflex.core.dialect.IDialect;
 import com.mybatisflex.core.dialect.OperateType;
 import com.mybatisflex.core.exception.FlexExceptions;
@@ -109,8 +108,8 @@ public class QueryTable implements CloneSupport<QueryTable> {
             && Objects.equals(alias, table.alias);
     }
 
-    Object[] getValueArray() {
-        return FlexConsts.EMPTY_ARRAY;
+    void appendValues(SqlWriter writer) {
+        // 普通表没有参数
     }
 
     public String toSql(IDialect dialect, OperateType operateType) {
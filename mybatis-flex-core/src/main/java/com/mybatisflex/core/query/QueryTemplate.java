@@ -0,0 +1,429 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.query;
+
+import com.mybatisflex.core.dialect.IDialect;
+import com.mybatisflex.core.dialect.LimitParams;
+import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.util.CollectionUtil;
+import com.mybatisflex.core.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 查询模板。
+ *
+ * <p>对于结构固定、只有参数值变化的热点查询，每次执行都重新构建 {@link QueryWrapper} 并渲染 SQL 是不必要的开销。
+ * 查询模板通过 {@link #param(String)} 或 {@link #param(int)} 定义参数占位，首次执行时按方言编译一次，
+ * 缓存 SQL 以及参数提取计划，之后每次执行只需要把参数值填入对应的位置即可。
+ *
+ * <pre>{@code
+ * static final QueryTemplate BY_AGE = QueryTemplate.of(() -> QueryWrapper.create()
+ *     .where(ACCOUNT.AGE.ge(QueryTemplate.param("minAge")))
+ *     .and(ACCOUNT.USER_NAME.likeRaw(QueryTemplate.param("name"))));
+ *
+ * List<Account> accounts = accountMapper.selectListByQuery(BY_AGE.bind(Map.of("minAge", 18, "name", "%michael%")));
+ * }</pre>
+ *
+ * <p>注意：
+ * <ul>
+ *     <li>参数占位只能作为单值使用，不支持 {@code in(param)} 展开为多个值；
+ *     {@code like}、{@code likeLeft}、{@code likeRight} 会在构建时拼接 {@code %}，请使用 {@code likeRaw} 并在绑定时传入完整的匹配串。</li>
+ *     <li>绑定后的 {@link BoundQueryWrapper} 只支持 selectListByQuery、selectOneByQuery、selectCursorByQuery、
+ *     selectRowsByQuery、selectListByQueryAs 以及 {@code Db.selectListByQuery(tableName, queryWrapper)} 等列表查询，
+ *     除 limit 以外不能再修改其查询结构。</li>
+ *     <li>多租户条件和逻辑删除条件会在编译时追加，当前租户 ID 以及是否跳过逻辑删除会作为缓存的一部分，
+ *     因此不同租户会各自编译一次。</li>
+ *     <li>limit 和 offset 会作为参数绑定，不同的分页参数共用同一个编译结果；方言的分页语法不支持参数占位时
+ *     （例如 {@code TOP n}、{@code FIRST n}），则按分页参数分别编译。</li>
+ *     <li>每个模板最多缓存 {@link #getMaxCompiledQueries()} 个编译结果，超出时淘汰最久未使用的。</li>
+ * </ul>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class QueryTemplate {
+
+    private final Supplier<QueryWrapper> queryWrapperSupplier;
+
+    /**
+     * 每个作用域（Mapper 或表名）中需要关注租户与逻辑删除状态的表。
+     */
+    private final Map<Object, TableInfo[]> conditionTablesCache = new ConcurrentHashMap<>();
+
+    private final CompiledQueryCache compiledQueryCache = new CompiledQueryCache();
+
+    private volatile int maxCompiledQueries = 256;
+
+    private QueryTemplate(Supplier<QueryWrapper> queryWrapperSupplier) {
+        this.queryWrapperSupplier = queryWrapperSupplier;
+    }
+
+    /**
+     * 创建查询模板。
+     *
+     * @param queryWrapperSupplier 用于构建查询结构的函数，每次编译时都会调用一次，需返回新的 {@link QueryWrapper}
+     * @return 查询模板
+     */
+    public static QueryTemplate of(Supplier<QueryWrapper> queryWrapperSupplier) {
+        Objects.requireNonNull(queryWrapperSupplier, "queryWrapperSupplier");
+        return new QueryTemplate(queryWrapperSupplier);
+    }
+
+    /**
+     * 定义命名参数占位，通过 {@link #bind(Map)} 绑定参数值。
+     *
+     * @param name 参数名称
+     * @return 参数占位
+     */
+    public static Param param(String name) {
+        if (StringUtil.noText(name)) {
+            throw FlexExceptions.wrap("QueryTemplate param name must not be empty.");
+        }
+        return new Param(name, -1);
+    }
+
+    /**
+     * 定义位置参数占位，通过 {@link #bind(Object...)} 绑定参数值。
+     *
+     * @param index 参数位置，从 0 开始
+     * @return 参数占位
+     */
+    public static Param param(int index) {
+        if (index < 0) {
+            throw FlexExceptions.wrap("QueryTemplate param index must not be negative: %s", index);
+        }
+        return new Param(null, index);
+    }
+
+    /**
+     * 按位置绑定参数值。
+     *
+     * @param args 参数值
+     * @return 绑定后的查询条件
+     */
+    public BoundQueryWrapper bind(Object... args) {
+        return new BoundQueryWrapper(this, args == null ? new Object[]{null} : args, null);
+    }
+
+    /**
+     * 按名称绑定参数值。
+     *
+     * @param args 参数值
+     * @return 绑定后的查询条件
+     */
+    public BoundQueryWrapper bind(Map<String, ?> args) {
+        return new BoundQueryWrapper(this, null, args == null ? Collections.emptyMap() : args);
+    }
+
+    public int getMaxCompiledQueries() {
+        return maxCompiledQueries;
+    }
+
+    /**
+     * 设置最多缓存的编译结果数量，默认为 256。
+     */
+    public void setMaxCompiledQueries(int maxCompiledQueries) {
+        if (maxCompiledQueries <= 0) {
+            throw FlexExceptions.wrap("QueryTemplate maxCompiledQueries must be greater than 0.");
+        }
+        this.maxCompiledQueries = maxCompiledQueries;
+    }
+
+    /**
+     * 当前缓存的编译结果数量。
+     */
+    public int getCompiledQueryCount() {
+        synchronized (compiledQueryCache) {
+            return compiledQueryCache.size();
+        }
+    }
+
+    /**
+     * 清空已编译的查询，一般在方言或表结构元数据变化后调用。
+     */
+    public void clearCache() {
+        conditionTablesCache.clear();
+        synchronized (compiledQueryCache) {
+            compiledQueryCache.clear();
+        }
+    }
+
+    /**
+     * 获取已编译的查询，不存在时进行编译。
+     *
+     * @param dialect     方言
+     * @param scope       编译作用域，例如 Mapper 类型或表名，不同作用域追加的默认表和条件可能不同
+     * @param limitOffset 执行时设置的 offset
+     * @param limitRows   执行时设置的 rows
+     * @param preparer    渲染 SQL 前对 {@link QueryWrapper} 进行的处理，例如追加多租户和逻辑删除条件
+     * @return 已编译的查询
+     */
+    CompiledQuery compile(IDialect dialect, Object scope, Long limitOffset, Long limitRows, Consumer<QueryWrapper> preparer) {
+        boolean limited = limitOffset != null || limitRows != null;
+        TableInfo[] conditionTables = conditionTablesCache.get(scope);
+        if (conditionTables != null) {
+            List<Object> conditionState = buildConditionState(conditionTables);
+            CompiledQuery compiledQuery = getCompiledQuery(new CacheKey(dialect, scope, limitOffset != null, limitRows != null, null, null, conditionState));
+            if (compiledQuery != null && compiledQuery != INLINE_LIMIT) {
+                return compiledQuery;
+            }
+            if (compiledQuery == INLINE_LIMIT) {
+                compiledQuery = getCompiledQuery(new CacheKey(dialect, scope, limitOffset != null, limitRows != null, limitOffset, limitRows, conditionState));
+                if (compiledQuery != null) {
+                    return compiledQuery;
+                }
+                return render(dialect, scope, limitOffset, limitRows, preparer, conditionTables, true);
+            }
+        }
+
+        if (!limited) {
+            return render(dialect, scope, null, null, preparer, conditionTables, false);
+        }
+
+        // 优先以参数的形式绑定 limit 和 offset，方言不支持时按实际的值编译
+        CompiledQuery compiledQuery = render(dialect, scope, limitOffset, limitRows, preparer, conditionTables, false);
+        if (compiledQuery != INLINE_LIMIT) {
+            return compiledQuery;
+        }
+        return render(dialect, scope, limitOffset, limitRows, preparer, conditionTablesCache.get(scope), true);
+    }
+
+    /**
+     * 构建查询并渲染 SQL，放入缓存。
+     *
+     * @param inlineLimit 是否直接把 limit 和 offset 渲染到 SQL 中，为 {@code false} 时由方言渲染为参数占位
+     */
+    private CompiledQuery render(IDialect dialect, Object scope, Long limitOffset, Long limitRows
+        , Consumer<QueryWrapper> preparer, TableInfo[] conditionTables, boolean inlineLimit) {
+        QueryWrapper queryWrapper = queryWrapperSupplier.get();
+        if (queryWrapper == null || queryWrapper instanceof BoundQueryWrapper) {
+            throw FlexExceptions.wrap("QueryTemplate supplier must return a new QueryWrapper.");
+        }
+        if (limitOffset != null) {
+            CPI.setLimitOffset(queryWrapper, limitOffset);
+        }
+        if (limitRows != null) {
+            CPI.setLimitRows(queryWrapper, limitRows);
+        }
+        if (preparer != null) {
+            preparer.accept(queryWrapper);
+        }
+        boolean limited = limitOffset != null || limitRows != null;
+        LimitParams limitParams = limited && !inlineLimit ? LimitParams.bindTo(queryWrapper) : null;
+
+        // 优先构建 sql，再构建参数
+        String sql = dialect.forSelectByQuery(queryWrapper);
+        Object[] values = CPI.getValueArray(queryWrapper);
+
+        if (conditionTables == null) {
+            Set<TableInfo> tableInfos = new LinkedHashSet<>();
+            collectConditionTables(queryWrapper, tableInfos);
+            conditionTables = tableInfos.toArray(new TableInfo[0]);
+            TableInfo[] existing = conditionTablesCache.putIfAbsent(scope, conditionTables);
+            if (existing != null) {
+                conditionTables = existing;
+            }
+        }
+        List<Object> conditionState = buildConditionState(conditionTables);
+
+        CompiledQuery compiledQuery;
+        CacheKey cacheKey;
+        if (inlineLimit) {
+            compiledQuery = new CompiledQuery(sql, values);
+            cacheKey = new CacheKey(dialect, scope, limitOffset != null, limitRows != null, limitOffset, limitRows, conditionState);
+        } else {
+            compiledQuery = limitParams != null ? CompiledQuery.withLimitParams(sql, values, limitParams) : new CompiledQuery(sql, values);
+            cacheKey = new CacheKey(dialect, scope, limitOffset != null, limitRows != null, null, null, conditionState);
+            if (compiledQuery == null) {
+                putCompiledQuery(cacheKey, INLINE_LIMIT);
+                return INLINE_LIMIT;
+            }
+        }
+        return putCompiledQuery(cacheKey, compiledQuery);
+    }
+
+    private CompiledQuery getCompiledQuery(CacheKey cacheKey) {
+        synchronized (compiledQueryCache) {
+            return compiledQueryCache.get(cacheKey);
+        }
+    }
+
+    private CompiledQuery putCompiledQuery(CacheKey cacheKey, CompiledQuery compiledQuery) {
+        synchronized (compiledQueryCache) {
+            CompiledQuery existing = compiledQueryCache.putIfAbsent(cacheKey, compiledQuery);
+            return existing != null ? existing : compiledQuery;
+        }
+    }
+
+
+    /**
+     * 当前线程中会影响追加条件的状态：租户 ID 以及逻辑删除列是否生效。
+     */
+    private static List<Object> buildConditionState(TableInfo[] conditionTables) {
+        if (conditionTables.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Object> state = new ArrayList<>(conditionTables.length * 2);
+        for (TableInfo tableInfo : conditionTables) {
+            Object[] tenantIdArgs = tableInfo.buildTenantIdArgs();
+            state.add(tenantIdArgs == null ? null : Arrays.asList(tenantIdArgs));
+            state.add(tableInfo.getLogicDeleteColumnOrSkip());
+        }
+        return state;
+    }
+
+    private static void collectConditionTables(QueryWrapper queryWrapper, Set<TableInfo> tableInfos) {
+        collectConditionTables(CPI.getQueryTables(queryWrapper), tableInfos);
+        collectConditionTables(CPI.getJoinTables(queryWrapper), tableInfos);
+
+        List<QueryColumn> selectColumns = CPI.getSelectColumns(queryWrapper);
+        if (CollectionUtil.isNotEmpty(selectColumns)) {
+            for (QueryColumn selectColumn : selectColumns) {
+                if (selectColumn instanceof SelectQueryColumn sqc) {
+                    collectConditionTables(CPI.getQueryWrapper(sqc), tableInfos);
+                }
+            }
+        }
+
+        for (QueryWrapper childQueryWrapper : CPI.getChildSelect(queryWrapper)) {
+            collectConditionTables(childQueryWrapper, tableInfos);
+        }
+
+        List<UnionWrapper> unions = CPI.getUnions(queryWrapper);
+        if (CollectionUtil.isNotEmpty(unions)) {
+            for (UnionWrapper union : unions) {
+                collectConditionTables(union.getQueryWrapper(), tableInfos);
+            }
+        }
+    }
+
+    private static void collectConditionTables(List<QueryTable> queryTables, Set<TableInfo> tableInfos) {
+        if (CollectionUtil.isEmpty(queryTables)) {
+            return;
+        }
+        for (QueryTable queryTable : queryTables) {
+            if (queryTable instanceof SelectQueryTable) {
+                // 子查询在 getChildSelect 中处理
+                continue;
+            }
+            String tableNameWithSchema = queryTable.getNameWithSchema();
+            if (StringUtil.noText(tableNameWithSchema)) {
+                continue;
+            }
+            TableInfo tableInfo = TableInfoFactory.ofTableName(tableNameWithSchema);
+            if (tableInfo != null
+                && (StringUtil.hasText(tableInfo.getTenantIdColumn()) || StringUtil.hasText(tableInfo.getLogicDeleteColumn()))) {
+                tableInfos.add(tableInfo);
+            }
+        }
+    }
+
+
+    /**
+     * 参数占位。
+     */
+    public static final class Param {
+
+        private final String name;
+        private final int index;
+
+        private Param(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        Object resolve(Object[] args, Map<String, ?> namedArgs) {
+            if (name != null) {
+                if (namedArgs == null) {
+                    throw FlexExceptions.wrap("QueryTemplate param \"%s\" must be bound by name.", name);
+                }
+                if (!namedArgs.containsKey(name)) {
+                    throw FlexExceptions.wrap("QueryTemplate param \"%s\" is not bound.", name);
+                }
+                return namedArgs.get(name);
+            }
+            if (args == null) {
+                throw FlexExceptions.wrap("QueryTemplate param [%s] must be bound by position.", index);
+            }
+            if (index >= args.length) {
+                throw FlexExceptions.wrap("QueryTemplate param [%s] is not bound, only %s args given.", index, args.length);
+            }
+            return args[index];
+        }
+
+        @Override
+        public String toString() {
+            return name != null ? "#{" + name + "}" : "#{" + index + "}";
+        }
+
+    }
+
+
+    /**
+     * 标记当前方言的分页语法不支持参数占位，需要按分页参数分别编译。
+     */
+    private static final CompiledQuery INLINE_LIMIT = new CompiledQuery("", new Object[0]);
+
+
+    /**
+     * @param hasOffset         是否设置了 offset
+     * @param hasRows           是否设置了 rows
+     * @param inlineLimitOffset 直接渲染到 SQL 中的 offset，以参数绑定时为 {@code null}
+     * @param inlineLimitRows   直接渲染到 SQL 中的 rows，以参数绑定时为 {@code null}
+     */
+    private record CacheKey(IDialect dialect, Object scope, boolean hasOffset, boolean hasRows
+        , Long inlineLimitOffset, Long inlineLimitRows, List<Object> conditionState) {
+    }
+
+    /**
+     * 按最近使用顺序淘汰的编译结果缓存，访问时需要对其加锁。
+     */
+    private final class CompiledQueryCache extends LinkedHashMap<CacheKey, CompiledQuery> {
+
+        CompiledQueryCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CompiledQuery> eldest) {
+            return size() > maxCompiledQueries;
+        }
+
+    }
+
+}
@@ -15,7 +15,8 @@
  */
 package com.mybatisflex.core.query;
 
-import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.cache.QueryCacheStore;
 import com.mybatisflex.core.constant.SqlConnector;
 import com.mybatisflex.core.constant.SqlConsts;
 import com.mybatisflex.core.constant.SqlOperator;
@@ -26,6 +27,7 @@ import com.mybatisflex.core.table.TableInfoFactory;
 import com.mybatisflex.core.util.*;
 import org.jspecify.annotations.NonNull;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -847,6 +849,23 @@ public class QueryWrapper extends BaseQueryWrapper<QueryWrapper> {
         return this;
     }
 
+    /**
+     * 开启当前查询的结果缓存，使用默认的过期时间，需要先通过 {@link QueryCacheManager#setStore(QueryCacheStore)} 配置缓存。
+     */
+    public QueryWrapper cache() {
+        return cache(Duration.ZERO);
+    }
+
+    /**
+     * 开启当前查询的结果缓存，需要先通过 {@link QueryCacheManager#setStore(QueryCacheStore)} 配置缓存。
+     *
+     * @param ttl 缓存的过期时间
+     */
+    public QueryWrapper cache(Duration ttl) {
+        putContext(QueryCacheManager.CONTEXT_KEY, ttl == null ? Duration.ZERO : ttl);
+        return this;
+    }
+
 
     /////////MyBatis-Plus 兼容方法///////////////
 
@@ -2475,104 +2494,43 @@ public class QueryWrapper extends BaseQueryWrapper<QueryWrapper> {
      * 在构建 sql 的时候，需要保证 where 在 having 的前面
      */
     Object[] getAllValueArray() {
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            appendValues(writer);
+            return writer.toValueArray();
+        }
+    }
 
-        List<Object> withValues = null;
-        if (with != null) {
-            Object[] paramValues = with.getParamValues();
-            if (ArrayUtil.isNotEmpty(paramValues)) {
-                withValues = new ArrayList<>(Arrays.asList(paramValues));
 
-            }
+    /**
+     * 按照 SQL 中占位符出现的顺序，把 queryWrapper 的全部参数追加到 writer 中，
+     * 子查询、union 的参数直接写入同一个缓冲区。
+     */
+    void appendValues(SqlWriter writer) {
+        if (with != null) {
+            writer.addParams(with.getParamValues());
         }
 
-        List<Object> columnValues = null;
         List<QueryColumn> selectColumns = getSelectColumns();
         if (CollectionUtil.isNotEmpty(selectColumns)) {
             for (QueryColumn selectColumn : selectColumns) {
-                if (selectColumn instanceof HasParamsColumn hpc) {
-                    Object[] paramValues = hpc.getParamValues();
-                    if (ArrayUtil.isNotEmpty(paramValues)) {
-                        if (columnValues == null) {
-                            columnValues = new ArrayList<>(paramValues.length);
-                        }
-                        columnValues.addAll(Arrays.asList(paramValues));
-                    }
+                if (selectColumn instanceof SelectQueryColumn sqc) {
+                    sqc.getQueryWrapper().appendValues(writer);
+                } else if (selectColumn instanceof HasParamsColumn hpc) {
+                    writer.addParams(hpc.getParamValues());
                 }
             }
         }
 
         // select 子查询的参数：select * from (select ....)
-        List<Object> tableValues = null;
         List<QueryTable> queryTables = getQueryTables();
         if (CollectionUtil.isNotEmpty(queryTables)) {
             for (QueryTable queryTable : queryTables) {
-                Object[] tableValueArray = queryTable.getValueArray();
-                if (tableValueArray.length > 0) {
-                    if (tableValues == null) {
-                        tableValues = new ArrayList<>(tableValueArray.length);
-                    }
-                    tableValues.addAll(Arrays.asList(tableValueArray));
-                }
-            }
-        }
-
-        // join 子查询的参数：left join (select ...)
-        List<Object> joinValues = null;
-        List<Join> joins = getJoins();
-        if (CollectionUtil.isNotEmpty(joins)) {
-            for (Join join : joins) {
-                QueryTable joinTable = join.getQueryTable();
-                Object[] valueArray = joinTable.getValueArray();
-                if (valueArray.length > 0) {
-                    if (joinValues == null) {
-                        joinValues = new ArrayList<>(valueArray.length);
-                    }
-                    joinValues.addAll(Arrays.asList(valueArray));
-                }
-                QueryCondition onCondition = join.getOnCondition();
-                Object[] values = WrapperUtil.getValues(onCondition);
-                if (values.length > 0) {
-                    if (joinValues == null) {
-                        joinValues = new ArrayList<>(values.length);
-                    }
-                    joinValues.addAll(Arrays.asList(values));
-                }
-            }
-        }
-
-        // where 参数
-        Object[] whereValues = WrapperUtil.getValues(whereQueryCondition);
-
-        // having 参数
-        Object[] havingValues = WrapperUtil.getValues(havingQueryCondition);
-
-        Object[] paramValues = ArrayUtil.concat(whereValues, havingValues);
-
-        // orderBy 参数
-        if (CollectionUtil.isNotEmpty(orderBys)) {
-            for (QueryOrderBy orderBy : orderBys) {
-                QueryColumn orderByColumn = orderBy.queryColumn;
-                if (orderByColumn != null && orderByColumn instanceof HasParamsColumn) {
-                    paramValues = ArrayUtil.concat(paramValues, ((HasParamsColumn) orderByColumn).getParamValues());
-                }
+                queryTable.appendValues(writer);
             }
         }
 
-        // unions 参数
-        if (CollectionUtil.isNotEmpty(unions)) {
-            for (UnionWrapper union : unions) {
-                QueryWrapper queryWrapper = union.getQueryWrapper();
-                paramValues = ArrayUtil.concat(paramValues, queryWrapper.getAllValueArray());
-            }
-        }
-
-        Object[] returnValues = withValues == null ? FlexConsts.EMPTY_ARRAY : withValues.toArray();
-        returnValues = columnValues != null ? ArrayUtil.concat(returnValues, columnValues.toArray()) : returnValues;
-        returnValues = tableValues != null ? ArrayUtil.concat(returnValues, tableValues.toArray()) : returnValues;
-        returnValues = joinValues != null ? ArrayUtil.concat(returnValues, joinValues.toArray()) : returnValues;
-        returnValues = ArrayUtil.concat(returnValues, paramValues);
-
-        return returnValues;
+        appendJoinValues(writer);
+        appendConditionValues(writer, true);
     }
 
 
@@ -2581,31 +2539,21 @@ public class QueryWrapper extends BaseQueryWrapper<QueryWrapper> {
      * 在构建 sql 的时候，需要保证 where 在 having 的前面
      */
     Object[] getJoinValueArray() {
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            appendJoinValues(writer);
+            return writer.toValueArray();
+        }
+    }
+
+    private void appendJoinValues(SqlWriter writer) {
         // join 子查询的参数：left join (select ...)
-        List<Object> joinValues = null;
         List<Join> joins = getJoins();
         if (CollectionUtil.isNotEmpty(joins)) {
             for (Join join : joins) {
-                QueryTable joinTable = join.getQueryTable();
-                Object[] valueArray = joinTable.getValueArray();
-                if (valueArray.length > 0) {
-                    if (joinValues == null) {
-                        joinValues = new ArrayList<>(valueArray.length);
-                    }
-                    joinValues.addAll(Arrays.asList(valueArray));
-                }
-                QueryCondition onCondition = join.getOnCondition();
-                Object[] values = WrapperUtil.getValues(onCondition);
-                if (values.length > 0) {
-                    if (joinValues == null) {
-                        joinValues = new ArrayList<>(values.length);
-                    }
-                    joinValues.addAll(Arrays.asList(values));
-                }
+                join.getQueryTable().appendValues(writer);
+                WrapperUtil.appendValues(join.getOnCondition(), writer);
             }
         }
-
-        return joinValues == null ? FlexConsts.EMPTY_ARRAY : joinValues.toArray();
     }
 
 
@@ -2614,23 +2562,35 @@ public class QueryWrapper extends BaseQueryWrapper<QueryWrapper> {
      * 在构建 sql 的时候，需要保证 where 在 having 的前面
      */
     Object[] getConditionValueArray() {
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            appendConditionValues(writer, false);
+            return writer.toValueArray();
+        }
+    }
+
+    private void appendConditionValues(SqlWriter writer, boolean withOrderBy) {
         // where 参数
-        Object[] whereValues = WrapperUtil.getValues(whereQueryCondition);
+        WrapperUtil.appendValues(whereQueryCondition, writer);
 
         // having 参数
-        Object[] havingValues = WrapperUtil.getValues(havingQueryCondition);
+        WrapperUtil.appendValues(havingQueryCondition, writer);
 
-        Object[] paramValues = ArrayUtil.concat(whereValues, havingValues);
+        // orderBy 参数
+        if (withOrderBy && CollectionUtil.isNotEmpty(orderBys)) {
+            for (QueryOrderBy orderBy : orderBys) {
+                QueryColumn orderByColumn = orderBy.queryColumn;
+                if (orderByColumn instanceof HasParamsColumn hpc) {
+                    writer.addParams(hpc.getParamValues());
+                }
+            }
+        }
 
         // unions 参数
         if (CollectionUtil.isNotEmpty(unions)) {
             for (UnionWrapper union : unions) {
-                QueryWrapper queryWrapper = union.getQueryWrapper();
-                paramValues = ArrayUtil.concat(paramValues, queryWrapper.getAllValueArray());
+                union.getQueryWrapper().appendValues(writer);
             }
         }
-
-        return paramValues;
     }
 
 
@@ -19,6 +19,7 @@ import com.mybatisflex.core.constant.SqlConnector;
 import com.mybatisflex.core.util.LambdaGetter;
 import com.mybatisflex.core.util.LambdaUtil;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.BooleanSupplier;
@@ -601,6 +602,18 @@ public class QueryWrapperAdapter<R extends QueryWrapperAdapter<R>> extends Query
         return (R) this;
     }
 
+    @Override
+    public R cache() {
+        super.cache();
+        return (R) this;
+    }
+
+    @Override
+    public R cache(Duration ttl) {
+        super.cache(ttl);
+        return (R) this;
+    }
+
 
     /////////MyBatis-Plus 兼容方法///////////////
 
@@ -42,8 +42,8 @@ public class SelectQueryTable extends QueryTable {
     }
 
     @Override
-    Object[] getValueArray() {
-        return queryWrapper.getAllValueArray();
+    void appendValues(SqlWriter writer) {
+        queryWrapper.appendValues(writer);
     }
 
     @Override
@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.query;
+
+import com.mybatisflex.core.FlexConsts;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * 池化的 SQL 与参数缓冲区。
+ *
+ * <p>方言渲染 {@link QueryWrapper} 的 SQL 时使用其中的 {@link StringBuilder}；参数则由 {@link QueryWrapper}
+ * 单独遍历一次，按照占位符出现的顺序追加到参数数组中，避免在每一层子查询、union、with 中创建临时数组再逐层合并。
+ * SQL 与参数仍然是两次遍历得到的，本类只负责复用两者的缓冲区。缓冲区按线程池化复用，
+ * 嵌套的子查询渲染会从池中取出另外的实例，因此可以安全地递归使用：
+ *
+ * <pre>{@code
+ * try (SqlWriter writer = SqlWriter.acquire()) {
+ *     writer.append("SELECT ...");
+ *     writer.addParam(value);
+ *     return writer.toValueArray();
+ * }
+ * }</pre>
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class SqlWriter implements AutoCloseable {
+
+    private static final int INITIAL_SQL_CAPACITY = 256;
+    private static final int INITIAL_PARAM_CAPACITY = 16;
+
+    /**
+     * 超过该容量的缓冲区归还时直接丢弃，避免个别超大 SQL 长期占用内存。
+     */
+    private static final int MAX_POOLED_SQL_CAPACITY = 16 * 1024;
+    private static final int MAX_POOLED_PARAM_CAPACITY = 1024;
+
+    /**
+     * 每个线程最多缓存的实例数量，即子查询的嵌套深度。
+     */
+    private static final int MAX_POOL_SIZE = 8;
+
+    private static final ThreadLocal<Deque<SqlWriter>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private StringBuilder sql;
+    private Object[] params;
+    private int paramCount;
+    private boolean pooled;
+
+    private SqlWriter() {
+        this.sql = new StringBuilder(INITIAL_SQL_CAPACITY);
+        this.params = new Object[INITIAL_PARAM_CAPACITY];
+    }
+
+    /**
+     * 从当前线程的池中获取一个空的写入缓冲区，使用完毕后需调用 {@link #close()} 归还。
+     *
+     * @return 写入缓冲区
+     */
+    public static SqlWriter acquire() {
+        SqlWriter writer = POOL.get().pollFirst();
+        if (writer == null) {
+            writer = new SqlWriter();
+        }
+        writer.pooled = false;
+        return writer;
+    }
+
+    /**
+     * SQL 缓冲区，可直接交给方言追加 SQL 片段。
+     */
+    public StringBuilder sql() {
+        return sql;
+    }
+
+    public SqlWriter append(CharSequence sqlPart) {
+        sql.append(sqlPart);
+        return this;
+    }
+
+    public SqlWriter append(char c) {
+        sql.append(c);
+        return this;
+    }
+
+    public SqlWriter addParam(Object param) {
+        if (paramCount == params.length) {
+            params = Arrays.copyOf(params, paramCount << 1);
+        }
+        params[paramCount++] = param;
+        return this;
+    }
+
+    public SqlWriter addParams(Object[] params) {
+        if (params == null || params.length == 0) {
+            return this;
+        }
+        int required = paramCount + params.length;
+        if (required > this.params.length) {
+            this.params = Arrays.copyOf(this.params, Math.max(required, this.params.length << 1));
+        }
+        System.arraycopy(params, 0, this.params, paramCount, params.length);
+        paramCount = required;
+        return this;
+    }
+
+    public int getParamCount() {
+        return paramCount;
+    }
+
+    public String toSql() {
+        return sql.toString();
+    }
+
+    public Object[] toValueArray() {
+        return paramCount == 0 ? FlexConsts.EMPTY_ARRAY : Arrays.copyOf(params, paramCount);
+    }
+
+    /**
+     * 清空并归还到当前线程的池中。
+     */
+    @Override
+    public void close() {
+        if (pooled) {
+            return;
+        }
+
+        if (sql.capacity() > MAX_POOLED_SQL_CAPACITY) {
+            sql = new StringBuilder(INITIAL_SQL_CAPACITY);
+        } else {
+            sql.setLength(0);
+        }
+
+        if (params.length > MAX_POOLED_PARAM_CAPACITY) {
+            params = new Object[INITIAL_PARAM_CAPACITY];
+        } else {
+            Arrays.fill(params, 0, paramCount, null);
+        }
+        paramCount = 0;
+
+        Deque<SqlWriter> pool = POOL.get();
+        if (pool.size() < MAX_POOL_SIZE) {
+            pooled = true;
+            pool.offerFirst(this);
+        }
+    }
+
+}
@@ -15,10 +15,8 @@
  */
 package com.mybatisflex.core.query;
 
-import com.mybatisflex.core.FlexConsts;
 import com.mybatisflex.core.dialect.IDialect;
 import com.mybatisflex.core.exception.FlexExceptions;
-import com.mybatisflex.core.util.ArrayUtil;
 import com.mybatisflex.core.util.CollectionUtil;
 
 import java.util.ArrayList;
@@ -76,11 +74,12 @@ public class With implements CloneSupport<With> {
     }
 
     public Object[] getParamValues() {
-        Object[] paramValues = FlexConsts.EMPTY_ARRAY;
-        for (WithItem withItem : withItems) {
-            paramValues = ArrayUtil.concat(paramValues, withItem.getParamValues());
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            for (WithItem withItem : withItems) {
+                writer.addParams(withItem.getParamValues());
+            }
+            return writer.toValueArray();
         }
-        return paramValues;
     }
 
     @Override
@@ -27,7 +27,6 @@ import com.mybatisflex.core.util.StringUtil;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -88,71 +87,86 @@ class WrapperUtil {
             return FlexConsts.EMPTY_ARRAY;
         }
 
-        List<Object> params = new ArrayList<>();
-        getValues(condition, params);
-
-        return params.isEmpty() ? FlexConsts.EMPTY_ARRAY : params.toArray();
+        try (SqlWriter writer = SqlWriter.acquire()) {
+            appendValues(condition, writer);
+            return writer.toValueArray();
+        }
     }
 
 
-    private static void getValues(QueryCondition condition, List<Object> params) {
-        if (condition == null) {
-            return;
-        }
-
-        QueryColumn column = condition.getColumn();
-        if (column instanceof HasParamsColumn) {
-            addParam(params, ((HasParamsColumn) column).getParamValues());
-        }
-
-        Object value = condition.getValue();
+    /**
+     * 按照 SQL 中占位符出现的顺序，把条件链上的参数追加到 writer 中。
+     */
+    static void appendValues(QueryCondition condition, SqlWriter writer) {
+        while (condition != null) {
+            QueryColumn column = condition.getColumn();
+            if (column instanceof HasParamsColumn) {
+                addParam(writer, ((HasParamsColumn) column).getParamValues());
+            }
 
-        if (value == null) {
-            // column = user_name; logic = eq; value = null
-            // sql: user_name = null
-            String logic;
-            if (condition.checkEffective()
-                && (logic = condition.getLogic()) != null
-                && !logic.equals(SqlConsts.IS_NULL)
-                && !logic.equals(SqlConsts.IS_NOT_NULL)) {
-                params.add(null);
+            // 嵌套条件和子查询直接写入，避免先生成临时数组
+            if (condition instanceof Brackets brackets) {
+                if (brackets.checkEffective()) {
+                    appendValues(brackets.getChildCondition(), writer);
+                }
+            } else if (condition instanceof OperatorQueryCondition oqc) {
+                if (oqc.checkEffective()) {
+                    appendValues(oqc.getChildCondition(), writer);
+                }
+            } else if (condition instanceof OperatorSelectCondition osc) {
+                if (osc.checkEffective()) {
+                    osc.getQueryWrapper().appendValues(writer);
+                }
+            } else {
+                Object value = condition.getValue();
+                if (value == null) {
+                    // column = user_name; logic = eq; value = null
+                    // sql: user_name = null
+                    String logic;
+                    if (condition.checkEffective()
+                        && (logic = condition.getLogic()) != null
+                        && !logic.equals(SqlConsts.IS_NULL)
+                        && !logic.equals(SqlConsts.IS_NOT_NULL)) {
+                        writer.addParam(null);
+                    }
+                } else if (!(value instanceof QueryColumn || value instanceof RawQueryCondition)) {
+                    addParam(writer, value);
+                }
             }
-            getValues(condition.next, params);
-            return;
-        }
 
-        if (value instanceof QueryColumn || value instanceof RawQueryCondition) {
-            getValues(condition.next, params);
-            return;
+            condition = condition.next;
         }
-
-        addParam(params, value);
-        getValues(condition.next, params);
     }
 
     @SuppressWarnings("all")
-    private static void addParam(List<Object> paras, Object value) {
+    static void addParam(SqlWriter writer, Object value) {
         if (value == null) {
-            paras.add(null);
+            writer.addParam(null);
         } else if (ClassUtil.isArray(value.getClass())) {
             for (int i = 0; i < Array.getLength(value); i++) {
-                addParam(paras, Array.get(value, i));
+                addParam(writer, Array.get(value, i));
             }
         } else if (value instanceof QueryWrapper qw) {
-            Object[] valueArray = qw.getAllValueArray();
-            paras.addAll(Arrays.asList(valueArray));
+            qw.appendValues(writer);
         } else if (value instanceof Enum) {
-            // 枚举类型，处理枚举实际值
-            EnumWrapper enumWrapper = EnumWrapper.of(value.getClass());
-            // 如果是使用注解标识枚举实际值，则直接获取实际值，但如果是依靠全局枚举TypeHandler处理，则此处只能先存入枚举实例，在SQL执行时才能处理实际值
-            value = enumWrapper.hasEnumValueAnnotation() ? enumWrapper.getEnumValue((Enum) value) : value;
-            paras.add(value);
+            writer.addParam(getEnumValue(value));
         } else {
-            paras.add(value);
+            writer.addParam(value);
         }
 
     }
 
+    @SuppressWarnings("all")
+    static Object getEnumValue(Object value) {
+        if (!(value instanceof Enum)) {
+            return value;
+        }
+        // 枚举类型，处理枚举实际值
+        EnumWrapper enumWrapper = EnumWrapper.of(value.getClass());
+        // 如果是使用注解标识枚举实际值，则直接获取实际值，但如果是依靠全局枚举TypeHandler处理，则此处只能先存入枚举实例，在SQL执行时才能处理实际值
+        return enumWrapper.hasEnumValueAnnotation() ? enumWrapper.getEnumValue((Enum) value) : value;
+    }
+
     static String buildValue(List<QueryTable> queryTables,Object value) {
         return switch (value) {
             case Number num -> String.valueOf(value);
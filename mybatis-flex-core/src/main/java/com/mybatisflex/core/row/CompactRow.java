@@ -0,0 +1,732 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.row;
+
+import com.mybatisflex.core.util.StringUtil;
+
+import java.io.Serial;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SequencedCollection;
+import java.util.SequencedMap;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 紧凑的 {@link Row}，用于大量数据的查询结果。
+ *
+ * <p>同一个结果集的所有行共享一个不可变的列头 {@link Header}，每行只保存一个 {@code Object[]}，
+ * 列头中预先计算了忽略大小写以及下划线、中划线的索引，{@link #getIgnoreCase(String)} 无需遍历所有的 key。
+ *
+ * <p>不保留 null 值且结果集中存在重复的列名时，重复列的 key 与之前的同名列是否有值有关，
+ * 与列头不一致的行（见 {@link Header#matches(Object[])}）仍然使用普通的 {@link Row}。
+ *
+ * <p>读取操作直接访问数组；第一次对其进行结构性的修改（例如 put、remove、clear）时，
+ * 会把数据复制到父类的 {@link java.util.LinkedHashMap} 中，之后与普通的 {@link Row} 完全一致。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class CompactRow extends Row {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient Header header;
+    private transient Object[] values;
+    private transient int size;
+
+    /**
+     * 创建紧凑的 Row。
+     *
+     * @param header 列头
+     * @param values 与列头 key 顺序一致的值，数组不会被复制
+     */
+    public CompactRow(Header header, Object[] values) {
+        if (values.length != header.keys.length) {
+            throw new IllegalArgumentException("The length of values must be " + header.keys.length + ", but got " + values.length);
+        }
+        this.header = header;
+        this.values = values;
+        int count = 0;
+        for (Object value : values) {
+            if (value != null || header.keepNulls) {
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    /**
+     * 是否仍为紧凑模式，即没有发生过结构性的修改。
+     */
+    public boolean isCompact() {
+        return values != null;
+    }
+
+    private boolean isPresent(Object value) {
+        return value != null || header.keepNulls;
+    }
+
+    /**
+     * 把数据复制到父类中，之后按照普通的 Row 进行处理。
+     */
+    private void inflate() {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return;
+        }
+        this.values = null;
+        String[] keys = header.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (compactValues[i] != null || header.keepNulls) {
+                super.putDirectly(keys[i], compactValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return values != null ? size : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values != null ? size == 0 : super.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return super.containsKey(key);
+        }
+        int index = header.indexOf(key);
+        return index >= 0 && isPresent(compactValues[index]);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return super.containsValue(value);
+        }
+        for (Object v : compactValues) {
+            if (isPresent(v) && Objects.equals(v, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return super.get(key);
+        }
+        int index = header.indexOf(key);
+        return index >= 0 ? compactValues[index] : null;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return super.getOrDefault(key, defaultValue);
+        }
+        int index = header.indexOf(key);
+        return index >= 0 && isPresent(compactValues[index]) ? compactValues[index] : defaultValue;
+    }
+
+    @Override
+    public Object getIgnoreCase(String key) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            return super.getIgnoreCase(key);
+        }
+        int index = header.indexOf(key);
+        if (index < 0 || compactValues[index] == null) {
+            index = header.indexOfIgnoreCase(key);
+        }
+        return index >= 0 ? compactValues[index] : null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        Object[] compactValues = this.values;
+        if (compactValues == null) {
+            super.forEach(action);
+            return;
+        }
+        String[] keys = header.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (isPresent(compactValues[i])) {
+                action.accept(keys[i], compactValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (values == null) {
+            return super.keySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                CompactIterator iterator = new CompactIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return header.keys[iterator.nextIndex()];
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        if (values == null) {
+            return super.values();
+        }
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                CompactIterator iterator = new CompactIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        return iterator.values[iterator.nextIndex()];
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (values == null) {
+            return super.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                CompactIterator iterator = new CompactIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        return new CompactEntry(iterator.values, iterator.nextIndex());
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+        };
+    }
+
+
+    // 以下为结构性的修改，先转换为普通的 Row
+
+    @Override
+    Object putDirectly(String key, Object value) {
+        inflate();
+        return super.putDirectly(key, value);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        inflate();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        inflate();
+        super.putAll(m);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        inflate();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        inflate();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        inflate();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        inflate();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        inflate();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+        inflate();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        inflate();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+        inflate();
+        super.clear();
+    }
+
+    @Override
+    public void keep(String... columns) {
+        inflate();
+        super.keep(columns);
+    }
+
+    @Override
+    public void keep(Set<String> columns) {
+        inflate();
+        super.keep(columns);
+    }
+
+    @Override
+    public Object putFirst(String key, Object value) {
+        inflate();
+        return super.putFirst(key, value);
+    }
+
+    @Override
+    public Object putLast(String key, Object value) {
+        inflate();
+        return super.putLast(key, value);
+    }
+
+    @Override
+    public Map.Entry<String, Object> firstEntry() {
+        inflate();
+        return super.firstEntry();
+    }
+
+    @Override
+    public Map.Entry<String, Object> lastEntry() {
+        inflate();
+        return super.lastEntry();
+    }
+
+    @Override
+    public Map.Entry<String, Object> pollFirstEntry() {
+        inflate();
+        return super.pollFirstEntry();
+    }
+
+    @Override
+    public Map.Entry<String, Object> pollLastEntry() {
+        inflate();
+        return super.pollLastEntry();
+    }
+
+    @Override
+    public SequencedMap<String, Object> reversed() {
+        inflate();
+        return super.reversed();
+    }
+
+    @Override
+    public SequencedSet<String> sequencedKeySet() {
+        inflate();
+        return super.sequencedKeySet();
+    }
+
+    @Override
+    public SequencedCollection<Object> sequencedValues() {
+        inflate();
+        return super.sequencedValues();
+    }
+
+    @Override
+    public SequencedSet<Map.Entry<String, Object>> sequencedEntrySet() {
+        inflate();
+        return super.sequencedEntrySet();
+    }
+
+    /**
+     * 复制为普通的 Row。
+     */
+    @Override
+    public Object clone() {
+        Row row = new Row();
+        forEach(row::putDirectly);
+        Set<RowKey> primaryKeys = getPrimaryKeys();
+        if (!primaryKeys.isEmpty()) {
+            row.setPrimaryKeys(new HashSet<>(primaryKeys));
+        }
+        return row;
+    }
+
+    /**
+     * 序列化为普通的 Row，父类 HashMap 的序列化只会写出其自身保存的数据。
+     */
+    @Serial
+    private Object writeReplace() {
+        return clone();
+    }
+
+
+    /**
+     * 按列头顺序遍历存在的值，遍历时删除元素会转换为普通的 Row，之后继续遍历之前的数据。
+     */
+    private class CompactIterator {
+
+        private final Object[] values = CompactRow.this.values;
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int from) {
+            int i = from;
+            while (i < values.length && !isPresent(values[i])) {
+                i++;
+            }
+            return i;
+        }
+
+        boolean hasNext() {
+            return next < values.length;
+        }
+
+        int nextIndex() {
+            if (next >= values.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return last;
+        }
+
+        void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            inflate();
+            CompactRow.super.remove(header.keys[last]);
+            last = -1;
+        }
+
+    }
+
+    private class CompactEntry implements Map.Entry<String, Object> {
+
+        private final Object[] values;
+        private final int index;
+
+        CompactEntry(Object[] values, int index) {
+            this.values = values;
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return header.keys[index];
+        }
+
+        @Override
+        public Object getValue() {
+            return CompactRow.this.values == values ? values[index] : CompactRow.this.get(getKey());
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (CompactRow.this.values == values && (value != null || header.keepNulls)) {
+                Object old = values[index];
+                values[index] = value;
+                return old;
+            }
+            return CompactRow.this.putDirectly(getKey(), value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+    }
+
+
+    /**
+     * 同一个结果集的所有行共享的列头。
+     */
+    public static final class Header {
+
+        private final String[] keys;
+        private final int[] slots;
+        private final boolean keepNulls;
+        /**
+         * 不保留 null 值且存在重复列时，每一列同名 key 以及 {@code key$1} 的位置，否则为 {@code null}。
+         */
+        private final int[] nameSlots;
+        private final int[] aliasSlots;
+        private final Map<String, Integer> index;
+        private final Map<String, Integer> ignoreCaseIndex;
+
+        private Header(String[] keys, int[] slots, boolean keepNulls, int[] nameSlots, int[] aliasSlots) {
+            this.keys = keys;
+            this.slots = slots;
+            this.keepNulls = keepNulls;
+            this.nameSlots = nameSlots;
+            this.aliasSlots = aliasSlots;
+            this.index = new HashMap<>(keys.length * 2);
+            this.ignoreCaseIndex = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                index.put(keys[i], i);
+                ignoreCaseIndex.putIfAbsent(normalize(keys[i]), i);
+            }
+        }
+
+        /**
+         * 根据结果集的列名创建列头，重复的列名与 {@link Row#put(String, Object)} 的处理方式一致。
+         *
+         * <p>不保留 null 值时，重复列的 key 取决于之前的同名列是否有值，列头按照所有列都有值计算，
+         * 需要通过 {@link #matches(Object[])} 判断某一行是否可以使用该列头。
+         *
+         * @param keepNulls 是否保留值为 {@code null} 的列，不保留时与普通 Row 不设置 null 值的行为一致
+         * @param columns   结果集的列名
+         * @return 列头
+         */
+        public static Header of(boolean keepNulls, String... columns) {
+            Map<String, Integer> slotMap = new HashMap<>(columns.length * 2);
+            String[] keys = new String[columns.length];
+            int[] slots = new int[columns.length];
+            int count = 0;
+            boolean duplicated = false;
+            for (int i = 0; i < columns.length; i++) {
+                String column = columns[i];
+                Integer slot = slotMap.get(column);
+                if (slot != null) {
+                    duplicated = true;
+                    String newKey = column + RowUtil.INDEX_SEPARATOR + 1;
+                    Integer newSlot = slotMap.get(newKey);
+                    if (newSlot == null) {
+                        column = newKey;
+                    } else {
+                        slots[i] = slot;
+                        continue;
+                    }
+                }
+                slotMap.put(column, count);
+                keys[count] = column;
+                slots[i] = count++;
+            }
+            String[] uniqueKeys = new String[count];
+            System.arraycopy(keys, 0, uniqueKeys, 0, count);
+            if (!duplicated || keepNulls) {
+                return new Header(uniqueKeys, slots, keepNulls, null, null);
+            }
+
+            int[] nameSlots = new int[columns.length];
+            int[] aliasSlots = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                nameSlots[i] = slotMap.get(columns[i]);
+                aliasSlots[i] = slotMap.getOrDefault(columns[i] + RowUtil.INDEX_SEPARATOR + 1, -1);
+            }
+            return new Header(uniqueKeys, slots, false, nameSlots, aliasSlots);
+        }
+
+        /**
+         * 是否需要通过 {@link #matches(Object[])} 逐行判断，即不保留 null 值且存在重复的列名。
+         */
+        public boolean isNullSensitive() {
+            return nameSlots != null;
+        }
+
+        /**
+         * 按照 {@link Row#put(String, Object)} 的规则依次放入有值的列，判断结果（包括 key 的顺序）是否与列头一致。
+         * 不一致时（之前的同名列为 {@code null}），该行需要使用普通的 {@link Row}。
+         *
+         * @param columnValues 与结果集列顺序一致的值
+         * @return 是否可以按照 {@link #slotOf(int)} 构建紧凑的 Row
+         */
+        public boolean matches(Object[] columnValues) {
+            if (nameSlots == null) {
+                return true;
+            }
+            boolean[] present = new boolean[keys.length];
+            int lastSlot = -1;
+            for (int i = 0; i < columnValues.length; i++) {
+                if (columnValues[i] == null) {
+                    continue;
+                }
+                int slot = nameSlots[i];
+                if (present[slot]) {
+                    int aliasSlot = aliasSlots[i];
+                    if (aliasSlot >= 0 && !present[aliasSlot]) {
+                        slot = aliasSlot;
+                    }
+                }
+                if (slot != slots[i]) {
+                    return false;
+                }
+                if (!present[slot]) {
+                    // Row 中 key 的顺序为第一次放入的顺序，需要与列头中的顺序一致
+                    if (slot < lastSlot) {
+                        return false;
+                    }
+                    lastSlot = slot;
+                    present[slot] = true;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 去重后 key 的数量，即每行数组的长度。
+         */
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * 获取结果集第 {@code columnIndex} 列（从 0 开始）在数组中的位置。
+         */
+        public int slotOf(int columnIndex) {
+            return slots[columnIndex];
+        }
+
+        int indexOf(Object key) {
+            Integer i = index.get(key);
+            return i != null ? i : -1;
+        }
+
+        int indexOfIgnoreCase(String key) {
+            Integer i = ignoreCaseIndex.get(normalize(key));
+            return i != null ? i : -1;
+        }
+
+        private static String normalize(String key) {
+            return StringUtil.deleteChar(key, '_', '-').toLowerCase(Locale.ENGLISH);
+        }
+
+    }
+
+}
@@ -17,6 +17,7 @@ package com.mybatisflex.core.row;
 
 import com.mybatisflex.core.FlexGlobalConfig;
 import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.mybatis.FlexSession;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.CPI;
 import com.mybatisflex.core.query.QueryCondition;
@@ -517,6 +518,39 @@ public class Db {
         return invoker().executeBatch(datas, batchSize, mapperClass, consumer);
     }
 
+
+    /**
+     * 流水线批量执行，在执行上一批次的同时构建下一批次的参数，适合大量数据的导入。
+     *
+     * @param totalSize   执行总量
+     * @param batchSize   每一批次的数据量
+     * @param mapperClass 通过那个 Mapper 来执行
+     * @param consumer    执行内容
+     * @param <M>         Mapper
+     * @return 执行影响的行数
+     * @see com.mybatisflex.core.batch.PipelinedBatchWriter
+     */
+    public static <M> int[] executeBatchPipelined(int totalSize, int batchSize, Class<M> mapperClass, BiConsumer<M, Integer> consumer) {
+        return invoker().executeBatchPipelined(totalSize, batchSize, mapperClass, consumer);
+    }
+
+
+    /**
+     * 流水线批量执行，在执行上一批次的同时构建下一批次的参数，适合大量数据的导入。
+     *
+     * @param datas       数据
+     * @param batchSize   每批次执行多少条
+     * @param mapperClass mapper 类
+     * @param consumer    消费者
+     * @param <M>         mapper
+     * @param <E>         数据类型
+     * @return 返回每条执行是否成功的结果
+     * @see com.mybatisflex.core.batch.PipelinedBatchWriter
+     */
+    public static <M, E> int[] executeBatchPipelined(Collection<E> datas, int batchSize, Class<M> mapperClass, BiConsumer<M, E> consumer) {
+        return invoker().executeBatchPipelined(datas, batchSize, mapperClass, consumer);
+    }
+
     /**
      * 根据 sql 来查询 1 条数据
      *
@@ -1149,6 +1183,25 @@ public class Db {
     }
 
 
+    /**
+     * 在会话中执行多次数据库操作，会话内的操作共用同一个 SqlSession 以及连接，结束时统一关闭，详情参考 {@link FlexSession}
+     */
+    public static <T> @Nullable T session(Supplier<T> supplier) {
+        try (FlexSession ignored = FlexSession.open()) {
+            return supplier.get();
+        }
+    }
+
+    /**
+     * 在会话中执行多次数据库操作，会话内的操作共用同一个 SqlSession 以及连接，结束时统一关闭，详情参考 {@link FlexSession}
+     */
+    public static void session(Runnable runnable) {
+        try (FlexSession ignored = FlexSession.open()) {
+            runnable.run();
+        }
+    }
+
+
     /**
      * 进行事务操作，返回 null 或者 false 或者 抛出异常，事务回滚
      */
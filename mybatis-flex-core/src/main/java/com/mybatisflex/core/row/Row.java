@@ -123,9 +123,9 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
         SqlUtil.keepColumnSafely(property);
 
         if (value instanceof QueryWrapper || value instanceof QueryCondition || value instanceof QueryColumn) {
-            super.put(property, new RawValue(value));
+            putDirectly(property, new RawValue(value));
         } else {
-            super.put(property, value);
+            putDirectly(property, value);
         }
 
         return this;
@@ -138,9 +138,9 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
         }
 
         if (value instanceof QueryWrapper || value instanceof QueryCondition || value instanceof QueryColumn) {
-            super.put(property.getName(), new RawValue(value));
+            putDirectly(property.getName(), new RawValue(value));
         } else {
-            super.put(property.getName(), value);
+            putDirectly(property.getName(), value);
         }
 
         return this;
@@ -153,9 +153,9 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
         }
 
         if (value instanceof QueryWrapper || value instanceof QueryCondition || value instanceof QueryColumn) {
-            super.put(LambdaUtil.getFieldName(property), new RawValue(value));
+            putDirectly(LambdaUtil.getFieldName(property), new RawValue(value));
         } else {
-            super.put(LambdaUtil.getFieldName(property), value);
+            putDirectly(LambdaUtil.getFieldName(property), value);
         }
 
         return this;
@@ -268,12 +268,12 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
     }
 
     public Object get(String key, Object defaultValue) {
-        Object result = super.get(key);
+        Object result = get(key);
         return result != null ? result : defaultValue;
     }
 
     public Object getIgnoreCase(String key) {
-        Object result = super.get(key);
+        Object result = get(key);
         if (result != null) {
             return result;
         }
@@ -281,7 +281,7 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
         String newKey = StringUtil.deleteChar(key, '_', '-');
         for (String innerKey : keySet()) {
             if (newKey.equalsIgnoreCase(StringUtil.deleteChar(innerKey, '_', '-'))) {
-                return super.get(innerKey);
+                return get(innerKey);
             }
         }
         return null;
@@ -294,6 +294,13 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
     }
 
 
+    /**
+     * 直接设置值，不对重复的 key 进行处理。
+     */
+    Object putDirectly(String key, Object value) {
+        return super.put(key, value);
+    }
+
     @Override
     public Object put(String key, Object value) {
         if (!containsKey(key)) {
@@ -311,13 +318,13 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
 
 
     public String getString(String key) {
-        Object s = super.get(key);
+        Object s = get(key);
         return s != null ? s.toString() : null;
     }
 
 
     public String getString(String key, String defaultValue) {
-        Object s = super.get(key);
+        Object s = get(key);
         if (s == null) {
             return defaultValue;
         }
@@ -326,120 +333,120 @@ public class Row extends LinkedHashMap<String, Object> implements UpdateWrapper<
     }
 
     public Integer getInt(String key) {
-        return ConvertUtil.toInt(super.get(key));
+        return ConvertUtil.toInt(get(key));
     }
 
     public Integer getInt(String key, Integer defaultValue) {
-        Integer r = ConvertUtil.toInt(super.get(key));
+        Integer r = ConvertUtil.toInt(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Long getLong(String key) {
-        return ConvertUtil.toLong(super.get(key));
+        return ConvertUtil.toLong(get(key));
     }
 
     public Long getLong(String key, Long defaultValue) {
-        Long r = ConvertUtil.toLong(super.get(key));
+        Long r = ConvertUtil.toLong(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Double getDouble(String key) {
-        return ConvertUtil.toDouble(super.get(key));
+        return ConvertUtil.toDouble(get(key));
     }
 
     public Double getDouble(String key, Double defaultValue) {
-        Double r = ConvertUtil.toDouble(super.get(key));
+        Double r = ConvertUtil.toDouble(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Float getFloat(String key, Float defaultValue) {
-        Float r = ConvertUtil.toFloat(super.get(key));
+        Float r = ConvertUtil.toFloat(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Float getFloat(String key) {
-        return ConvertUtil.toFloat(super.get(key));
+        return ConvertUtil.toFloat(get(key));
     }
 
 
     public Short getShort(String key, Short defaultValue) {
-        Short r = ConvertUtil.toShort(super.get(key));
+        Short r = ConvertUtil.toShort(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Short getShort(String key) {
-        return ConvertUtil.toShort(super.get(key));
+        return ConvertUtil.toShort(get(key));
     }
 
     public BigInteger getBigInteger(String key) {
-        return ConvertUtil.toBigInteger(super.get(key));
+        return ConvertUtil.toBigInteger(get(key));
     }
 
     public BigInteger getBigInteger(String key, BigInteger defaultValue) {
-        BigInteger r = ConvertUtil.toBigInteger(super.get(key));
+        BigInteger r = ConvertUtil.toBigInteger(get(key));
         return r != null ? r : defaultValue;
     }
 
     public BigDecimal getBigDecimal(String key) {
-        return ConvertUtil.toBigDecimal(super.get(key));
+        return ConvertUtil.toBigDecimal(get(key));
     }
 
     public BigDecimal getBigDecimal(String key, BigDecimal defaultValue) {
-        BigDecimal r = ConvertUtil.toBigDecimal(super.get(key));
+        BigDecimal r = ConvertUtil.toBigDecimal(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Boolean getBoolean(String key) {
-        return ConvertUtil.toBoolean(super.get(key));
+        return ConvertUtil.toBoolean(get(key));
     }
 
     public Boolean getBoolean(String key, Boolean defaultValue) {
-        Boolean r = ConvertUtil.toBoolean(super.get(key));
+        Boolean r = ConvertUtil.toBoolean(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Date getDate(String key) {
-        return ConvertUtil.toDate(super.get(key));
+        return ConvertUtil.toDate(get(key));
     }
 
     public Date getDate(String key, Date defaultValue) {
-        Date r = ConvertUtil.toDate(super.get(key));
+        Date r = ConvertUtil.toDate(get(key));
         return r != null ? r : defaultValue;
     }
 
     public LocalDateTime getLocalDateTime(String key) {
-        return ConvertUtil.toLocalDateTime(super.get(key));
+        return ConvertUtil.toLocalDateTime(get(key));
     }
 
     public LocalDateTime getLocalDateTime(String key, LocalDateTime defaultValue) {
-        LocalDateTime r = ConvertUtil.toLocalDateTime(super.get(key));
+        LocalDateTime r = ConvertUtil.toLocalDateTime(get(key));
         return r != null ? r : defaultValue;
     }
 
     public Time getTime(String key) {
-        return (Time) super.get(key);
+        return (Time) get(key);
     }
 
     public Time getTime(String key, Time defaultValue) {
-        Time r = (Time) super.get(key);
+        Time r = (Time) get(key);
         return r != null ? r : defaultValue;
     }
 
     public Timestamp getTimestamp(String key) {
-        return (Timestamp) super.get(key);
+        return (Timestamp) get(key);
     }
 
     public Timestamp getTimestamp(String key, Timestamp defaultValue) {
-        Timestamp r = (Timestamp) super.get(key);
+        Timestamp r = (Timestamp) get(key);
         return r != null ? r : defaultValue;
     }
 
     public Byte getByte(String key) {
-        return ConvertUtil.toByte(super.get(key));
+        return ConvertUtil.toByte(get(key));
     }
 
     public byte[] getBytes(String key) {
-        return (byte[]) super.get(key);
+        return (byte[]) get(key);
     }
 
     @Override
@@ -15,19 +15,31 @@
  */
 package com.mybatisflex.core.row;
 
+import com.mybatisflex.core.FlexGlobalConfig;
+import com.mybatisflex.core.batch.BatchContext;
+import com.mybatisflex.core.batch.BatchPolicy;
+import com.mybatisflex.core.batch.PipelinedBatchWriter;
+import com.mybatisflex.core.mybatis.FlexSession;
 import com.mybatisflex.core.mybatis.MappedStatementTypes;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
+import org.apache.ibatis.executor.BatchExecutorException;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 public class RowMapperInvoker {
 
@@ -38,6 +50,11 @@ public class RowMapperInvoker {
     }
 
     protected <R> R execute(Function<RowMapper, R> function) {
+        SqlSession boundSqlSession = FlexSession.getSqlSession(sqlSessionFactory, sqlSessionFactory.getConfiguration().getDefaultExecutorType());
+        if (boundSqlSession != null) {
+            return executeInSession(boundSqlSession, function);
+        }
+
         Class<?> currentType = MappedStatementTypes.getCurrentType();
         if (currentType == null) {
             try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
@@ -55,6 +72,22 @@ public class RowMapperInvoker {
         }
     }
 
+    private <R> R executeInSession(SqlSession sqlSession, Function<RowMapper, R> function) {
+        Class<?> currentType = MappedStatementTypes.getCurrentType();
+        if (currentType != null) {
+            MappedStatementTypes.clear();
+        }
+        try {
+            RowMapper mapper = sqlSession.getMapper(RowMapper.class);
+            return function.apply(mapper);
+        } finally {
+            sqlSession.clearCache();
+            if (currentType != null) {
+                MappedStatementTypes.setCurrentType(currentType);
+            }
+        }
+    }
+
     public int insert(String schema, String tableName, Row row) {
         return execute(mapper -> mapper.insert(schema, tableName, row));
     }
@@ -95,70 +128,136 @@ public class RowMapperInvoker {
 
 
     public <M, E> int[] executeBatch(Collection<E> datas, int batchSize, Class<M> mapperClass, BiConsumer<M, E> consumer) {
-        int[] results = new int[datas.size()];
-        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, true)) {
-            M mapper = sqlSession.getMapper(mapperClass);
-            int counter = 0;
-            int resultsPos = 0;
-            for (E data : datas) {
-                consumer.accept(mapper, data);
-                if (++counter == batchSize) {
-                    counter = 0;
-                    List<BatchResult> batchResults = sqlSession.flushStatements();
-                    for (BatchResult batchResult : batchResults) {
-                        int[] updateCounts = batchResult.getUpdateCounts();
-                        for (int updateCount : updateCounts) {
-                            results[resultsPos++] = updateCount;
-                        }
-                    }
-                }
-            }
-            if (counter != 0) {
-                List<BatchResult> batchResults = sqlSession.flushStatements();
-                for (BatchResult batchResult : batchResults) {
-                    int[] updateCounts = batchResult.getUpdateCounts();
-                    for (int updateCount : updateCounts) {
-                        results[resultsPos++] = updateCount;
-                    }
-                }
-            }
-        }
-        return results;
+        return executeBatch(datas.iterator(), datas.size(), batchSize, mapperClass, consumer);
     }
 
 
     public <M> int[] executeBatch(int totalSize, int batchSize, Class<M> mapperClass, BiConsumer<M, Integer> consumer) {
+        return executeBatch(IntStream.range(0, totalSize).iterator(), totalSize, batchSize, mapperClass, consumer);
+    }
+
+
+    public <M, E> int[] executeBatchPipelined(Collection<E> datas, int batchSize, Class<M> mapperClass, BiConsumer<M, E> consumer) {
+        return new PipelinedBatchWriter(sqlSessionFactory, getBatchPolicy())
+            .execute(datas.iterator(), datas.size(), batchSize, mapperClass, consumer);
+    }
+
+
+    public <M> int[] executeBatchPipelined(int totalSize, int batchSize, Class<M> mapperClass, BiConsumer<M, Integer> consumer) {
+        return new PipelinedBatchWriter(sqlSessionFactory, getBatchPolicy())
+            .execute(IntStream.range(0, totalSize).iterator(), totalSize, batchSize, mapperClass, consumer);
+    }
+
+
+    private <M, E> int[] executeBatch(Iterator<E> datas, int totalSize, int batchSize, Class<M> mapperClass, BiConsumer<M, E> consumer) {
         int[] results = new int[totalSize];
+        BatchPolicy policy = getBatchPolicy();
+        boolean estimateBytes = policy != null && policy.isEstimateBytes();
+        Object previousContext = estimateBytes ? BatchContext.begin() : null;
         try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, true)) {
             M mapper = sqlSession.getMapper(mapperClass);
-            int counter = 0;
-            int resultsPos = 0;
-            for (int i = 0; i < totalSize; i++) {
-                consumer.accept(mapper, i);
-                if (++counter == batchSize) {
-                    counter = 0;
-                    List<BatchResult> batchResults = sqlSession.flushStatements();
-                    for (BatchResult batchResult : batchResults) {
-                        int[] updateCounts = batchResult.getUpdateCounts();
-                        for (int updateCount : updateCounts) {
-                            results[resultsPos++] = updateCount;
-                        }
+            BatchState<E> state = new BatchState<>(results);
+            while (true) {
+                boolean hasNext = !state.replay.isEmpty() || datas.hasNext();
+                if (hasNext) {
+                    E data = state.replay.isEmpty() ? datas.next() : state.replay.poll();
+                    consumer.accept(mapper, data);
+                    state.rows++;
+                    if (policy != null) {
+                        // 保留本批次的数据，刷新失败时可能需要重新执行
+                        state.pending.add(data);
                     }
                 }
+                if (state.rows == 0) {
+                    break;
+                }
+                if (!hasNext || state.rows == batchSize
+                    || (policy != null && policy.shouldFlush(state.rows, BatchContext.getBytes()))) {
+                    flush(sqlSession, policy, state);
+                }
+            }
+        } finally {
+            if (estimateBytes) {
+                BatchContext.end(previousContext);
+            }
+        }
+        return results;
+    }
 
+    private BatchPolicy getBatchPolicy() {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        FlexGlobalConfig globalConfig = configuration.getEnvironment() == null ? null : FlexGlobalConfig.getConfig(configuration);
+        if (globalConfig == null) {
+            globalConfig = FlexGlobalConfig.getDefaultConfig();
+        }
+        return globalConfig.getBatchPolicy();
+    }
+
+    private static <E> void flush(SqlSession sqlSession, BatchPolicy policy, BatchState<E> state) {
+        int rows = state.rows;
+        long bytes = BatchContext.getBytes();
+        BatchContext.reset();
+        state.rows = 0;
+        long start = System.nanoTime();
+        List<BatchResult> batchResults;
+        try {
+            batchResults = sqlSession.flushStatements();
+        } catch (RuntimeException e) {
+            if (policy != null && policy.onFailure(rows, bytes, e) && rows > 1 && isNothingApplied(e)) {
+                // 以调整后的批次大小重新执行该批次的数据
+                state.replay.addAll(0, state.pending);
+                state.pending.clear();
+                return;
             }
+            throw e;
+        }
+        if (policy != null) {
+            policy.onFlush(rows, bytes, System.nanoTime() - start);
+        }
+        state.pending.clear();
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            for (int updateCount : updateCounts) {
+                state.results[state.resultsPos++] = updateCount;
+            }
+        }
+    }
 
-            if (counter != 0) {
-                List<BatchResult> batchResults = sqlSession.flushStatements();
-                for (BatchResult batchResult : batchResults) {
-                    int[] updateCounts = batchResult.getUpdateCounts();
+    /**
+     * 批次中没有任何语句执行成功时，才可以安全地重新执行。
+     */
+    private static boolean isNothingApplied(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof BatchExecutorException batchExecutorException) {
+                if (!batchExecutorException.getSuccessfulBatchResults().isEmpty()) {
+                    return false;
+                }
+                int[] updateCounts = batchExecutorException.getBatchUpdateException().getUpdateCounts();
+                if (updateCounts != null) {
                     for (int updateCount : updateCounts) {
-                        results[resultsPos++] = updateCount;
+                        if (updateCount != Statement.EXECUTE_FAILED) {
+                            return false;
+                        }
                     }
                 }
+                return true;
             }
         }
-        return results;
+        return false;
+    }
+
+    private static class BatchState<E> {
+
+        private final int[] results;
+        private final List<E> pending = new ArrayList<>();
+        private final LinkedList<E> replay = new LinkedList<>();
+        private int rows;
+        private int resultsPos;
+
+        BatchState(int[] results) {
+            this.results = results;
+        }
+
     }
 
     public int updateById(String schema, String tableName, Row row) {
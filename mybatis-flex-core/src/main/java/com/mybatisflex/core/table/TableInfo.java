@@ -44,8 +44,12 @@ import com.mybatisflex.core.query.SelectQueryTable;
 import com.mybatisflex.core.query.SqlOperators;
 import com.mybatisflex.core.query.UnionWrapper;
 import com.mybatisflex.core.row.Row;
+import com.mybatisflex.core.handler.BaseJsonTypeHandler;
 import com.mybatisflex.core.tenant.TenantManager;
+import com.mybatisflex.core.update.EntitySnapshot;
+import com.mybatisflex.core.update.ModifyAttrsRecord;
 import com.mybatisflex.core.update.RawValue;
+import com.mybatisflex.core.update.SnapshotManager;
 import com.mybatisflex.core.update.UpdateWrapper;
 import com.mybatisflex.core.util.ArrayUtil;
 import com.mybatisflex.core.util.ClassUtil;
@@ -90,6 +94,8 @@ public class TableInfo {
     private String dataSource;
 
     private String comment;
+    // 是否缓存查询结果
+    private boolean queryCache;
     private String tableName; // 表名
     private Class<?> entityClass; // 实体类
     // 逻辑删除数据库列名
@@ -113,6 +119,13 @@ public class TableInfo {
     // 不参与 update 的列
     private String[] notUpdatableColumns = new String[0];
 
+    // 开启实体快照时，需要进行脏检查的列（JSON、集合等配置了 typeHandler 的列）
+    private String[] snapshotColumns = new String[0];
+
+    // UpdateEntity 中可以记录修改的属性以及对应的列，下标即为属性的序号
+    private String[] modifyAttrsProperties = new String[0];
+    private String[] modifyAttrsColumns = new String[0];
+
     // 默认查询列，排除 large 等字段
     private String[] defaultQueryColumns = new String[0];
     // 所有的字段，但除了主键的列
@@ -225,6 +238,14 @@ public class TableInfo {
         this.comment = comment;
     }
 
+    public boolean isQueryCache() {
+        return queryCache;
+    }
+
+    public void setQueryCache(boolean queryCache) {
+        this.queryCache = queryCache;
+    }
+
     public String getLogicDeleteColumnOrSkip() {
         return LogicDeleteManager.getLogicDeleteColumn(logicDeleteColumn);
     }
@@ -297,6 +318,14 @@ public class TableInfo {
         this.notUpdatableColumns = notUpdatableColumns;
     }
 
+    public String[] getSnapshotColumns() {
+        return snapshotColumns;
+    }
+
+    public void setSnapshotColumns(String[] snapshotColumns) {
+        this.snapshotColumns = snapshotColumns;
+    }
+
     public String[] getDefaultQueryColumns() {
         return defaultQueryColumns;
     }
@@ -429,6 +458,7 @@ public class TableInfo {
         List<String> columnNames = new ArrayList<>();
         List<String> notInsertableList = new ArrayList<>();
         List<String> notUpdatableList = new ArrayList<>();
+        List<String> snapshotList = new ArrayList<>();
         for (int i = 0; i < columnInfoList.size(); i++) {
             ColumnInfo columnInfo = columnInfoList.get(i);
             // 真正的字段（没有做忽略标识）
@@ -447,6 +477,9 @@ public class TableInfo {
                 if (!columnInfo.isUpdatable()) {
                     notUpdatableList.add(columnInfo.column);
                 }
+                if (isSnapshotColumn(columnInfo)) {
+                    snapshotList.add(columnInfo.column);
+                }
             }
         }
 
@@ -454,6 +487,22 @@ public class TableInfo {
         this.allColumns = ArrayUtil.concat(allColumns, columns);
         this.notInsertableColumns = notInsertableList.toArray(new String[0]);
         this.notUpdatableColumns = notUpdatableList.toArray(new String[0]);
+        this.snapshotColumns = snapshotList.toArray(new String[0]);
+        refreshModifyAttrs();
+    }
+
+    /**
+     * JSON 以及集合、Map、数组等通过 typeHandler 序列化的列，在开启实体快照后进行脏检查；
+     * 脱敏的列写入的是脱敏前的值，不做检查。
+     */
+    private static boolean isSnapshotColumn(ColumnInfo columnInfo) {
+        if (columnInfo.typeHandler == null || StringUtil.hasText(columnInfo.maskType)) {
+            return false;
+        }
+        Class<?> propertyType = columnInfo.propertyType;
+        return columnInfo.typeHandler instanceof BaseJsonTypeHandler
+            || (propertyType != null && (Collection.class.isAssignableFrom(propertyType)
+            || Map.class.isAssignableFrom(propertyType) || propertyType.isArray()));
     }
 
 
@@ -491,6 +540,19 @@ public class TableInfo {
         this.allColumns = ArrayUtil.concat(allColumns, primaryColumns);
         this.insertPrimaryKeys = insertIdFields.toArray(new String[0]);
         this.notInsertableColumns = notInsertableList.toArray(new String[0]);
+        refreshModifyAttrs();
+    }
+
+    private void refreshModifyAttrs() {
+        this.modifyAttrsProperties = propertyColumnMapping.keySet().toArray(new String[0]);
+        this.modifyAttrsColumns = propertyColumnMapping.values().toArray(new String[0]);
+    }
+
+    /**
+     * UpdateEntity 中可以记录修改的属性，下标即为 {@link ModifyAttrsRecord} 中属性的序号。
+     */
+    public String[] getModifyAttrsProperties() {
+        return modifyAttrsProperties;
     }
 
 
@@ -661,7 +723,9 @@ public class TableInfo {
             return Collections.emptyMap();
         }
 
-        Map<String, Object> updates = uw.getUpdates();
+        // RawValue 只能通过 set 方法设置，无需读取通过 setter 修改的属性
+        ModifyAttrsRecord record = uw.modifyAttrsRecord();
+        Map<String, Object> updates = record != null ? record.getUpdates() : uw.getUpdates();
         if (updates.isEmpty()) {
             return Collections.emptyMap();
         }
@@ -697,51 +761,36 @@ public class TableInfo {
      * @param ignoreNulls
      */
     public Set<String> obtainUpdateColumns(Object entity, boolean ignoreNulls, boolean includePrimary) {
-        MetaObject metaObject = EntityMetaObject.forObject(entity, reflectorFactory);
         Set<String> columns = new LinkedHashSet<>(); // 需使用 LinkedHashSet 保证 columns 的顺序
         boolean isIgnoreTenantCondition = TenantManager.isIgnoreTenantCondition();
-         if (entity instanceof UpdateWrapper uw) {
-            Map<String, Object> updates = uw.getUpdates();
-            if (updates.isEmpty()) {
+        if (entity instanceof UpdateWrapper uw) {
+            ModifyAttrsRecord record = uw.modifyAttrsRecord();
+            Map<String, Object> updates = record != null ? record.getUpdates() : uw.getUpdates();
+            if (record != null ? record.isEmpty() : updates.isEmpty()) {
                 return Collections.emptySet();
             }
-            for (String property : updates.keySet()) {
-
-                String column = getColumnByProperty(property);
-
-                if (onUpdateColumns != null && onUpdateColumns.containsKey(column)) {
-                    continue;
-                }
-
-                if (ArrayUtil.contains(notUpdatableColumns, column)) {
-                    continue;
-                }
-
-                // 忽略租户字段时 不要过滤租户字段
-                if (isIgnoreTenantCondition) {
-                    if (Objects.equals(column, versionColumn)) {
-                        continue;
+            // 通过 setter 修改的属性，直接按序号获取列
+            if (record != null) {
+                for (int ordinal = record.nextModified(0); ordinal >= 0; ordinal = record.nextModified(ordinal + 1)) {
+                    String column = modifyAttrsColumns[ordinal];
+                    if (!isSkipModifyAttrsColumn(column, includePrimary, isIgnoreTenantCondition, false)) {
+                        columns.add(column);
                     }
-                    // 过滤乐观锁字段 和 租户字段
-                } else if (ObjectUtil.equalsAny(column, versionColumn, tenantIdColumn)) {
-                    continue;
                 }
-
-                if (!includePrimary && ArrayUtil.contains(primaryColumns, column)) {
-                    continue;
-                }
-
-//                Object value = updates.get(property);
+            }
+            for (String property : updates.keySet()) {
+                String column = getColumnByProperty(property);
                 // ModifyAttrsRecord 忽略 ignoreNulls 的设置
-                // Object value = getPropertyValue(metaObject, property);
-                // if (ignoreNulls && value == null) {
-                //     continue;
-                // }
-                columns.add(column);
+                if (!isSkipModifyAttrsColumn(column, includePrimary, isIgnoreTenantCondition, false)) {
+                    columns.add(column);
+                }
             }
         }
         // not ModifyAttrsRecord
         else {
+            MetaObject metaObject = EntityMetaObject.forObject(entity, reflectorFactory);
+            // 按条件更新（updateByQuery）时不进行脏检查
+            EntitySnapshot snapshot = includePrimary ? null : SnapshotManager.getSnapshot(entity);
             for (String column : this.columns) {
                 if (onUpdateColumns != null && onUpdateColumns.containsKey(column)) {
                     continue;
@@ -766,6 +815,11 @@ public class TableInfo {
                     continue;
                 }
 
+                // 与快照相同的 JSON、集合字段无需更新
+                if (snapshot != null && snapshot.isUnchanged(column, value)) {
+                    continue;
+                }
+
                 columns.add(column);
             }
         }
@@ -782,80 +836,43 @@ public class TableInfo {
 
         List<Object> values = new ArrayList<>();
         boolean isIgnoreTenantCondition = TenantManager.isIgnoreTenantCondition();
-         if (entity instanceof UpdateWrapper uw) {
-            Map<String, Object> updates = uw.getUpdates();
-            if (updates.isEmpty()) {
+        if (entity instanceof UpdateWrapper uw) {
+            ModifyAttrsRecord record = uw.modifyAttrsRecord();
+            Map<String, Object> updates = record != null ? record.getUpdates() : uw.getUpdates();
+            if (record != null ? record.isEmpty() : updates.isEmpty()) {
                 return FlexConsts.EMPTY_ARRAY;
             }
-            for (String property : updates.keySet()) {
-
-                String column = getColumnByProperty(property);
-
-                if (onUpdateColumns != null && onUpdateColumns.containsKey(column)) {
-                    String onUpdateValue = onUpdateColumns.get(column);
-                    if (!onUpdateValue.contains("?")) {
-                        continue;
+            // 需与 obtainUpdateColumns 保持一致，先是通过 setter 修改的属性，再是通过 set 方法设置的内容
+            if (record != null) {
+                MetaObject metaObject = EntityMetaObject.forObject(entity, reflectorFactory);
+                for (int ordinal = record.nextModified(0); ordinal >= 0; ordinal = record.nextModified(ordinal + 1)) {
+                    String column = modifyAttrsColumns[ordinal];
+                    if (!isSkipModifyAttrsColumn(column, includePrimary, isIgnoreTenantCondition, true)) {
+                        addModifyAttrsSqlArg(values, column, getPropertyValue(metaObject, modifyAttrsProperties[ordinal]));
                     }
                 }
-
-                if (ArrayUtil.contains(notUpdatableColumns, column)) {
-                    continue;
-                }
-
-                // 忽略租户字段时 不要过滤租户字段
-                if (isIgnoreTenantCondition) {
-                    if (Objects.equals(column, versionColumn)) {
-                        continue;
-                    }
-                    // 过滤乐观锁字段 和 租户字段
-                } else if (ObjectUtil.equalsAny(column, versionColumn, tenantIdColumn)) {
-                    continue;
-                }
-
-                if (!includePrimary && ArrayUtil.contains(primaryColumns, column)) {
-                    continue;
-                }
-
-                Object value = updates.get(property);
-                if (value instanceof RawValue) {
-                    values.addAll(Arrays.asList(((RawValue) value).getParams()));
-                    continue;
-                }
-
-                if (value != null) {
-                    ColumnInfo columnInfo = columnInfoMapping.get(column);
-                    if (columnInfo != null) {
-                        var typeHandler = columnInfo.buildTypeHandler(null);
-                        if (typeHandler != null) {
-                            value = new TypeHandlerObject(typeHandler, value, columnInfo.getJdbcType());
-                        }
-                    }
-
-                    // fixed: https://gitee.com/mybatis-flex/mybatis-flex/issues/I7TFBK
-                    if (value.getClass().isEnum()) {
-                        EnumWrapper enumWrapper = EnumWrapper.of(value.getClass());
-                        value = enumWrapper.getEnumValue((Enum) value);
-                    }
+            }
+            for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                String column = getColumnByProperty(entry.getKey());
+                if (!isSkipModifyAttrsColumn(column, includePrimary, isIgnoreTenantCondition, true)) {
+                    addModifyAttrsSqlArg(values, column, entry.getValue());
                 }
-
-                // ModifyAttrsRecord 忽略 ignoreNulls 的设置，
-                // 当使用 ModifyAttrsRecord 时，可以理解为要对字段进行 null 值进行更新，否则没必要使用 ModifyAttrsRecord
-                // if (ignoreNulls && value == null) {
-                //    continue;
-                // }
-                values.add(value);
             }
         }
         // normal entity. not ModifyAttrsRecord
         else {
             MetaObject metaObject = EntityMetaObject.forObject(entity, reflectorFactory);
+            // 按条件更新（updateByQuery）时不进行脏检查
+            EntitySnapshot snapshot = includePrimary ? null : SnapshotManager.getSnapshot(entity);
 
             for (String column : this.columns) {
+                boolean isOnUpdateColumn = false;
                 if (onUpdateColumns != null && onUpdateColumns.containsKey(column)) {
                     String onUpdateValue = onUpdateColumns.get(column);
                     if (!onUpdateValue.contains("?")) {
                         continue;
                     }
+                    isOnUpdateColumn = true;
                 }
 
                 if (ArrayUtil.contains(notUpdatableColumns, column)) {
@@ -882,6 +899,11 @@ public class TableInfo {
                     continue;
                 }
 
+                // 需与 obtainUpdateColumns 保持一致
+                if (!isOnUpdateColumn && snapshot != null && snapshot.isUnchanged(column, value)) {
+                    continue;
+                }
+
                 values.add(value);
             }
         }
@@ -890,6 +912,63 @@ public class TableInfo {
     }
 
 
+    /**
+     * UpdateEntity 中修改的列是否不需要更新。
+     *
+     * @param forSqlArgs 是否用于构建参数，onUpdate 中含有参数的列需要保留其参数
+     */
+    private boolean isSkipModifyAttrsColumn(String column, boolean includePrimary, boolean isIgnoreTenantCondition, boolean forSqlArgs) {
+        if (onUpdateColumns != null && onUpdateColumns.containsKey(column)
+            && (!forSqlArgs || !onUpdateColumns.get(column).contains("?"))) {
+            return true;
+        }
+
+        if (ArrayUtil.contains(notUpdatableColumns, column)) {
+            return true;
+        }
+
+        // 忽略租户字段时 不要过滤租户字段
+        if (isIgnoreTenantCondition) {
+            if (Objects.equals(column, versionColumn)) {
+                return true;
+            }
+            // 过滤乐观锁字段 和 租户字段
+        } else if (ObjectUtil.equalsAny(column, versionColumn, tenantIdColumn)) {
+            return true;
+        }
+
+        return !includePrimary && ArrayUtil.contains(primaryColumns, column);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void addModifyAttrsSqlArg(List<Object> values, String column, Object value) {
+        if (value instanceof RawValue) {
+            values.addAll(Arrays.asList(((RawValue) value).getParams()));
+            return;
+        }
+
+        if (value != null) {
+            ColumnInfo columnInfo = columnInfoMapping.get(column);
+            if (columnInfo != null) {
+                var typeHandler = columnInfo.buildTypeHandler(null);
+                if (typeHandler != null) {
+                    value = new TypeHandlerObject(typeHandler, value, columnInfo.getJdbcType());
+                }
+            }
+
+            // fixed: https://gitee.com/mybatis-flex/mybatis-flex/issues/I7TFBK
+            if (value.getClass().isEnum()) {
+                EnumWrapper enumWrapper = EnumWrapper.of(value.getClass());
+                value = enumWrapper.getEnumValue((Enum) value);
+            }
+        }
+
+        // ModifyAttrsRecord 忽略 ignoreNulls 的设置，
+        // 当使用 ModifyAttrsRecord 时，可以理解为要对字段进行 null 值进行更新，否则没必要使用 ModifyAttrsRecord
+        values.add(value);
+    }
+
+
     /**
      * 构建主键的 sql 参数数据
      *
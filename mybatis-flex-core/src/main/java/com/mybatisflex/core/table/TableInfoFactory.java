@@ -114,6 +114,8 @@ public class TableInfoFactory {
     private static final Map<Class<?>, TableInfo> entityTableMap = new ConcurrentHashMap<>();
     private static final Map<String, TableInfo> tableInfoMap = new ConcurrentHashMap<>();
     private static final Set<String> initializedPackageNames = new HashSet<>();
+    private static final Set<Class<?>> pendingMapperClasses = ConcurrentHashMap.newKeySet();
+    private static final Set<String> pendingPackageNames = ConcurrentHashMap.newKeySet();
 
 
     /**
@@ -134,9 +136,62 @@ public class TableInfoFactory {
     }
 
 
+    /**
+     * 延迟初始化 Mapper 对应的 {@link TableInfo}，用于代替 {@link #init(String)} 的包扫描。
+     *
+     * <p>通过 {@link #ofMapperClass(Class)}、{@link #ofEntityClass(Class)} 获取时会按需构建，
+     * 通过 {@link #ofTableName(String)} 获取且未命中时，会一次性初始化全部待初始化的 Mapper 以及待扫描的包。
+     *
+     * @param mapperClass mapper 类
+     * @since 1.11.9
+     */
+    public static void addPendingMapperClass(@NonNull Class<?> mapperClass) {
+        if (!mapperTableInfoMap.containsKey(mapperClass)) {
+            pendingMapperClasses.add(mapperClass);
+        }
+    }
+
+    /**
+     * 延迟扫描 mapper 所在的包，用于代替启动时的 {@link #init(String)}。
+     *
+     * <p>通过 {@link #ofTableName(String)} 获取且未命中时才会扫描，
+     * 因此包中未注册到 MyBatis 的 mapper 对应的表，仍然可以通过表名获取到 {@link TableInfo}。
+     *
+     * @param mapperPackageName mapper 的包名
+     * @since 1.11.9
+     */
+    public static void addPendingPackage(@NonNull String mapperPackageName) {
+        if (!isPackageInitialized(mapperPackageName)) {
+            pendingPackageNames.add(mapperPackageName);
+        }
+    }
+
+    private synchronized static boolean isPackageInitialized(String mapperPackageName) {
+        return initializedPackageNames.contains(mapperPackageName);
+    }
+
+    private synchronized static void initPending() {
+        Iterator<Class<?>> iterator = pendingMapperClasses.iterator();
+        while (iterator.hasNext()) {
+            Class<?> mapperClass = iterator.next();
+            iterator.remove();
+            ofMapperClass(mapperClass);
+        }
+        Iterator<String> packageIterator = pendingPackageNames.iterator();
+        while (packageIterator.hasNext()) {
+            String packageName = packageIterator.next();
+            packageIterator.remove();
+            init(packageName);
+        }
+    }
+
+
     public static @Nullable TableInfo ofMapperClass(@NonNull Class<?> mapperClass) {
         return MapUtil.computeIfAbsent(mapperTableInfoMap, mapperClass, key -> {
-            Class<?> entityClass = getEntityClass(mapperClass);
+            Class<?> entityClass = TableInfoIndex.getInstance().getEntityClass(mapperClass);
+            if (entityClass == null) {
+                entityClass = getEntityClass(mapperClass);
+            }
             if (entityClass == null) {
                 return null;
             }
@@ -156,7 +211,22 @@ public class TableInfoFactory {
 
 
     public static @Nullable TableInfo ofTableName(@Nullable String tableName) {
-        return StringUtil.hasText(tableName) ? tableInfoMap.get(tableName) : null;
+        if (StringUtil.noText(tableName)) {
+            return null;
+        }
+        TableInfo tableInfo = tableInfoMap.get(tableName);
+        if (tableInfo == null) {
+            Class<?> entityClass = TableInfoIndex.getInstance().getEntityClassByTableName(tableName);
+            if (entityClass != null) {
+                ofEntityClass(entityClass);
+                tableInfo = tableInfoMap.get(tableName);
+            }
+        }
+        if (tableInfo == null && (!pendingMapperClasses.isEmpty() || !pendingPackageNames.isEmpty())) {
+            initPending();
+            tableInfo = tableInfoMap.get(tableName);
+        }
+        return tableInfo;
     }
 
 
@@ -230,6 +300,10 @@ public class TableInfoFactory {
 
 
     private static @NonNull TableInfo createTableInfo(@NonNull Class<?> entityClass) {
+        return createTableInfo(entityClass, TableInfoIndex.getInstance());
+    }
+
+    static @NonNull TableInfo createTableInfo(@NonNull Class<?> entityClass, @NonNull TableInfoIndex index) {
 
         TableInfo tableInfo = new TableInfo();
         tableInfo.setEntityClass(entityClass);
@@ -238,8 +312,11 @@ public class TableInfoFactory {
 
         FlexGlobalConfig config = FlexGlobalConfig.getDefaultConfig();
 
+        // 优先使用编译期生成的索引，避免扫描字段、方法以及读取注解
+        TableInfoIndexProvider.IndexedEntity indexedEntity = index.getEntity(entityClass, reflector);
+
         // 初始化表名
-        Table table = entityClass.getAnnotation(Table.class);
+        Table table = indexedEntity != null ? indexedEntity.getTable() : entityClass.getAnnotation(Table.class);
         if (table == null) {
             TableRef vo = entityClass.getAnnotation(TableRef.class);
             if (vo != null) {
@@ -273,6 +350,7 @@ public class TableInfoFactory {
             tableInfo.setTableName(table.value());
             tableInfo.setCamelToUnderline(table.camelToUnderline());
             tableInfo.setComment(table.comment());
+            tableInfo.setQueryCache(table.queryCache());
 
             if (table.onInsert().length > 0) {
                 List<InsertListener> insertListeners = Arrays.stream(table.onInsert())
@@ -324,14 +402,16 @@ public class TableInfoFactory {
         // 默认查询列
         Set<String> defaultQueryColumns = new LinkedHashSet<>();
 
-        List<Field> entityFields = getColumnFields(entityClass);
+        List<? extends EntityField> entityFields = indexedEntity != null
+            ? indexedEntity.getFields().stream().map(IndexField::new).collect(Collectors.toList())
+            : getColumnFields(entityClass).stream().map(ReflectField::new).collect(Collectors.toList());
 
         TypeHandlerRegistry typeHandlerRegistry = null;
         if (config.getConfiguration() != null) {
             typeHandlerRegistry = config.getConfiguration().getTypeHandlerRegistry();
         }
 
-        for (Field field : entityFields) {
+        for (EntityField field : entityFields) {
 
             Class<?> fieldType = reflector.getGetterType(field.getName());
 
@@ -348,7 +428,7 @@ public class TableInfoFactory {
                 continue;
             }
 
-            Column columnAnnotation = field.getAnnotation(Column.class);
+            Column columnAnnotation = field.getColumn(entityClass);
 
             /*
              * 满足以下 4 种情况，不支持该类型的属性自动映射为字段
@@ -368,12 +448,9 @@ public class TableInfoFactory {
                 }
                 // 集合嵌套
                 if (Collection.class.isAssignableFrom(fieldType)) {
-                    Type genericType = TypeParameterResolver.resolveFieldType(field, entityClass);
-                    if (genericType instanceof ParameterizedType pt) {
-                        Type actualTypeArgument = pt.getActualTypeArguments()[0];
-                        if (actualTypeArgument instanceof Class) {
-                            tableInfo.addCollectionType(field, (Class<?>) actualTypeArgument);
-                        }
+                    Class<?> elementType = field.getElementType(entityClass);
+                    if (elementType != null) {
+                        tableInfo.addCollectionType(field.getField(entityClass), elementType);
                     }
                 }
                 // 实体类嵌套
@@ -386,7 +463,7 @@ public class TableInfoFactory {
             }
 
             // 列名
-            String columnName = getColumnName(tableInfo.isCamelToUnderline(), field, columnAnnotation);
+            String columnName = getColumnName(tableInfo.isCamelToUnderline(), field.getName(), columnAnnotation);
 
             // 逻辑删除字段
             if ((columnAnnotation != null && columnAnnotation.isLogicDelete())
@@ -434,7 +511,7 @@ public class TableInfoFactory {
             }
 
             // 主键配置
-            Id id = field.getAnnotation(Id.class);
+            Id id = field.getId();
             ColumnInfo columnInfo;
             if (id != null) {
                 columnInfo = new IdInfo(id);
@@ -444,20 +521,9 @@ public class TableInfoFactory {
                 columnInfoList.add(columnInfo);
             }
 
-            ColumnAlias columnAlias = null;
-
-            // 属性上没有别名，查找 getter 方法上有没有别名
-            Method getterMethod = ClassUtil.getFirstMethod(entityClass, m -> ClassUtil.isGetterMethod(m, field.getName()));
-            if (getterMethod != null) {
-                columnAlias = getterMethod.getAnnotation(ColumnAlias.class);
-            }
-
-            if (columnAlias == null) {
-                columnAlias = field.getAnnotation(ColumnAlias.class);
-            }
-
-            if (columnAlias != null) {
-                columnInfo.setAlias(columnAlias.value());
+            String[] alias = field.getAlias(entityClass);
+            if (alias != null) {
+                columnInfo.setAlias(alias);
             }
 
             columnInfo.setColumn(columnName);
@@ -488,7 +554,7 @@ public class TableInfoFactory {
                 // 集合类型，支持泛型
                 // fixed https://gitee.com/mybatis-flex/mybatis-flex/issues/I7S2YE
                 if (Collection.class.isAssignableFrom(fieldType)) {
-                    typeHandler = createCollectionTypeHandler(entityClass, field, columnAnnotation.typeHandler(), fieldType);
+                    typeHandler = createCollectionTypeHandler(field.getElementType(entityClass), columnAnnotation.typeHandler(), fieldType);
                 }
 
                 // 非集合类型
@@ -510,12 +576,12 @@ public class TableInfoFactory {
             }
 
             // 数据脱敏配置
-            ColumnMask columnMask = field.getAnnotation(ColumnMask.class);
-            if (columnMask != null && StringUtil.hasText(columnMask.value())) {
+            String columnMask = field.getMask();
+            if (StringUtil.hasText(columnMask)) {
                 if (String.class != fieldType) {
                     throw new IllegalStateException("@ColumnMask() only support for string type field. error: " + entityClass.getName() + "." + field.getName());
                 }
-                columnInfo.setMaskType(columnMask.value().trim());
+                columnInfo.setMaskType(columnMask.trim());
             }
 
             // jdbcType 配置
@@ -559,21 +625,11 @@ public class TableInfoFactory {
      * 创建 typeHandler
      * 参考 {@link TypeHandlerRegistry#getInstance(Class, Class)}
      *
-     * @param entityClass
-     * @param field
+     * @param genericClass
      * @param typeHandlerClass
      * @param fieldType
      */
-    private static TypeHandler<?> createCollectionTypeHandler(Class<?> entityClass, Field field, Class<?> typeHandlerClass, Class<?> fieldType) {
-        Class<?> genericClass = null;
-        Type genericType = TypeParameterResolver.resolveFieldType(field, entityClass);
-        if (genericType instanceof ParameterizedType) {
-            Type actualTypeArgument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
-            if (actualTypeArgument instanceof Class) {
-                genericClass = (Class<?>) actualTypeArgument;
-            }
-        }
-
+    private static TypeHandler<?> createCollectionTypeHandler(Class<?> genericClass, Class<?> typeHandlerClass, Class<?> fieldType) {
         try {
             Constructor<?> constructor = typeHandlerClass.getConstructor(Class.class, Class.class);
             return (TypeHandler<?>) constructor.newInstance(fieldType, genericClass);
@@ -598,13 +654,17 @@ public class TableInfoFactory {
 
 
     static @NonNull String getColumnName(boolean isCamelToUnderline, @NonNull Field field, @Nullable Column column) {
+        return getColumnName(isCamelToUnderline, field.getName(), column);
+    }
+
+    private static @NonNull String getColumnName(boolean isCamelToUnderline, @NonNull String fieldName, @Nullable Column column) {
         if (column != null && StringUtil.hasText(column.value())) {
             return column.value();
         }
         if (isCamelToUnderline) {
-            return StringUtil.camelToUnderline(field.getName());
+            return StringUtil.camelToUnderline(fieldName);
         }
-        return field.getName();
+        return fieldName;
     }
 
 
@@ -703,7 +763,141 @@ public class TableInfoFactory {
         entityTableMap.clear();
         mapperTableInfoMap.clear();
         tableInfoMap.clear();
+        TableInfoIndex.reset();
         return total;
     }
 
+
+    /**
+     * 构建 {@link TableInfo} 所需的实体类字段信息，来源于反射或者编译期生成的 {@link TableInfoIndexProvider}。
+     */
+    interface EntityField {
+
+        String getName();
+
+        @Nullable Column getColumn(Class<?> entityClass);
+
+        @Nullable Id getId();
+
+        /**
+         * 获取列的别名，getter 方法上的 {@link ColumnAlias} 优先。
+         */
+        String @Nullable [] getAlias(Class<?> entityClass);
+
+        @Nullable String getMask();
+
+        /**
+         * 获取集合字段的泛型类型。
+         */
+        @Nullable Class<?> getElementType(Class<?> entityClass);
+
+        Field getField(Class<?> entityClass);
+
+    }
+
+
+    private record ReflectField(Field field) implements EntityField {
+
+        @Override
+        public String getName() {
+            return field.getName();
+        }
+
+        @Override
+        public Column getColumn(Class<?> entityClass) {
+            return field.getAnnotation(Column.class);
+        }
+
+        @Override
+        public Id getId() {
+            return field.getAnnotation(Id.class);
+        }
+
+        @Override
+        public String[] getAlias(Class<?> entityClass) {
+            ColumnAlias columnAlias = null;
+
+            // 属性上没有别名，查找 getter 方法上有没有别名
+            Method getterMethod = ClassUtil.getFirstMethod(entityClass, m -> ClassUtil.isGetterMethod(m, field.getName()));
+            if (getterMethod != null) {
+                columnAlias = getterMethod.getAnnotation(ColumnAlias.class);
+            }
+
+            if (columnAlias == null) {
+                columnAlias = field.getAnnotation(ColumnAlias.class);
+            }
+
+            return columnAlias != null ? columnAlias.value() : null;
+        }
+
+        @Override
+        public String getMask() {
+            ColumnMask columnMask = field.getAnnotation(ColumnMask.class);
+            return columnMask != null ? columnMask.value() : null;
+        }
+
+        @Override
+        public Class<?> getElementType(Class<?> entityClass) {
+            Type genericType = TypeParameterResolver.resolveFieldType(field, entityClass);
+            if (genericType instanceof ParameterizedType pt) {
+                Type actualTypeArgument = pt.getActualTypeArguments()[0];
+                if (actualTypeArgument instanceof Class) {
+                    return (Class<?>) actualTypeArgument;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Field getField(Class<?> entityClass) {
+            return field;
+        }
+
+    }
+
+
+    private record IndexField(TableInfoIndexProvider.IndexedField field) implements EntityField {
+
+        @Override
+        public String getName() {
+            return field.getName();
+        }
+
+        @Override
+        public Column getColumn(Class<?> entityClass) {
+            return field.getColumn();
+        }
+
+        @Override
+        public Id getId() {
+            return field.getId();
+        }
+
+        @Override
+        public String[] getAlias(Class<?> entityClass) {
+            return field.getAlias();
+        }
+
+        @Override
+        public String getMask() {
+            return field.getMask();
+        }
+
+        @Override
+        public Class<?> getElementType(Class<?> entityClass) {
+            return field.getElementType();
+        }
+
+        @Override
+        public Field getField(Class<?> entityClass) {
+            try {
+                return field.getDeclaringClass().getDeclaredField(field.getName());
+            } catch (NoSuchFieldException e) {
+                throw FlexExceptions.wrap(e, "Field \"%s\" not found in %s, the table info index is out of date."
+                    , field.getName(), field.getDeclaringClass().getName());
+            }
+        }
+
+    }
+
 }
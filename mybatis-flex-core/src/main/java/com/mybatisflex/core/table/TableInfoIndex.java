@@ -0,0 +1,181 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.table;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.table.TableInfoIndexProvider.IndexedEntity;
+import com.mybatisflex.core.util.ClassUtil;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.Reflector;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+/**
+ * 当前 ClassLoader 中全部 {@link TableInfoIndexProvider} 的汇总。
+ *
+ * <p>{@link TableInfoFactory} 优先从这里获取 Mapper 对应的实体类以及实体类的注解配置。以下情况认为索引已过期，
+ * 回退为反射解析：
+ * <ul>
+ *     <li>生成索引时 {@link Table}、{@link Column}、{@link Id} 注解的属性与运行时不一致，整个索引不再使用；</li>
+ *     <li>实体类当前的可读属性与生成索引时不一致（例如实体类被单独重新编译），只有该实体类不使用索引。</li>
+ * </ul>
+ * 两者都只比较字符串，前者在加载时计算一次，后者直接使用构建 {@link TableInfo} 时本来就需要的 {@link Reflector}。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+final class TableInfoIndex {
+
+    private static final Log log = LogFactory.getLog(TableInfoIndex.class);
+
+    /**
+     * 运行时注解的属性签名，例如 {@code Table(camelToUnderline:boolean,comment:java.lang.String,...)}，
+     * 属性按名称排序，类型为擦除泛型之后的规范名称。
+     */
+    static final String ANNOTATION_STAMP = buildAnnotationStamp(Table.class)
+        + buildAnnotationStamp(Column.class) + buildAnnotationStamp(Id.class);
+
+    private static volatile TableInfoIndex instance;
+
+    private final List<TableInfoIndexProvider> providers;
+
+    TableInfoIndex(List<TableInfoIndexProvider> providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * 获取当前 ClassLoader 中的索引。
+     */
+    static TableInfoIndex getInstance() {
+        TableInfoIndex index = instance;
+        if (index == null) {
+            synchronized (TableInfoIndex.class) {
+                index = instance;
+                if (index == null) {
+                    index = load(ClassUtil.getDefaultClassLoader());
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 丢弃已加载的索引，下次使用时重新加载。
+     */
+    static void reset() {
+        instance = null;
+    }
+
+    static TableInfoIndex load(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return new TableInfoIndex(Collections.emptyList());
+        }
+        List<TableInfoIndexProvider> providers = new ArrayList<>(1);
+        Iterator<TableInfoIndexProvider> iterator = ServiceLoader.load(TableInfoIndexProvider.class, classLoader).iterator();
+        while (true) {
+            TableInfoIndexProvider provider;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                provider = iterator.next();
+            } catch (ServiceConfigurationError e) {
+                // 生成索引的模块被移除等情况，跳过该索引
+                log.warn("Can not load mybatis-flex table info index: " + e.getMessage());
+                continue;
+            }
+            if (ANNOTATION_STAMP.equals(provider.getAnnotationStamp())) {
+                providers.add(provider);
+            } else {
+                log.warn("The table info index " + provider.getClass().getName()
+                    + " was generated by a different version of mybatis-flex, it will be ignored until recompiled.");
+            }
+        }
+        return new TableInfoIndex(providers);
+    }
+
+    boolean isEmpty() {
+        return providers.isEmpty();
+    }
+
+    /**
+     * 获取 Mapper 对应的实体类，索引中不存在时返回 {@code null}。
+     */
+    Class<?> getEntityClass(Class<?> mapperClass) {
+        for (TableInfoIndexProvider provider : providers) {
+            // 只使用与 Mapper 由同一个 ClassLoader 加载的索引，避免热加载等场景下返回其他 ClassLoader 中的实体类
+            if (provider.getClass().getClassLoader() != mapperClass.getClassLoader()) {
+                continue;
+            }
+            Class<?> entityClass = provider.getEntityClass(mapperClass.getName());
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取表名对应的实体类，索引中不存在时返回 {@code null}。
+     */
+    Class<?> getEntityClassByTableName(String tableName) {
+        for (TableInfoIndexProvider provider : providers) {
+            Class<?> entityClass = provider.getEntityClassByTableName(tableName);
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取实体类的索引信息，索引中不存在或者与实体类不一致时返回 {@code null}。
+     */
+    IndexedEntity getEntity(Class<?> entityClass, Reflector reflector) {
+        for (TableInfoIndexProvider provider : providers) {
+            IndexedEntity entity = provider.getEntity(entityClass.getName());
+            if (entity == null || entity.getEntityClass() != entityClass) {
+                continue;
+            }
+            // 实体类增加、删除或者重命名了字段，回退为反射解析
+            return entity.isSameProperties(reflector.getGetablePropertyNames()) ? entity : null;
+        }
+        return null;
+    }
+
+    private static String buildAnnotationStamp(Class<? extends Annotation> annotationType) {
+        return Arrays.stream(annotationType.getDeclaredMethods())
+            .filter(method -> method.getParameterCount() == 0 && !method.isSynthetic())
+            .sorted(Comparator.comparing(Method::getName))
+            .map(method -> method.getName() + ":" + method.getReturnType().getCanonicalName())
+            .collect(Collectors.joining(",", annotationType.getSimpleName() + "(", ")"));
+    }
+
+}
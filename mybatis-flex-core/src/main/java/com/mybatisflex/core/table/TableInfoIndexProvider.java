@@ -0,0 +1,276 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.table;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.exception.FlexExceptions;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译期生成的 TableInfo 索引。
+ *
+ * <p>开启 {@code processor.tableInfoIndex.enable} 后，APT 会生成该接口的实现类，并注册到
+ * {@code META-INF/services/com.mybatisflex.core.table.TableInfoIndexProvider}。实现类以字面量的形式记录了
+ * Mapper 与实体类的对应关系，以及实体类上 {@link Table}、{@link Column}、{@link Id} 等注解的配置，
+ * {@link TableInfoFactory} 直接使用这些数据构建 {@link TableInfo}，启动时无需遍历 Mapper 的泛型接口、
+ * 扫描实体类的字段和 getter 方法以及读取注解。
+ *
+ * <p>该接口的实现类由 APT 生成，一般无需手动实现。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public interface TableInfoIndexProvider {
+
+    /**
+     * 生成时 {@link Table}、{@link Column}、{@link Id} 注解的属性签名，格式与 {@link TableInfoIndex#ANNOTATION_STAMP} 相同。
+     * 与运行时的注解不一致（例如升级了 mybatis-flex 但未重新编译）时，不使用该索引。
+     */
+    String getAnnotationStamp();
+
+    /**
+     * 获取 Mapper 对应的实体类。
+     *
+     * @param mapperClass Mapper 类名
+     * @return 实体类，不存在时返回 {@code null}
+     */
+    @Nullable Class<?> getEntityClass(String mapperClass);
+
+    /**
+     * 获取表名对应的实体类。
+     *
+     * @param tableName 表名，或者 {@code schema.表名}
+     * @return 实体类，不存在时返回 {@code null}
+     */
+    @Nullable Class<?> getEntityClassByTableName(String tableName);
+
+    /**
+     * 获取实体类的索引信息，每次调用都会创建新的对象。
+     *
+     * @param entityClass 实体类名
+     * @return 索引信息，不存在时返回 {@code null}
+     */
+    @Nullable IndexedEntity getEntity(String entityClass);
+
+
+    /**
+     * 索引中的实体类信息。
+     */
+    final class IndexedEntity {
+
+        private final Class<?> entityClass;
+        private final Table table;
+        private final String[] properties;
+        private final List<IndexedField> fields;
+
+        /**
+         * @param entityClass 实体类
+         * @param table       实体类上的 {@link Table} 注解
+         * @param properties  编译时实体类的全部可读属性（字段以及 getter 方法），已按字典序排序，用于判断索引是否过期
+         * @param fields      按照 {@link TableInfoFactory} 收集顺序排列的字段
+         */
+        public IndexedEntity(Class<?> entityClass, Table table, String[] properties, IndexedField... fields) {
+            this.entityClass = entityClass;
+            this.table = table;
+            this.properties = properties;
+            this.fields = Collections.unmodifiableList(Arrays.asList(fields));
+        }
+
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        public Table getTable() {
+            return table;
+        }
+
+        /**
+         * 判断实体类当前的可读属性是否与编译时一致，只比较属性名，不需要再次反射实体类。
+         *
+         * @param readableProperties MyBatis {@code Reflector#getGetablePropertyNames()} 的返回值
+         */
+        public boolean isSameProperties(String[] readableProperties) {
+            if (readableProperties.length != properties.length) {
+                return false;
+            }
+            String[] sorted = readableProperties.clone();
+            Arrays.sort(sorted);
+            return Arrays.equals(sorted, properties);
+        }
+
+        public List<IndexedField> getFields() {
+            return fields;
+        }
+
+    }
+
+
+    /**
+     * 索引中的字段信息。
+     */
+    final class IndexedField {
+
+        private final Class<?> declaringClass;
+        private final String name;
+        private final Column column;
+        private final Id id;
+        private final String[] alias;
+        private final String mask;
+        private final Class<?> elementType;
+
+        /**
+         * @param declaringClass 声明该字段的类
+         * @param name           字段名
+         * @param column         字段上的 {@link Column} 注解
+         * @param id             字段上的 {@link Id} 注解
+         * @param alias          列的别名，getter 方法上的配置优先
+         * @param mask           脱敏规则
+         * @param elementType    集合字段的泛型类型
+         */
+        public IndexedField(Class<?> declaringClass, String name, @Nullable Column column, @Nullable Id id
+            , String @Nullable [] alias, @Nullable String mask, @Nullable Class<?> elementType) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.column = column;
+            this.id = id;
+            this.alias = alias;
+            this.mask = mask;
+            this.elementType = elementType;
+        }
+
+        public Class<?> getDeclaringClass() {
+            return declaringClass;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public @Nullable Column getColumn() {
+            return column;
+        }
+
+        public @Nullable Id getId() {
+            return id;
+        }
+
+        public String @Nullable [] getAlias() {
+            return alias == null ? null : alias.clone();
+        }
+
+        public @Nullable String getMask() {
+            return mask;
+        }
+
+        public @Nullable Class<?> getElementType() {
+            return elementType;
+        }
+
+    }
+
+
+    /**
+     * APT 生成的注解实现类的基类，按照 {@link Annotation} 的约定实现 {@code equals}、{@code hashCode} 和 {@code toString}。
+     * 这些方法只在比较或者打印注解时通过反射读取属性，构建 {@link TableInfo} 时不会调用。
+     */
+    abstract class AnnotationLiteral implements Annotation {
+
+        private static final Map<Class<?>, Method[]> MEMBERS_CACHE = new ConcurrentHashMap<>();
+
+        private final Class<? extends Annotation> annotationType;
+
+        protected AnnotationLiteral(Class<? extends Annotation> annotationType) {
+            this.annotationType = annotationType;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return annotationType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!annotationType.isInstance(other)) {
+                return false;
+            }
+            for (Method member : getMembers(annotationType)) {
+                if (!Objects.deepEquals(getValue(member, this), getValue(member, other))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = 0;
+            for (Method member : getMembers(annotationType)) {
+                Object value = getValue(member, this);
+                // 数组按元素计算，Arrays.deepHashCode 会在单个元素的结果上加 31
+                int valueHashCode = value.getClass().isArray() ? Arrays.deepHashCode(new Object[]{value}) - 31 : value.hashCode();
+                hashCode += (127 * member.getName().hashCode()) ^ valueHashCode;
+            }
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("@").append(annotationType.getName()).append('(');
+            Method[] members = getMembers(annotationType);
+            for (int i = 0; i < members.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                Object value = getValue(members[i], this);
+                String valueString = value.getClass().isArray() ? Arrays.deepToString(new Object[]{value}) : String.valueOf(value);
+                // 去掉外层包装数组的中括号
+                sb.append(members[i].getName()).append('=')
+                    .append(value.getClass().isArray() ? valueString.substring(1, valueString.length() - 1) : valueString);
+            }
+            return sb.append(')').toString();
+        }
+
+        private static Method[] getMembers(Class<?> annotationType) {
+            return MEMBERS_CACHE.computeIfAbsent(annotationType, type -> Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> method.getParameterCount() == 0 && !method.isSynthetic())
+                .toArray(Method[]::new));
+        }
+
+        private static Object getValue(Method member, Object annotation) {
+            try {
+                return member.invoke(annotation);
+            } catch (ReflectiveOperationException e) {
+                throw FlexExceptions.wrap(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.transaction;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 默认的 xid 生成器，格式为 {@code 节点id-线程id-线程内序号}。
+ *
+ * <p>每个线程维护自己的序号，生成 xid 时不需要任何同步，也不像 {@code UUID.randomUUID()} 那样依赖 {@code SecureRandom}。
+ * 节点 id 默认在启动时随机生成，也可以手动指定（例如使用机器名或实例 id），以便在日志中区分不同的应用实例。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class DefaultXidGenerator implements XidGenerator {
+
+    private final String nodeId;
+    private final ThreadLocal<long[]> sequence = ThreadLocal.withInitial(() -> new long[1]);
+
+    public DefaultXidGenerator() {
+        this(Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36));
+    }
+
+    public DefaultXidGenerator(String nodeId) {
+        if (nodeId == null || nodeId.isEmpty()) {
+            throw new IllegalArgumentException("nodeId can not be empty.");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public String generate() {
+        long next = ++sequence.get()[0];
+        // 线程 id 在 JVM 内不会被复用，因此 (线程id, 序号) 在进程内唯一
+        return nodeId + '-' + Long.toString(Thread.currentThread().threadId(), 36) + '-' + Long.toString(next, 36);
+    }
+
+}
@@ -15,14 +15,18 @@
  */
 package com.mybatisflex.core.transaction;
 
+import com.mybatisflex.core.cache.QueryCacheManager;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 /**
@@ -39,6 +43,62 @@ public class TransactionalManager {
     private static final ThreadLocal<Map<String, Map<String, Connection>>> CONNECTION_HOLDER
         = ThreadLocal.withInitial(ConcurrentHashMap::new);
 
+    private static volatile XidGenerator xidGenerator = new DefaultXidGenerator();
+
+    /**
+     * 事务涉及多个数据源时，是否并行地提交或回滚各个数据源的连接
+     */
+    private static volatile boolean parallelRelease = false;
+    private static volatile Executor releaseExecutor;
+
+
+    public static XidGenerator getXidGenerator() {
+        return xidGenerator;
+    }
+
+    public static void setXidGenerator(XidGenerator xidGenerator) {
+        TransactionalManager.xidGenerator = Objects.requireNonNull(xidGenerator, "xidGenerator can not be null.");
+    }
+
+    public static boolean isParallelRelease() {
+        return parallelRelease;
+    }
+
+    /**
+     * 设置事务涉及多个数据源时，是否并行地提交或回滚各个数据源的连接，默认为串行。
+     *
+     * <p>注意：各个数据源的提交仍然是相互独立的（并非两阶段提交），某个数据源提交失败不会影响其他数据源，
+     * 这与串行提交的行为一致，开启后仅缩短了事务结束的耗时。
+     */
+    public static void setParallelRelease(boolean parallelRelease) {
+        TransactionalManager.parallelRelease = parallelRelease;
+    }
+
+    public static Executor getReleaseExecutor() {
+        Executor executor = releaseExecutor;
+        if (executor == null) {
+            synchronized (TransactionalManager.class) {
+                executor = releaseExecutor;
+                if (executor == null) {
+                    executor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "TransactionalManager-release");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    releaseExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 设置并行提交或回滚时使用的线程池，默认使用一个守护线程的缓存线程池。
+     */
+    public static void setReleaseExecutor(Executor releaseExecutor) {
+        TransactionalManager.releaseExecutor = releaseExecutor;
+    }
+
 
     public static void hold(String xid, String ds, Connection connection) {
         Map<String, Map<String, Connection>> holdMap = CONNECTION_HOLDER.get();
@@ -191,7 +251,7 @@ public class TransactionalManager {
 
 
     public static String startTransactional() {
-        String xid = UUID.randomUUID().toString();
+        String xid = xidGenerator.generate();
         TransactionContext.holdXID(xid);
         return xid;
     }
@@ -215,20 +275,20 @@ public class TransactionalManager {
                 return;
             }
             Map<String, Connection> connections = holdMap.get(xid);
-            if (connections != null) {
-                for (Connection conn : connections.values()) {
-                    try (conn) {
-                        if (commit) {
-                            conn.commit();
-                        } else {
-                            conn.rollback();
+            if (connections != null && !connections.isEmpty()) {
+                if (parallelRelease && connections.size() > 1) {
+                    exception = releaseInParallel(connections, commit);
+                } else {
+                    for (Connection conn : connections.values()) {
+                        SQLException e = releaseConnection(conn, commit);
+                        if (e != null) {
+                            exception = e;
                         }
-                    } catch (SQLException e) {
-                        exception = e;
                     }
                 }
             }
         } finally {
+            QueryCacheManager.afterTransaction(xid, commit);
             holdMap.remove(xid);
 
             if (holdMap.isEmpty()) {
@@ -240,4 +300,39 @@ public class TransactionalManager {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static SQLException releaseInParallel(Map<String, Connection> connections, boolean commit) {
+        Connection[] conns = connections.values().toArray(new Connection[0]);
+        Executor executor = getReleaseExecutor();
+
+        CompletableFuture<SQLException>[] futures = new CompletableFuture[conns.length - 1];
+        for (int i = 1; i < conns.length; i++) {
+            Connection conn = conns[i];
+            futures[i - 1] = CompletableFuture.supplyAsync(() -> releaseConnection(conn, commit), executor);
+        }
+
+        // 当前线程处理第一个连接，其余的连接交给线程池
+        SQLException exception = releaseConnection(conns[0], commit);
+        for (CompletableFuture<SQLException> future : futures) {
+            SQLException e = future.join();
+            if (e != null) {
+                exception = e;
+            }
+        }
+        return exception;
+    }
+
+    private static SQLException releaseConnection(Connection conn, boolean commit) {
+        try (conn) {
+            if (commit) {
+                conn.commit();
+            } else {
+                conn.rollback();
+            }
+            return null;
+        } catch (SQLException e) {
+            return e;
+        }
+    }
+
 }
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.transaction;
+
+/**
+ * 事务 id（xid）生成器。
+ *
+ * <p>xid 只用于在当前进程内标识事务并关联事务中持有的连接，只需在进程内唯一。
+ *
+ * @author mybatis-flex
+ * @see DefaultXidGenerator
+ * @since 1.11.9
+ */
+@FunctionalInterface
+public interface XidGenerator {
+
+    /**
+     * 生成新的 xid，不能返回 {@code null} 或空字符串。
+     */
+    String generate();
+
+}
@@ -0,0 +1,249 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.update;
+
+import com.mybatisflex.core.mybatis.TypeHandlerObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体在查询时的字段快照，只保存 JSON、集合等字段序列化之后的摘要，用于在更新时判断字段是否被修改。
+ *
+ * <p>字段一旦被判断为已修改，会一直被视为已修改，直到重新查询或重新调用 {@link SnapshotManager#snapshot(Object)}。
+ * 这样即使更新语句执行失败或事务回滚，也不会在之后的更新中遗漏该字段。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public final class EntitySnapshot {
+
+    private static final Object NULL = new Object();
+    private static final Object DIRTY = new Object();
+
+    private final Map<String, Object> digests = new ConcurrentHashMap<>();
+
+    EntitySnapshot() {
+    }
+
+    void put(String column, Object sqlArg) {
+        Object digest = digest(sqlArg);
+        if (digest != null) {
+            digests.put(column, digest);
+        }
+    }
+
+    /**
+     * 判断字段的值与快照相比是否没有变化。
+     *
+     * @param column 列名
+     * @param sqlArg 当前的 sql 参数，一般为 {@link TypeHandlerObject}
+     * @return 没有快照或者值已变化时返回 {@code false}
+     */
+    public boolean isUnchanged(String column, Object sqlArg) {
+        Object snapshot = digests.get(column);
+        if (snapshot == null || snapshot == DIRTY) {
+            return false;
+        }
+        if (snapshot.equals(digest(sqlArg))) {
+            return true;
+        }
+        digests.put(column, DIRTY);
+        return false;
+    }
+
+    /**
+     * 判断是否有字段被记录在快照中。
+     */
+    public boolean isEmpty() {
+        return digests.isEmpty();
+    }
+
+
+    /**
+     * 计算 sql 参数最终写入数据库的内容的摘要，无法确定写入内容时返回 {@code null}。
+     */
+    private static Object digest(Object sqlArg) {
+        if (sqlArg == null) {
+            return NULL;
+        }
+        Object written = sqlArg instanceof TypeHandlerObject ? capture((TypeHandlerObject) sqlArg) : sqlArg;
+        if (written == null) {
+            return null;
+        }
+        if (written == NULL) {
+            return NULL;
+        }
+        if (written instanceof CharSequence) {
+            return Digest.of((CharSequence) written);
+        }
+        if (written instanceof byte[]) {
+            return Digest.of((byte[]) written);
+        }
+        if (written instanceof Number || written instanceof Boolean) {
+            return Digest.of(written.getClass().getName() + ':' + written);
+        }
+        // 其他类型的 equals 或 toString 不一定能反映其内容，不做快照
+        return null;
+    }
+
+    /**
+     * 通过类型处理器把值设置到一个记录参数的 PreparedStatement 中，得到实际写入数据库的内容。
+     */
+    private static Object capture(TypeHandlerObject typeHandlerObject) {
+        Object[] captured = new Object[1];
+        boolean[] supported = {true};
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(EntitySnapshot.class.getClassLoader(),
+            new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setNull":
+                        captured[0] = NULL;
+                        return null;
+                    case "setString":
+                    case "setNString":
+                    case "setBytes":
+                    case "setObject":
+                    case "setInt":
+                    case "setLong":
+                    case "setShort":
+                    case "setByte":
+                    case "setBoolean":
+                    case "setDouble":
+                    case "setFloat":
+                    case "setBigDecimal":
+                        captured[0] = args[1];
+                        return null;
+                    case "setCharacterStream":
+                    case "setNCharacterStream":
+                    case "setClob":
+                    case "setNClob":
+                        if (args[1] instanceof Reader) {
+                            captured[0] = read((Reader) args[1]);
+                            return null;
+                        }
+                        break;
+                    case "setBinaryStream":
+                    case "setBlob":
+                        if (args[1] instanceof InputStream) {
+                            captured[0] = read((InputStream) args[1]);
+                            return null;
+                        }
+                        break;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "SnapshotPreparedStatement";
+                    default:
+                        break;
+                }
+                supported[0] = false;
+                return null;
+            });
+        try {
+            typeHandlerObject.setParameter(ps, 1);
+        } catch (Exception e) {
+            return null;
+        }
+        return supported[0] ? captured[0] : null;
+    }
+
+    private static String read(Reader reader) throws IOException {
+        StringWriter writer = new StringWriter();
+        reader.transferTo(writer);
+        return writer.toString();
+    }
+
+    private static byte[] read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        inputStream.transferTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+
+    /**
+     * 内容的 SHA-256 摘要，字段是否需要更新取决于摘要是否相同，因此需要使用抗碰撞的摘要算法。
+     * 首字节区分字符与字节内容，字符按 UTF-16 编码，避免无法编码的字符产生相同的字节。
+     */
+    private static final class Digest {
+
+        private static final byte CHARS = 'C';
+        private static final byte BYTES = 'B';
+
+        private final byte[] value;
+
+        private Digest(byte[] value) {
+            this.value = value;
+        }
+
+        static Digest of(CharSequence value) {
+            MessageDigest md = newMessageDigest();
+            md.update(CHARS);
+            byte[] buffer = new byte[Math.min(value.length(), 4096) * 2];
+            int position = 0;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                if (position == buffer.length) {
+                    md.update(buffer, 0, position);
+                    position = 0;
+                }
+                char c = value.charAt(i);
+                buffer[position++] = (byte) (c >>> 8);
+                buffer[position++] = (byte) c;
+            }
+            md.update(buffer, 0, position);
+            return new Digest(md.digest());
+        }
+
+        static Digest of(byte[] value) {
+            MessageDigest md = newMessageDigest();
+            md.update(BYTES);
+            md.update(value);
+            return new Digest(md.digest());
+        }
+
+        private static MessageDigest newMessageDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // 每个 Java 平台都必须支持 SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Digest && MessageDigest.isEqual(value, ((Digest) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.update;
+
+import com.mybatisflex.core.util.ClassUtil;
+import com.mybatisflex.core.util.FieldWrapper;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UpdateEntity 的修改记录。
+ *
+ * <p>通过 setter 修改的属性记录在位图中，下标为属性在 {@link com.mybatisflex.core.table.TableInfo#getModifyAttrsProperties()}
+ * 中的序号，生成 SQL 时直接按序号读取对应的列，无需解析方法名称；通过 {@link UpdateWrapper#set(String, Object)}
+ * 等方法设置的内容（包括 {@link RawValue}）单独记录，同一个属性以最后一次修改为准。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class ModifyAttrsRecord implements Serializable {
+
+    private static final Map<Class<?>, String[]> PROPERTIES_CACHE = new ConcurrentHashMap<>();
+
+    private final String[] properties;
+    private final long[] modified;
+    private Map<String, Object> updates;
+
+    public ModifyAttrsRecord(String[] properties) {
+        this.properties = properties;
+        this.modified = new long[(properties.length + 63) >>> 6];
+    }
+
+    /**
+     * 注册生成的子类可记录的属性。
+     */
+    static void register(Class<?> updateEntityClass, String[] properties) {
+        PROPERTIES_CACHE.put(updateEntityClass, properties);
+    }
+
+    /**
+     * 为生成的子类创建修改记录，在子类的字段初始化时调用。
+     *
+     * @param updateEntityClass 生成的子类
+     * @return 修改记录
+     */
+    public static ModifyAttrsRecord of(Class<?> updateEntityClass) {
+        String[] properties = PROPERTIES_CACHE.get(updateEntityClass);
+        return new ModifyAttrsRecord(properties != null ? properties : new String[0]);
+    }
+
+    /**
+     * 标记通过 setter 修改了属性。
+     *
+     * @param ordinal 属性序号
+     */
+    public void markModified(int ordinal) {
+        modified[ordinal >>> 6] |= 1L << ordinal;
+        if (updates != null && !updates.isEmpty()) {
+            updates.remove(properties[ordinal]);
+        }
+    }
+
+    /**
+     * 属性是否通过 setter 修改过。
+     *
+     * @param ordinal 属性序号
+     */
+    public boolean isModified(int ordinal) {
+        return (modified[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * 获取从 fromOrdinal 开始（包含）下一个通过 setter 修改过的属性序号。
+     *
+     * @param fromOrdinal 开始的序号
+     * @return 属性序号，没有时返回 -1
+     */
+    public int nextModified(int fromOrdinal) {
+        int index = fromOrdinal >>> 6;
+        if (index >= modified.length) {
+            return -1;
+        }
+        long word = modified[index] & (-1L << fromOrdinal);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == modified.length) {
+                return -1;
+            }
+            word = modified[index];
+        }
+    }
+
+    /**
+     * 通过 {@link UpdateWrapper#set(String, Object)} 等方法设置的内容。
+     */
+    public Map<String, Object> getUpdates() {
+        return updates == null ? Collections.emptyMap() : updates;
+    }
+
+    /**
+     * 设置要更新的内容，会覆盖之前通过 setter 的修改。
+     *
+     * @param property 属性名称
+     * @param value    值
+     */
+    public void putUpdate(String property, Object value) {
+        int ordinal = indexOf(property);
+        if (ordinal >= 0) {
+            clearModified(ordinal);
+        }
+        if (updates == null) {
+            updates = new LinkedHashMap<>();
+        }
+        updates.put(property, value);
+    }
+
+    public boolean isEmpty() {
+        return nextModified(0) < 0 && (updates == null || updates.isEmpty());
+    }
+
+    public String[] getProperties() {
+        return properties;
+    }
+
+    /**
+     * 获取全部修改的属性及其当前的值，先是通过 setter 修改的属性，再是通过 set 方法设置的内容。
+     *
+     * <p>返回的 Map 是修改记录的视图：通过 setter 修改的属性在读取时才获取实体类字段的值；
+     * 对其 {@code put}、{@code remove}、{@code clear} 等修改会直接作用于修改记录，与 javassist 代理对象的行为一致。
+     *
+     * @param entity 实体类
+     * @return 修改记录的视图
+     */
+    public Map<String, Object> asMap(Object entity) {
+        return new UpdatesView(entity);
+    }
+
+    private int indexOf(Object property) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].equals(property)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void clearModified(int ordinal) {
+        modified[ordinal >>> 6] &= ~(1L << ordinal);
+    }
+
+
+    private final class UpdatesView extends AbstractMap<String, Object> {
+
+        private final Object entity;
+        private final Class<?> entityClass;
+
+        private UpdatesView(Object entity) {
+            this.entity = entity;
+            this.entityClass = ClassUtil.getUsefulClass(entity.getClass());
+        }
+
+        private Object getValue(int ordinal) {
+            FieldWrapper fieldWrapper = FieldWrapper.of(entityClass, properties[ordinal]);
+            return fieldWrapper != null ? fieldWrapper.get(entity) : null;
+        }
+
+        @Override
+        public int size() {
+            int size = updates == null ? 0 : updates.size();
+            for (long word : modified) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int ordinal = indexOf(key);
+            if (ordinal >= 0 && isModified(ordinal)) {
+                return true;
+            }
+            return updates != null && updates.containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            int ordinal = indexOf(key);
+            if (ordinal >= 0 && isModified(ordinal)) {
+                return getValue(ordinal);
+            }
+            return updates == null ? null : updates.get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Object old = get(key);
+            putUpdate(key, value);
+            return old;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            int ordinal = indexOf(key);
+            if (ordinal >= 0 && isModified(ordinal)) {
+                Object old = getValue(ordinal);
+                clearModified(ordinal);
+                return old;
+            }
+            return updates == null ? null : updates.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(modified, 0L);
+            if (updates != null) {
+                updates.clear();
+            }
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new UpdatesIterator();
+                }
+
+                @Override
+                public int size() {
+                    return UpdatesView.this.size();
+                }
+            };
+        }
+
+        /**
+         * 先遍历通过 setter 修改的属性，再遍历通过 set 方法设置的内容，两者不会包含同一个属性。
+         */
+        private final class UpdatesIterator implements Iterator<Entry<String, Object>> {
+
+            private int nextOrdinal = nextModified(0);
+            private int lastOrdinal = -1;
+            private Iterator<Entry<String, Object>> updatesIterator;
+
+            @Override
+            public boolean hasNext() {
+                if (nextOrdinal >= 0) {
+                    return true;
+                }
+                if (updatesIterator == null) {
+                    updatesIterator = getUpdates().entrySet().iterator();
+                }
+                return updatesIterator.hasNext();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+                if (nextOrdinal >= 0) {
+                    lastOrdinal = nextOrdinal;
+                    nextOrdinal = nextModified(nextOrdinal + 1);
+                    return new SimpleImmutableEntry<>(properties[lastOrdinal], getValue(lastOrdinal));
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastOrdinal = -1;
+                return updatesIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if (lastOrdinal >= 0) {
+                    clearModified(lastOrdinal);
+                    lastOrdinal = -1;
+                } else if (updatesIterator != null) {
+                    updatesIterator.remove();
+                } else {
+                    throw new IllegalStateException();
+                }
+            }
+
+        }
+
+    }
+
+}
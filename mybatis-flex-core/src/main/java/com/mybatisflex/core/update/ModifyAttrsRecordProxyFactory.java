@@ -16,25 +16,52 @@
 package com.mybatisflex.core.update;
 
 import com.mybatisflex.core.exception.FlexExceptions;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
 import com.mybatisflex.core.util.ClassUtil;
 import com.mybatisflex.core.util.MapUtil;
+import com.mybatisflex.core.util.StringUtil;
+import org.apache.ibatis.javassist.ClassPool;
+import org.apache.ibatis.javassist.CtClass;
+import org.apache.ibatis.javassist.CtField;
+import org.apache.ibatis.javassist.CtMethod;
+import org.apache.ibatis.javassist.CtNewConstructor;
+import org.apache.ibatis.javassist.CtNewMethod;
+import org.apache.ibatis.javassist.LoaderClassPath;
 import org.apache.ibatis.javassist.util.proxy.Proxy;
 import org.apache.ibatis.javassist.util.proxy.ProxyFactory;
 import org.apache.ibatis.javassist.util.proxy.ProxyObject;
+import org.apache.ibatis.logging.LogFactory;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * UpdateEntity 的创建工厂。
+ *
+ * <p>优先为实体类生成一个子类，只重写映射到列的属性的 setter，调用 setter 时在 {@link ModifyAttrsRecord}
+ * 的位图中标记属性序号，getter 等其他方法不做任何拦截；实体类无法生成子类时（例如 setter 为 final），
+ * 退回到通过 javassist 代理拦截全部方法的方式。
+ *
  * @author michael
  */
 public class ModifyAttrsRecordProxyFactory {
 
     protected static final Map<Class<?>, Class<?>> CACHE = new ConcurrentHashMap<>();
 
+    private static final String CLASS_NAME_SUFFIX = "_$$_FlexUpdateEntity";
+    private static final String RECORD_FIELD_NAME = "_flexModifyAttrsRecord";
+
     private static final ModifyAttrsRecordProxyFactory INSTANCE = new ModifyAttrsRecordProxyFactory();
 
+    /**
+     * 是否生成子类，关闭后使用 javassist 代理。
+     */
+    private static volatile boolean generateSubclass = true;
+
     public static ModifyAttrsRecordProxyFactory getInstance() {
         return INSTANCE;
     }
@@ -42,9 +69,29 @@ public class ModifyAttrsRecordProxyFactory {
     private ModifyAttrsRecordProxyFactory() {
     }
 
+    public static boolean isGenerateSubclass() {
+        return generateSubclass;
+    }
+
+    /**
+     * 设置是否为实体类生成记录修改的子类，需在创建 UpdateEntity 之前设置。
+     *
+     * @param generateSubclass 是否生成子类，默认为 {@code true}
+     * @since 1.11.9
+     */
+    public static void setGenerateSubclass(boolean generateSubclass) {
+        ModifyAttrsRecordProxyFactory.generateSubclass = generateSubclass;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T get(Class<T> target) {
         Class<?> proxyClass = MapUtil.computeIfAbsent(CACHE, target, aClass -> {
+            if (generateSubclass) {
+                Class<?> subclass = generateSubclass(target);
+                if (subclass != null) {
+                    return subclass;
+                }
+            }
             Class<?>[] interfaces = Arrays.copyOf(target.getInterfaces(), target.getInterfaces().length + 1);
             interfaces[interfaces.length - 1] = UpdateWrapper.class;
             ProxyFactory factory = new ProxyFactory();
@@ -63,10 +110,112 @@ public class ModifyAttrsRecordProxyFactory {
             ((ProxyObject) proxyObject).setHandler(new ModifyAttrsRecordHandler());
         } else if (proxyObject instanceof Proxy) {
             ((Proxy) proxyObject).setHandler(new ModifyAttrsRecordHandler());
-        } else {
+        } else if (!(proxyObject instanceof UpdateWrapper)) {
             throw FlexExceptions.wrap("为实体类 %s 设置字段更新处理器时出错，获取的实体类代理对象既不是 ProxyObject 的实例，也不是 Proxy 的实例", target.getCanonicalName());
         }
         return proxyObject;
     }
 
+
+    /**
+     * 生成实体类的子类，无法生成时返回 {@code null}。
+     */
+    private static Class<?> generateSubclass(Class<?> target) {
+        if (Modifier.isFinal(target.getModifiers()) || target.isInterface() || target.isMemberClass() && !Modifier.isStatic(target.getModifiers())) {
+            return null;
+        }
+        TableInfo tableInfo = TableInfoFactory.ofEntityClass(target);
+        if (tableInfo == null) {
+            return null;
+        }
+        String[] properties = tableInfo.getModifyAttrsProperties();
+
+        ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(target.getClassLoader()));
+        pool.appendClassPath(new LoaderClassPath(ModifyAttrsRecordProxyFactory.class.getClassLoader()));
+        CtClass ctClass = null;
+        try {
+            ctClass = pool.makeClass(target.getName() + CLASS_NAME_SUFFIX, pool.get(target.getName()));
+            ctClass.addInterface(pool.get(UpdateWrapper.class.getName()));
+
+            CtField recordField = new CtField(pool.get(ModifyAttrsRecord.class.getName()), RECORD_FIELD_NAME, ctClass);
+            recordField.setModifiers(Modifier.PRIVATE);
+            ctClass.addField(recordField, CtField.Initializer.byExpr(ModifyAttrsRecord.class.getName() + ".of(getClass())"));
+
+            ctClass.addConstructor(CtNewConstructor.defaultConstructor(ctClass));
+            ctClass.addMethod(CtNewMethod.make("public " + ModifyAttrsRecord.class.getName() + " modifyAttrsRecord() { return "
+                + RECORD_FIELD_NAME + "; }", ctClass));
+
+            for (Method method : target.getMethods()) {
+                int ordinal = getSetterOrdinal(method, properties);
+                if (ordinal < 0) {
+                    continue;
+                }
+                if (Modifier.isFinal(method.getModifiers())) {
+                    // final 的 setter 无法重写，修改无法被记录
+                    return null;
+                }
+                ctClass.addMethod(buildSetter(pool, ctClass, method, ordinal));
+            }
+
+            Class<?> subclass = ctClass.toClass(target);
+            ModifyAttrsRecord.register(subclass, properties);
+            return subclass;
+        } catch (Exception | LinkageError e) {
+            LogFactory.getLog(ModifyAttrsRecordProxyFactory.class).debug("Can not generate update entity class for "
+                + target.getName() + ", use javassist proxy instead. " + e);
+            return null;
+        } finally {
+            if (ctClass != null) {
+                ctClass.detach();
+            }
+        }
+    }
+
+    /**
+     * 获取 setter 所对应属性的序号，不是 setter 或者属性没有映射到列时返回 -1。
+     */
+    private static int getSetterOrdinal(Method method, String[] properties) {
+        String methodName = method.getName();
+        if (!methodName.startsWith("set")
+            || methodName.length() <= 3
+            || !Character.isUpperCase(methodName.charAt(3))
+            || method.getParameterCount() != 1
+            || method.isBridge()
+            || Modifier.isStatic(method.getModifiers())) {
+            return -1;
+        }
+        String property = StringUtil.firstCharToLowerCase(methodName.substring(3));
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].equals(property)) {
+                return i;
+            }
+        }
+        // 兼容属性名称不规范的情况，比如 setID 对应的属性为 id
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].equalsIgnoreCase(property)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static CtMethod buildSetter(ClassPool pool, CtClass ctClass, Method method, int ordinal) throws Exception {
+        Class<?> returnType = method.getReturnType();
+        CtClass ctReturnType = returnType == void.class ? CtClass.voidType : pool.get(returnType.getTypeName());
+        CtClass[] ctParameterTypes = {pool.get(method.getParameterTypes()[0].getTypeName())};
+
+        CtMethod ctMethod = new CtMethod(ctReturnType, method.getName(), ctParameterTypes, ctClass);
+        ctMethod.setModifiers(Modifier.PUBLIC);
+
+        // 构造器中调用的 setter 不做记录
+        String mark = "if (" + RECORD_FIELD_NAME + " != null) { " + RECORD_FIELD_NAME + ".markModified(" + ordinal + "); }";
+        if (returnType == void.class) {
+            ctMethod.setBody("{ super." + method.getName() + "($$); " + mark + " }");
+        } else {
+            ctMethod.setBody("{ " + returnType.getTypeName() + " result = super." + method.getName() + "($$); " + mark + " return result; }");
+        }
+        return ctMethod;
+    }
+
 }
@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.update;
+
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.util.ArrayUtil;
+import com.mybatisflex.core.util.ClassUtil;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体快照管理器，用于对 JSON、集合等字段进行脏检查。
+ *
+ * <p>开启后，查询得到的实体会记录 JSON、集合类型字段（配置了 typeHandler）序列化后的摘要，
+ * 更新该实体时，与快照相同的字段不会出现在 {@code UPDATE} 语句的 {@code SET} 中，从而避免重复写入较大的 JSON 内容。
+ *
+ * <p>快照以实体对象的身份（而不是 equals）进行关联，并通过弱引用保存，实体被回收后快照会自动移除。
+ *
+ * <p>注意：脏检查基于查询时的数据，如果实体查询之后数据库中的该字段被其他途径修改，未修改该字段的更新不会将其覆盖。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SnapshotManager {
+
+    private SnapshotManager() {
+    }
+
+    private static volatile boolean enable = false;
+
+    private static final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private static final Map<IdentityKey, EntitySnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 是否开启实体快照。
+     */
+    public static boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * 设置是否开启实体快照，默认不开启。关闭时会清空已有的快照。
+     *
+     * @param enable 是否开启
+     */
+    public static void setEnable(boolean enable) {
+        SnapshotManager.enable = enable;
+        if (!enable) {
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * 为实体记录快照，查询结果会自动记录，一般无需手动调用。
+     * 对于通过其他途径得到的、与数据库内容一致的实体，也可以手动记录快照。
+     *
+     * @param entity 实体对象
+     */
+    public static void snapshot(Object entity) {
+        if (!enable || entity == null || entity instanceof UpdateWrapper
+            || entity instanceof Map || entity instanceof Collection) {
+            return;
+        }
+        TableInfo tableInfo = TableInfoFactory.ofEntityClass(ClassUtil.getUsefulClass(entity.getClass()));
+        String[] snapshotColumns = tableInfo.getSnapshotColumns();
+        if (ArrayUtil.isEmpty(snapshotColumns)) {
+            return;
+        }
+
+        EntitySnapshot snapshot = new EntitySnapshot();
+        for (String column : snapshotColumns) {
+            snapshot.put(column, tableInfo.buildColumnSqlArg(entity, column));
+        }
+
+        expungeStaleEntries();
+        if (snapshot.isEmpty()) {
+            snapshots.remove(new IdentityKey(entity, null));
+        } else {
+            snapshots.put(new IdentityKey(entity, queue), snapshot);
+        }
+    }
+
+    /**
+     * 获取实体的快照。
+     *
+     * @param entity 实体对象
+     * @return 快照，未开启或者没有快照时返回 {@code null}
+     */
+    public static EntitySnapshot getSnapshot(Object entity) {
+        if (!enable || entity == null || snapshots.isEmpty()) {
+            return null;
+        }
+        return snapshots.get(new IdentityKey(entity, null));
+    }
+
+    /**
+     * 移除实体的快照，之后更新该实体时会写入全部字段。
+     *
+     * @param entity 实体对象
+     */
+    public static void clear(Object entity) {
+        if (entity != null) {
+            snapshots.remove(new IdentityKey(entity, null));
+        }
+    }
+
+    /**
+     * 移除所有快照。
+     */
+    public static void clearAll() {
+        snapshots.clear();
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+
+    /**
+     * 以对象身份作为判断依据的弱引用 key。
+     */
+    private static final class IdentityKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((IdentityKey) obj).get();
+        }
+
+    }
+
+}
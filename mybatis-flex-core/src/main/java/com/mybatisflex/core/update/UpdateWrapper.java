@@ -34,7 +34,16 @@ import java.util.Map;
  */
 public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Serializable {
 
+    /**
+     * 获取修改的内容。
+     *
+     * <p>对于 {@link ModifyAttrsRecordProxyFactory} 生成的子类，返回的是修改记录的视图，对其修改会直接作用于修改记录。
+     */
     default Map<String, Object> getUpdates() {
+        ModifyAttrsRecord record = modifyAttrsRecord();
+        if (record != null) {
+            return record.asMap(this);
+        }
         ModifyAttrsRecordHandler handler = null;
         if (this instanceof ProxyObject) {
             handler = (ModifyAttrsRecordHandler) ((ProxyObject) this).getHandler();
@@ -46,15 +55,33 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
         return handler.getUpdates();
     }
 
+    /**
+     * 获取生成的子类中的修改记录，通过 javassist 代理创建的对象返回 {@code null}。
+     *
+     * @since 1.11.9
+     */
+    default ModifyAttrsRecord modifyAttrsRecord() {
+        return null;
+    }
+
+    private void putUpdate(String property, Object value) {
+        ModifyAttrsRecord record = modifyAttrsRecord();
+        if (record != null) {
+            record.putUpdate(property, value);
+        } else {
+            getUpdates().put(property, value);
+        }
+    }
+
     @Override
     default UpdateWrapper<T> set(String property, Object value, boolean isEffective) {
         if (isEffective) {
             if (value instanceof QueryWrapper
                     || value instanceof QueryColumn
                     || value instanceof QueryCondition) {
-                getUpdates().put(property, new RawValue(value));
+                putUpdate(property, new RawValue(value));
             } else {
-                getUpdates().put(property, value);
+                putUpdate(property, value);
             }
         }
         return this;
@@ -66,9 +93,9 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
             if (value instanceof QueryWrapper
                     || value instanceof QueryColumn
                     || value instanceof QueryCondition) {
-                getUpdates().put(property.getName(), new RawValue(value));
+                putUpdate(property.getName(), new RawValue(value));
             } else {
-                getUpdates().put(property.getName(), value);
+                putUpdate(property.getName(), value);
             }
         }
         return this;
@@ -80,9 +107,9 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
             if (value instanceof QueryWrapper
                     || value instanceof QueryColumn
                     || value instanceof QueryCondition) {
-                getUpdates().put(LambdaUtil.getFieldName(property), new RawValue(value));
+                putUpdate(LambdaUtil.getFieldName(property), new RawValue(value));
             } else {
-                getUpdates().put(LambdaUtil.getFieldName(property), value);
+                putUpdate(LambdaUtil.getFieldName(property), value);
             }
         }
         return this;
@@ -91,7 +118,7 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
     @Override
     default UpdateWrapper<T> setRaw(String property, Object value, boolean isEffective) {
         if (isEffective) {
-            getUpdates().put(property, new RawValue(value));
+            putUpdate(property, new RawValue(value));
         }
         return this;
     }
@@ -100,7 +127,7 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
     @Override
     default UpdateWrapper<T> setRaw(QueryColumn property, Object value, boolean isEffective) {
         if (isEffective) {
-            getUpdates().put(property.getName(), new RawValue(value));
+            putUpdate(property.getName(), new RawValue(value));
         }
         return this;
     }
@@ -108,7 +135,7 @@ public interface UpdateWrapper<T> extends PropertySetter<UpdateWrapper<T>>, Seri
     @Override
     default <E> UpdateWrapper<T> setRaw(LambdaGetter<E> property, Object value, boolean isEffective) {
         if (isEffective) {
-            getUpdates().put(LambdaUtil.getFieldName(property), new RawValue(value));
+            putUpdate(LambdaUtil.getFieldName(property), new RawValue(value));
         }
         return this;
     }
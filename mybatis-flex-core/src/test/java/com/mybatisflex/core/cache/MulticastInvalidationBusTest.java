@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 组播失效总线数据包的编解码测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class MulticastInvalidationBusTest {
+
+    @Test
+    public void testEncodeAndDecode() throws IOException {
+        byte[] bytes = MulticastInvalidationBus.encode(new InvalidationEvent("node", new String[]{"tb_account", "tb_article"}, false, 100L));
+        InvalidationEvent event = MulticastInvalidationBus.decode(bytes, 0, bytes.length);
+
+        Assert.assertNotNull(event);
+        Assert.assertEquals("node", event.getNodeId());
+        Assert.assertEquals(100L, event.getTimestamp());
+        Assert.assertFalse(event.isAll());
+        Assert.assertArrayEquals(new String[]{"tb_account", "tb_article"}, event.getTables());
+    }
+
+    @Test
+    public void testForeignPacket() throws IOException {
+        byte[] bytes = "hello".getBytes();
+        Assert.assertNull(MulticastInvalidationBus.decode(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testForgedTableCount() throws IOException {
+        byte[] bytes = MulticastInvalidationBus.encode(new InvalidationEvent("node", new String[]{"tb_account"}, false, 100L));
+        int countOffset = bytes.length - 4 - (2 + "tb_account".length());
+
+        // 数量远大于数据包的长度时，不能按该数量分配数组
+        ByteBuffer.wrap(bytes).putInt(countOffset, Integer.MAX_VALUE);
+        Assert.assertNull(MulticastInvalidationBus.decode(bytes, 0, bytes.length));
+
+        ByteBuffer.wrap(bytes).putInt(countOffset, -1);
+        Assert.assertNull(MulticastInvalidationBus.decode(bytes, 0, bytes.length));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedPacket() throws IOException {
+        byte[] bytes = MulticastInvalidationBus.encode(new InvalidationEvent("node", new String[]{"tb_account"}, false, 100L));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        MulticastInvalidationBus.decode(truncated, 0, truncated.length);
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource;
+
+import com.mybatisflex.core.datasource.loadbalance.LatencyAwareLoadBalanceStrategy;
+import com.mybatisflex.core.datasource.loadbalance.LeastActiveLoadBalanceStrategy;
+import com.mybatisflex.core.datasource.loadbalance.RoundRobinLoadBalanceStrategy;
+import com.mybatisflex.core.datasource.loadbalance.WeightedLoadBalanceStrategy;
+import com.mybatisflex.core.dialect.DbType;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 覆盖 {@link FlexDataSource} 的负载均衡分组索引与各负载均衡策略。
+ */
+public class FlexDataSourceLoadBalanceTest {
+
+    private final DataSource master = new HikariDataSource();
+    private final DataSource slave1 = new HikariDataSource();
+    private final DataSource slave2 = new HikariDataSource();
+    private final DataSource slave3 = new HikariDataSource();
+
+    @After
+    public void clearKey() {
+        DataSourceKey.forceClear();
+    }
+
+    private FlexDataSource newFlexDataSource() {
+        FlexDataSource flexDataSource = new FlexDataSource("master", master, DbType.MYSQL, false);
+        flexDataSource.addDataSource("slave1", slave1, DbType.MYSQL, false);
+        flexDataSource.addDataSource("slave2", slave2, DbType.MYSQL, false);
+        return flexDataSource;
+    }
+
+    @Test
+    public void roundRobinCyclesGroup() {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        flexDataSource.setLoadBalanceStrategy(new RoundRobinLoadBalanceStrategy());
+
+        DataSourceKey.use("slave*");
+        DataSource first = flexDataSource.getDataSource();
+        DataSource second = flexDataSource.getDataSource();
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first, flexDataSource.getDataSource());
+    }
+
+    @Test
+    public void groupIndexRefreshedOnAddAndRemove() {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        flexDataSource.setLoadBalanceStrategy(new RoundRobinLoadBalanceStrategy());
+        DataSourceKey.use("slave*");
+
+        flexDataSource.getDataSource();
+        flexDataSource.addDataSource("slave3", slave3, DbType.MYSQL, false);
+
+        boolean hitSlave3 = false;
+        for (int i = 0; i < 3; i++) {
+            hitSlave3 |= flexDataSource.getDataSource() == slave3;
+        }
+        Assert.assertTrue("新增的数据源应加入分组", hitSlave3);
+
+        flexDataSource.removeDatasource("slave3");
+        for (int i = 0; i < 6; i++) {
+            Assert.assertNotSame(slave3, flexDataSource.getDataSource());
+        }
+    }
+
+    @Test
+    public void staleGroupKeyIsReselected() {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        flexDataSource.setLoadBalanceStrategy(new RoundRobinLoadBalanceStrategy());
+        DataSourceKey.use("slave*");
+        flexDataSource.getDataSource();
+
+        // 直接修改 dataSourceMap 不会刷新分组索引，选中已移除的 key 时应从剩余的数据源中重新选择
+        flexDataSource.getDataSourceMap().remove("slave1");
+        for (int i = 0; i < 6; i++) {
+            Assert.assertSame(slave2, flexDataSource.getDataSource());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unmatchedGroupThrows() {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        DataSourceKey.use("other*");
+        flexDataSource.getDataSource();
+    }
+
+    @Test
+    public void weightedSkipsZeroWeight() {
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("slave1", 0);
+        weights.put("slave2", 5);
+        WeightedLoadBalanceStrategy strategy = new WeightedLoadBalanceStrategy(weights);
+
+        String[] candidates = {"slave1", "slave2"};
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("slave2", strategy.select("slave", candidates));
+        }
+    }
+
+    @Test
+    public void leastActivePrefersIdle() {
+        LeastActiveLoadBalanceStrategy strategy = new LeastActiveLoadBalanceStrategy();
+        strategy.onAcquire("slave1");
+        strategy.onAcquire("slave1");
+        strategy.onAcquire("slave2");
+
+        String[] candidates = {"slave1", "slave2", "slave3"};
+        Assert.assertEquals("slave3", strategy.select("slave", candidates));
+
+        strategy.onRelease("slave1", 0);
+        strategy.onRelease("slave1", 0);
+        Assert.assertEquals(0, strategy.getActive("slave1"));
+        Assert.assertEquals(1, strategy.getActive("slave2"));
+    }
+
+    @Test
+    public void latencyAwareAvoidsSlowNode() {
+        LatencyAwareLoadBalanceStrategy strategy = new LatencyAwareLoadBalanceStrategy();
+        strategy.onAcquire("slave1");
+        strategy.onRelease("slave1", 1_000_000);
+        strategy.onAcquire("slave2");
+        strategy.onRelease("slave2", 100_000_000);
+
+        String[] candidates = {"slave1", "slave2"};
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals("slave1", strategy.select("slave", candidates));
+        }
+    }
+
+}
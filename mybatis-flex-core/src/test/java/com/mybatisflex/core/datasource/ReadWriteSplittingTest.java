@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.datasource;
+
+import com.mybatisflex.core.datasource.readwrite.ReadWriteSplitting;
+import com.mybatisflex.core.dialect.DbType;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.session.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * 覆盖 {@link ReadWriteSplitting} 的路由规则。
+ */
+public class ReadWriteSplittingTest {
+
+    interface DemoMapper {
+
+        @Select("select * from tb_account")
+        Object selectAll();
+
+        @Update("update tb_account set age = 1")
+        int updateAll();
+
+        default Object selectAndUpdate() {
+            updateAll();
+            return selectAll();
+        }
+
+    }
+
+    private final Configuration configuration = new Configuration();
+
+    @After
+    public void clearThreadState() {
+        ReadWriteSplitting.clearThreadState();
+    }
+
+    private FlexDataSource newFlexDataSource() {
+        FlexDataSource flexDataSource = new FlexDataSource("master", new HikariDataSource(), DbType.MYSQL, false);
+        flexDataSource.addDataSource("replica1", new HikariDataSource(), DbType.MYSQL, false);
+        flexDataSource.addDataSource("replica2", new HikariDataSource(), DbType.MYSQL, false);
+        return flexDataSource;
+    }
+
+    private String route(ReadWriteSplitting splitting, FlexDataSource flexDataSource, String methodName, boolean inTransaction) throws Exception {
+        Method method = DemoMapper.class.getMethod(methodName);
+        return splitting.route(method, DemoMapper.class, configuration, flexDataSource, inTransaction);
+    }
+
+    @Test
+    public void routeByCommandType() throws Exception {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        ReadWriteSplitting splitting = new ReadWriteSplitting("master", "replica");
+
+        Assert.assertEquals("replica*", route(splitting, flexDataSource, "selectAll", false));
+        Assert.assertEquals("master", route(splitting, flexDataSource, "selectAll", true));
+        Assert.assertEquals("master", route(splitting, flexDataSource, "updateAll", false));
+        Assert.assertNull(route(splitting, flexDataSource, "selectAndUpdate", false));
+    }
+
+    @Test
+    public void readYourWritesWindow() throws Exception {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        ReadWriteSplitting splitting = new ReadWriteSplitting("master", "replica");
+        splitting.setReadYourWritesMillis(60_000);
+
+        splitting.onWrite();
+        Assert.assertEquals("master", route(splitting, flexDataSource, "selectAll", false));
+
+        ReadWriteSplitting.clearThreadState();
+        Assert.assertEquals("replica*", route(splitting, flexDataSource, "selectAll", false));
+    }
+
+    @Test
+    public void usePrimaryScope() throws Exception {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        ReadWriteSplitting splitting = new ReadWriteSplitting("master", "replica");
+
+        String key = ReadWriteSplitting.usePrimary(() -> {
+            try {
+                return route(splitting, flexDataSource, "selectAll", false);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Assert.assertEquals("master", key);
+        Assert.assertEquals("replica*", route(splitting, flexDataSource, "selectAll", false));
+    }
+
+    @Test
+    public void ejectedReplicasFallbackToPrimary() throws Exception {
+        FlexDataSource flexDataSource = newFlexDataSource();
+        ReadWriteSplitting splitting = new ReadWriteSplitting("master", "replica");
+        splitting.setHealthProbe((key, dataSource) -> !"replica1".equals(key));
+        splitting.probe(flexDataSource);
+
+        Assert.assertTrue(flexDataSource.isEjected("replica1"));
+        Assert.assertFalse(flexDataSource.isEjected("replica2"));
+        Assert.assertEquals("replica*", route(splitting, flexDataSource, "selectAll", false));
+
+        flexDataSource.ejectDataSource("replica2");
+        Assert.assertEquals("master", route(splitting, flexDataSource, "selectAll", false));
+    }
+
+}
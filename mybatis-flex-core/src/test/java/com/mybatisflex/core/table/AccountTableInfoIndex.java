@@ -0,0 +1,291 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.table;
+
+/**
+ * mybatis-flex-processor 为 {@link com.mybatisflex.coretest.Account} 以及 {@link TableInfoIndexTest.AccountMapper}
+ * 生成的 TableInfo 索引，除本注释外未做修改。修改 Account 或者 {@code @Table}、{@code @Column}、{@code @Id} 注解之后需要重新生成。
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class AccountTableInfoIndex implements TableInfoIndexProvider {
+
+    @Override
+    public String getAnnotationStamp() {
+        return "Table(camelToUnderline:boolean,comment:java.lang.String,dataSource:java.lang.String,mapperGenerateEnable:boolean,onInsert:java.lang.Class[],onSet:java.lang.Class[],onUpdate:java.lang.Class[],queryCache:boolean,schema:java.lang.String,value:java.lang.String)Column(comment:java.lang.String,ignore:boolean,insertable:boolean,isLarge:boolean,isLogicDelete:boolean,jdbcType:org.apache.ibatis.type.JdbcType,onInsertValue:java.lang.String,onUpdateValue:java.lang.String,tenantId:boolean,typeHandler:java.lang.Class,updatable:boolean,value:java.lang.String,version:boolean)Id(before:boolean,comment:java.lang.String,keyType:com.mybatisflex.annotation.KeyType,value:java.lang.String)";
+    }
+
+    @Override
+    public Class<?> getEntityClass(String mapperClass) {
+        switch (mapperClass) {
+            case "com.mybatisflex.core.table.TableInfoIndexTest$AccountMapper":
+                return com.mybatisflex.coretest.Account.class;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Class<?> getEntityClassByTableName(String tableName) {
+        switch (tableName) {
+            case "tb_account":
+                return com.mybatisflex.coretest.Account.class;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public IndexedEntity getEntity(String entityClass) {
+        switch (entityClass) {
+            case "com.mybatisflex.coretest.Account":
+                return entity0();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * {@code com.mybatisflex.coretest.Account}
+     */
+    private static IndexedEntity entity0() {
+        return new TableInfoIndexProvider.IndexedEntity(com.mybatisflex.coretest.Account.class, new TableLiteral(true, "", "", true, new java.lang.Class[]{}, new java.lang.Class[]{}, new java.lang.Class[]{com.mybatisflex.annotation.NoneListener.class}, false, "", "tb_account")
+            , new String[]{"age", "birthday", "delete", "id", "isDelete", "isNormal", "normal", "sex", "userName"}
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "id", null, new IdLiteral(true, "", com.mybatisflex.annotation.KeyType.None, ""), null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "userName", null, null, null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "birthday", null, null, null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "sex", null, null, null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "age", null, null, null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "isNormal", null, null, null, null, null)
+            , new TableInfoIndexProvider.IndexedField(com.mybatisflex.coretest.Account.class, "isDelete", new ColumnLiteral("", false, true, false, true, org.apache.ibatis.type.JdbcType.UNDEFINED, "", "", false, org.apache.ibatis.type.UnknownTypeHandler.class, true, "", false), null, null, null, null));
+    }
+
+    private static final class TableLiteral extends TableInfoIndexProvider.AnnotationLiteral implements com.mybatisflex.annotation.Table {
+
+        private final boolean camelToUnderline;
+        private final java.lang.String comment;
+        private final java.lang.String dataSource;
+        private final boolean mapperGenerateEnable;
+        private final java.lang.Class[] onInsert;
+        private final java.lang.Class[] onSet;
+        private final java.lang.Class[] onUpdate;
+        private final boolean queryCache;
+        private final java.lang.String schema;
+        private final java.lang.String value;
+
+        TableLiteral(boolean camelToUnderline, java.lang.String comment, java.lang.String dataSource, boolean mapperGenerateEnable, java.lang.Class[] onInsert, java.lang.Class[] onSet, java.lang.Class[] onUpdate, boolean queryCache, java.lang.String schema, java.lang.String value) {
+            super(com.mybatisflex.annotation.Table.class);
+            this.camelToUnderline = camelToUnderline;
+            this.comment = comment;
+            this.dataSource = dataSource;
+            this.mapperGenerateEnable = mapperGenerateEnable;
+            this.onInsert = onInsert;
+            this.onSet = onSet;
+            this.onUpdate = onUpdate;
+            this.queryCache = queryCache;
+            this.schema = schema;
+            this.value = value;
+        }
+
+        @Override
+        public boolean camelToUnderline() {
+            return camelToUnderline;
+        }
+
+        @Override
+        public java.lang.String comment() {
+            return comment;
+        }
+
+        @Override
+        public java.lang.String dataSource() {
+            return dataSource;
+        }
+
+        @Override
+        public boolean mapperGenerateEnable() {
+            return mapperGenerateEnable;
+        }
+
+        @Override
+        public java.lang.Class<? extends com.mybatisflex.annotation.InsertListener>[] onInsert() {
+            return onInsert.clone();
+        }
+
+        @Override
+        public java.lang.Class<? extends com.mybatisflex.annotation.SetListener>[] onSet() {
+            return onSet.clone();
+        }
+
+        @Override
+        public java.lang.Class<? extends com.mybatisflex.annotation.UpdateListener>[] onUpdate() {
+            return onUpdate.clone();
+        }
+
+        @Override
+        public boolean queryCache() {
+            return queryCache;
+        }
+
+        @Override
+        public java.lang.String schema() {
+            return schema;
+        }
+
+        @Override
+        public java.lang.String value() {
+            return value;
+        }
+
+    }
+
+    private static final class ColumnLiteral extends TableInfoIndexProvider.AnnotationLiteral implements com.mybatisflex.annotation.Column {
+
+        private final java.lang.String comment;
+        private final boolean ignore;
+        private final boolean insertable;
+        private final boolean isLarge;
+        private final boolean isLogicDelete;
+        private final org.apache.ibatis.type.JdbcType jdbcType;
+        private final java.lang.String onInsertValue;
+        private final java.lang.String onUpdateValue;
+        private final boolean tenantId;
+        private final java.lang.Class typeHandler;
+        private final boolean updatable;
+        private final java.lang.String value;
+        private final boolean version;
+
+        ColumnLiteral(java.lang.String comment, boolean ignore, boolean insertable, boolean isLarge, boolean isLogicDelete, org.apache.ibatis.type.JdbcType jdbcType, java.lang.String onInsertValue, java.lang.String onUpdateValue, boolean tenantId, java.lang.Class typeHandler, boolean updatable, java.lang.String value, boolean version) {
+            super(com.mybatisflex.annotation.Column.class);
+            this.comment = comment;
+            this.ignore = ignore;
+            this.insertable = insertable;
+            this.isLarge = isLarge;
+            this.isLogicDelete = isLogicDelete;
+            this.jdbcType = jdbcType;
+            this.onInsertValue = onInsertValue;
+            this.onUpdateValue = onUpdateValue;
+            this.tenantId = tenantId;
+            this.typeHandler = typeHandler;
+            this.updatable = updatable;
+            this.value = value;
+            this.version = version;
+        }
+
+        @Override
+        public java.lang.String comment() {
+            return comment;
+        }
+
+        @Override
+        public boolean ignore() {
+            return ignore;
+        }
+
+        @Override
+        public boolean insertable() {
+            return insertable;
+        }
+
+        @Override
+        public boolean isLarge() {
+            return isLarge;
+        }
+
+        @Override
+        public boolean isLogicDelete() {
+            return isLogicDelete;
+        }
+
+        @Override
+        public org.apache.ibatis.type.JdbcType jdbcType() {
+            return jdbcType;
+        }
+
+        @Override
+        public java.lang.String onInsertValue() {
+            return onInsertValue;
+        }
+
+        @Override
+        public java.lang.String onUpdateValue() {
+            return onUpdateValue;
+        }
+
+        @Override
+        public boolean tenantId() {
+            return tenantId;
+        }
+
+        @Override
+        public java.lang.Class<? extends org.apache.ibatis.type.TypeHandler> typeHandler() {
+            return typeHandler;
+        }
+
+        @Override
+        public boolean updatable() {
+            return updatable;
+        }
+
+        @Override
+        public java.lang.String value() {
+            return value;
+        }
+
+        @Override
+        public boolean version() {
+            return version;
+        }
+
+    }
+
+    private static final class IdLiteral extends TableInfoIndexProvider.AnnotationLiteral implements com.mybatisflex.annotation.Id {
+
+        private final boolean before;
+        private final java.lang.String comment;
+        private final com.mybatisflex.annotation.KeyType keyType;
+        private final java.lang.String value;
+
+        IdLiteral(boolean before, java.lang.String comment, com.mybatisflex.annotation.KeyType keyType, java.lang.String value) {
+            super(com.mybatisflex.annotation.Id.class);
+            this.before = before;
+            this.comment = comment;
+            this.keyType = keyType;
+            this.value = value;
+        }
+
+        @Override
+        public boolean before() {
+            return before;
+        }
+
+        @Override
+        public java.lang.String comment() {
+            return comment;
+        }
+
+        @Override
+        public com.mybatisflex.annotation.KeyType keyType() {
+            return keyType;
+        }
+
+        @Override
+        public java.lang.String value() {
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.table;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.NoneListener;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.table.TableInfoIndexProvider.IndexedEntity;
+import com.mybatisflex.core.table.TableInfoIndexProvider.IndexedField;
+import com.mybatisflex.core.util.Reflectors;
+import com.mybatisflex.coretest.Account;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 覆盖 {@link TableInfoIndex}：从 APT 生成的索引构建的 {@link TableInfo} 应与反射构建的一致。
+ */
+public class TableInfoIndexTest {
+
+    interface AccountMapper extends BaseMapper<Account> {
+    }
+
+    @Before
+    public void resetBefore() {
+        TableInfoFactory.clear();
+    }
+
+    @After
+    public void resetAfter() {
+        TableInfoFactory.clear();
+    }
+
+    @Test
+    public void buildTableInfoFromIndex() {
+        TableInfoIndex index = index(new AccountTableInfoIndex());
+        Assert.assertNotNull(index.getEntity(Account.class, Reflectors.of(Account.class)));
+
+        TableInfo indexed = TableInfoFactory.createTableInfo(Account.class, index);
+        TableInfo reflected = TableInfoFactory.createTableInfo(Account.class, index());
+
+        Assert.assertEquals(reflected.getTableNameWithSchema(), indexed.getTableNameWithSchema());
+        Assert.assertArrayEquals(reflected.getPrimaryColumns(), indexed.getPrimaryColumns());
+        Assert.assertArrayEquals(reflected.getColumns(), indexed.getColumns());
+        Assert.assertArrayEquals(reflected.getDefaultQueryColumns(), indexed.getDefaultQueryColumns());
+        Assert.assertEquals(reflected.getLogicDeleteColumn(), indexed.getLogicDeleteColumn());
+        Assert.assertEquals(reflected.getPropertyColumnMapping(), indexed.getPropertyColumnMapping());
+        Assert.assertEquals(reflected.getPrimaryKeyList().get(0).getKeyType(), indexed.getPrimaryKeyList().get(0).getKeyType());
+        Assert.assertEquals(reflected.getOnUpdateListeners(), indexed.getOnUpdateListeners());
+        Assert.assertEquals("is_delete", indexed.getLogicDeleteColumn());
+    }
+
+    @Test
+    public void resolveMapperAndTableName() {
+        TableInfoIndex index = index(new AccountTableInfoIndex());
+
+        Assert.assertEquals(Account.class, index.getEntityClass(AccountMapper.class));
+        Assert.assertNull(index.getEntityClass(BaseMapper.class));
+        Assert.assertEquals(Account.class, index.getEntityClassByTableName("tb_account"));
+        Assert.assertNull(index.getEntityClassByTableName("tb_article"));
+    }
+
+    @Test
+    public void removedFieldFallsBackToReflection() {
+        // 索引生成后实体类删除了 removedField 字段
+        TableInfoIndex index = index(new ChangedAccountIndex(Arrays.asList("removedField"), Collections.emptyList()));
+        Assert.assertNull(index.getEntity(Account.class, Reflectors.of(Account.class)));
+
+        TableInfo tableInfo = TableInfoFactory.createTableInfo(Account.class, index);
+        Assert.assertFalse(Arrays.asList(tableInfo.getColumns()).contains("removed_field"));
+        Assert.assertEquals("is_delete", tableInfo.getLogicDeleteColumn());
+    }
+
+    @Test
+    public void addedFieldFallsBackToReflection() {
+        // 索引生成后实体类新增了 isDelete 字段及其 getter 方法
+        TableInfoIndex index = index(new ChangedAccountIndex(Collections.emptyList(), Arrays.asList("isDelete", "delete")));
+        Assert.assertNull(index.getEntity(Account.class, Reflectors.of(Account.class)));
+
+        TableInfo tableInfo = TableInfoFactory.createTableInfo(Account.class, index);
+        Assert.assertEquals("is_delete", tableInfo.getLogicDeleteColumn());
+    }
+
+    @Test
+    public void loadProvidersFromServiceLoader() throws IOException {
+        Path root = Files.createTempDirectory("flex-table-info-index");
+        Path services = root.resolve("META-INF/services");
+        Files.createDirectories(services);
+        Files.write(services.resolve(TableInfoIndexProvider.class.getName()), Arrays.asList(
+            AccountTableInfoIndex.class.getName(), OutdatedIndex.class.getName()), StandardCharsets.UTF_8);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toUri().toURL()}, getClass().getClassLoader())) {
+            TableInfoIndex index = TableInfoIndex.load(classLoader);
+            Assert.assertEquals(Account.class, index.getEntityClass(AccountMapper.class));
+            // 由注解属性不同的旧版本生成的索引被忽略
+            Assert.assertNull(index.getEntityClassByTableName("tb_outdated"));
+        }
+    }
+
+    /**
+     * {@link Table}、{@link Column}、{@link Id} 增加或删除属性时，需要重新生成 {@link AccountTableInfoIndex}。
+     */
+    @Test
+    public void annotationStampMatchesProcessor() {
+        Assert.assertEquals(new AccountTableInfoIndex().getAnnotationStamp(), TableInfoIndex.ANNOTATION_STAMP);
+    }
+
+    @Test
+    public void indexedAnnotationsFollowAnnotationContract() throws NoSuchFieldException {
+        IndexedEntity entity = new AccountTableInfoIndex().getEntity(Account.class.getName());
+        Assert.assertNotNull(entity);
+
+        Table table = Account.class.getAnnotation(Table.class);
+        Table indexed = entity.getTable();
+        Assert.assertEquals(Table.class, indexed.annotationType());
+        Assert.assertArrayEquals(new Class[]{NoneListener.class}, indexed.onUpdate());
+        Assert.assertEquals(0, indexed.onInsert().length);
+        Assert.assertTrue(indexed.camelToUnderline());
+        Assert.assertEquals(indexed, table);
+        Assert.assertEquals(table, indexed);
+        Assert.assertEquals(table.hashCode(), indexed.hashCode());
+
+        // 返回的数组为副本
+        indexed.onUpdate()[0] = null;
+        Assert.assertEquals(NoneListener.class, indexed.onUpdate()[0]);
+
+        for (IndexedField field : entity.getFields()) {
+            java.lang.reflect.Field declaredField = field.getDeclaringClass().getDeclaredField(field.getName());
+            Assert.assertEquals(field.getName(), declaredField.getAnnotation(Column.class), field.getColumn());
+            Assert.assertEquals(field.getName(), declaredField.getAnnotation(Id.class), field.getId());
+            if (field.getColumn() != null) {
+                Assert.assertEquals(declaredField.getAnnotation(Column.class).hashCode(), field.getColumn().hashCode());
+            }
+        }
+    }
+
+
+    private static TableInfoIndex index(TableInfoIndexProvider... providers) {
+        return new TableInfoIndex(Arrays.asList(providers));
+    }
+
+    /**
+     * 模拟索引生成之后实体类发生了变化。
+     */
+    private static class ChangedAccountIndex extends AccountTableInfoIndex {
+
+        private static final List<String> ACCOUNT_PROPERTIES = Arrays.asList(
+            "age", "birthday", "delete", "id", "isDelete", "isNormal", "normal", "sex", "userName");
+
+        private final List<String> removedProperties;
+        private final List<String> addedProperties;
+
+        /**
+         * @param removedProperties 生成索引之后，实体类中删除的属性
+         * @param addedProperties   生成索引之后，实体类中新增的属性
+         */
+        ChangedAccountIndex(List<String> removedProperties, List<String> addedProperties) {
+            this.removedProperties = removedProperties;
+            this.addedProperties = addedProperties;
+        }
+
+        @Override
+        public IndexedEntity getEntity(String entityClass) {
+            IndexedEntity entity = super.getEntity(entityClass);
+            if (entity == null) {
+                return null;
+            }
+            List<String> properties = ACCOUNT_PROPERTIES.stream()
+                .filter(property -> !addedProperties.contains(property))
+                .collect(Collectors.toList());
+            properties.addAll(removedProperties);
+            Collections.sort(properties);
+            IndexedField[] fields = entity.getFields().stream()
+                .filter(field -> !addedProperties.contains(field.getName()))
+                .toArray(IndexedField[]::new);
+            return new IndexedEntity(entity.getEntityClass(), entity.getTable(), properties.toArray(new String[0]), fields);
+        }
+
+    }
+
+    /**
+     * 由 {@link Table} 注解缺少 {@code queryCache} 属性的旧版本生成的索引。
+     */
+    public static class OutdatedIndex extends AccountTableInfoIndex {
+
+        @Override
+        public String getAnnotationStamp() {
+            return super.getAnnotationStamp().replace("queryCache:boolean,", "");
+        }
+
+        @Override
+        public Class<?> getEntityClassByTableName(String tableName) {
+            return "tb_outdated".equals(tableName) ? Account.class : super.getEntityClassByTableName(tableName);
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.core.transaction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 覆盖 {@link DefaultXidGenerator} 的唯一性。
+ */
+public class DefaultXidGeneratorTest {
+
+    @Test
+    public void uniqueAcrossThreads() throws InterruptedException {
+        DefaultXidGenerator generator = new DefaultXidGenerator("node");
+        Set<String> xids = ConcurrentHashMap.newKeySet();
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    xids.add(generator.generate());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(80_000, xids.size());
+        Assert.assertTrue(xids.iterator().next().startsWith("node-"));
+    }
+
+    @Test
+    public void startTransactionalUsesGenerator() {
+        XidGenerator original = TransactionalManager.getXidGenerator();
+        try {
+            TransactionalManager.setXidGenerator(() -> "fixed-xid");
+            Assert.assertEquals("fixed-xid", TransactionalManager.startTransactional());
+        } finally {
+            TransactionContext.release();
+            TransactionalManager.setXidGenerator(original);
+        }
+    }
+
+}
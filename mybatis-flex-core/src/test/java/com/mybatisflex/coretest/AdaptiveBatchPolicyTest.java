@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.batch.AdaptiveBatchPolicy;
+import com.mybatisflex.core.batch.BatchContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 自适应批量刷新策略测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class AdaptiveBatchPolicyTest {
+
+    @Test
+    public void testBytesLimit() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.setMaxBatchBytes(2048);
+
+        Assert.assertFalse(policy.shouldFlush(5, 100));
+        Assert.assertTrue(policy.shouldFlush(5, 2048));
+        Assert.assertTrue(policy.shouldFlush(1000, 100));
+    }
+
+    @Test
+    public void testAdjustByLatency() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.setInitialBatchSize(100);
+        policy.setTargetFlushMillis(200);
+
+        // 足够快，增大
+        policy.onFlush(100, 1000, millis(10));
+        Assert.assertEquals(125, policy.getMetrics().batchSizeLimit());
+
+        // 未达到上限的批次（例如最后一批）不会增大
+        policy.onFlush(50, 500, millis(10));
+        Assert.assertEquals(125, policy.getMetrics().batchSizeLimit());
+
+        // 过慢，按比例减小，但最多减半
+        policy.onFlush(125, 1250, millis(1000));
+        Assert.assertEquals(62, policy.getMetrics().batchSizeLimit());
+
+        AdaptiveBatchPolicy.Metrics metrics = policy.getMetrics();
+        Assert.assertEquals(3, metrics.flushCount());
+        Assert.assertEquals(125, metrics.lastBatchSize());
+        Assert.assertEquals(275 / 3.0, metrics.averageBatchSize(), 0.001);
+    }
+
+    @Test
+    public void testBackoff() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.setInitialBatchSize(100);
+
+        SQLException packetTooLarge = new SQLException("Packet for query is too large (5000000 > 4194304). "
+            + "You can change this value on the server by setting the 'max_allowed_packet' variable.");
+        RuntimeException wrapped = new RuntimeException(new BatchUpdateException(new int[0], packetTooLarge));
+
+        Assert.assertTrue(policy.onFailure(100, 1_000_000, wrapped));
+        AdaptiveBatchPolicy.Metrics metrics = policy.getMetrics();
+        Assert.assertEquals(50, metrics.batchSizeLimit());
+        Assert.assertEquals(500_000, metrics.batchBytesLimit());
+        Assert.assertEquals(1, metrics.backoffCount());
+
+        // 其他错误不会重试
+        Assert.assertFalse(policy.onFailure(50, 1000, new SQLException("Duplicate entry '1' for key 'PRIMARY'")));
+
+        // 单条数据无法再拆分
+        Assert.assertFalse(policy.onFailure(1, 1_000_000, packetTooLarge));
+
+        policy.reset();
+        Assert.assertEquals(100, policy.getMetrics().batchSizeLimit());
+        Assert.assertEquals(0, policy.getMetrics().backoffCount());
+    }
+
+    @Test
+    public void testBytesLimitRecovery() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.setMaxBatchBytes(100_000);
+        Assert.assertTrue(policy.onFailure(100, 100_000, new SQLException("Packet for query is too large")));
+        Assert.assertEquals(50_000, policy.getMetrics().batchBytesLimit());
+
+        // 远小于上限的批次不能说明上限是安全的
+        for (int i = 0; i < 20; i++) {
+            policy.onFlush(1, 1000, millis(10));
+        }
+        Assert.assertEquals(50_000, policy.getMetrics().batchBytesLimit());
+
+        for (int i = 0; i < 7; i++) {
+            policy.onFlush(1, 30_000, millis(10));
+        }
+        Assert.assertEquals(50_000, policy.getMetrics().batchBytesLimit());
+        policy.onFlush(1, 30_000, millis(10));
+        Assert.assertEquals(62_500, policy.getMetrics().batchBytesLimit());
+
+        // 逐步恢复，但不会超过 maxBatchBytes
+        for (int i = 0; i < 100; i++) {
+            policy.onFlush(1, 60_000, millis(10));
+        }
+        Assert.assertEquals(100_000, policy.getMetrics().batchBytesLimit());
+
+        // 再次出错时重新减小
+        Assert.assertTrue(policy.onFailure(100, 100_000, new SQLException("Packet for query is too large")));
+        Assert.assertEquals(50_000, policy.getMetrics().batchBytesLimit());
+    }
+
+    @Test
+    public void testEstimateBytes() {
+        Assert.assertEquals(5, BatchContext.estimate("abc"));
+        Assert.assertEquals(5, BatchContext.estimate("中"));
+        Assert.assertEquals(8, BatchContext.estimate(1L));
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.SQL_ARGS, new Object[]{1L, "ab"});
+        Assert.assertEquals(22, BatchContext.estimateStatement(params));
+
+        BatchContext.track(params);
+        Assert.assertEquals(0, BatchContext.getBytes());
+
+        Object previous = BatchContext.begin();
+        try {
+            BatchContext.track(params);
+            BatchContext.track(params);
+            Assert.assertEquals(44, BatchContext.getBytes());
+            BatchContext.reset();
+            Assert.assertEquals(0, BatchContext.getBytes());
+        } finally {
+            BatchContext.end(previous);
+        }
+        Assert.assertFalse(BatchContext.isActive());
+    }
+
+    private static long millis(long millis) {
+        return millis * 1_000_000L;
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.row.CompactRow;
+import com.mybatisflex.core.row.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 紧凑 Row 测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class CompactRowTest {
+
+    private final CompactRow.Header header = CompactRow.Header.of(false, "id", "user_name", "age", "id");
+
+    private CompactRow newRow() {
+        Object[] values = new Object[header.size()];
+        values[header.slotOf(0)] = 1L;
+        values[header.slotOf(1)] = "michael";
+        values[header.slotOf(3)] = 2L;
+        return new CompactRow(header, values);
+    }
+
+    private static Row expectedRow() {
+        Row row = new Row();
+        row.put("id", 1L);
+        row.put("user_name", "michael");
+        row.put("id", 2L);
+        return row;
+    }
+
+    @Test
+    public void testRead() {
+        CompactRow row = newRow();
+        Assert.assertEquals(4, header.size());
+        Assert.assertEquals(3, row.size());
+        Assert.assertEquals(Long.valueOf(1), row.getLong("id"));
+        Assert.assertEquals(2L, row.get("id$1"));
+        Assert.assertEquals("michael", row.getString("user_name"));
+        Assert.assertFalse(row.containsKey("age"));
+        Assert.assertNull(row.get("age"));
+
+        Assert.assertEquals("michael", row.getIgnoreCase("userName"));
+        Assert.assertEquals("michael", row.getIgnoreCase("USER-NAME"));
+
+        Assert.assertEquals(Arrays.asList("id", "user_name", "id$1"), Arrays.asList(row.keySet().toArray()));
+        Assert.assertEquals(expectedRow(), row);
+        Assert.assertEquals(expectedRow().hashCode(), row.hashCode());
+        Assert.assertEquals(expectedRow().toString(), row.toString());
+        Assert.assertTrue(row.isCompact());
+    }
+
+    @Test
+    public void testDuplicateWithNulls() {
+        // 第一个 id 为 null 时，Row 不会设置该列，之后的 id 放入 "id" 而不是 "id$1"
+        assertSameAsRow(new String[]{"id", "user_name", "id"}, null, "michael", 2L);
+        assertSameAsRow(new String[]{"id", "user_name", "id"}, 1L, null, null);
+        assertSameAsRow(new String[]{"id", "user_name", "id"}, null, "michael", null);
+        assertSameAsRow(new String[]{"id", "id", "id"}, 1L, 2L, 3L);
+        assertSameAsRow(new String[]{"id", "id", "id"}, 1L, null, 3L);
+        assertSameAsRow(new String[]{"id", "id", "id"}, null, 2L, 3L);
+        assertSameAsRow(new String[]{"id", "id", "id$1"}, 1L, 2L, 3L);
+        assertSameAsRow(new String[]{"id", "id", "id$1"}, null, 2L, 3L);
+        assertSameAsRow(new String[]{"id", "id$1", "id"}, null, 2L, 3L);
+
+        CompactRow.Header duplicateHeader = CompactRow.Header.of(false, "id", "user_name", "id");
+        Assert.assertTrue(duplicateHeader.isNullSensitive());
+        Assert.assertTrue(duplicateHeader.matches(new Object[]{1L, "michael", 2L}));
+        Assert.assertFalse(duplicateHeader.matches(new Object[]{null, "michael", 2L}));
+        Assert.assertFalse(CompactRow.Header.of(true, "id", "user_name", "id").isNullSensitive());
+        Assert.assertFalse(CompactRow.Header.of(false, "id", "user_name").isNullSensitive());
+    }
+
+    /**
+     * 与 FlexDefaultResultSetHandler 相同的方式构建，结果（包括 key 的顺序）需要与依次调用 Row#put 一致。
+     */
+    private static void assertSameAsRow(String[] columns, Object... columnValues) {
+        Row expected = new Row();
+        for (int i = 0; i < columns.length; i++) {
+            if (columnValues[i] != null) {
+                expected.put(columns[i], columnValues[i]);
+            }
+        }
+
+        CompactRow.Header duplicateHeader = CompactRow.Header.of(false, columns);
+        Map<String, Object> actual;
+        if (duplicateHeader.matches(columnValues)) {
+            Object[] values = new Object[duplicateHeader.size()];
+            for (int i = 0; i < columns.length; i++) {
+                if (columnValues[i] != null) {
+                    values[duplicateHeader.slotOf(i)] = columnValues[i];
+                }
+            }
+            actual = new CompactRow(duplicateHeader, values);
+        } else {
+            // 与列头不一致时使用普通的 Row
+            actual = expected;
+        }
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(Arrays.asList(expected.keySet().toArray()), Arrays.asList(actual.keySet().toArray()));
+    }
+
+    @Test
+    public void testKeepNulls() {
+        CompactRow.Header nullsHeader = CompactRow.Header.of(true, "id", "age");
+        CompactRow row = new CompactRow(nullsHeader, new Object[]{1, null});
+        Assert.assertEquals(2, row.size());
+        Assert.assertTrue(row.containsKey("age"));
+    }
+
+    @Test
+    public void testModify() {
+        CompactRow row = newRow();
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if ("user_name".equals(entry.getKey())) {
+                entry.setValue("mybatis-flex");
+            }
+        }
+        Assert.assertTrue(row.isCompact());
+        Assert.assertEquals("mybatis-flex", row.get("user_name"));
+
+        row.set("age", 18);
+        Assert.assertFalse(row.isCompact());
+        Assert.assertEquals(18, row.get("age"));
+        Assert.assertEquals(4, row.size());
+
+        row.keySet().removeIf(key -> key.startsWith("id"));
+        Assert.assertEquals(Arrays.asList("user_name", "age"), Arrays.asList(row.keySet().toArray()));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        CompactRow row = newRow();
+        row.entrySet().removeIf(entry -> "user_name".equals(entry.getKey()));
+        Assert.assertFalse(row.isCompact());
+        Assert.assertEquals(Arrays.asList("id", "id$1"), Arrays.asList(row.keySet().toArray()));
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        CompactRow row = newRow();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(row);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object copy = in.readObject();
+            Assert.assertEquals(Row.class, copy.getClass());
+            Assert.assertEquals(row, copy);
+        }
+    }
+
+}
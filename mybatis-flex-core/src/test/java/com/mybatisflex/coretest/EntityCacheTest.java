@@ -0,0 +1,271 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.EntityCache;
+import com.mybatisflex.core.cache.LocalQueryCacheStore;
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.logicdelete.LogicDeleteManager;
+import com.mybatisflex.core.table.TableInfo;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 按主键缓存实体的测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class EntityCacheTest {
+
+    private final List<List<Object>> loads = new CopyOnWriteArrayList<>();
+
+    @After
+    public void clear() {
+        QueryCacheManager.setStore(null);
+        EntityCache.setBatchSize(500);
+    }
+
+    @Test
+    public void testPartialHits() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement ms = statement("selectListByIds");
+
+        Assert.assertEquals(Arrays.asList(3L, 1L), ids(query(ms, 3, 1, 3)));
+        Assert.assertEquals(Arrays.asList(3L, 1L), loads.get(0));
+
+        // 只加载未命中的主键，不存在的主键也会被缓存
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), ids(query(ms, 1, "2", 3, 99)));
+        Assert.assertEquals(Arrays.asList(2L, 99L), loads.get(1));
+
+        query(ms, 99, 2);
+        Assert.assertEquals(2, loads.size());
+
+        // 写入该表后失效
+        QueryCacheManager.invalidate("tb_cached_entity");
+        query(ms, 1);
+        Assert.assertEquals(3, loads.size());
+    }
+
+    @Test
+    public void testBatchSize() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        EntityCache.setBatchSize(2);
+
+        Assert.assertEquals(5, query(statement("selectListByIds"), 1, 2, 3, 4, 5).size());
+        Assert.assertEquals(3, loads.size());
+        Assert.assertEquals(Collections.singletonList(5L), loads.get(2));
+    }
+
+    @Test
+    public void testLogicDeleteState() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement ms = statement("selectOneById");
+
+        query(ms, 1);
+        query(ms, 1);
+        Assert.assertEquals(1, loads.size());
+
+        // 跳过逻辑删除时的查询条件不同，不能共用缓存
+        LogicDeleteManager.execWithoutLogicDelete(() -> {
+            try {
+                query(ms, 1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement ms = statement("selectOneById");
+        TableInfo tableInfo = EntityCache.resolveTableInfo(ms, params(1));
+        Assert.assertNotNull(tableInfo);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        long coalesced = EntityCache.getCoalescedCount();
+
+        AtomicReference<List<CachedEntity>> leaderResult = new AtomicReference<>();
+        Thread leader = new Thread(() -> {
+            try {
+                leaderResult.set(EntityCache.query(ms, params(1), tableInfo, ids -> {
+                    started.countDown();
+                    release.await();
+                    return load(ids);
+                }));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<List<CachedEntity>> followerResult = new AtomicReference<>();
+        Thread follower = new Thread(() -> {
+            try {
+                followerResult.set(EntityCache.query(ms, params(1), tableInfo, this::load));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        follower.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (EntityCache.getCoalescedCount() == coalesced && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        Assert.assertEquals(coalesced + 1, EntityCache.getCoalescedCount());
+        Assert.assertEquals(1, loads.size());
+        Assert.assertEquals(Collections.singletonList(1L), ids(followerResult.get()));
+        // 等待的线程得到的是独立的副本
+        Assert.assertNotSame(leaderResult.get().get(0), followerResult.get().get(0));
+    }
+
+    @Test
+    public void testCopiesPerCaller() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement ms = statement("selectOneById");
+
+        // 修改查询到的实体不会影响缓存，也不会影响其他调用者
+        CachedEntity first = query(ms, 1).get(0);
+        first.setDeleted(true);
+
+        CachedEntity second = query(ms, 1).get(0);
+        Assert.assertEquals(1, loads.size());
+        Assert.assertNull(second.getDeleted());
+
+        second.setDeleted(true);
+        CachedEntity third = query(ms, 1).get(0);
+        Assert.assertEquals(1, loads.size());
+        Assert.assertNull(third.getDeleted());
+        Assert.assertNotSame(second, third);
+    }
+
+    @Test
+    public void testNotOptIn() {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        Assert.assertNull(EntityCache.resolveTableInfo(statement("selectListByQuery"), params(1)));
+
+        QueryCacheManager.setStore(null);
+        Assert.assertNull(EntityCache.resolveTableInfo(statement("selectListByIds"), params(1)));
+    }
+
+
+    private List<CachedEntity> query(MappedStatement ms, Object... ids) throws Exception {
+        Map<String, Object> params = params(ids.length == 1 ? ids[0] : Arrays.asList(ids));
+        return EntityCache.query(ms, params, EntityCache.resolveTableInfo(ms, params), this::load);
+    }
+
+    /**
+     * 模拟数据库，只存在主键小于 10 的数据。
+     */
+    private List<CachedEntity> load(Object[] ids) {
+        loads.add(Arrays.asList(ids));
+        List<CachedEntity> entities = new ArrayList<>();
+        for (Object id : ids) {
+            if ((Long) id < 10) {
+                CachedEntity entity = new CachedEntity();
+                entity.setId((Long) id);
+                entities.add(entity);
+            }
+        }
+        // 数据库返回的顺序与请求的顺序无关
+        Collections.reverse(entities);
+        return entities;
+    }
+
+    private static List<Long> ids(List<CachedEntity> entities) {
+        List<Long> ids = new ArrayList<>();
+        for (CachedEntity entity : entities) {
+            ids.add(entity.getId());
+        }
+        return ids;
+    }
+
+    private static Map<String, Object> params(Object primaryValue) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.PRIMARY_VALUE, primaryValue);
+        return params;
+    }
+
+    private static MappedStatement statement(String method) {
+        Configuration configuration = new Configuration();
+        return new MappedStatement.Builder(configuration, CachedEntityMapper.class.getName() + "." + method
+            , parameterObject -> new BoundSql(configuration, "SELECT 1", Collections.emptyList(), parameterObject)
+            , SqlCommandType.SELECT).build();
+    }
+
+
+    public interface CachedEntityMapper extends BaseMapper<CachedEntity> {
+    }
+
+    @Table(value = "tb_cached_entity", queryCache = true)
+    public static class CachedEntity implements Serializable {
+
+        @Id
+        private Long id;
+
+        @Column(isLogicDelete = true)
+        private Boolean deleted;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Boolean getDeleted() {
+            return deleted;
+        }
+
+        public void setDeleted(Boolean deleted) {
+            this.deleted = deleted;
+        }
+
+    }
+
+}
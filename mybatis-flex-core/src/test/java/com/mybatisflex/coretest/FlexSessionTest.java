@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.dialect.DbType;
+import com.mybatisflex.core.mybatis.FlexSession;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 会话测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class FlexSessionTest {
+
+    @Test
+    public void testBindConnection() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        FlexDataSource dataSource = new FlexDataSource("ds1", dataSource(opened, closed), DbType.H2, false);
+
+        try (FlexSession ignored = FlexSession.open()) {
+            Connection connection1 = dataSource.getConnection();
+            connection1.close();
+            Connection connection2 = dataSource.getConnection();
+            connection2.close();
+
+            Assert.assertSame(connection1, connection2);
+            Assert.assertEquals(1, opened.get());
+            Assert.assertEquals(0, closed.get());
+        }
+
+        Assert.assertNull(FlexSession.current());
+        Assert.assertEquals(1, closed.get());
+
+        // 会话结束后恢复为每次获取新的连接
+        dataSource.getConnection().close();
+        Assert.assertEquals(2, opened.get());
+        Assert.assertEquals(2, closed.get());
+    }
+
+    @Test
+    public void testNested() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        FlexDataSource dataSource = new FlexDataSource("ds1", dataSource(opened, closed), DbType.H2, false);
+
+        try (FlexSession outer = FlexSession.open()) {
+            Connection connection1 = dataSource.getConnection();
+            try (FlexSession inner = FlexSession.open()) {
+                Assert.assertSame(outer, inner);
+                Assert.assertSame(connection1, dataSource.getConnection());
+            }
+            Assert.assertSame(outer, FlexSession.current());
+            Assert.assertEquals(0, closed.get());
+        }
+
+        Assert.assertEquals(1, opened.get());
+        Assert.assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testMultiDataSource() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        FlexDataSource dataSource = new FlexDataSource("ds1", dataSource(opened, closed), DbType.H2, false);
+        dataSource.addDataSource("ds2", dataSource(opened, closed), DbType.H2, false);
+
+        try (FlexSession ignored = FlexSession.open()) {
+            Connection connection1 = dataSource.getConnection();
+            Connection connection2 = DataSourceKey.use("ds2", () -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Assert.assertNotSame(connection1, connection2);
+            Assert.assertSame(connection1, dataSource.getConnection());
+            Assert.assertEquals(2, opened.get());
+        }
+
+        Assert.assertEquals(2, closed.get());
+    }
+
+    @Test
+    public void testAutoCommitWithNonAutoCommitPool() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        FlexDataSource dataSource = new FlexDataSource("ds1", dataSource(opened, closed, false), DbType.H2, false);
+
+        Configuration configuration = new Configuration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        SqlSessionFactory sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+
+        try (FlexSession ignored = FlexSession.open()) {
+            SqlSession sqlSession = FlexSession.getSqlSession(sqlSessionFactory, ExecutorType.SIMPLE);
+            Assert.assertNotNull(sqlSession);
+
+            Connection connection = sqlSession.getConnection();
+            Assert.assertTrue(connection.getAutoCommit());
+
+            // 会话外的调用修改了绑定连接的 autoCommit
+            connection.setAutoCommit(false);
+            Assert.assertSame(connection, sqlSession.getConnection());
+            Assert.assertTrue(connection.getAutoCommit());
+            Assert.assertEquals(1, opened.get());
+        }
+
+        Assert.assertEquals(1, closed.get());
+    }
+
+
+    private static DataSource dataSource(AtomicInteger opened, AtomicInteger closed) {
+        return dataSource(opened, closed, true);
+    }
+
+    private static DataSource dataSource(AtomicInteger opened, AtomicInteger closed, boolean autoCommit) {
+        return (DataSource) Proxy.newProxyInstance(FlexSessionTest.class.getClassLoader(), new Class[]{DataSource.class}, (proxy, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                opened.incrementAndGet();
+                return connection(closed, autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static Connection connection(AtomicInteger closed, boolean autoCommit) {
+        boolean[] state = new boolean[]{false, autoCommit};
+        return (Connection) Proxy.newProxyInstance(FlexSessionTest.class.getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (!state[0]) {
+                        state[0] = true;
+                        closed.incrementAndGet();
+                    }
+                    return null;
+                case "isClosed":
+                    return state[0];
+                case "getAutoCommit":
+                    return state[1];
+                case "setAutoCommit":
+                    state[1] = (Boolean) args[0];
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+}
@@ -19,10 +19,19 @@ package com.mybatisflex.coretest;
 import com.mybatisflex.core.keygen.IKeyGenerator;
 import com.mybatisflex.core.keygen.KeyGeneratorFactory;
 import com.mybatisflex.core.keygen.KeyGenerators;
+import com.mybatisflex.core.keygen.impl.FlexIDKeyGenerator;
+import com.mybatisflex.core.keygen.impl.SnowFlakeIDKeyGenerator;
+import com.mybatisflex.core.keygen.impl.ULIDKeyGenerator;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
 import java.util.stream.LongStream;
 
 /**
@@ -76,4 +85,120 @@ public class IdGenTest {
         Assert.assertTrue("IDs should be monotonically increasing",
             ids[size - 1].compareTo(ids[0]) > 0);
     }
+
+    @Test
+    public void snowFlakeIDBatch() {
+        SnowFlakeIDKeyGenerator keyGenerator = new SnowFlakeIDKeyGenerator(1, 1);
+        long first = keyGenerator.nextId();
+        long[] ids = keyGenerator.nextIds(10_000);
+        Assert.assertTrue(ids[0] > first);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assert.assertTrue(keyGenerator.nextId() > ids[ids.length - 1]);
+        Assert.assertEquals(0, keyGenerator.nextIds(0).length);
+    }
+
+    @Test
+    public void snowFlakeIDConcurrent() throws InterruptedException {
+        SnowFlakeIDKeyGenerator keyGenerator = new SnowFlakeIDKeyGenerator(1, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        runConcurrently(8, index -> {
+            for (int i = 0; i < 100; i++) {
+                ids.add(keyGenerator.nextId());
+                for (long id : keyGenerator.nextIds(100)) {
+                    ids.add(id);
+                }
+            }
+        });
+        Assert.assertEquals(8 * 100 * 101, ids.size());
+    }
+
+    @Test
+    public void snowFlakeIDClockRollback() {
+        long now = System.currentTimeMillis();
+        Deque<Long> clock = new ArrayDeque<>(Arrays.asList(now, now - 3, now + 1, now - 100));
+        SnowFlakeIDKeyGenerator keyGenerator = new SnowFlakeIDKeyGenerator(1, 1) {
+            @Override
+            protected long timeGen() {
+                return clock.size() > 1 ? clock.poll() : clock.peek();
+            }
+        };
+        long first = keyGenerator.nextId();
+        // 可容忍的时间回拨，等待后时间恢复正常
+        long second = keyGenerator.nextId();
+        Assert.assertTrue(second > first);
+        Assert.assertEquals(now + 1, keyGenerator.getLastTimeMillis());
+        // 超出可容忍的时间回拨
+        Assert.assertThrows(Exception.class, keyGenerator::nextId);
+        Assert.assertThrows(Exception.class, () -> keyGenerator.nextIds(10));
+    }
+
+    @Test
+    public void flexIDBatchAndClockRollback() throws InterruptedException {
+        long[] now = {System.currentTimeMillis()};
+        FlexIDKeyGenerator keyGenerator = new FlexIDKeyGenerator() {
+            @Override
+            protected long timeGen() {
+                return now[0];
+            }
+        };
+        long[] ids = keyGenerator.nextIds(250);
+        now[0] -= 1000;
+        long afterRollback = keyGenerator.generate(null, null);
+        // 去掉机器 ID 和随机数之后依然递增
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i] / 10000 > ids[i - 1] / 10000);
+        }
+        Assert.assertTrue(afterRollback / 10000 > ids[ids.length - 1] / 10000);
+
+        Set<Long> concurrentIds = ConcurrentHashMap.newKeySet();
+        FlexIDKeyGenerator concurrentKeyGenerator = new FlexIDKeyGenerator();
+        runConcurrently(8, index -> {
+            for (int i = 0; i < 100; i++) {
+                concurrentIds.add(concurrentKeyGenerator.generate(null, null) / 100);
+                for (long id : concurrentKeyGenerator.nextIds(50)) {
+                    concurrentIds.add(id / 100);
+                }
+            }
+        });
+        Assert.assertEquals(8 * 100 * 51, concurrentIds.size());
+    }
+
+    @Test
+    public void monotonicULIDBatchAndClockRollback() {
+        long[] now = {System.currentTimeMillis()};
+        ULIDKeyGenerator keyGenerator = new ULIDKeyGenerator() {
+            @Override
+            protected long timeGen() {
+                return now[0];
+            }
+        };
+        String first = keyGenerator.nextMonotonicId();
+        String[] ids = keyGenerator.nextMonotonicIds(1000);
+        now[0] -= 1000;
+        String afterRollback = keyGenerator.nextMonotonicId();
+
+        Assert.assertTrue(ids[0].compareTo(first) > 0);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i].compareTo(ids[i - 1]) > 0);
+        }
+        Assert.assertTrue(afterRollback.compareTo(ids[ids.length - 1]) > 0);
+    }
+
+    private static void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            new Thread(() -> {
+                try {
+                    task.accept(index);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+    }
+
 }
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.InvalidationEvent;
+import com.mybatisflex.core.cache.LocalInvalidationBus;
+import com.mybatisflex.core.cache.LocalQueryCacheStore;
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存失效总线测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class InvalidationBusTest {
+
+    private static final String SQL = "SELECT * FROM `tb_account`";
+
+    @After
+    public void clear() {
+        QueryCacheManager.setInvalidationBus(null);
+        QueryCacheManager.setStore(null);
+    }
+
+    @Test
+    public void testLocalBus() {
+        try (LocalInvalidationBus node1 = new LocalInvalidationBus("bus-test");
+             LocalInvalidationBus node2 = new LocalInvalidationBus("bus-test")) {
+            List<InvalidationEvent> received1 = new ArrayList<>();
+            List<InvalidationEvent> received2 = new ArrayList<>();
+            node1.subscribe(received1::add);
+            node2.subscribe(received2::add);
+
+            node1.publish(InvalidationEvent.ofTables(node1.getNodeId(), "tb_account"));
+
+            // 不会收到本节点发出的事件
+            Assert.assertTrue(received1.isEmpty());
+            Assert.assertEquals(1, received2.size());
+            Assert.assertArrayEquals(new String[]{"tb_account"}, received2.get(0).getTables());
+
+            Assert.assertEquals(1, node1.getMetrics().publishedCount());
+            Assert.assertEquals(1, node2.getMetrics().receivedCount());
+            Assert.assertTrue(node2.getMetrics().maxLagMillis() >= 0);
+        }
+    }
+
+    @Test
+    public void testRemoteInvalidation() throws Exception {
+        LocalInvalidationBus local = new LocalInvalidationBus("cache-test");
+        LocalInvalidationBus remote = new LocalInvalidationBus("cache-test");
+        List<InvalidationEvent> published = new ArrayList<>();
+        remote.subscribe(published::add);
+
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        QueryCacheManager.setInvalidationBus(local);
+
+        AtomicInteger executed = new AtomicInteger();
+        query(executed);
+        query(executed);
+        Assert.assertEquals(1, executed.get());
+
+        // 其他节点写入了 tb_account
+        remote.publish(InvalidationEvent.ofTables(remote.getNodeId(), "tb_account"));
+        query(executed);
+        Assert.assertEquals(2, executed.get());
+
+        // 本节点的失效会通知其他节点
+        QueryCacheManager.invalidate("tb_account");
+        Assert.assertEquals(1, published.size());
+        Assert.assertArrayEquals(new String[]{"tb_account"}, published.get(0).getTables());
+
+        remote.close();
+    }
+
+
+    private static void query(AtomicInteger executed) throws Exception {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "com.mybatisflex.coretest.InvalidationBusTest.selectListByQuery"
+            , parameterObject -> new BoundSql(configuration, SQL, Collections.emptyList(), parameterObject), SqlCommandType.SELECT).build();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.QUERY, QueryWrapper.create().from("tb_account").cache());
+        params.put(FlexConsts.SQL_ARGS, new Object[0]);
+        QueryCacheManager.query(ms, params, SQL, () -> {
+            executed.incrementAndGet();
+            return new ArrayList<>(List.of(1));
+        });
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.handler.BaseJsonTypeHandler;
+import com.mybatisflex.core.handler.GsonTypeHandler;
+import com.mybatisflex.core.handler.JacksonTypeHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON 类型处理器流式读写与延迟解析测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class JsonTypeHandlerStreamTest {
+
+    @After
+    public void reset() {
+        BaseJsonTypeHandler.setDefaultStreamMode(BaseJsonTypeHandler.StreamMode.NONE);
+        BaseJsonTypeHandler.setDefaultLazyEnable(false);
+    }
+
+    @Test
+    public void testCharacterStream() throws Exception {
+        BaseJsonTypeHandler.setDefaultStreamMode(BaseJsonTypeHandler.StreamMode.CHARACTER);
+        JacksonTypeHandler handler = new JacksonTypeHandler(List.class, String.class);
+
+        Object value = handler.getNullableResult(resultSet("[\"a\",\"b\"]"), "tags");
+        Assert.assertEquals(Arrays.asList("a", "b"), value);
+
+        Assert.assertNull(handler.getNullableResult(resultSet("  "), "tags"));
+        Assert.assertNull(handler.getNullableResult(resultSet(null), "tags"));
+
+        Map<String, Object> written = new HashMap<>();
+        handler.setNonNullParameter(preparedStatement(written), 1, Arrays.asList("x", "y"), null);
+        Assert.assertEquals("[\"x\",\"y\"]", written.get("setCharacterStream"));
+    }
+
+    @Test
+    public void testBinaryStream() throws Exception {
+        BaseJsonTypeHandler.setDefaultStreamMode(BaseJsonTypeHandler.StreamMode.BINARY);
+        GsonTypeHandler handler = new GsonTypeHandler(List.class, Integer.class);
+
+        Object value = handler.getNullableResult(resultSet("[1,2,3]"), "ids");
+        Assert.assertEquals(Arrays.asList(1, 2, 3), value);
+    }
+
+    @Test
+    public void testLazy() throws Exception {
+        BaseJsonTypeHandler.setDefaultLazyEnable(true);
+        int[] parseCount = {0};
+        JacksonTypeHandler handler = new JacksonTypeHandler(List.class, String.class) {
+            @Override
+            protected Object parseJson(String json) {
+                parseCount[0]++;
+                return super.parseJson(json);
+            }
+        };
+
+        List<?> value = (List<?>) handler.getNullableResult(resultSet("[\"a\",\"b\"]"), "tags");
+        Assert.assertEquals(0, parseCount[0]);
+
+        // 未访问的值直接写回原文
+        Map<String, Object> written = new HashMap<>();
+        handler.setNonNullParameter(preparedStatement(written), 1, value, null);
+        Assert.assertEquals("[\"a\",\"b\"]", written.get("setString"));
+        Assert.assertEquals(0, parseCount[0]);
+
+        Assert.assertEquals(2, value.size());
+        Assert.assertEquals("b", value.get(1));
+        Assert.assertEquals(1, parseCount[0]);
+    }
+
+    @Test
+    public void testLazyConcurrentFirstAccess() throws Exception {
+        BaseJsonTypeHandler.setDefaultLazyEnable(true);
+        AtomicInteger parseCount = new AtomicInteger();
+        JacksonTypeHandler handler = new JacksonTypeHandler(List.class, String.class) {
+            @Override
+            protected Object parseJson(String json) {
+                parseCount.incrementAndGet();
+                try {
+                    // 放大首次解析的时间窗口，使其他线程在解析期间访问
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.parseJson(json);
+            }
+        };
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                List<?> value = (List<?>) handler.getNullableResult(resultSet("[\"a\",\"b\"]"), "tags");
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<Object>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        barrier.await();
+                        return value.get(1);
+                    }));
+                }
+                for (Future<Object> future : futures) {
+                    Assert.assertEquals("b", future.get(5, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 每个值只解析一次
+        Assert.assertEquals(20, parseCount.get());
+    }
+
+
+    private static ResultSet resultSet(String json) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getString":
+                    return json;
+                case "getCharacterStream":
+                    return json == null ? null : new StringReader(json);
+                case "getBinaryStream":
+                    return json == null ? null : new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+                case "wasNull":
+                    return json == null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static PreparedStatement preparedStatement(Map<String, Object> written) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+            Object value = args[1];
+            if (value instanceof Reader) {
+                CharArrayWriter writer = new CharArrayWriter();
+                ((Reader) value).transferTo(writer);
+                value = writer.toString();
+            }
+            written.put(method.getName(), value);
+            return null;
+        });
+    }
+
+}
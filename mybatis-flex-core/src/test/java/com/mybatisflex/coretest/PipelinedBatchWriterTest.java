@@ -0,0 +1,292 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.audit.AuditManager;
+import com.mybatisflex.core.audit.AuditMessage;
+import com.mybatisflex.core.audit.MessageFactory;
+import com.mybatisflex.core.audit.ScheduledMessageCollector;
+import com.mybatisflex.core.batch.PipelinedBatchWriter;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.mybatis.FlexStatementHandler;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 流水线批量执行测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class PipelinedBatchWriterTest {
+
+    private final AtomicInteger executeCount = new AtomicInteger();
+    private final Set<String> executeThreads = ConcurrentHashMap.newKeySet();
+    private volatile boolean executing;
+    private volatile int failAt = -1;
+    private volatile boolean overlapped;
+
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+
+    @Test
+    public void testPipelined() throws Exception {
+        PipelinedBatchWriter writer = new PipelinedBatchWriter(sqlSessionFactory(), null);
+        String callerThread = Thread.currentThread().getName();
+
+        int[] results = writer.execute(IntStream.range(0, 50).iterator(), 50, 10, PipelineMapper.class, (mapper, id) -> {
+            if (id == 15) {
+                // 第一批仍在执行时，当前线程已经在构建第二批
+                Assert.assertTrue(awaitExecuting());
+            }
+            mapper.insert(id);
+        });
+
+        Assert.assertEquals(50, results.length);
+        Assert.assertTrue(Arrays.stream(results).allMatch(count -> count == 1));
+        Assert.assertEquals(5, executeCount.get());
+        Assert.assertFalse(executeThreads.contains(callerThread));
+    }
+
+    @Test
+    public void testFailure() {
+        failAt = 2;
+        PipelinedBatchWriter writer = new PipelinedBatchWriter(sqlSessionFactory(), null);
+        try {
+            writer.execute(IntStream.range(0, 50).iterator(), 50, 10, PipelineMapper.class, PipelineMapper::insert);
+            Assert.fail("should fail");
+        } catch (PersistenceException e) {
+            Assert.assertTrue(e.getCause() instanceof BatchUpdateException
+                || e.getCause().getCause() instanceof BatchUpdateException);
+        }
+        // 失败之后的批次不会再执行
+        Assert.assertEquals(2, executeCount.get());
+    }
+
+    @Test
+    public void testStatementHandlerCreatedInCallerThread() {
+        List<String> pluginUsers = new CopyOnWriteArrayList<>();
+        List<AuditMessage> messages = new CopyOnWriteArrayList<>();
+
+        Configuration configuration = new Configuration(new Environment("pipeline", new JdbcTransactionFactory(), dataSource())) {
+            @Override
+            public StatementHandler newStatementHandler(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+                return (StatementHandler) interceptorChain.pluginAll(new FlexStatementHandler(executor, ms, parameter, rowBounds, resultHandler, boundSql));
+            }
+        };
+        configuration.addMapper(PipelineMapper.class);
+        configuration.addInterceptor(new Interceptor() {
+            @Override
+            public Object intercept(Invocation invocation) throws Throwable {
+                return invocation.proceed();
+            }
+
+            @Override
+            public Object plugin(Object target) {
+                if (target instanceof StatementHandler) {
+                    pluginUsers.add(String.valueOf(CURRENT_USER.get()));
+                }
+                return target;
+            }
+        });
+
+        MessageFactory messageFactory = AuditManager.getMessageFactory();
+        AuditManager.setAuditEnable(true);
+        AuditManager.setMessageFactory(() -> {
+            AuditMessage message = new AuditMessage();
+            message.setUser(CURRENT_USER.get());
+            return message;
+        });
+        AuditManager.setMessageCollector(messages::add);
+        CURRENT_USER.set("michael");
+        try {
+            PipelinedBatchWriter writer = new PipelinedBatchWriter(new DefaultSqlSessionFactory(configuration), null);
+            DataSourceKey.use("ds1", () -> writer.execute(IntStream.range(0, 20).iterator(), 20, 10, PipelineMapper.class, PipelineMapper::insert));
+        } finally {
+            CURRENT_USER.remove();
+            AuditManager.setAuditEnable(false);
+            AuditManager.setMessageFactory(messageFactory);
+            AuditManager.setMessageCollector(new ScheduledMessageCollector());
+        }
+
+        // 插件与审计消息都在调用线程中创建，能够读取调用线程的上下文
+        Assert.assertEquals(20, pluginUsers.size());
+        Assert.assertTrue(pluginUsers.stream().allMatch("michael"::equals));
+        Assert.assertEquals(20, messages.size());
+        for (AuditMessage message : messages) {
+            Assert.assertEquals("michael", message.getUser());
+            Assert.assertEquals("ds1", message.getDsName());
+            Assert.assertEquals(1, message.getQueryParams().size());
+        }
+        Assert.assertEquals(2, executeCount.get());
+    }
+
+    @Test
+    public void testOtherMapperOnBoundConnection() {
+        // 模拟事务：每次都获取到与当前线程绑定的同一个连接，并且关闭了自动提交
+        Connection bound = connection(false);
+        DataSource dataSource = proxy(DataSource.class, (proxy, method, args) -> "getConnection".equals(method.getName()) ? bound : null);
+        Configuration configuration = new Configuration(new Environment("pipeline", new ManagedTransactionFactory(), dataSource));
+        configuration.addMapper(PipelineMapper.class);
+        SqlSessionFactory sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+        String callerThread = Thread.currentThread().getName();
+
+        PipelinedBatchWriter writer = new PipelinedBatchWriter(sqlSessionFactory, null);
+        int[] results = writer.execute(IntStream.range(0, 30).iterator(), 30, 10, PipelineMapper.class, (mapper, id) -> {
+            mapper.insert(id);
+            // 通过其他 Mapper 执行的语句使用的也是该连接，不能与正在执行的批次同时访问
+            try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.SIMPLE, true)) {
+                sqlSession.getMapper(PipelineMapper.class).touch(id);
+            }
+        });
+
+        Assert.assertEquals(30, results.length);
+        Assert.assertEquals(3, executeCount.get());
+        Assert.assertFalse(overlapped);
+        Assert.assertEquals(Set.of(callerThread), executeThreads);
+    }
+
+
+    private boolean awaitExecuting() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!executing && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        return executing;
+    }
+
+    private SqlSessionFactory sqlSessionFactory() {
+        Environment environment = new Environment("pipeline", new JdbcTransactionFactory(), dataSource());
+        Configuration configuration = new Configuration(environment);
+        configuration.addMapper(PipelineMapper.class);
+        return new DefaultSqlSessionFactory(configuration);
+    }
+
+    private DataSource dataSource() {
+        return proxy(DataSource.class, (proxy, method, args) -> "getConnection".equals(method.getName()) ? connection() : null);
+    }
+
+    private Connection connection() {
+        return connection(true);
+    }
+
+    private Connection connection(boolean initialAutoCommit) {
+        boolean[] autoCommit = {initialAutoCommit};
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement();
+            case "getAutoCommit" -> autoCommit[0];
+            case "setAutoCommit" -> {
+                autoCommit[0] = (Boolean) args[0];
+                yield null;
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private PreparedStatement statement() {
+        AtomicInteger added = new AtomicInteger();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "addBatch" -> {
+                added.incrementAndGet();
+                yield null;
+            }
+            case "execute" -> {
+                if (executing) {
+                    overlapped = true;
+                }
+                yield false;
+            }
+            case "executeBatch" -> {
+                executeThreads.add(Thread.currentThread().getName());
+                executing = true;
+                try {
+                    Thread.sleep(30);
+                } finally {
+                    executing = false;
+                }
+                if (executeCount.incrementAndGet() == failAt) {
+                    throw new BatchUpdateException("Batch failed.", new int[0]);
+                }
+                int[] counts = new int[added.getAndSet(0)];
+                Arrays.fill(counts, 1);
+                yield counts;
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(PipelinedBatchWriterTest.class.getClassLoader(), new Class[]{type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+
+    public interface PipelineMapper {
+
+        @Insert("insert into tb_pipeline(id) values (#{id})")
+        int insert(@Param("id") Integer id);
+
+        @Update("update tb_pipeline_log set id = #{id}")
+        int touch(@Param("id") Integer id);
+
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.cache.LocalQueryCacheStore;
+import com.mybatisflex.core.cache.OffHeapQueryCacheStore;
+import com.mybatisflex.core.cache.QueryCacheEntry;
+import com.mybatisflex.core.cache.QueryCacheKey;
+import com.mybatisflex.core.cache.QueryCacheManager;
+import com.mybatisflex.core.cache.QueryCacheManager.Query;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 查询结果缓存测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class QueryCacheTest {
+
+    private static final String SQL = "SELECT * FROM `tb_account` WHERE `age` > ?";
+
+    @After
+    public void clear() {
+        QueryCacheManager.setStore(null);
+    }
+
+    @Test
+    public void testLocalStoreEviction() {
+        LocalQueryCacheStore store = new LocalQueryCacheStore(2);
+        for (int i = 0; i < 10; i++) {
+            store.put(key(i), entry("value" + i));
+        }
+        Assert.assertTrue(store.size() <= 2);
+        Assert.assertEquals("value9", store.get(key(9)).getValue());
+
+        store.clear();
+        Assert.assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testOffHeapStore() {
+        OffHeapQueryCacheStore store = new OffHeapQueryCacheStore(1024 * 1024);
+        List<String> value = new ArrayList<>(List.of("a", "b"));
+        store.put(key(1), entry(value));
+
+        @SuppressWarnings("unchecked")
+        List<String> cached = (List<String>) store.get(key(1)).getValue();
+        Assert.assertEquals(value, cached);
+        Assert.assertNotSame(value, cached);
+        Assert.assertTrue(store.getUsedBytes() > 0);
+
+        // 无法序列化的结果不会被缓存
+        store.put(key(2), entry(new Object()));
+        Assert.assertNull(store.get(key(2)));
+
+        store.remove(key(1));
+        Assert.assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    public void testLocalStoreCopiesOnHit() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement select = statement("selectListByQuery", SqlCommandType.SELECT);
+        AtomicInteger executed = new AtomicInteger();
+        Query<CachedAccount> query = () -> {
+            executed.incrementAndGet();
+            return new ArrayList<>(List.of(new CachedAccount("michael")));
+        };
+
+        // 修改查询到的实体（例如修改后再更新，而更新失败），不会影响缓存以及其他的查询
+        List<CachedAccount> first = QueryCacheManager.query(select, params(18), SQL, query);
+        first.get(0).setUserName("changed");
+
+        List<CachedAccount> second = QueryCacheManager.query(select, params(18), SQL, query);
+        Assert.assertEquals(1, executed.get());
+        Assert.assertEquals("michael", second.get(0).getUserName());
+
+        second.get(0).setUserName("changed");
+        List<CachedAccount> third = QueryCacheManager.query(select, params(18), SQL, query);
+        Assert.assertEquals(1, executed.get());
+        Assert.assertEquals("michael", third.get(0).getUserName());
+        Assert.assertNotSame(second.get(0), third.get(0));
+
+        // 无法序列化的结果不会被缓存
+        LocalQueryCacheStore store = new LocalQueryCacheStore(100);
+        store.put(key(1), entry(new ArrayList<>(List.of(new Object()))));
+        Assert.assertNull(store.get(key(1)));
+    }
+
+    @Test
+    public void testQueryAndInvalidate() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement select = statement("selectListByQuery", SqlCommandType.SELECT);
+        MappedStatement update = statement("updateByQuery", SqlCommandType.UPDATE);
+        AtomicInteger executed = new AtomicInteger();
+
+        Assert.assertEquals(1, query(select, 18, executed).size());
+        Assert.assertEquals(1, query(select, 18, executed).size());
+        Assert.assertEquals(1, executed.get());
+
+        // 参数不同，不会命中
+        query(select, 20, executed);
+        Assert.assertEquals(2, executed.get());
+
+        // 写入 tb_account 后失效
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.TABLE_NAME, "tb_account");
+        params.put(FlexConsts.SQL_ARGS, new Object[0]);
+        Assert.assertArrayEquals(new String[]{"tb_account"}, QueryCacheManager.afterUpdate(update, params));
+
+        query(select, 18, executed);
+        Assert.assertEquals(3, executed.get());
+
+        // 无法得知写入的表时，全部失效
+        Map<String, Object> rawParams = new HashMap<>();
+        rawParams.put(FlexConsts.SQL, "update tb_account set age = 1");
+        rawParams.put(FlexConsts.SQL_ARGS, new Object[0]);
+        Assert.assertNull(QueryCacheManager.afterUpdate(update, rawParams));
+
+        query(select, 18, executed);
+        Assert.assertEquals(4, executed.get());
+    }
+
+    @Test
+    public void testWriteDuringQuery() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement select = statement("selectListByQuery", SqlCommandType.SELECT);
+        AtomicInteger executed = new AtomicInteger();
+
+        // 查询期间发生了写入，本次的结果不能被后续的查询使用
+        QueryCacheManager.query(select, params(18), SQL, () -> {
+            executed.incrementAndGet();
+            QueryCacheManager.invalidate("TB_ACCOUNT");
+            return Collections.singletonList("stale");
+        });
+
+        query(select, 18, executed);
+        Assert.assertEquals(2, executed.get());
+    }
+
+    @Test
+    public void testNotOptIn() throws Exception {
+        QueryCacheManager.setStore(new LocalQueryCacheStore(100));
+        MappedStatement select = statement("selectListByQuery", SqlCommandType.SELECT);
+        AtomicInteger executed = new AtomicInteger();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.QUERY, QueryWrapper.create().from("tb_not_cached"));
+        params.put(FlexConsts.SQL_ARGS, new Object[0]);
+        for (int i = 0; i < 2; i++) {
+            QueryCacheManager.query(select, params, SQL, () -> {
+                executed.incrementAndGet();
+                return new ArrayList<>();
+            });
+        }
+        Assert.assertEquals(2, executed.get());
+    }
+
+
+    private static List<Object> query(MappedStatement ms, int age, AtomicInteger executed) throws Exception {
+        return QueryCacheManager.query(ms, params(age), SQL, () -> {
+            executed.incrementAndGet();
+            return new ArrayList<>(List.of(age));
+        });
+    }
+
+    private static Map<String, Object> params(int age) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(FlexConsts.QUERY, QueryWrapper.create().from("tb_account").where("age > ?", age).cache());
+        params.put(FlexConsts.SQL_ARGS, new Object[]{age});
+        return params;
+    }
+
+    private static MappedStatement statement(String method, SqlCommandType type) {
+        Configuration configuration = new Configuration();
+        return new MappedStatement.Builder(configuration, "com.mybatisflex.coretest.QueryCacheTest." + method
+            , parameterObject -> new BoundSql(configuration, SQL, Collections.emptyList(), parameterObject), type).build();
+    }
+
+    private static QueryCacheKey key(int i) {
+        return new QueryCacheKey("select", null, SQL, new Object[]{i}, null);
+    }
+
+    private static QueryCacheEntry entry(Object value) {
+        return new QueryCacheEntry(value, new String[]{"tb_account"}, new long[]{0}, 0, Long.MAX_VALUE);
+    }
+
+
+    public static class CachedAccount implements Serializable {
+
+        private String userName;
+
+        public CachedAccount(String userName) {
+            this.userName = userName;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+    }
+
+}
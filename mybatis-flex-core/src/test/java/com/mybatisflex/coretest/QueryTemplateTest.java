@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.dialect.DbType;
+import com.mybatisflex.core.dialect.DialectFactory;
+import com.mybatisflex.core.exception.MybatisFlexException;
+import com.mybatisflex.core.logicdelete.LogicDeleteManager;
+import com.mybatisflex.core.query.BoundQueryWrapper;
+import com.mybatisflex.core.query.CompiledQuery;
+import com.mybatisflex.core.query.QueryTemplate;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.mybatisflex.coretest.table.AccountTableDef.ACCOUNT;
+
+/**
+ * 查询模板测试。
+ */
+public class QueryTemplateTest {
+
+    private static final TableInfo ACCOUNT_TABLE_INFO = TableInfoFactory.ofEntityClass(Account.class);
+
+    private static final Consumer<QueryWrapper> APPEND_CONDITIONS = queryWrapper -> ACCOUNT_TABLE_INFO.appendConditions(null, queryWrapper);
+
+    @Test
+    public void testNamedParams() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .select(ACCOUNT.ID, ACCOUNT.USER_NAME)
+            .from(ACCOUNT)
+            .where(ACCOUNT.AGE.ge(QueryTemplate.param("minAge")))
+            .and(ACCOUNT.USER_NAME.likeRaw(QueryTemplate.param("name")))
+            .and(ACCOUNT.SEX.eq(1)));
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("minAge", 18);
+        args.put("name", "%michael%");
+
+        BoundQueryWrapper bound = template.bind(args);
+        CompiledQuery compiledQuery = bound.compile(Account.class, APPEND_CONDITIONS);
+        System.out.println(compiledQuery.getSql());
+
+        Assert.assertEquals("SELECT `id`, `user_name` FROM `tb_account` " +
+            "WHERE (`age` >= ? AND `user_name` LIKE ? AND `sex` = ?) AND `is_delete` = ?", compiledQuery.getSql());
+        Assert.assertEquals(2, compiledQuery.getParamCount());
+        Assert.assertArrayEquals(new Object[]{18, "%michael%", 1, 0}, bound.getValueArray(compiledQuery));
+
+        args.put("minAge", 30);
+        BoundQueryWrapper other = template.bind(args);
+        CompiledQuery otherCompiledQuery = other.compile(Account.class, APPEND_CONDITIONS);
+        Assert.assertSame(compiledQuery, otherCompiledQuery);
+        Assert.assertArrayEquals(new Object[]{30, "%michael%", 1, 0}, other.getValueArray(otherCompiledQuery));
+    }
+
+    @Test
+    public void testPositionalParamsAndLimit() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.ID.eq(QueryTemplate.param(0)))
+            .or(ACCOUNT.AGE.between(QueryTemplate.param(1), QueryTemplate.param(2))));
+
+        BoundQueryWrapper bound = template.bind(1L, 10, 20);
+        CompiledQuery compiledQuery = bound.compile("tb_account", null);
+        Assert.assertArrayEquals(new Object[]{1L, 10, 20}, bound.getValueArray(compiledQuery));
+
+        bound.limit(1);
+        CompiledQuery limited = bound.compile("tb_account", null);
+        Assert.assertNotSame(compiledQuery, limited);
+        Assert.assertTrue(limited.getSql().endsWith("LIMIT ?"));
+        Assert.assertArrayEquals(new Object[]{1L, 10, 20, 1L}, bound.getValueArray(limited));
+
+        // 不同的分页参数共用同一个编译结果
+        BoundQueryWrapper otherPage = template.bind(2L, 10, 20);
+        otherPage.limit(20);
+        Assert.assertSame(limited, otherPage.compile("tb_account", null));
+        Assert.assertArrayEquals(new Object[]{2L, 10, 20, 20L}, otherPage.getValueArray(limited));
+
+        BoundQueryWrapper offsetPage = template.bind(2L, 10, 20);
+        offsetPage.limit(40, 20);
+        CompiledQuery offsetLimited = offsetPage.compile("tb_account", null);
+        Assert.assertTrue(offsetLimited.getSql().endsWith("LIMIT ?, ?"));
+        Assert.assertArrayEquals(new Object[]{2L, 10, 20, 40L, 20L}, offsetPage.getValueArray(offsetLimited));
+    }
+
+    @Test
+    public void testLimitParamsWithArithmetic() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.AGE.ge(QueryTemplate.param(0))));
+
+        DialectFactory.setHintDbType(DbType.ORACLE);
+        try {
+            BoundQueryWrapper bound = template.bind(18);
+            bound.limit(10, 5);
+            CompiledQuery compiledQuery = bound.compile("tb_account", null);
+            Assert.assertTrue(compiledQuery.getSql().contains("ROWNUM <= ?"));
+            Assert.assertTrue(compiledQuery.getSql().endsWith("RN > ?"));
+            Assert.assertArrayEquals(new Object[]{18, 15L, 10L}, bound.getValueArray(compiledQuery));
+        } finally {
+            DialectFactory.clearHintDbType();
+        }
+    }
+
+    @Test
+    public void testLimitParamsBeforeTrailingValues() {
+        // SQL 中与分页数值相同的常量不受影响
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where("age > 20")
+            .and(ACCOUNT.AGE.le(QueryTemplate.param(0))));
+
+        DialectFactory.setHintDbType(DbType.SQLSERVER_2005);
+        try {
+            BoundQueryWrapper bound = template.bind(60);
+            bound.limit(20, 20);
+            CompiledQuery compiledQuery = bound.compile("tb_account", null);
+            Assert.assertTrue(compiledQuery.getSql().contains("age > 20"));
+            Assert.assertTrue(compiledQuery.getSql().contains("__rn BETWEEN ? AND ?"));
+            Assert.assertArrayEquals(new Object[]{60, 21L, 40L}, bound.getValueArray(compiledQuery));
+        } finally {
+            DialectFactory.clearHintDbType();
+        }
+    }
+
+    @Test
+    public void testBoundQueryWrapperIsReadOnly() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.ID.eq(QueryTemplate.param(0))));
+        BoundQueryWrapper bound = template.bind(1L);
+
+        assertUnsupported(() -> bound.where(ACCOUNT.AGE.ge(18)));
+        assertUnsupported(() -> bound.and(ACCOUNT.AGE.ge(18)));
+        assertUnsupported(() -> bound.select(ACCOUNT.ID));
+        assertUnsupported(() -> bound.from(ACCOUNT));
+        assertUnsupported(() -> bound.leftJoin(ACCOUNT).on(ACCOUNT.ID.eq(ACCOUNT.ID)));
+        assertUnsupported(() -> bound.orderBy(ACCOUNT.ID.desc()));
+        assertUnsupported(() -> bound.groupBy(ACCOUNT.AGE));
+        assertUnsupported(() -> bound.union(QueryWrapper.create().from(ACCOUNT)));
+        assertUnsupported(() -> bound.with("cte"));
+        assertUnsupported(bound::forUpdate);
+
+        // 只允许修改分页参数
+        bound.limit(10, 20);
+        CompiledQuery compiledQuery = bound.compile("tb_account", null);
+        Assert.assertArrayEquals(new Object[]{1L, 10L, 20L}, bound.getValueArray(compiledQuery));
+    }
+
+    private static void assertUnsupported(Runnable runnable) {
+        try {
+            runnable.run();
+            Assert.fail("BoundQueryWrapper should not be modified.");
+        } catch (MybatisFlexException e) {
+            Assert.assertTrue(e.getMessage().contains("BoundQueryWrapper"));
+        }
+    }
+
+    @Test
+    public void testInlineLimitIsBounded() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.AGE.ge(QueryTemplate.param(0))));
+        template.setMaxCompiledQueries(3);
+
+        // Informix 的 FIRST n 不支持参数占位，按分页参数分别编译
+        DialectFactory.setHintDbType(DbType.INFORMIX);
+        try {
+            for (int rows = 1; rows <= 10; rows++) {
+                BoundQueryWrapper bound = template.bind(18);
+                bound.limit(rows);
+                CompiledQuery compiledQuery = bound.compile("tb_account", null);
+                Assert.assertTrue(compiledQuery.getSql().contains("FIRST " + rows + " "));
+                Assert.assertArrayEquals(new Object[]{18}, bound.getValueArray(compiledQuery));
+            }
+            Assert.assertTrue(template.getCompiledQueryCount() <= 3);
+        } finally {
+            DialectFactory.clearHintDbType();
+        }
+    }
+
+    @Test
+    public void testSkipLogicDelete() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.ID.eq(QueryTemplate.param("id"))));
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("id", 1L);
+
+        CompiledQuery compiledQuery = template.bind(args).compile(Account.class, APPEND_CONDITIONS);
+        Assert.assertTrue(compiledQuery.getSql().contains("`is_delete` = ?"));
+
+        CompiledQuery withoutLogicDelete = LogicDeleteManager.execWithoutLogicDelete(() ->
+            template.bind(args).compile(Account.class, APPEND_CONDITIONS));
+        Assert.assertFalse(withoutLogicDelete.getSql().contains("`is_delete`"));
+
+        Assert.assertSame(compiledQuery, template.bind(args).compile(Account.class, APPEND_CONDITIONS));
+    }
+
+    @Test(expected = MybatisFlexException.class)
+    public void testUnboundParam() {
+        QueryTemplate template = QueryTemplate.of(() -> QueryWrapper.create()
+            .from(ACCOUNT)
+            .where(ACCOUNT.ID.eq(QueryTemplate.param("id"))));
+
+        BoundQueryWrapper bound = template.bind(new HashMap<>());
+        bound.getValueArray(bound.compile(Account.class, APPEND_CONDITIONS));
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.dialect.DbType;
+import com.mybatisflex.core.keygen.SequencePool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 序列号池测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SequencePoolTest {
+
+    @After
+    public void clear() {
+        SequencePool.unregister("seq_account");
+    }
+
+    @Test
+    public void testHiLo() throws Exception {
+        SequencePool pool = new SequencePool("seq_account", 10, SequencePool.Strategy.HILO);
+        List<String> sqls = new ArrayList<>();
+        Connection connection = connection(new AtomicLong(1), 10, sqls);
+
+        for (long i = 1; i <= 25; i++) {
+            Assert.assertEquals(i, pool.next(connection, DbType.ORACLE, null));
+        }
+
+        Assert.assertEquals(3, pool.getMetrics().fetchCount());
+        Assert.assertEquals(25, pool.getMetrics().allocatedCount());
+        Assert.assertEquals("SELECT seq_account.NEXTVAL FROM DUAL", sqls.get(0));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        SequencePool pool = new SequencePool("seq_account", 5, SequencePool.Strategy.BATCH);
+        List<String> sqls = new ArrayList<>();
+        Connection connection = connection(new AtomicLong(100), 1, sqls);
+
+        for (long i = 100; i < 112; i++) {
+            Assert.assertEquals(i, pool.next(connection, DbType.POSTGRE_SQL, null));
+        }
+
+        Assert.assertEquals(3, pool.getMetrics().fetchCount());
+        Assert.assertEquals("SELECT nextval('seq_account') FROM generate_series(1, ?)", sqls.get(0));
+    }
+
+    @Test
+    public void testBatchNotSupported() {
+        SequencePool pool = new SequencePool("seq_account", 5, SequencePool.Strategy.BATCH);
+        Connection connection = connection(new AtomicLong(1), 1, new ArrayList<>());
+        Assert.assertThrows(Exception.class, () -> pool.next(connection, DbType.MYSQL, null));
+
+        pool.setSql("SELECT next_values(?)");
+        Assert.assertThrows(Exception.class, () -> new SequencePool("seq; drop table", 5, SequencePool.Strategy.HILO));
+    }
+
+    @Test
+    public void testDataSourcePartition() throws Exception {
+        SequencePool pool = new SequencePool("seq_account", 10, SequencePool.Strategy.HILO);
+        Connection ds1 = connection(new AtomicLong(1), 10, new ArrayList<>());
+        Connection ds2 = connection(new AtomicLong(1000), 10, new ArrayList<>());
+
+        Assert.assertEquals(1, pool.next(ds1, DbType.H2, "ds1"));
+        Assert.assertEquals(1000, pool.next(ds2, DbType.H2, "ds2"));
+        Assert.assertEquals(2, pool.next(ds1, DbType.H2, "ds1"));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        SequencePool pool = new SequencePool("seq_account", 50, SequencePool.Strategy.HILO);
+        Connection connection = connection(new AtomicLong(1), 50, Collections.synchronizedList(new ArrayList<>()));
+
+        int threads = 8;
+        int perThread = 1000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(pool.next(connection, DbType.ORACLE, null));
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        Assert.assertEquals(threads * perThread, ids.size());
+        Assert.assertEquals(threads * perThread / 50, pool.getMetrics().fetchCount());
+    }
+
+    @Test
+    public void testRegister() {
+        SequencePool pool = new SequencePool("seq_account", 10, SequencePool.Strategy.HILO);
+        SequencePool.register(pool);
+        Assert.assertSame(pool, SequencePool.get(" seq_account "));
+        SequencePool.unregister("seq_account");
+        Assert.assertNull(SequencePool.get("seq_account"));
+    }
+
+
+    /**
+     * 模拟数据库序列，每次 nextval 增加 increment，BATCH 方式下返回 ? 参数指定数量的行。
+     */
+    private static Connection connection(AtomicLong sequence, int increment, List<String> sqls) {
+        return (Connection) Proxy.newProxyInstance(SequencePoolTest.class.getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            if ("prepareStatement".equals(method.getName())) {
+                sqls.add((String) args[0]);
+                return preparedStatement(sequence, increment);
+            }
+            return null;
+        });
+    }
+
+    private static PreparedStatement preparedStatement(AtomicLong sequence, int increment) {
+        int[] rows = {1};
+        return (PreparedStatement) Proxy.newProxyInstance(SequencePoolTest.class.getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setInt":
+                    rows[0] = (Integer) args[1];
+                    return null;
+                case "executeQuery":
+                    return resultSet(sequence, increment, rows[0]);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static ResultSet resultSet(AtomicLong sequence, int increment, int rows) {
+        long[] current = {0};
+        int[] index = {0};
+        return (ResultSet) Proxy.newProxyInstance(SequencePoolTest.class.getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    if (index[0]++ < rows) {
+                        current[0] = sequence.getAndAdd(increment);
+                        return true;
+                    }
+                    return false;
+                case "getLong":
+                    return current[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+}
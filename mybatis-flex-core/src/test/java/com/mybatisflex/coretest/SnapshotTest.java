@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.dialect.IDialect;
+import com.mybatisflex.core.dialect.impl.CommonsDialectImpl;
+import com.mybatisflex.core.handler.JacksonTypeHandler;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.update.SnapshotManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * 实体快照脏检查测试。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class SnapshotTest {
+
+    @Table("tb_snapshot")
+    public static class Document {
+
+        @Id(keyType = KeyType.Auto)
+        private Long id;
+
+        private String title;
+
+        @Column(typeHandler = JacksonTypeHandler.class)
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    private final IDialect dialect = new CommonsDialectImpl();
+    private final TableInfo tableInfo = TableInfoFactory.ofEntityClass(Document.class);
+
+    @Before
+    public void enable() {
+        SnapshotManager.setEnable(true);
+    }
+
+    @After
+    public void disable() {
+        SnapshotManager.setEnable(false);
+    }
+
+    @Test
+    public void testSnapshotColumns() {
+        assertArrayEquals(new String[]{"tags"}, tableInfo.getSnapshotColumns());
+    }
+
+    @Test
+    public void testUnchanged() {
+        Document document = newDocument();
+        SnapshotManager.snapshot(document);
+
+        document.setTitle("new title");
+        assertEquals("UPDATE `tb_snapshot` SET `title` = ?  WHERE `id` = ? ",
+            dialect.forUpdateEntity(tableInfo, document, false));
+        assertEquals(1, tableInfo.buildUpdateSqlArgs(document, false, false).length);
+    }
+
+    @Test
+    public void testModifiedInPlace() {
+        Document document = newDocument();
+        SnapshotManager.snapshot(document);
+
+        document.getTags().add("c");
+        assertEquals("UPDATE `tb_snapshot` SET `title` = ? , `tags` = ?  WHERE `id` = ? ",
+            dialect.forUpdateEntity(tableInfo, document, false));
+
+        // 修改过的字段始终需要更新，即使又被改回原值
+        document.getTags().remove("c");
+        assertEquals(2, tableInfo.buildUpdateSqlArgs(document, false, false).length);
+    }
+
+    @Test
+    public void testWithoutSnapshot() {
+        Document document = newDocument();
+        assertEquals("UPDATE `tb_snapshot` SET `title` = ? , `tags` = ?  WHERE `id` = ? ",
+            dialect.forUpdateEntity(tableInfo, document, false));
+
+        SnapshotManager.snapshot(document);
+        SnapshotManager.clear(document);
+        assertEquals(2, tableInfo.buildUpdateSqlArgs(document, false, false).length);
+    }
+
+    @Test
+    public void testPolynomialHashCollision() {
+        // Thue–Morse 串与其补串在乘数为奇数、模 2^64 的多项式哈希下相同，快照摘要不能因此认为字段没有修改
+        StringBuilder original = new StringBuilder();
+        StringBuilder changed = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            boolean odd = Integer.bitCount(i) % 2 == 1;
+            original.append(odd ? 'b' : 'a');
+            changed.append(odd ? 'a' : 'b');
+        }
+        String originalJson = "[\"" + original + "\"]";
+        String changedJson = "[\"" + changed + "\"]";
+        assertNotEquals(originalJson, changedJson);
+        assertEquals(polynomialHash(originalJson), polynomialHash(changedJson));
+
+        Document document = newDocument();
+        document.setTags(new ArrayList<>(Arrays.asList(original.toString())));
+        SnapshotManager.snapshot(document);
+
+        document.setTags(new ArrayList<>(Arrays.asList(changed.toString())));
+        assertEquals("UPDATE `tb_snapshot` SET `title` = ? , `tags` = ?  WHERE `id` = ? ",
+            dialect.forUpdateEntity(tableInfo, document, false));
+    }
+
+
+    private static long polynomialHash(String value) {
+        long hash = 1;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash + value.charAt(i)) * 0x9E3779B97F4A7C15L;
+        }
+        return hash;
+    }
+
+    private static Document newDocument() {
+        Document document = new Document();
+        document.setId(1L);
+        document.setTitle("title");
+        document.setTags(new ArrayList<>(Arrays.asList("a", "b")));
+        return document;
+    }
+
+}
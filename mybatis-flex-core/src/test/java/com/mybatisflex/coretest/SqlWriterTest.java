@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.coretest;
+
+import com.mybatisflex.core.dialect.IDialect;
+import com.mybatisflex.core.dialect.impl.CommonsDialectImpl;
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.query.SqlWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.mybatisflex.core.query.QueryMethods.column;
+import static com.mybatisflex.core.query.QueryMethods.count;
+import static com.mybatisflex.core.query.QueryMethods.exists;
+import static com.mybatisflex.core.query.QueryMethods.select;
+import static com.mybatisflex.coretest.table.AccountTableDef.ACCOUNT;
+import static com.mybatisflex.coretest.table.ArticleTableDef.ARTICLE;
+
+/**
+ * SQL 与参数写入测试，参数顺序必须与 SQL 中占位符的顺序一致。
+ */
+public class SqlWriterTest {
+
+    @Test
+    public void testParamOrder() {
+        QueryWrapper queryWrapper = QueryWrapper.create()
+            .with("CTE").asSelect(
+                select(ARTICLE.ACCOUNT_ID).from(ARTICLE).where(ARTICLE.ID.ge(1))
+            )
+            .select(ACCOUNT.ID, column(select(count()).from(ARTICLE).where(ARTICLE.ACCOUNT_ID.eq(2))).as("articles"))
+            .from(select(ACCOUNT.ALL_COLUMNS).from(ACCOUNT).where(ACCOUNT.AGE.gt(3))).as("a")
+            .leftJoin(select(ARTICLE.ALL_COLUMNS).from(ARTICLE).where(ARTICLE.TITLE.eq(4))).as("b").on(ARTICLE.ACCOUNT_ID.eq(ACCOUNT.ID).and(ARTICLE.ID.ne(5)))
+            .where(ACCOUNT.SEX.eq(6).or(exists(select(ARTICLE.ID).from(ARTICLE).where(ARTICLE.ID.in(7, 8)))))
+            .and(ACCOUNT.ID.in(select(column("account_id")).from("CTE").where(column("account_id").ne(9))))
+            .groupBy(ACCOUNT.ID)
+            .having(count().ge(10))
+            .union(select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.ID.eq(11)));
+
+        IDialect dialect = new CommonsDialectImpl();
+        String sql = dialect.forSelectByQuery(queryWrapper);
+        Object[] values = CPI.getValueArray(queryWrapper);
+
+        Assert.assertEquals(countPlaceholders(sql), values.length);
+        Assert.assertArrayEquals(new Object[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, values);
+
+        // 多次渲染的结果一致，缓冲区被复用后不应残留上一次的内容
+        Assert.assertEquals(sql, dialect.forSelectByQuery(queryWrapper));
+        Assert.assertArrayEquals(values, CPI.getValueArray(queryWrapper));
+    }
+
+    @Test
+    public void testReuse() {
+        SqlWriter writer = SqlWriter.acquire();
+        writer.append("SELECT ?").addParam(1);
+        Assert.assertEquals("SELECT ?", writer.toSql());
+        Assert.assertArrayEquals(new Object[]{1}, writer.toValueArray());
+        writer.close();
+
+        try (SqlWriter reused = SqlWriter.acquire()) {
+            Assert.assertSame(writer, reused);
+            Assert.assertEquals("", reused.toSql());
+            Assert.assertEquals(0, reused.getParamCount());
+
+            // 嵌套获取时得到不同的实例
+            try (SqlWriter nested = SqlWriter.acquire()) {
+                Assert.assertNotSame(reused, nested);
+            }
+
+            for (int i = 0; i < 100; i++) {
+                reused.addParam(i);
+            }
+            reused.addParams(new Object[]{100, 101});
+            Object[] values = reused.toValueArray();
+            Assert.assertEquals(102, values.length);
+            Assert.assertEquals(101, values[101]);
+        }
+    }
+
+    private static int countPlaceholders(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
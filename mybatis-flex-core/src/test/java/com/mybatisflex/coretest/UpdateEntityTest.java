@@ -1,9 +1,19 @@
 package com.mybatisflex.coretest;
 
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.update.ModifyAttrsRecordProxyFactory;
+import com.mybatisflex.core.update.UpdateWrapper;
 import com.mybatisflex.core.util.UpdateEntity;
+import org.apache.ibatis.javassist.util.proxy.ProxyObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
 public class UpdateEntityTest {
 
     @Test
@@ -11,4 +21,77 @@ public class UpdateEntityTest {
         Article article = UpdateEntity.of(Article.class, 1);
         Assert.assertEquals(1, (long) article.getId());
     }
+
+    @Test
+    public void testGeneratedSubclass() {
+        Article article = UpdateEntity.of(Article.class);
+        Assert.assertFalse(article instanceof ProxyObject);
+        Assert.assertNotNull(((UpdateWrapper<?>) article).modifyAttrsRecord());
+
+        article.setContent("content");
+        article.setAccountId(1L);
+        // getter 不会被记录
+        Assert.assertNull(article.getTitle());
+
+        TableInfo tableInfo = TableInfoFactory.ofEntityClass(Article.class);
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("account_id", "content"))
+            , tableInfo.obtainUpdateColumns(article, false, false));
+        Assert.assertArrayEquals(new Object[]{1L, "content"}, tableInfo.buildUpdateSqlArgs(article, false, false));
+        Assert.assertEquals("content", ((UpdateWrapper<?>) article).getUpdates().get("content"));
+    }
+
+    @Test
+    public void testSetterAndSetOverride() {
+        Article article = UpdateEntity.of(Article.class);
+        UpdateWrapper<Article> wrapper = UpdateWrapper.of(article);
+        TableInfo tableInfo = TableInfoFactory.ofEntityClass(Article.class);
+
+        article.setTitle("setter");
+        wrapper.set("title", "set");
+        Assert.assertArrayEquals(new Object[]{"set"}, tableInfo.buildUpdateSqlArgs(article, false, false));
+
+        article.setTitle("setter again");
+        Assert.assertArrayEquals(new Object[]{"setter again"}, tableInfo.buildUpdateSqlArgs(article, false, false));
+        Assert.assertEquals(1, tableInfo.obtainUpdateColumns(article, false, false).size());
+    }
+
+    @Test
+    public void testUpdatesView() {
+        Article article = UpdateEntity.of(Article.class);
+        UpdateWrapper<Article> wrapper = UpdateWrapper.of(article);
+        TableInfo tableInfo = TableInfoFactory.ofEntityClass(Article.class);
+
+        Map<String, Object> updates = wrapper.getUpdates();
+        Assert.assertTrue(updates.isEmpty());
+
+        // 视图反映之后的修改
+        article.setTitle("title");
+        wrapper.set("content", "content");
+        Assert.assertEquals(2, updates.size());
+        Assert.assertEquals("title", updates.get("title"));
+        Assert.assertEquals(Arrays.asList("title", "content"), new ArrayList<>(updates.keySet()));
+
+        // 对视图的修改作用于修改记录
+        updates.remove("title");
+        updates.put("accountId", 2L);
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("content", "account_id"))
+            , tableInfo.obtainUpdateColumns(article, false, false));
+
+        updates.clear();
+        Assert.assertTrue(wrapper.modifyAttrsRecord().isEmpty());
+        Assert.assertTrue(wrapper.getUpdates().isEmpty());
+    }
+
+    @Test
+    public void testJavassistProxy() {
+        ModifyAttrsRecordProxyFactory.setGenerateSubclass(false);
+        try {
+            Account01 account = UpdateEntity.of(Account01.class);
+            Assert.assertTrue(account instanceof ProxyObject);
+            Assert.assertNull(((UpdateWrapper<?>) account).modifyAttrsRecord());
+        } finally {
+            ModifyAttrsRecordProxyFactory.setGenerateSubclass(true);
+        }
+    }
+
 }
@@ -36,9 +36,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class DataSourceInterceptor implements MethodInterceptor {
     /**
-     * 缓存方法对应的数据源。
+     * 缓存方法对应的数据源描述，只缓存注解的查找结果，不缓存依赖方法参数的动态处理结果。
      */
-    private final Map<Object, String> dsCache = new ConcurrentHashMap<>();
+    private final Map<Object, DataSourceDescriptor> dsCache = new ConcurrentHashMap<>();
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
@@ -56,16 +56,17 @@ public class DataSourceInterceptor implements MethodInterceptor {
 
     private String getDataSourceKey(Object target, Method method, Object[] arguments) {
         Object cacheKey = new Pair<>(method, target.getClass());
-        String dsKey = this.dsCache.get(cacheKey);
-        if (dsKey == null) {
-            dsKey = determineDataSourceKey(method, target.getClass());
-            // 对数据源取值进行动态取值处理
-            if (StringUtil.hasText(dsKey)) {
-                dsKey = DataSourceKey.processDataSourceKey(dsKey, target, method, arguments);
-            }
-            this.dsCache.put(cacheKey, dsKey);
+        DataSourceDescriptor descriptor = this.dsCache.get(cacheKey);
+        if (descriptor == null) {
+            String dsKey = determineDataSourceKey(method, target.getClass());
+            descriptor = new DataSourceDescriptor(dsKey, StringUtil.hasText(dsKey) && DataSourceKey.isDynamicDataSourceKey(dsKey));
+            this.dsCache.put(cacheKey, descriptor);
+        }
+        // 对数据源取值进行动态取值处理，其结果依赖于方法参数，每次调用都需要重新处理
+        if (descriptor.dynamic()) {
+            return DataSourceKey.processDataSourceKey(descriptor.dataSourceKey(), target, method, arguments);
         }
-        return dsKey;
+        return descriptor.dataSourceKey();
     }
 
     private String determineDataSourceKey(Method method, Class<?> targetClass) {
@@ -90,4 +91,35 @@ public class DataSourceInterceptor implements MethodInterceptor {
         // 哪里都没有 UseDataSource 注解
         return "";
     }
+
+    /**
+     * 方法对应的数据源描述。
+     */
+    private static final class DataSourceDescriptor {
+
+        /**
+         * 注解中配置的数据源，没有注解时为空字符串
+         */
+        private final String dataSourceKey;
+
+        /**
+         * 是否需要在每次调用时动态处理
+         */
+        private final boolean dynamic;
+
+        private DataSourceDescriptor(String dataSourceKey, boolean dynamic) {
+            this.dataSourceKey = dataSourceKey;
+            this.dynamic = dynamic;
+        }
+
+        String dataSourceKey() {
+            return dataSourceKey;
+        }
+
+        boolean dynamic() {
+            return dynamic;
+        }
+
+    }
+
 }
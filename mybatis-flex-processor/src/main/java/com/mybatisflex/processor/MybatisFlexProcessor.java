@@ -18,8 +18,11 @@ package com.mybatisflex.processor;
 
 import com.mybatisflex.annotation.Column;
 import com.mybatisflex.annotation.ColumnAlias;
+import com.mybatisflex.annotation.ColumnMask;
+import com.mybatisflex.annotation.Id;
 import com.mybatisflex.annotation.Table;
 import com.mybatisflex.processor.builder.ContentBuilder;
+import com.mybatisflex.processor.builder.TableInfoIndexBuilder;
 import com.mybatisflex.processor.config.ConfigurationKey;
 import com.mybatisflex.processor.config.MybatisFlexConfig;
 import com.mybatisflex.processor.entity.ColumnInfo;
@@ -33,15 +36,19 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.*;
@@ -72,11 +79,47 @@ public class MybatisFlexProcessor extends AbstractProcessor {
         char.class.getName(), String.class.getName(), Character.class.getName()
     );
 
+    private static final String BASE_MAPPER_CLASS = "com.mybatisflex.core.BaseMapper";
+
+    /**
+     * Gradle 增量注解处理的类型，参考 META-INF/gradle/incremental.annotation.processors。
+     */
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+    private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
     private Filer filer;
     private Types typeUtils;
     private Elements elementUtils;
     private MybatisFlexConfig configuration;
 
+    /**
+     * TableInfo 索引，未开启时为 null。
+     */
+    private TableInfoIndexBuilder tableInfoIndexBuilder;
+    private final List<Element> tableInfoIndexElements = new ArrayList<>();
+    private final Map<String, List<ExecutableElement>> tableInfoIndexAnnotationMembers = new HashMap<>();
+    private String tableInfoIndexPackage;
+    private boolean tableInfoIndexGenerated;
+
+    /**
+     * 各个轮次收集的 Tables 常量，所有实体类处理完毕后只生成一次。
+     */
+    private final StringBuilder tablesImportBuilder = new StringBuilder();
+    private final StringBuilder tablesFieldBuilder = new StringBuilder();
+    private final List<Element> tablesElements = new ArrayList<>();
+    private String tablesEntityReference;
+    private boolean tablesGenerated;
+
+    /**
+     * 每个类中可生成列的字段，多个实体类继承同一个父类时，父类只需要解析一次。
+     */
+    private final Map<TypeElement, List<EntityField>> entityFieldsCache = new HashMap<>();
+
+    /**
+     * 每个类中声明的方法及其 {@link ColumnAlias} 配置，用于查找 getter 方法上的别名。
+     */
+    private final Map<TypeElement, List<MethodAlias>> methodAliasesCache = new HashMap<>();
+
     @Override
     public synchronized void init(ProcessingEnvironment processingEnvironment) {
         super.init(processingEnvironment);
@@ -84,6 +127,41 @@ public class MybatisFlexProcessor extends AbstractProcessor {
         this.elementUtils = processingEnvironment.getElementUtils();
         this.typeUtils = processingEnvironment.getTypeUtils();
         this.configuration = new MybatisFlexConfig(filer);
+        if ("true".equalsIgnoreCase(configuration.get(ConfigurationKey.TABLE_INFO_INDEX_ENABLE))) {
+            this.tableInfoIndexBuilder = new TableInfoIndexBuilder();
+            for (Class<?> annotationClass : Arrays.asList(Table.class, Column.class, Id.class)) {
+                if (!addTableInfoIndexAnnotation(annotationClass)) {
+                    this.tableInfoIndexBuilder = null;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 生成注解的实现类，并记录编译时注解的全部属性，运行时注解的属性与之不一致时，不使用索引。
+     */
+    private boolean addTableInfoIndexAnnotation(Class<?> annotationClass) {
+        TypeElement annotationElement = elementUtils.getTypeElement(annotationClass.getName());
+        if (annotationElement == null) {
+            return false;
+        }
+        List<ExecutableElement> members = new ArrayList<>();
+        for (Element enclosedElement : annotationElement.getEnclosedElements()) {
+            if (ElementKind.METHOD == enclosedElement.getKind()) {
+                members.add((ExecutableElement) enclosedElement);
+            }
+        }
+        members.sort(Comparator.comparing(member -> member.getSimpleName().toString()));
+
+        List<String[]> memberTypes = new ArrayList<>(members.size());
+        for (ExecutableElement member : members) {
+            TypeMirror returnType = member.getReturnType();
+            memberTypes.add(new String[]{member.getSimpleName().toString(), returnType.toString(), typeUtils.erasure(returnType).toString()});
+        }
+        tableInfoIndexBuilder.addAnnotation(annotationClass.getName(), annotationClass.getSimpleName(), memberTypes);
+        tableInfoIndexAnnotationMembers.put(annotationClass.getName(), members);
+        return true;
     }
 
     @Override
@@ -98,26 +176,11 @@ public class MybatisFlexProcessor extends AbstractProcessor {
             System.out.println("mybatis flex processor run start...");
 
             // 是否所有的类常量都生成在 Tables 类里
-            boolean allInTablesEnable = "true".equalsIgnoreCase(configuration.get(ConfigurationKey.ALL_IN_TABLES_ENABLE));
-
-            StringBuilder importBuilder;
-            StringBuilder fieldBuilder;
-
-            if (allInTablesEnable) {
-                importBuilder = new StringBuilder();
-                fieldBuilder = new StringBuilder();
-            } else {
-                fieldBuilder = null;
-                importBuilder = null;
-            }
+            boolean allInTablesEnable = isAllInTablesEnable();
 
             // 其他配置选项
             String genPath = configuration.get(ConfigurationKey.GEN_PATH);
 
-            // all in Tables 配置
-            String allInTablesPackage = configuration.get(ConfigurationKey.ALL_IN_TABLES_PACKAGE);
-            String allInTablesClassName = configuration.get(ConfigurationKey.ALL_IN_TABLES_CLASS_NAME);
-
             // mapper 配置
             String mapperGenerateEnable = configuration.get(ConfigurationKey.MAPPER_GENERATE_ENABLE);
             String mapperAnnotation = configuration.get(ConfigurationKey.MAPPER_ANNOTATION);
@@ -131,9 +194,6 @@ public class MybatisFlexProcessor extends AbstractProcessor {
             String tableDefPropertiesNameStyle = configuration.get(ConfigurationKey.TABLE_DEF_PROPERTIES_NAME_STYLE);
             String[] tableDefIgnoreEntitySuffixes = configuration.get(ConfigurationKey.TABLE_DEF_IGNORE_ENTITY_SUFFIXES).split(",");
 
-            // 如果不指定 Tables 生成包，那么 Tables 文件就会和最后一个 entity 文件在同一个包
-            String entityClassReference = null;
-
             // 获取需要生成的类，开始构建文件
             Set<? extends Element> elementsAnnotatedWith = roundEnv.getElementsAnnotatedWith(Table.class);
 
@@ -188,11 +248,14 @@ public class MybatisFlexProcessor extends AbstractProcessor {
                 // 将文件所依赖的 Element 传入 Filer 中，表示此 TableDef 依赖这个类，以保证增量编译时不丢失内容。
                 processGenClass(genPath, realTableDefPackage, tableDefClassName, tableDefContent, entityClassElement);
 
-                if (allInTablesEnable) {
+                if (allInTablesEnable && tablesGenerated) {
+                    System.err.println(">>>>> WARN: " + entityClass + " is not added to Tables, because Tables has been generated in an earlier round.");
+                } else if (allInTablesEnable) {
                     // 标记 entity 类，如果没有配置 Tables 生成位置，以 entity 位置为准
-                    entityClassReference = entityClass;
+                    tablesEntityReference = entityClass;
+                    tablesElements.add(entityClassElement);
                     // 构建 Tables 常量属性及其导包
-                    ContentBuilder.buildTablesField(importBuilder, fieldBuilder, tableInfo, tableDefClassSuffix, tableDefPropertiesNameStyle, tableDefInstanceSuffix, realTableDefPackage);
+                    ContentBuilder.buildTablesField(tablesImportBuilder, tablesFieldBuilder, tableInfo, tableDefClassSuffix, tableDefPropertiesNameStyle, tableDefInstanceSuffix, realTableDefPackage);
                 }
 
                 // 是否生成 Mapper 文件
@@ -204,19 +267,72 @@ public class MybatisFlexProcessor extends AbstractProcessor {
                     // 生成的 Mapper 依赖于此 Element。
                     processGenClass(genPath, realMapperPackage, mapperClassName, mapperClassContent, entityClassElement);
                 }
+
+                if (tableInfoIndexBuilder != null && tableInfoIndexGenerated) {
+                    System.err.println(">>>>> WARN: " + entityClass + " is not added to the table info index, because it has been generated in an earlier round.");
+                } else if (tableInfoIndexBuilder != null) {
+                    addTableInfoIndexEntity((TypeElement) entityClassElement);
+                }
+            }
+
+            // 收集 Mapper 与实体类的对应关系，包括上一轮生成的 Mapper
+            if (tableInfoIndexBuilder != null) {
+                addTableInfoIndexMappers(roundEnv);
             }
             // 确定了要生成 Tables 类，且拥有至少一个被 Table 注解的类时再生成 Tables 类。
-            if (allInTablesEnable && entityClassReference != null) {
-                // 生成 Tables 文件
-                String realTablesPackage = StrUtil.isBlank(allInTablesPackage) ? StrUtil.buildTableDefPackage(entityClassReference) : StrUtil.processPackageExpression(entityClassReference, allInTablesPackage);
-                String realTablesClassName = StrUtil.isBlank(allInTablesClassName) ? "Tables" : allInTablesClassName;
-                String tablesContent = ContentBuilder.buildTables(importBuilder, fieldBuilder, realTablesPackage, allInTablesClassName);
-                processGenClass(genPath, realTablesPackage, realTablesClassName, tablesContent, elementsAnnotatedWith.toArray(new Element[0]));
+            // 本轮生成的 TableDef 会触发下一轮处理，等到不再出现新的实体类时才生成，保证 Tables 类只生成一次。
+            // TableInfo 索引同理，并且需要等到上一轮生成的 Mapper 也收集完毕
+            if (elementsAnnotatedWith.isEmpty()) {
+                writeTables();
+                writeTableInfoIndex();
             }
+        } else {
+            // 兜底：最后一轮仍有未生成的 Tables 类或 TableInfo 索引
+            writeTables();
+            writeTableInfoIndex();
         }
         return false;
     }
 
+    /**
+     * 根据配置声明 Gradle 增量注解处理的类型：只为每个实体类生成 TableDef 和 Mapper 时为 isolating；
+     * 生成 Tables 类或 TableInfo 索引等汇总了多个实体类的文件时为 aggregating；
+     * 配置了 {@code processor.genPath} 时，生成的文件不经过 {@link Filer}，无法被 Gradle 跟踪，因此不支持增量处理。
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        if (configuration == null) {
+            return Collections.singleton(GRADLE_AGGREGATING);
+        }
+        if (!StrUtil.isBlank(configuration.get(ConfigurationKey.GEN_PATH))) {
+            return Collections.emptySet();
+        }
+        if (isAllInTablesEnable() || tableInfoIndexBuilder != null) {
+            return Collections.singleton(GRADLE_AGGREGATING);
+        }
+        return Collections.singleton(GRADLE_ISOLATING);
+    }
+
+    private boolean isAllInTablesEnable() {
+        return "true".equalsIgnoreCase(configuration.get(ConfigurationKey.ALL_IN_TABLES_ENABLE));
+    }
+
+    private void writeTables() {
+        if (tablesGenerated || tablesEntityReference == null) {
+            return;
+        }
+        tablesGenerated = true;
+
+        String allInTablesPackage = configuration.get(ConfigurationKey.ALL_IN_TABLES_PACKAGE);
+        String allInTablesClassName = configuration.get(ConfigurationKey.ALL_IN_TABLES_CLASS_NAME);
+
+        // 生成 Tables 文件
+        String realTablesPackage = StrUtil.isBlank(allInTablesPackage) ? StrUtil.buildTableDefPackage(tablesEntityReference) : StrUtil.processPackageExpression(tablesEntityReference, allInTablesPackage);
+        String realTablesClassName = StrUtil.isBlank(allInTablesClassName) ? "Tables" : allInTablesClassName;
+        String tablesContent = ContentBuilder.buildTables(tablesImportBuilder, tablesFieldBuilder, realTablesPackage, allInTablesClassName);
+        processGenClass(configuration.get(ConfigurationKey.GEN_PATH), realTablesPackage, realTablesClassName, tablesContent, tablesElements.toArray(new Element[0]));
+    }
+
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         Set<String> supportedAnnotationTypes = new HashSet<>();
@@ -234,6 +350,49 @@ public class MybatisFlexProcessor extends AbstractProcessor {
      * 通过 classElement 操作起所有字段，生成 ColumnInfo 并填充 columnInfos 结合
      */
     private void fillColumnInfoList(Set<ColumnInfo> columnInfos, List<String> defaultColumns, TypeElement baseElement, TypeElement classElement, boolean camelToUnderline) {
+        for (EntityField entityField : getEntityFields(classElement)) {
+            String property = entityField.property();
+
+            String columnName;
+            if (entityField.column() != null) {
+                columnName = entityField.column();
+            } else {
+                if (camelToUnderline) {
+                    columnName = StrUtil.camelToUnderline(property);
+                } else {
+                    columnName = property;
+                }
+            }
+
+            String[] alias = getColumnAliasByGetterMethod(baseElement, property);
+            if ((alias == null || alias.length == 0) && entityField.alias() != null) {
+                alias = entityField.alias();
+            }
+
+            ColumnInfo columnInfo = new ColumnInfo();
+            columnInfo.setProperty(property);
+            columnInfo.setColumn(columnName);
+            columnInfo.setAlias(alias);
+            columnInfo.setComment(entityField.comment());
+
+            columnInfos.add(columnInfo);
+
+            if (entityField.defaultColumn()) {
+                defaultColumns.add(columnName);
+            }
+        }
+    }
+
+    /**
+     * 解析类中声明的可生成列的字段，结果与具体的实体类无关，按类缓存。
+     */
+    private List<EntityField> getEntityFields(TypeElement classElement) {
+        List<EntityField> entityFields = entityFieldsCache.get(classElement);
+        if (entityFields != null) {
+            return entityFields;
+        }
+
+        entityFields = new ArrayList<>();
         for (Element fieldElement : classElement.getEnclosedElements()) {
 
             // all fields
@@ -284,62 +443,395 @@ public class MybatisFlexProcessor extends AbstractProcessor {
                     continue;
                 }
 
-                String property = fieldElement.toString();
+                ColumnAlias columnAlias = fieldElement.getAnnotation(ColumnAlias.class);
 
-                String columnName;
-                if (column != null && !StrUtil.isBlank(column.value())) {
-                    columnName = column.value();
-                } else {
-                    if (camelToUnderline) {
-                        columnName = StrUtil.camelToUnderline(property);
-                    } else {
-                        columnName = property;
-                    }
+                entityFields.add(new EntityField(fieldElement.toString()
+                    , column != null && !StrUtil.isBlank(column.value()) ? column.value() : null
+                    , columnAlias != null ? columnAlias.value() : null
+                    , elementUtils.getDocComment(fieldElement)
+                    , column == null || (!column.isLarge() && !column.isLogicDelete())));
+            }
+        }
+
+        entityFieldsCache.put(classElement, entityFields);
+        return entityFields;
+    }
+
+
+    private String[] getColumnAliasByGetterMethod(TypeElement baseElement, String property) {
+        if (baseElement == null) {
+            return null;
+        }
+        for (MethodAlias methodAlias : getMethodAliases(baseElement)) {
+            if (StrUtil.isGetterMethod(methodAlias.method(), property)) {
+                // 重写方法且未配置别名时，忽略别名
+                return methodAlias.alias();
+            }
+        }
+        return getColumnAliasByGetterMethod((TypeElement) typeUtils.asElement(baseElement.getSuperclass()), property);
+    }
+
+    private List<MethodAlias> getMethodAliases(TypeElement classElement) {
+        return methodAliasesCache.computeIfAbsent(classElement, key -> {
+            List<MethodAlias> methodAliases = new ArrayList<>();
+            for (Element enclosedElement : key.getEnclosedElements()) {
+                if (ElementKind.METHOD == enclosedElement.getKind()) {
+                    ColumnAlias columnAlias = enclosedElement.getAnnotation(ColumnAlias.class);
+                    methodAliases.add(new MethodAlias(enclosedElement.toString(), columnAlias != null ? columnAlias.value() : null));
                 }
+            }
+            return methodAliases;
+        });
+    }
 
-                String[] alias = getColumnAliasByGetterMethod(baseElement, property);
-                if (alias == null || alias.length == 0) {
+
+    /**
+     * 将实体类的表信息以及字段上的注解配置添加到 TableInfo 索引，字段的收集顺序与运行时 TableInfoFactory 保持一致。
+     */
+    private void addTableInfoIndexEntity(TypeElement entityElement) {
+        String entityClass = getBinaryName(entityElement);
+        if (tableInfoIndexPackage == null) {
+            tableInfoIndexPackage = getTableInfoIndexPackage(entityClass);
+        }
+        Table table = entityElement.getAnnotation(Table.class);
+
+        DeclaredType entityType = (DeclaredType) entityElement.asType();
+        List<String> fields = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        TypeElement classElement = entityElement;
+        while (classElement != null && !Object.class.getName().contentEquals(classElement.getQualifiedName())) {
+            for (Element fieldElement : classElement.getEnclosedElements()) {
+                if (ElementKind.FIELD != fieldElement.getKind()) {
+                    continue;
+                }
+                Set<Modifier> modifiers = fieldElement.getModifiers();
+                String property = fieldElement.getSimpleName().toString();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)
+                    || properties.stream().anyMatch(property::equalsIgnoreCase)) {
+                    continue;
+                }
+                properties.add(property);
+
+                String[] alias = getColumnAliasByGetterMethod(entityElement, property);
+                if (alias == null) {
                     ColumnAlias columnAlias = fieldElement.getAnnotation(ColumnAlias.class);
                     if (columnAlias != null) {
                         alias = columnAlias.value();
                     }
                 }
+                String aliasLiteral = "null";
+                if (alias != null) {
+                    StringJoiner joiner = new StringJoiner(", ", "new String[]{", "}");
+                    for (String value : alias) {
+                        joiner.add(TableInfoIndexBuilder.stringLiteral(value));
+                    }
+                    aliasLiteral = joiner.toString();
+                }
+
+                ColumnMask columnMask = fieldElement.getAnnotation(ColumnMask.class);
+
+                // 集合字段的泛型，需要按照实体类解析父类中的泛型变量
+                String elementTypeLiteral = "null";
+                TypeMirror fieldType = typeUtils.asMemberOf(entityType, fieldElement);
+                if (fieldType.getKind() == TypeKind.DECLARED) {
+                    List<? extends TypeMirror> typeArguments = ((DeclaredType) fieldType).getTypeArguments();
+                    if (!typeArguments.isEmpty() && typeArguments.get(0).getKind() == TypeKind.DECLARED) {
+                        elementTypeLiteral = getClassLiteral(typeArguments.get(0));
+                    }
+                }
 
-                ColumnInfo columnInfo = new ColumnInfo();
-                columnInfo.setProperty(property);
-                columnInfo.setColumn(columnName);
-                columnInfo.setAlias(alias);
-                columnInfo.setComment(elementUtils.getDocComment(fieldElement));
+                fields.add(TableInfoIndexBuilder.field(getClassLiteral(classElement.asType()), property
+                    , getAnnotationLiteral(fieldElement, Column.class)
+                    , getAnnotationLiteral(fieldElement, Id.class)
+                    , aliasLiteral
+                    , columnMask != null ? TableInfoIndexBuilder.stringLiteral(columnMask.value()) : "null"
+                    , elementTypeLiteral));
+            }
+            classElement = (TypeElement) typeUtils.asElement(classElement.getSuperclass());
+        }
 
-                columnInfos.add(columnInfo);
+        tableInfoIndexBuilder.addEntity(entityClass, getClassLiteral(entityType), table.schema(), table.value()
+            , getAnnotationLiteral(entityElement, Table.class), getReadableProperties(entityElement), fields);
+        tableInfoIndexElements.add(entityElement);
+    }
 
-                if (column == null || (!column.isLarge() && !column.isLogicDelete())) {
-                    defaultColumns.add(columnName);
+    private void addTableInfoIndexMappers(RoundEnvironment roundEnv) {
+        for (Element rootElement : roundEnv.getRootElements()) {
+            addTableInfoIndexMappers(rootElement, rootElement);
+        }
+    }
+
+    /**
+     * 收集类型及其内部类型中的 Mapper。
+     */
+    private void addTableInfoIndexMappers(Element element, Element rootElement) {
+        if (ElementKind.INTERFACE == element.getKind()) {
+            TypeElement entityElement = getMapperEntityElement(element.asType());
+            if (entityElement != null) {
+                String mapperClass = getBinaryName((TypeElement) element);
+                if (tableInfoIndexGenerated) {
+                    System.err.println(">>>>> WARN: " + mapperClass + " is not added to the table info index, because it has been generated in an earlier round.");
+                    return;
+                }
+                if (tableInfoIndexPackage == null) {
+                    tableInfoIndexPackage = getTableInfoIndexPackage(mapperClass);
                 }
+                tableInfoIndexBuilder.addMapper(mapperClass, getClassLiteral(entityElement.asType()));
+                tableInfoIndexElements.add(rootElement);
+            }
+        }
+        for (Element enclosedElement : element.getEnclosedElements()) {
+            if (enclosedElement.getKind().isClass() || enclosedElement.getKind().isInterface()) {
+                addTableInfoIndexMappers(enclosedElement, rootElement);
             }
         }
     }
 
+    /**
+     * 按照声明顺序查找 Mapper 继承的 BaseMapper 的实体类型。
+     */
+    private TypeElement getMapperEntityElement(TypeMirror mapperType) {
+        for (TypeMirror superType : typeUtils.directSupertypes(mapperType)) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            DeclaredType declaredType = (DeclaredType) superType;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+            if (BASE_MAPPER_CLASS.contentEquals(typeElement.getQualifiedName())) {
+                List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+                if (!typeArguments.isEmpty() && typeArguments.get(0).getKind() == TypeKind.DECLARED) {
+                    return (TypeElement) typeUtils.asElement(typeArguments.get(0));
+                }
+                continue;
+            }
+            TypeElement entityElement = getMapperEntityElement(superType);
+            if (entityElement != null) {
+                return entityElement;
+            }
+        }
+        return null;
+    }
 
-    private String[] getColumnAliasByGetterMethod(TypeElement baseElement, String property) {
-        if (baseElement == null) {
-            return null;
+    private String getTableInfoIndexPackage(String referenceClass) {
+        String indexPackage = configuration.get(ConfigurationKey.TABLE_INFO_INDEX_PACKAGE);
+        return StrUtil.isBlank(indexPackage) ? StrUtil.buildTableDefPackage(referenceClass) : StrUtil.processPackageExpression(referenceClass, indexPackage);
+    }
+
+    /**
+     * 构建注解实现类的构造表达式，按属性名的顺序传入显式配置的值或者默认值，元素上没有该注解时返回 {@code "null"}。
+     */
+    private String getAnnotationLiteral(Element element, Class<?> annotationClass) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (!annotationClass.getName().contentEquals(annotationElement.getQualifiedName())) {
+                continue;
+            }
+            Map<String, AnnotationValue> values = new HashMap<>();
+            elementUtils.getElementValuesWithDefaults(annotationMirror)
+                .forEach((member, value) -> values.put(member.getSimpleName().toString(), value));
+
+            StringJoiner arguments = new StringJoiner(", ", "new " + TableInfoIndexBuilder.literalClassName(annotationClass.getSimpleName()) + "(", ")");
+            for (ExecutableElement member : tableInfoIndexAnnotationMembers.get(annotationClass.getName())) {
+                AnnotationValue value = values.get(member.getSimpleName().toString());
+                arguments.add(getValueLiteral(member.getReturnType(), value.getValue()));
+            }
+            return arguments.toString();
         }
-        for (Element enclosedElement : baseElement.getEnclosedElements()) {
-            if (ElementKind.METHOD == enclosedElement.getKind()) {
-                String methodName = enclosedElement.toString();
-                if (StrUtil.isGetterMethod(methodName, property)) {
-                    ColumnAlias columnAlias = enclosedElement.getAnnotation(ColumnAlias.class);
-                    if (columnAlias != null) {
-                        return columnAlias.value();
-                    } else {
-                        // 重写方法，忽略别名
-                        return null;
-                    }
+        return "null";
+    }
+
+    /**
+     * 将注解的属性值转换为 Java 表达式。
+     */
+    private String getValueLiteral(TypeMirror type, Object value) {
+        if (value instanceof List<?> list) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            StringJoiner joiner = new StringJoiner(", ", "new " + typeUtils.erasure(componentType) + "[]{", "}");
+            for (Object item : list) {
+                joiner.add(getValueLiteral(componentType, ((AnnotationValue) item).getValue()));
+            }
+            return joiner.toString();
+        }
+        if (value instanceof String string) {
+            return TableInfoIndexBuilder.stringLiteral(string);
+        }
+        if (value instanceof TypeMirror typeMirror) {
+            return getClassLiteral(typeMirror);
+        }
+        if (value instanceof VariableElement variableElement) {
+            return ((TypeElement) variableElement.getEnclosingElement()).getQualifiedName() + "." + variableElement.getSimpleName();
+        }
+        if (value instanceof Character character) {
+            return TableInfoIndexBuilder.charLiteral(character);
+        }
+        if (value instanceof Long) {
+            return value + "L";
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return "(" + type + ") " + value;
+        }
+        if (value instanceof Float number) {
+            return number.isNaN() ? "Float.NaN" : number.isInfinite() ? (number > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY") : number + "F";
+        }
+        if (value instanceof Double number) {
+            return number.isNaN() ? "Double.NaN" : number.isInfinite() ? (number > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY") : number + "D";
+        }
+        if (value instanceof Boolean || value instanceof Integer) {
+            return String.valueOf(value);
+        }
+        throw new IllegalArgumentException("Unsupported annotation value in the table info index: " + value);
+    }
+
+    /**
+     * 构建类字面量，生成的索引类无法直接访问的类按类名加载。
+     */
+    private String getClassLiteral(TypeMirror type) {
+        TypeMirror erasure = typeUtils.erasure(type);
+        if (isAccessible(erasure)) {
+            return erasure + ".class";
+        }
+        return tableInfoIndexBuilder.typeOf(getRuntimeName(erasure));
+    }
+
+    private boolean isAccessible(TypeMirror type) {
+        if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType());
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement typeElement = (TypeElement) typeUtils.asElement(type);
+        if (typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        String packageName = elementUtils.getPackageOf(typeElement).getQualifiedName().toString();
+        for (Element element = typeElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                || (!modifiers.contains(Modifier.PUBLIC) && !packageName.equals(tableInfoIndexPackage))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link Class#getName()} 形式的类名。
+     */
+    private String getRuntimeName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            String componentName = getRuntimeName(componentType);
+            if (componentType.getKind() == TypeKind.ARRAY) {
+                return "[" + componentName;
+            }
+            return componentType.getKind() == TypeKind.DECLARED ? "[L" + componentName + ";" : "[" + getPrimitiveDescriptor(componentType.getKind());
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return getBinaryName((TypeElement) typeUtils.asElement(type));
+        }
+        return type.toString();
+    }
+
+    private static char getPrimitiveDescriptor(TypeKind kind) {
+        return switch (kind) {
+            case BOOLEAN -> 'Z';
+            case BYTE -> 'B';
+            case CHAR -> 'C';
+            case SHORT -> 'S';
+            case INT -> 'I';
+            case LONG -> 'J';
+            case FLOAT -> 'F';
+            case DOUBLE -> 'D';
+            default -> throw new IllegalArgumentException(kind.toString());
+        };
+    }
+
+    /**
+     * 按照 MyBatis {@code Reflector} 的规则计算实体类的可读属性：类及其父类中声明的字段，以及无参数的 getter/is 方法，
+     * 运行时与 {@code Reflector#getGetablePropertyNames()} 比较，用于判断实体类是否在生成索引之后发生了变化。
+     */
+    private Set<String> getReadableProperties(TypeElement entityElement) {
+        Set<String> properties = new TreeSet<>();
+        TypeElement classElement = entityElement;
+        while (classElement != null && !Object.class.getName().contentEquals(classElement.getQualifiedName())) {
+            for (Element enclosedElement : classElement.getEnclosedElements()) {
+                if (ElementKind.FIELD == enclosedElement.getKind()) {
+                    addReadableProperty(properties, enclosedElement.getSimpleName().toString());
+                } else if (ElementKind.METHOD == enclosedElement.getKind()) {
+                    addGetterProperty(properties, (ExecutableElement) enclosedElement);
                 }
             }
+            for (TypeMirror interfaceType : classElement.getInterfaces()) {
+                addInterfaceGetterProperties(properties, (TypeElement) typeUtils.asElement(interfaceType), true);
+            }
+            classElement = (TypeElement) typeUtils.asElement(classElement.getSuperclass());
+        }
+        return properties;
+    }
+
+    private void addInterfaceGetterProperties(Set<String> properties, TypeElement interfaceElement, boolean withStatic) {
+        for (Element enclosedElement : interfaceElement.getEnclosedElements()) {
+            if (ElementKind.METHOD == enclosedElement.getKind()
+                && (withStatic || !enclosedElement.getModifiers().contains(Modifier.STATIC))) {
+                addGetterProperty(properties, (ExecutableElement) enclosedElement);
+            }
+        }
+        // 父接口中的静态方法不会被继承
+        for (TypeMirror interfaceType : interfaceElement.getInterfaces()) {
+            addInterfaceGetterProperties(properties, (TypeElement) typeUtils.asElement(interfaceType), false);
+        }
+    }
+
+    private static void addGetterProperty(Set<String> properties, ExecutableElement method) {
+        if (!method.getParameters().isEmpty()) {
+            return;
+        }
+        String name = method.getSimpleName().toString();
+        if (name.startsWith("get") && name.length() > 3) {
+            name = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            name = name.substring(2);
+        } else {
+            return;
+        }
+        if (name.length() == 1 || !Character.isUpperCase(name.charAt(1))) {
+            name = name.substring(0, 1).toLowerCase(Locale.ENGLISH) + name.substring(1);
+        }
+        addReadableProperty(properties, name);
+    }
+
+    private static void addReadableProperty(Set<String> properties, String name) {
+        if (!name.startsWith("$") && !"serialVersionUID".equals(name) && !"class".equals(name)) {
+            properties.add(name);
+        }
+    }
+
+    private String getBinaryName(TypeElement typeElement) {
+        return elementUtils.getBinaryName(typeElement).toString();
+    }
+
+    private void writeTableInfoIndex() {
+        if (tableInfoIndexBuilder == null || tableInfoIndexGenerated || tableInfoIndexBuilder.isEmpty()) {
+            return;
+        }
+        tableInfoIndexGenerated = true;
+
+        String className = configuration.get(ConfigurationKey.TABLE_INFO_INDEX_CLASS_NAME);
+        Element[] elements = tableInfoIndexElements.toArray(new Element[0]);
+        processGenClass(configuration.get(ConfigurationKey.GEN_PATH), tableInfoIndexPackage, className
+            , tableInfoIndexBuilder.build(tableInfoIndexPackage, className), elements);
+        try {
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", TableInfoIndexBuilder.SERVICE_LOCATION, elements);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(tableInfoIndexPackage + "." + className + "\n");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        return getColumnAliasByGetterMethod((TypeElement) typeUtils.asElement(baseElement.getSuperclass()), property);
     }
 
 
@@ -399,4 +891,23 @@ public class MybatisFlexProcessor extends AbstractProcessor {
         }
     }
 
+
+    /**
+     * 类中声明的可生成列的字段。
+     *
+     * @param property      属性名
+     * @param column        {@link Column#value()} 配置的列名，未配置时为 {@code null}
+     * @param alias         字段上 {@link ColumnAlias} 配置的别名
+     * @param comment       字段注释
+     * @param defaultColumn 是否为默认查询的列
+     */
+    private record EntityField(String property, String column, String[] alias, String comment, boolean defaultColumn) {
+    }
+
+    /**
+     * 类中声明的方法及其 {@link ColumnAlias} 配置的别名。
+     */
+    private record MethodAlias(String method, String[] alias) {
+    }
+
 }
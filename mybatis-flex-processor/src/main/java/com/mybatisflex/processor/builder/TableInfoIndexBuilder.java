@@ -0,0 +1,309 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.mybatisflex.processor.builder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TableInfo 索引类的内容构建。
+ *
+ * <p>生成的类实现 {@code com.mybatisflex.core.table.TableInfoIndexProvider}，并注册到 {@link #SERVICE_LOCATION}。
+ * Mapper 与实体类的对应关系、注解的属性值都以字面量的形式写入代码，运行时直接使用，不再读取注解；
+ * 实体类的信息只在 {@code getEntity} 被调用时才会创建，其中的类字面量也只在此时才会加载对应的类。
+ *
+ * @author mybatis-flex
+ * @since 1.11.9
+ */
+public class TableInfoIndexBuilder {
+
+    /**
+     * 生成的类实现的接口。
+     */
+    public static final String PROVIDER_CLASS = "com.mybatisflex.core.table.TableInfoIndexProvider";
+
+    /**
+     * 注册生成的类的 ServiceLoader 文件。
+     */
+    public static final String SERVICE_LOCATION = "META-INF/services/" + PROVIDER_CLASS;
+
+    /**
+     * 单个 switch 方法中的最大分支数，避免实体类很多时超出方法 64KB 的限制。
+     */
+    private static final int MAX_CASES_PER_METHOD = 500;
+
+    private final StringBuilder annotationStamp = new StringBuilder();
+    private final List<String> literalClasses = new ArrayList<>();
+    private final Map<String, String> mappers = new LinkedHashMap<>();
+    private final Map<String, String> tables = new LinkedHashMap<>();
+    private final Map<String, String> entities = new LinkedHashMap<>();
+    private boolean typeMethodRequired;
+
+    /**
+     * 添加注解，生成该注解的实现类，并记录编译时注解的属性签名。
+     *
+     * @param annotationClass 注解的类名
+     * @param simpleName      注解的简单类名
+     * @param members         按名称排序的属性，每个元素依次为属性名、返回值类型以及擦除泛型之后的类型
+     */
+    public void addAnnotation(String annotationClass, String simpleName, List<String[]> members) {
+        annotationStamp.append(simpleName).append('(');
+        for (int i = 0; i < members.size(); i++) {
+            if (i > 0) {
+                annotationStamp.append(',');
+            }
+            annotationStamp.append(members.get(i)[0]).append(':').append(members.get(i)[2]);
+        }
+        annotationStamp.append(')');
+
+        String className = literalClassName(simpleName);
+        StringBuilder content = new StringBuilder();
+        content.append("    private static final class ").append(className).append(" extends TableInfoIndexProvider.AnnotationLiteral implements ")
+            .append(annotationClass).append(" {\n\n");
+        for (String[] member : members) {
+            content.append("        private final ").append(member[2]).append(' ').append(member[0]).append(";\n");
+        }
+        content.append("\n        ").append(className).append('(');
+        for (int i = 0; i < members.size(); i++) {
+            if (i > 0) {
+                content.append(", ");
+            }
+            content.append(members.get(i)[2]).append(' ').append(members.get(i)[0]);
+        }
+        content.append(") {\n            super(").append(annotationClass).append(".class);\n");
+        for (String[] member : members) {
+            content.append("            this.").append(member[0]).append(" = ").append(member[0]).append(";\n");
+        }
+        content.append("        }\n");
+        for (String[] member : members) {
+            // 与 JDK 的注解实现一致，数组属性每次返回副本
+            content.append("\n        @Override\n        public ").append(member[1]).append(' ').append(member[0]).append("() {\n")
+                .append("            return ").append(member[0]).append(member[2].endsWith("[]") ? ".clone()" : "").append(";\n")
+                .append("        }\n");
+        }
+        content.append("\n    }\n");
+        literalClasses.add(content.toString());
+    }
+
+    /**
+     * 注解实现类的类名。
+     */
+    public static String literalClassName(String annotationSimpleName) {
+        return annotationSimpleName + "Literal";
+    }
+
+    /**
+     * 添加 Mapper 与实体类的对应关系。
+     *
+     * @param mapperClass        Mapper 类名
+     * @param entityClassLiteral 实体类的类字面量表达式
+     */
+    public void addMapper(String mapperClass, String entityClassLiteral) {
+        mappers.put(mapperClass, entityClassLiteral);
+    }
+
+    /**
+     * 添加实体类，同一个实体类重复添加时以最后一次为准。
+     *
+     * @param entityClass        实体类名
+     * @param entityClassLiteral 实体类的类字面量表达式
+     * @param schema             {@code Table.schema}
+     * @param tableName          {@code Table.value}
+     * @param tableLiteral       {@code Table} 注解实现类的构造表达式
+     * @param properties         按字典序排列的可读属性
+     * @param fields             通过 {@link #field} 构建的字段表达式
+     */
+    public void addEntity(String entityClass, String entityClassLiteral, String schema, String tableName, String tableLiteral
+        , Iterable<String> properties, List<String> fields) {
+        tables.putIfAbsent(tableName, entityClassLiteral);
+        if (!schema.isEmpty()) {
+            tables.putIfAbsent(schema + "." + tableName, entityClassLiteral);
+        }
+
+        StringBuilder content = new StringBuilder("new TableInfoIndexProvider.IndexedEntity(")
+            .append(entityClassLiteral).append(", ").append(tableLiteral).append("\n            , new String[]{");
+        boolean first = true;
+        for (String property : properties) {
+            if (!first) {
+                content.append(", ");
+            }
+            first = false;
+            content.append(stringLiteral(property));
+        }
+        content.append('}');
+        for (String field : fields) {
+            content.append("\n            , ").append(field);
+        }
+        entities.put(entityClass, content.append(')').toString());
+    }
+
+    /**
+     * 构建字段的构造表达式，不存在的值传入 {@code "null"}。
+     */
+    public static String field(String declaringClassLiteral, String name, String columnLiteral, String idLiteral
+        , String aliasLiteral, String maskLiteral, String elementTypeLiteral) {
+        return "new TableInfoIndexProvider.IndexedField(" + declaringClassLiteral + ", " + stringLiteral(name)
+            + ", " + columnLiteral + ", " + idLiteral + ", " + aliasLiteral + ", " + maskLiteral + ", " + elementTypeLiteral + ")";
+    }
+
+    /**
+     * 生成的类无法直接引用的类（例如其他包中的非 public 类），运行时按类名加载。
+     *
+     * @param binaryName 类的二进制名称
+     * @return 加载该类的表达式
+     */
+    public String typeOf(String binaryName) {
+        typeMethodRequired = true;
+        return "type(" + stringLiteral(binaryName) + ")";
+    }
+
+    /**
+     * 是否没有任何 Mapper 和实体类。
+     */
+    public boolean isEmpty() {
+        return mappers.isEmpty() && entities.isEmpty();
+    }
+
+    /**
+     * 构建索引类的内容。
+     */
+    public String build(String packageName, String className) {
+        StringBuilder content = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            content.append("package ").append(packageName).append(";\n\n");
+        }
+        if (!PROVIDER_CLASS.equals(packageName + ".TableInfoIndexProvider")) {
+            content.append("import ").append(PROVIDER_CLASS).append(";\n\n");
+        }
+        content.append("/**\n * TableInfo 索引，由 mybatis-flex-processor 生成，请勿修改。\n */\n")
+            .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public class ").append(className).append(" implements TableInfoIndexProvider {\n\n");
+
+        content.append("    @Override\n    public String getAnnotationStamp() {\n        return ")
+            .append(stringLiteral(annotationStamp.toString())).append(";\n    }\n\n");
+
+        Map<String, String> entityMethods = new LinkedHashMap<>();
+        for (String entityClass : entities.keySet()) {
+            entityMethods.put(entityClass, "entity" + entityMethods.size() + "()");
+        }
+        appendSwitch(content, "Class<?>", "getEntityClass", "mapperClass", mappers);
+        appendSwitch(content, "Class<?>", "getEntityClassByTableName", "tableName", tables);
+        appendSwitch(content, "IndexedEntity", "getEntity", "entityClass", entityMethods);
+
+        int i = 0;
+        for (Map.Entry<String, String> entry : entities.entrySet()) {
+            content.append("    /**\n     * {@code ").append(entry.getKey()).append("}\n     */\n")
+                .append("    private static IndexedEntity entity").append(i++).append("() {\n")
+                .append("        return ").append(entry.getValue()).append(";\n    }\n\n");
+        }
+
+        if (typeMethodRequired) {
+            content.append("    private static Class<?> type(String className) {\n")
+                .append("        try {\n")
+                .append("            return Class.forName(className, false, ").append(className).append(".class.getClassLoader());\n")
+                .append("        } catch (ClassNotFoundException e) {\n")
+                .append("            throw new NoClassDefFoundError(className);\n")
+                .append("        }\n")
+                .append("    }\n\n");
+        }
+
+        for (String literalClass : literalClasses) {
+            content.append(literalClass).append('\n');
+        }
+        return content.append("}\n").toString();
+    }
+
+    /**
+     * 生成按字符串查找的方法，分支过多时拆分为多个方法。
+     */
+    private static void appendSwitch(StringBuilder content, String returnType, String methodName, String paramName, Map<String, String> cases) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(cases.entrySet());
+        content.append("    @Override\n    public ").append(returnType).append(' ').append(methodName)
+            .append("(String ").append(paramName).append(") {\n");
+        if (entries.size() <= MAX_CASES_PER_METHOD) {
+            appendCases(content, paramName, entries);
+            content.append("    }\n\n");
+            return;
+        }
+
+        int chunks = (entries.size() + MAX_CASES_PER_METHOD - 1) / MAX_CASES_PER_METHOD;
+        content.append("        ").append(returnType).append(" result;\n");
+        for (int i = 0; i < chunks; i++) {
+            content.append("        if ((result = ").append(methodName).append(i).append('(').append(paramName).append(")) != null) {\n")
+                .append("            return result;\n        }\n");
+        }
+        content.append("        return null;\n    }\n\n");
+        for (int i = 0; i < chunks; i++) {
+            content.append("    private static ").append(returnType).append(' ').append(methodName).append(i)
+                .append("(String ").append(paramName).append(") {\n");
+            appendCases(content, paramName, entries.subList(i * MAX_CASES_PER_METHOD, Math.min(entries.size(), (i + 1) * MAX_CASES_PER_METHOD)));
+            content.append("    }\n\n");
+        }
+    }
+
+    private static void appendCases(StringBuilder content, String paramName, List<Map.Entry<String, String>> entries) {
+        content.append("        switch (").append(paramName).append(") {\n");
+        for (Map.Entry<String, String> entry : entries) {
+            content.append("            case ").append(stringLiteral(entry.getKey())).append(":\n")
+                .append("                return ").append(entry.getValue()).append(";\n");
+        }
+        content.append("            default:\n                return null;\n        }\n");
+    }
+
+    /**
+     * 转换为 Java 字符串字面量。
+     */
+    public static String stringLiteral(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            appendEscaped(sb, value.charAt(i), '"');
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 转换为 Java 字符字面量。
+     */
+    public static String charLiteral(char value) {
+        StringBuilder sb = new StringBuilder(8).append('\'');
+        appendEscaped(sb, value, '\'');
+        return sb.append('\'').toString();
+    }
+
+    private static void appendEscaped(StringBuilder sb, char c, char quote) {
+        switch (c) {
+            case '\\' -> sb.append("\\\\");
+            case '\t' -> sb.append("\\t");
+            case '\n' -> sb.append("\\n");
+            case '\r' -> sb.append("\\r");
+            case '\b' -> sb.append("\\b");
+            case '\f' -> sb.append("\\f");
+            default -> {
+                if (c == quote) {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20 || c == 0x7f) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+    }
+
+}
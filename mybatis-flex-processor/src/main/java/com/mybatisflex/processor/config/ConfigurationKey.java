@@ -100,7 +100,23 @@ public enum ConfigurationKey {
     /**
      * 过滤 Entity 后缀。
      */
-    TABLE_DEF_IGNORE_ENTITY_SUFFIXES("processor.tableDef.ignoreEntitySuffixes", "");
+    TABLE_DEF_IGNORE_ENTITY_SUFFIXES("processor.tableDef.ignoreEntitySuffixes", ""),
+
+
+    /**
+     * 生成 TableInfo 索引，运行时从索引中读取实体类信息，以减少启动时的反射。
+     */
+    TABLE_INFO_INDEX_ENABLE("processor.tableInfoIndex.enable", "false"),
+
+    /**
+     * TableInfo 索引的类名。
+     */
+    TABLE_INFO_INDEX_CLASS_NAME("processor.tableInfoIndex.className", "TableInfoIndexes"),
+
+    /**
+     * 自定义 TableInfo 索引生成的包名，默认与第一个实体类的 TableDef 相同。
+     */
+    TABLE_INFO_INDEX_PACKAGE("processor.tableInfoIndex.package", null);
 
 
     private final String configKey;
@@ -22,6 +22,7 @@ import javax.annotation.processing.Filer;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -52,8 +53,7 @@ public class MybatisFlexConfig {
     public MybatisFlexConfig(Filer filer) {
         try {
             //target/classes/
-            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "mybatis-flex");
-            File classPathFile = new File(resource.toUri()).getParentFile();
+            File classPathFile = new File(getClassOutputResource(filer).toUri()).getParentFile();
 
             String projectRootPath = FileUtil.getProjectRootPath(classPathFile, 10);
 
@@ -98,6 +98,18 @@ public class MybatisFlexConfig {
     }
 
 
+    /**
+     * 获取 CLASS_OUTPUT 目录下的文件以定位 class 输出目录。优先使用 getResource，避免被 Gradle 增量编译识别为生成的文件，
+     * 部分编译器不支持读取输出目录时再使用 createResource。
+     */
+    private static FileObject getClassOutputResource(Filer filer) throws IOException {
+        try {
+            return filer.getResource(StandardLocation.CLASS_OUTPUT, "", "mybatis-flex");
+        } catch (IOException | IllegalArgumentException e) {
+            return filer.createResource(StandardLocation.CLASS_OUTPUT, "", "mybatis-flex");
+        }
+    }
+
     public String get(ConfigurationKey key) {
         return properties.getProperty(key.getConfigKey(), key.getDefaultValue());
     }
@@ -827,6 +827,11 @@ public class MybatisFlexProperties {
          */
         private boolean ignoreSchema = false;
 
+        /**
+         * 是否使用紧凑的 Row 保存 Row 类型的查询结果
+         */
+        private boolean compactRow = false;
+
         public boolean isPrintBanner() {
             return printBanner;
         }
@@ -907,6 +912,14 @@ public class MybatisFlexProperties {
             this.ignoreSchema = ignoreSchema;
         }
 
+        public boolean isCompactRow() {
+            return compactRow;
+        }
+
+        public void setCompactRow(boolean compactRow) {
+            this.compactRow = compactRow;
+        }
+
         void applyTo(FlexGlobalConfig target) {
             PropertyMapper mapper = PropertyMapper.get().alwaysApplyingWhenNonNull();
             mapper.from(isPrintBanner()).to(target::setPrintBanner);
@@ -919,6 +932,7 @@ public class MybatisFlexProperties {
             mapper.from(getVersionColumn()).to(target::setVersionColumn);
             mapper.from(getTenantColumn()).to(target::setTenantColumn);
             mapper.from(isIgnoreSchema()).to(target::setIgnoreSchema);
+            mapper.from(isCompactRow()).to(target::setCompactRow);
         }
 
     }
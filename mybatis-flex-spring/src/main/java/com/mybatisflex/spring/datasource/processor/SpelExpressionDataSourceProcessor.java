@@ -2,16 +2,20 @@ package com.mybatisflex.spring.datasource.processor;
 
 import com.mybatisflex.core.datasource.processor.DataSourceProcessor;
 import com.mybatisflex.core.util.StringUtil;
-import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SpEL表达式支持处理器
@@ -29,9 +33,22 @@ public class SpelExpressionDataSourceProcessor implements DataSourceProcessor {
      */
     private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
     /**
-     * Express语法解析器
+     * Express语法解析器，开启 MIXED 编译模式：表达式被多次执行后编译为字节码，编译后的表达式执行失败时自动回退到解释执行
      */
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final ExpressionParser PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelExpressionDataSourceProcessor.class.getClassLoader()));
+
+    private static final String[] EMPTY_PARAMETER_NAMES = new String[0];
+
+    /**
+     * 已解析的表达式缓存，key 为数据源表达式。解析后的 {@link Expression} 是线程安全的，可以在多个线程之间复用
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 方法的参数名缓存
+     */
+    private final Map<Method, String[]> parameterNamesCache = new ConcurrentHashMap<>();
 
     private BeanResolver beanResolver;
     /**
@@ -64,12 +81,36 @@ public class SpelExpressionDataSourceProcessor implements DataSourceProcessor {
         if (arguments.length == 0) return null;
 
         RootObject rootObject = new RootObject(method, arguments, mapper);
-        StandardEvaluationContext context = new MethodBasedEvaluationContext(rootObject, method, arguments, NAME_DISCOVERER);
+        StandardEvaluationContext context = new MethodArgumentsEvaluationContext(rootObject, getParameterNames(method), arguments);
         context.setBeanResolver(beanResolver);
-        final Object value = PARSER.parseExpression(dataSourceKey, parserContext).getValue(context);
+        final Object value = getExpression(dataSourceKey).getValue(context);
         return value == null ? null : value.toString();
     }
 
+    @Override
+    public boolean isDynamic(String dataSourceKey) {
+        return dataSourceKey != null && dataSourceKey.startsWith(DYNAMIC_PREFIX);
+    }
+
+    private Expression getExpression(String dataSourceKey) {
+        Expression expression = expressionCache.get(dataSourceKey);
+        if (expression == null) {
+            expression = expressionCache.computeIfAbsent(dataSourceKey, key -> PARSER.parseExpression(key, parserContext));
+        }
+        return expression;
+    }
+
+    private String[] getParameterNames(Method method) {
+        String[] parameterNames = parameterNamesCache.get(method);
+        if (parameterNames == null) {
+            parameterNames = parameterNamesCache.computeIfAbsent(method, m -> {
+                String[] names = NAME_DISCOVERER.getParameterNames(m);
+                return names != null ? names : EMPTY_PARAMETER_NAMES;
+            });
+        }
+        return parameterNames;
+    }
+
 
     public void setBeanResolver(BeanResolver beanResolver) {
         this.beanResolver = beanResolver;
@@ -77,6 +118,8 @@ public class SpelExpressionDataSourceProcessor implements DataSourceProcessor {
 
     public void setParserContext(ParserContext parserContext) {
         this.parserContext = parserContext;
+        // 解析模板变化后，之前解析的表达式不再有效
+        expressionCache.clear();
     }
 
     public static class RootObject {
@@ -103,4 +146,55 @@ public class SpelExpressionDataSourceProcessor implements DataSourceProcessor {
         }
     }
 
+    /**
+     * 基于方法参数的上下文，与 {@code MethodBasedEvaluationContext} 一样支持通过参数名、{@code #a0}、{@code #p0} 获取参数，
+     * 但参数名从缓存中获取，并且只在变量被访问时才去查找。
+     */
+    private static class MethodArgumentsEvaluationContext extends StandardEvaluationContext {
+
+        private final String[] parameterNames;
+        private final Object[] arguments;
+
+        MethodArgumentsEvaluationContext(Object rootObject, String[] parameterNames, Object[] arguments) {
+            super(rootObject);
+            this.parameterNames = parameterNames;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            Object variable = super.lookupVariable(name);
+            if (variable != null) {
+                return variable;
+            }
+
+            for (int i = 0; i < parameterNames.length && i < arguments.length; i++) {
+                if (name.equals(parameterNames[i])) {
+                    return arguments[i];
+                }
+            }
+
+            if (name.length() > 1 && (name.charAt(0) == 'a' || name.charAt(0) == 'p')) {
+                int index = parseIndex(name);
+                if (index >= 0 && index < arguments.length) {
+                    return arguments[index];
+                }
+            }
+            return null;
+        }
+
+        private static int parseIndex(String name) {
+            int index = 0;
+            for (int i = 1; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c < '0' || c > '9' || index > (Integer.MAX_VALUE - 9) / 10) {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return index;
+        }
+
+    }
+
 }
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.keygen.impl.FlexIDKeyGenerator;
+import com.mybatisflex.core.keygen.impl.SnowFlakeIDKeyGenerator;
+import com.mybatisflex.core.keygen.impl.ULIDKeyGenerator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多线程生成主键的基准测试。
+ *
+ * <p>对比通过 {@code synchronized} 串行生成（旧实现的方式）、CAS 生成单个 ID 以及 {@code nextIds} 批量预留，
+ * 输出每种方式在全部线程下的吞吐量。可以通过第一个参数指定线程数，默认为 CPU 核数。
+ */
+public class KeyGeneratorBenchmark {
+
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+    private static final int BATCH_SIZE = 100;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("threads: %d%n", threads);
+
+        SnowFlakeIDKeyGenerator snowFlake = new SnowFlakeIDKeyGenerator(1, 1);
+        Object lock = new Object();
+        run("snowflake synchronized", threads, () -> {
+            synchronized (lock) {
+                return snowFlake.nextId() == 0 ? 0 : 1;
+            }
+        });
+        run("snowflake cas", threads, () -> snowFlake.nextId() == 0 ? 0 : 1);
+        run("snowflake nextIds", threads, () -> snowFlake.nextIds(BATCH_SIZE).length);
+
+        FlexIDKeyGenerator flexId = new FlexIDKeyGenerator();
+        run("flexId cas", threads, () -> flexId.generate(null, null) == 0 ? 0 : 1);
+        run("flexId nextIds", threads, () -> flexId.nextIds(BATCH_SIZE).length);
+
+        ULIDKeyGenerator ulid = new ULIDKeyGenerator();
+        run("ulid monotonic cas", threads, () -> ulid.nextMonotonicId().length() == 0 ? 0 : 1);
+        run("ulid monotonicIds", threads, () -> ulid.nextMonotonicIds(BATCH_SIZE).length);
+    }
+
+    private static void run(String name, int threads, Task task) throws InterruptedException {
+        execute(threads, WARMUP_MILLIS, task);
+        long count = execute(threads, MEASURE_MILLIS, task);
+        System.out.printf("%-24s %,14.0f ids/s%n", name, count * 1000D / MEASURE_MILLIS);
+    }
+
+    private static long execute(int threads, long millis, Task task) throws InterruptedException {
+        LongAdder counter = new LongAdder();
+        CountDownLatch latch = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    count += task.run();
+                }
+                counter.add(count);
+                latch.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        latch.await();
+        return counter.sum();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        int run();
+    }
+
+}
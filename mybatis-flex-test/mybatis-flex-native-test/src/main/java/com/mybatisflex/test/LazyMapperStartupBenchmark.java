@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.mybatis.FlexConfiguration;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 大量 Mapper 场景下的启动基准测试。
+ *
+ * <p>运行时生成并编译 1000 个实体类以及对应的 Mapper，分别以默认模式和延迟构建 MappedStatement 的模式，
+ * 在独立的 JVM 中启动 {@link MybatisFlexBootstrap}，输出启动耗时、启动后的堆内存占用，
+ * 以及首次使用某个 Mapper 时的解析耗时。
+ */
+public class LazyMapperStartupBenchmark {
+
+    private static final int ENTITY_COUNT = 1000;
+    private static final String PACKAGE_NAME = "com.mybatisflex.test.synthetic";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "child".equals(args[0])) {
+            runChild(Boolean.parseBoolean(args[1]), Path.of(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+
+        Path classesDir = generateAndCompile(ENTITY_COUNT);
+        for (boolean lazy : new boolean[]{false, true}) {
+            Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                LazyMapperStartupBenchmark.class.getName(),
+                "child", String.valueOf(lazy), classesDir.toString(), String.valueOf(ENTITY_COUNT))
+                .inheritIO()
+                .start();
+            process.waitFor();
+        }
+    }
+
+    private static void runChild(boolean lazy, Path classesDir, int count) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, LazyMapperStartupBenchmark.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+
+        List<Class<?>> mappers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mappers.add(classLoader.loadClass(PACKAGE_NAME + ".Entity" + i + "Mapper"));
+        }
+
+        long start = System.nanoTime();
+
+        FlexDataSource dataSource = new FlexDataSource(FlexConsts.NAME, new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("lazy_mapper_bench")
+            .build());
+        FlexConfiguration configuration = new FlexConfiguration(new Environment(FlexConsts.NAME, new JdbcTransactionFactory(), dataSource));
+        configuration.setLazyMappedStatements(lazy);
+
+        MybatisFlexBootstrap bootstrap = new MybatisFlexBootstrap()
+            .setDataSource(dataSource)
+            .setConfiguration(configuration);
+        mappers.forEach(bootstrap::addMapper);
+        bootstrap.start();
+
+        long startupNanos = System.nanoTime() - start;
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+
+        long firstUseStart = System.nanoTime();
+        configuration.getMappedStatement(mappers.get(count / 2).getName() + ".selectListByQuery");
+        long firstUseNanos = System.nanoTime() - firstUseStart;
+
+        System.out.printf("%-6s mappers=%d startup=%8.1f ms heap=%8.1f MB first use=%6.2f ms statements=%d%n"
+            , lazy ? "lazy" : "eager", count, startupNanos / 1_000_000.0, heapUsed / 1024.0 / 1024.0
+            , firstUseNanos / 1_000_000.0, configuration.getMappedStatementNames().size());
+    }
+
+    private static Path generateAndCompile(int count) throws IOException {
+        Path root = Files.createTempDirectory("flex-lazy-mapper");
+        Path sourceDir = root.resolve("src/" + PACKAGE_NAME.replace('.', '/'));
+        Path classesDir = root.resolve("classes");
+        Files.createDirectories(sourceDir);
+        Files.createDirectories(classesDir);
+
+        List<String> sourceFiles = new ArrayList<>(count * 2 + 4);
+        for (int i = 0; i < count; i++) {
+            String entity = "Entity" + i;
+            Path entityFile = sourceDir.resolve(entity + ".java");
+            Files.writeString(entityFile, "package " + PACKAGE_NAME + ";\n"
+                + "@com.mybatisflex.annotation.Table(\"tb_entity_" + i + "\")\n"
+                + "public class " + entity + " {\n"
+                + "    @com.mybatisflex.annotation.Id(keyType = com.mybatisflex.annotation.KeyType.Auto)\n"
+                + "    private Long id;\n"
+                + "    private String name;\n"
+                + "    private Integer age;\n"
+                + "    private java.util.Date created;\n"
+                + "    public Long getId() { return id; }\n"
+                + "    public void setId(Long id) { this.id = id; }\n"
+                + "    public String getName() { return name; }\n"
+                + "    public void setName(String name) { this.name = name; }\n"
+                + "    public Integer getAge() { return age; }\n"
+                + "    public void setAge(Integer age) { this.age = age; }\n"
+                + "    public java.util.Date getCreated() { return created; }\n"
+                + "    public void setCreated(java.util.Date created) { this.created = created; }\n"
+                + "}\n", StandardCharsets.UTF_8);
+            Path mapperFile = sourceDir.resolve(entity + "Mapper.java");
+            Files.writeString(mapperFile, "package " + PACKAGE_NAME + ";\n"
+                + "public interface " + entity + "Mapper extends com.mybatisflex.core.BaseMapper<" + entity + "> {\n"
+                + "}\n", StandardCharsets.UTF_8);
+            sourceFiles.add(entityFile.toString());
+            sourceFiles.add(mapperFile.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("A JDK is required to compile the synthetic entities.");
+        }
+        List<String> compilerArgs = new ArrayList<>();
+        compilerArgs.add("-proc:none");
+        compilerArgs.add("-cp");
+        compilerArgs.add(System.getProperty("java.class.path"));
+        compilerArgs.add("-d");
+        compilerArgs.add(classesDir.toString());
+        compilerArgs.addAll(sourceFiles);
+        int result = compiler.run(null, null, null, compilerArgs.toArray(new String[0]));
+        if (result != 0) {
+            throw new IllegalStateException("Failed to compile synthetic entities into " + root + File.separator);
+        }
+        return classesDir;
+    }
+
+}
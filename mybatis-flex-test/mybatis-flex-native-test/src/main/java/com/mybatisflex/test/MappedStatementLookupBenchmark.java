@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.mybatisflex.core.mybatis.MappedStatementTypes;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * selectListByQueryAs 等方法获取动态 ResultMap 的 MappedStatement 的基准测试。
+ *
+ * <p>对比以 {@code id + ":" + asType.getName()} 作为缓存键的旧方式，与当前 FlexConfiguration 的实现，
+ * 输出每次查找的耗时以及分配的字节数。
+ */
+public class MappedStatementLookupBenchmark {
+
+    private static final int WARMUP = 1_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    private static final Map<String, MappedStatement> LEGACY_CACHE = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) {
+        DataSource dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("ms_lookup_bench")
+            .addScript("schema.sql")
+            .build();
+
+        MybatisFlexBootstrap bootstrap = MybatisFlexBootstrap.getInstance()
+            .setDataSource(dataSource)
+            .addMapper(AccountMapper.class)
+            .start();
+
+        Configuration configuration = bootstrap.getConfiguration();
+        String id = AccountMapper.class.getName() + ".selectListByQuery";
+
+        run("legacy string key", () -> {
+            MappedStatement ms = configuration.getMappedStatement(id);
+            Class<?> asType = AccountDTO.class;
+            return LEGACY_CACHE.computeIfAbsent(id + ":" + asType.getName(), key -> ms);
+        });
+
+        run("flex configuration", () -> {
+            try {
+                MappedStatementTypes.setCurrentType(AccountDTO.class);
+                return configuration.getMappedStatement(id);
+            } finally {
+                MappedStatementTypes.clear();
+            }
+        });
+    }
+
+    private static void run(String name, Lookup lookup) {
+        long blackhole = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += lookup.get().hashCode();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += lookup.get().hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-20s %8.1f ns/op %8.1f B/op (%d)%n", name
+            , (double) elapsed / ITERATIONS, (double) allocated / ITERATIONS, blackhole);
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        MappedStatement get();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.dialect.IDialect;
+import com.mybatisflex.core.dialect.impl.CommonsDialectImpl;
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mybatisflex.core.query.QueryMethods.column;
+import static com.mybatisflex.core.query.QueryMethods.count;
+import static com.mybatisflex.core.query.QueryMethods.exists;
+import static com.mybatisflex.core.query.QueryMethods.select;
+import static com.mybatisflex.test.table.AccountTableDef.ACCOUNT;
+import static com.mybatisflex.test.table.ArticleTableDef.ARTICLE;
+
+/**
+ * QueryWrapper 渲染的 JMH 基准测试：构建 SQL 并收集参数。
+ *
+ * <p>覆盖简单查询、嵌套子查询、union 以及 with（CTE）四种场景，分别测量只构建 SQL、只收集参数以及两者都执行的耗时，
+ * 通过 {@link GCProfiler} 输出每次渲染分配的字节数（{@code gc.alloc.rate.norm}）。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryRenderBenchmark {
+
+    private static final IDialect DIALECT = new CommonsDialectImpl();
+
+    @Param({"simple", "nestedSubQueries", "unions", "cte"})
+    private String scenario;
+
+    private QueryWrapper queryWrapper;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(QueryRenderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        queryWrapper = switch (scenario) {
+            case "simple" -> QueryWrapper.create()
+                .from(ACCOUNT)
+                .where(ACCOUNT.ID.ge(100))
+                .and(ACCOUNT.USER_NAME.like("michael"));
+            case "nestedSubQueries" -> QueryWrapper.create()
+                .select(ACCOUNT.ID, column(select(count()).from(ARTICLE).where(ARTICLE.ACCOUNT_ID.eq(ACCOUNT.ID))).as("articles"))
+                .from(select(ACCOUNT.ALL_COLUMNS).from(ACCOUNT).where(ACCOUNT.ID.gt(10))).as("a")
+                .where(exists(select(ARTICLE.ID).from(ARTICLE).where(ARTICLE.TITLE.like("flex").and(ARTICLE.ID.in(1, 2, 3)))))
+                .and(ACCOUNT.ID.in(select(ARTICLE.ACCOUNT_ID).from(ARTICLE).where(ARTICLE.ID.ge(5))));
+            case "unions" -> QueryWrapper.create()
+                .select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.ID.eq(1))
+                .union(select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.ID.eq(2)))
+                .union(select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.ID.eq(3)))
+                .unionAll(select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.USER_NAME.eq("michael")));
+            case "cte" -> QueryWrapper.create()
+                .with("CTE").asSelect(select(ARTICLE.ACCOUNT_ID).from(ARTICLE).where(ARTICLE.ID.ge(100)))
+                .with("CTE2").asSelect(select(ACCOUNT.ID).from(ACCOUNT).where(ACCOUNT.USER_NAME.eq("michael")))
+                .select()
+                .from(ACCOUNT)
+                .where(ACCOUNT.ID.in(select(column("account_id")).from("CTE")))
+                .or(ACCOUNT.ID.in(select(column("id")).from("CTE2")));
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    @Benchmark
+    public String sql() {
+        return DIALECT.forSelectByQuery(queryWrapper);
+    }
+
+    @Benchmark
+    public Object[] values() {
+        return CPI.getValueArray(queryWrapper);
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) {
+        blackhole.consume(DIALECT.forSelectByQuery(queryWrapper));
+        blackhole.consume(CPI.getValueArray(queryWrapper));
+    }
+
+}
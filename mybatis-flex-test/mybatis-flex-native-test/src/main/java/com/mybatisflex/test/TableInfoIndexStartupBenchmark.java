@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.processor.MybatisFlexProcessor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TableInfo 索引的启动基准测试。
+ *
+ * <p>运行时生成 1000 个实体类以及对应的 Mapper，分别在关闭和开启 {@code processor.tableInfoIndex.enable}
+ * 的情况下通过 {@link MybatisFlexProcessor} 编译，然后在独立的 JVM 中对全部 Mapper 调用
+ * {@link TableInfoFactory#ofMapperClass(Class)}，输出构建 {@link TableInfo} 的总耗时。
+ */
+public class TableInfoIndexStartupBenchmark {
+
+    private static final int ENTITY_COUNT = 1000;
+    private static final String PACKAGE_NAME = "com.mybatisflex.test.synthetic";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "child".equals(args[0])) {
+            runChild(args[1], Path.of(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+
+        Path root = Files.createTempDirectory("flex-table-info-index");
+        Path sourceDir = generate(root, ENTITY_COUNT);
+        for (boolean indexed : new boolean[]{false, true}) {
+            String mode = indexed ? "index" : "reflect";
+            Path classesDir = compile(root, sourceDir, mode, indexed);
+            Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                TableInfoIndexStartupBenchmark.class.getName(),
+                "child", mode, classesDir.toString(), String.valueOf(ENTITY_COUNT))
+                .inheritIO()
+                .start();
+            process.waitFor();
+        }
+    }
+
+    private static void runChild(String mode, Path classesDir, int count) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, TableInfoIndexStartupBenchmark.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+
+        List<Class<?>> mappers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mappers.add(classLoader.loadClass(PACKAGE_NAME + ".Entity" + i + "Mapper"));
+        }
+
+        long start = System.nanoTime();
+        int columns = 0;
+        for (Class<?> mapper : mappers) {
+            columns += TableInfoFactory.ofMapperClass(mapper).getColumns().length;
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("%-8s mappers=%d table infos=%8.1f ms (%6.1f us/mapper) columns=%d%n"
+            , mode, count, nanos / 1_000_000.0, nanos / 1000.0 / count, columns);
+    }
+
+    private static Path generate(Path root, int count) throws IOException {
+        Path sourceDir = root.resolve("src/" + PACKAGE_NAME.replace('.', '/'));
+        Files.createDirectories(sourceDir);
+        // APT 向上查找 mybatis-flex.config 时，以构建文件所在的目录作为项目根目录
+        Files.writeString(root.resolve("pom.xml"), "", StandardCharsets.UTF_8);
+
+        for (int i = 0; i < count; i++) {
+            String entity = "Entity" + i;
+            Files.writeString(sourceDir.resolve(entity + ".java"), "package " + PACKAGE_NAME + ";\n"
+                + "@com.mybatisflex.annotation.Table(value = \"tb_entity_" + i + "\", onUpdate = com.mybatisflex.annotation.NoneListener.class)\n"
+                + "public class " + entity + " {\n"
+                + "    @com.mybatisflex.annotation.Id(keyType = com.mybatisflex.annotation.KeyType.Auto)\n"
+                + "    private Long id;\n"
+                + "    @com.mybatisflex.annotation.Column(\"user_name\")\n"
+                + "    private String name;\n"
+                + "    private Integer age;\n"
+                + "    private java.util.Date created;\n"
+                + "    @com.mybatisflex.annotation.Column(isLogicDelete = true)\n"
+                + "    private Boolean deleted;\n"
+                + "    public Long getId() { return id; }\n"
+                + "    public void setId(Long id) { this.id = id; }\n"
+                + "    public String getName() { return name; }\n"
+                + "    public void setName(String name) { this.name = name; }\n"
+                + "    public Integer getAge() { return age; }\n"
+                + "    public void setAge(Integer age) { this.age = age; }\n"
+                + "    public java.util.Date getCreated() { return created; }\n"
+                + "    public void setCreated(java.util.Date created) { this.created = created; }\n"
+                + "    public Boolean getDeleted() { return deleted; }\n"
+                + "    public void setDeleted(Boolean deleted) { this.deleted = deleted; }\n"
+                + "}\n", StandardCharsets.UTF_8);
+            Files.writeString(sourceDir.resolve(entity + "Mapper.java"), "package " + PACKAGE_NAME + ";\n"
+                + "public interface " + entity + "Mapper extends com.mybatisflex.core.BaseMapper<" + entity + "> {\n"
+                + "}\n", StandardCharsets.UTF_8);
+        }
+        return sourceDir;
+    }
+
+    private static Path compile(Path root, Path sourceDir, String mode, boolean indexed) throws IOException {
+        Path moduleDir = root.resolve(mode);
+        Path classesDir = moduleDir.resolve("classes");
+        Path generatedDir = moduleDir.resolve("generated");
+        Files.createDirectories(classesDir);
+        Files.createDirectories(generatedDir);
+        Files.writeString(moduleDir.resolve("mybatis-flex.config")
+            , "processor.tableInfoIndex.enable = " + indexed + "\n", StandardCharsets.UTF_8);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("A JDK is required to compile the synthetic entities.");
+        }
+        List<String> compilerArgs = new ArrayList<>();
+        compilerArgs.add("-processor");
+        compilerArgs.add(MybatisFlexProcessor.class.getName());
+        compilerArgs.add("-cp");
+        compilerArgs.add(System.getProperty("java.class.path"));
+        compilerArgs.add("-d");
+        compilerArgs.add(classesDir.toString());
+        compilerArgs.add("-s");
+        compilerArgs.add(generatedDir.toString());
+        try (var files = Files.list(sourceDir)) {
+            files.forEach(file -> compilerArgs.add(file.toString()));
+        }
+        int result = compiler.run(null, null, null, compilerArgs.toArray(new String[0]));
+        if (result != 0) {
+            throw new IllegalStateException("Failed to compile synthetic entities into " + classesDir);
+        }
+        return classesDir;
+    }
+
+}
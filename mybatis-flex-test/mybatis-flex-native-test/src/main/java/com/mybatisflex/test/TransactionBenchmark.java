@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import com.mybatisflex.core.row.Db;
+import com.mybatisflex.core.transaction.DefaultXidGenerator;
+import com.mybatisflex.core.transaction.TransactionalManager;
+import com.mybatisflex.core.transaction.XidGenerator;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * 短事务基准测试：每个事务分别向两个数据源各插入一条数据。
+ *
+ * <p>对比 UUID 与 {@link DefaultXidGenerator} 生成 xid，以及串行与并行提交多数据源连接的吞吐量。
+ */
+public class TransactionBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        DataSource dataSource1 = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("tx_bench_1")
+            .addScript("schema.sql")
+            .build();
+
+        DataSource dataSource2 = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("tx_bench_2")
+            .addScript("schema.sql")
+            .build();
+
+        MybatisFlexBootstrap.getInstance()
+            .setDataSource(dataSource1)
+            .addDataSource("ds2", dataSource2)
+            .start();
+
+        run("uuid xid, serial release", () -> UUID.randomUUID().toString(), false);
+        run("default xid, serial release", new DefaultXidGenerator(), false);
+        run("default xid, parallel release", new DefaultXidGenerator(), true);
+    }
+
+    private static void run(String name, XidGenerator xidGenerator, boolean parallelRelease) {
+        TransactionalManager.setXidGenerator(xidGenerator);
+        TransactionalManager.setParallelRelease(parallelRelease);
+
+        for (int i = 0; i < WARMUP; i++) {
+            doTransaction(i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            doTransaction(i);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-32s %8.2f us/tx %10.0f tx/s%n", name
+            , elapsed / 1000.0 / ITERATIONS, ITERATIONS * 1_000_000_000.0 / elapsed);
+
+        Db.deleteBySql("delete from tb_account");
+        DataSourceKey.use("ds2", () -> Db.deleteBySql("delete from tb_account"));
+    }
+
+    private static void doTransaction(int i) {
+        Db.tx(() -> {
+            Db.insertBySql("insert into tb_account(user_name, age) values (?, ?)", "ds1_" + i, i);
+            DataSourceKey.use("ds2", () -> Db.insertBySql("insert into tb_account(user_name, age) values (?, ?)", "ds2_" + i, i));
+            return true;
+        });
+    }
+
+}
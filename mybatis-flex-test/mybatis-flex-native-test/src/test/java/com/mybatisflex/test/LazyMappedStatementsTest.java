@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.Table;
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.mybatisflex.core.datasource.FlexDataSource;
+import com.mybatisflex.core.mybatis.FlexConfiguration;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 延迟构建 MappedStatement 测试。
+ */
+public class LazyMappedStatementsTest {
+
+    private static final String ENVIRONMENT_ID = "lazy_mapped_statements";
+
+    private static EmbeddedDatabase dataSource;
+    private static FlexConfiguration configuration;
+    private static MybatisFlexBootstrap bootstrap;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_lazy_account (id BIGINT PRIMARY KEY, user_name VARCHAR(100))");
+            statement.execute("CREATE TABLE tb_lazy_order (id BIGINT PRIMARY KEY, amount INTEGER)");
+            statement.execute("INSERT INTO tb_lazy_account VALUES (1, 'michael'), (2, 'joe')");
+            statement.execute("INSERT INTO tb_lazy_order VALUES (1, 10), (2, 20), (3, 30)");
+        }
+
+        FlexDataSource flexDataSource = new FlexDataSource(ENVIRONMENT_ID, dataSource);
+        configuration = new FlexConfiguration(new Environment(ENVIRONMENT_ID, new JdbcTransactionFactory(), flexDataSource));
+        configuration.setLazyMappedStatements(true);
+
+        bootstrap = new MybatisFlexBootstrap()
+            .setDataSource(ENVIRONMENT_ID, dataSource)
+            .setConfiguration(configuration)
+            .addMapper(LazyAccountMapper.class)
+            .addMapper(LazyOrderMapper.class)
+            .start();
+
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"
+            + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"https://mybatis.org/dtd/mybatis-3-mapper.dtd\">"
+            + "<mapper namespace=\"" + LazyAccountMapper.class.getName() + "\">"
+            + "<select id=\"selectUserNameById\" resultType=\"string\">select user_name from tb_lazy_account where id = #{id}</select>"
+            + "</mapper>";
+        new XMLMapperBuilder(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), configuration
+            , "lazy-account-mapper.xml", configuration.getSqlFragments()).parse();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void testFirstUse() {
+        Assert.assertTrue(configuration.isPendingMapper(LazyAccountMapper.class));
+
+        LazyAccountMapper mapper = bootstrap.getMapper(LazyAccountMapper.class);
+        LazyAccount account = mapper.selectOneById(1L);
+
+        Assert.assertEquals("michael", account.getUserName());
+        Assert.assertFalse(configuration.isPendingMapper(LazyAccountMapper.class));
+        Assert.assertTrue(configuration.hasStatement(LazyAccountMapper.class.getName() + ".selectListByQuery"));
+    }
+
+    @Test
+    public void testXmlAndProviderStatements() {
+        LazyAccountMapper mapper = bootstrap.getMapper(LazyAccountMapper.class);
+
+        // xml 中定义的方法
+        Assert.assertEquals("joe", mapper.selectUserNameById(2L));
+        // BaseMapper 中通过 Provider 定义的方法
+        Assert.assertEquals(2, mapper.selectCountByQuery(QueryWrapper.create()));
+        Assert.assertEquals(1, mapper.selectListByQuery(QueryWrapper.create().where("user_name = ?", "joe")).size());
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        Assert.assertTrue(configuration.isPendingMapper(LazyOrderMapper.class));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<List<LazyOrder>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return bootstrap.getMapper(LazyOrderMapper.class).selectAll();
+                }));
+            }
+            startLatch.countDown();
+            for (Future<List<LazyOrder>> future : futures) {
+                Assert.assertEquals(3, future.get().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertFalse(configuration.isPendingMapper(LazyOrderMapper.class));
+        Assert.assertTrue(configuration.getMappedStatementNames().contains(LazyOrderMapper.class.getName() + ".selectListByQuery"));
+    }
+
+    @Test
+    public void testOfTableName() {
+        // 已注册但尚未使用的 mapper
+        TableInfo orderTableInfo = TableInfoFactory.ofTableName("tb_lazy_order");
+        Assert.assertNotNull(orderTableInfo);
+        Assert.assertEquals(LazyOrder.class, orderTableInfo.getEntityClass());
+
+        // 与已注册的 mapper 在同一个包中、但没有注册到 MyBatis 的 mapper，与非延迟模式一致，可以通过表名获取
+        TableInfo unregisteredTableInfo = TableInfoFactory.ofTableName("tb_lazy_unregistered");
+        Assert.assertNotNull(unregisteredTableInfo);
+        Assert.assertEquals(LazyUnregistered.class, unregisteredTableInfo.getEntityClass());
+
+        Assert.assertNull(TableInfoFactory.ofTableName("tb_lazy_not_exists"));
+    }
+
+
+    public interface LazyAccountMapper extends BaseMapper<LazyAccount> {
+
+        String selectUserNameById(Long id);
+
+    }
+
+    public interface LazyOrderMapper extends BaseMapper<LazyOrder> {
+    }
+
+    public interface LazyUnregisteredMapper extends BaseMapper<LazyUnregistered> {
+    }
+
+    @Table("tb_lazy_account")
+    public static class LazyAccount {
+
+        @Id
+        private Long id;
+        private String userName;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+    }
+
+    @Table("tb_lazy_order")
+    public static class LazyOrder {
+
+        @Id
+        private Long id;
+        private Integer amount;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+    }
+
+    @Table("tb_lazy_unregistered")
+    public static class LazyUnregistered {
+
+        @Id
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2022-2025, Mybatis-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.mybatisflex.test;
+
+import com.mybatisflex.spring.datasource.processor.SpelExpressionDataSourceProcessor;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * 基于 SpEL 的动态数据源路由基准测试：对比每次解析表达式（旧实现）与缓存并编译表达式的耗时。
+ */
+public class SpelDataSourceProcessorBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+    private static final String DATA_SOURCE_KEY = "#{#p0.region}";
+
+    public static class Tenant {
+        private final String region;
+
+        public Tenant(String region) {
+            this.region = region;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+    }
+
+    public interface TenantMapper {
+        Object selectByTenant(Tenant tenant);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Method method = TenantMapper.class.getMethod("selectByTenant", Tenant.class);
+        Object[] arguments = {new Tenant("ds_east")};
+
+        SpelExpressionDataSourceProcessor cached = new SpelExpressionDataSourceProcessor();
+        cached.setParserContext(ParserContext.TEMPLATE_EXPRESSION);
+        UncachedProcessor uncached = new UncachedProcessor();
+
+        run("uncached", () -> uncached.process(DATA_SOURCE_KEY, null, method, arguments));
+        run("cached + compiled", () -> cached.process(DATA_SOURCE_KEY, null, method, arguments));
+    }
+
+    private static void run(String name, Supplier<String> routing) {
+        String key = null;
+        for (int i = 0; i < WARMUP; i++) {
+            key = routing.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            key = routing.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-20s %8.1f ns/op  (key: %s)%n", name, (double) elapsed / ITERATIONS, key);
+    }
+
+    /**
+     * 优化前的实现：每次调用都解析表达式并创建 MethodBasedEvaluationContext。
+     */
+    private static class UncachedProcessor {
+
+        private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+        private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+        String process(String dataSourceKey, Object mapper, Method method, Object[] arguments) {
+            SpelExpressionDataSourceProcessor.RootObject rootObject = new SpelExpressionDataSourceProcessor.RootObject(method, arguments, mapper);
+            StandardEvaluationContext context = new MethodBasedEvaluationContext(rootObject, method, arguments, NAME_DISCOVERER);
+            Object value = PARSER.parseExpression(dataSourceKey, ParserContext.TEMPLATE_EXPRESSION).getValue(context);
+            return value == null ? null : value.toString();
+        }
+
+    }
+
+}